@@ -0,0 +1,105 @@
+package com.example.benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Pre-generated (payer, payee) account index pairs for benchmarks.
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                    ACCOUNT SELECTION                          ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  uniform : every account equally likely                       ║
+ * ║  zipfian : P(rank k) ~ 1 / k^0.99 (YCSB's default skew); a    ║
+ * ║            few merchant-like accounts take most payments and  ║
+ * ║            the lock/CAS contention that comes with them       ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * Pairs are drawn up front, so the measured loop costs one array read;
+ * payer and payee always differ. Hot ranks are scattered over the id
+ * space so they do not all land in neighbouring lock stripes.
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+final class AccountSelection {
+
+    /** Zipfian exponent used by YCSB */
+    static final double ZIPF_SKEW = 0.99;
+
+    private static final int PAIRS = 1 << 16;
+
+    private final int[] payers = new int[PAIRS];
+    private final int[] payees = new int[PAIRS];
+    private int next;
+
+    /**
+     * @param distribution "uniform" or "zipfian"
+     * @param accounts Number of accounts to pick from (at least 2)
+     * @param seed Random seed (one per benchmark thread)
+     */
+    AccountSelection(String distribution, int accounts, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] cdf = distribution.equals("zipfian") ? zipfCdf(accounts) : null;
+        if (cdf == null && !distribution.equals("uniform")) {
+            throw new IllegalArgumentException("Unknown distribution: " + distribution);
+        }
+        for (int i = 0; i < PAIRS; i++) {
+            int payer = pick(random, accounts, cdf);
+            int payee = pick(random, accounts, cdf);
+            while (payee == payer) {
+                payee = pick(random, accounts, cdf);
+            }
+            payers[i] = payer;
+            payees[i] = payee;
+        }
+    }
+
+    /** Advance to the next pair. */
+    void advance() {
+        next = (next + 1) & (PAIRS - 1);
+    }
+
+    int payer() {
+        return payers[next];
+    }
+
+    int payee() {
+        return payees[next];
+    }
+
+    private static int pick(SplittableRandom random, int accounts, double[] cdf) {
+        if (cdf == null) {
+            return random.nextInt(accounts);
+        }
+        int rank = Arrays.binarySearch(cdf, random.nextDouble());
+        rank = rank < 0 ? -rank - 1 : rank;
+        return scatter(Math.min(rank, accounts - 1), accounts);
+    }
+
+    /** Spreads ranks 0, 1, 2, ... over the whole account range (a bijection). */
+    private static int scatter(int rank, int accounts) {
+        long step = 0x9E3779B1L % accounts;
+        while (gcd(step, accounts) != 1) {
+            step++;
+        }
+        return (int) (rank * step % accounts);
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static double[] zipfCdf(int accounts) {
+        double[] cdf = new double[accounts];
+        double sum = 0;
+        for (int k = 0; k < accounts; k++) {
+            sum += 1 / Math.pow(k + 1, ZIPF_SKEW);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < accounts; k++) {
+            cdf[k] /= sum;
+        }
+        return cdf;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.benchmark;
+
+import com.example.model.Account;
+import com.example.repository.BalanceTransfer;
+import com.example.repository.ConcurrentAccountRepository;
+import com.example.repository.JournaledAccountRepository;
+import com.example.repository.TransferJournal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Journal append throughput and startup replay speed.
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                     JOURNAL BENCHMARK                         ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  Append.transfer : journaled transfer() per second,           ║
+ * ║                    forceEvery = 1 (msync per record) vs 256   ║
+ * ║  Replay.replay   : open() over a journal of 1,000,000         ║
+ * ║                    transfers; score is transfers replayed     ║
+ * ║                    per second                                 ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * Files go to a temp directory on the default file system; run it on the
+ * disk the journal will live on, since force() cost is the device's.
+ *
+ * Run: mvn -Pbenchmarks verify -Djmh.include=JournalBenchmark
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+@Fork(1)
+public class JournalBenchmark {
+
+    private static final int ACCOUNTS = 10_000;
+    private static final int REPLAY_TRANSFERS = 1_000_000;
+
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public static class Append {
+
+        @Param({"1", "256"})
+        public int forceEvery;
+
+        private Path directory;
+        private JournaledAccountRepository repository;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("journal-append");
+            repository = JournaledAccountRepository.open(directory, new ConcurrentAccountRepository(),
+                TransferJournal.DEFAULT_SEGMENT_BYTES, forceEvery, JournaledAccountRepository.DEFAULT_SNAPSHOT_EVERY);
+            seed(repository);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            repository.close();
+            delete(directory);
+        }
+
+        @Benchmark
+        public BalanceTransfer transfer() {
+            int from = next;
+            next = (from + 1) % ACCOUNTS;
+            return repository.transfer(id(from), id((from + 1) % ACCOUNTS), 1.0);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 5, time = 5)
+    public static class Replay {
+
+        private Path directory;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("journal-replay");
+            try (JournaledAccountRepository repository = JournaledAccountRepository.open(directory,
+                    new ConcurrentAccountRepository(), TransferJournal.DEFAULT_SEGMENT_BYTES,
+                    JournaledAccountRepository.DEFAULT_FORCE_EVERY, Long.MAX_VALUE)) {
+                seed(repository);
+                for (int i = 0; i < REPLAY_TRANSFERS; i++) {
+                    repository.transfer(id(i % ACCOUNTS), id((i + 1) % ACCOUNTS), 1.0);
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            delete(directory);
+        }
+
+        /** One invocation replays REPLAY_TRANSFERS, so the score is transfers per second. */
+        @Benchmark
+        @OperationsPerInvocation(REPLAY_TRANSFERS)
+        public long replay() {
+            try (JournaledAccountRepository repository = JournaledAccountRepository.open(directory,
+                    new ConcurrentAccountRepository(), TransferJournal.DEFAULT_SEGMENT_BYTES,
+                    JournaledAccountRepository.DEFAULT_FORCE_EVERY, Long.MAX_VALUE)) {
+                return repository.getReplayedRecords();
+            }
+        }
+    }
+
+    private static final String[] IDS = new String[ACCOUNTS];
+
+    static {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            IDS[i] = String.format("ACC%05d", i);
+        }
+    }
+
+    private static String id(int i) {
+        return IDS[i];
+    }
+
+    private static void seed(JournaledAccountRepository repository) {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            repository.addAccount(new Account(id(i), "User " + i, 1_000_000_000.0));
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
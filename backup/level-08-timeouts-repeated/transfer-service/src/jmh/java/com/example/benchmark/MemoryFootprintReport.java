@@ -0,0 +1,155 @@
+package com.example.benchmark;
+
+import com.example.model.Account;
+import com.example.repository.AccountRepository;
+import com.example.repository.InMemoryAccountRepository;
+import com.example.repository.OffHeapAccountRepository;
+import com.example.service.UPITransferService;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.SplittableRandom;
+
+/**
+ * Heap/off-heap footprint and GC pressure: InMemory vs OffHeap repository.
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                 MEMORY FOOTPRINT REPORT                       ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  For each store:                                              ║
+ * ║  1. Load N accounts; heap and direct memory retained, scaled  ║
+ * ║     to MB per million accounts                                ║
+ * ║  2. Time a full GC with the store live (marking cost grows    ║
+ * ║     with the number of live objects)                          ║
+ * ║  3. Run M random UPITransferService transfers; bytes          ║
+ * ║     allocated per transfer, GC count and GC time              ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * Not JMH: footprint is a one-shot measurement. Runs in the benchmarks
+ * profile after the JMH suite:
+ *
+ *   mvn -Pbenchmarks verify -Dfootprint.accounts=10000000
+ *
+ * or directly: MemoryFootprintReport [accounts] [transfers]
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+public final class MemoryFootprintReport {
+
+    private MemoryFootprintReport() {
+    }
+
+    public static void main(String[] args) {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int transfers = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+
+        System.out.printf("%nMemory footprint: %,d accounts, %,d transfers (heap max %d MB)%n",
+            accounts, transfers, Runtime.getRuntime().maxMemory() >> 20);
+        System.out.printf("%-9s %10s %12s %14s %12s %14s %6s %8s%n",
+            "store", "heap MB/M", "direct MB/M", "bytes/account", "full GC ms",
+            "alloc B/xfer", "GCs", "GC ms");
+        report("memory", accounts, transfers);
+        report("offheap", accounts, transfers);
+    }
+
+    private static void report(String store, int accounts, int transfers) {
+        long heapBefore = settledHeap();
+        long directBefore = directMemory();
+
+        AccountRepository repository = load(store, accounts);
+
+        // G1 region accounting can make a tiny delta come out negative
+        long heap = Math.max(0, settledHeap() - heapBefore);
+        long direct = directMemory() - directBefore;
+        long fullGcStart = System.nanoTime();
+        System.gc();
+        long fullGcMs = (System.nanoTime() - fullGcStart) / 1_000_000;
+
+        // lookup ids are built after measuring, so neither store is credited with them
+        String[] ids = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            ids[i] = accountId(i);
+        }
+        UPITransferService service = new UPITransferService(repository);
+        SplittableRandom random = new SplittableRandom(42);
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTimeMs();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < transfers; i++) {
+            int from = random.nextInt(accounts);
+            int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+            service.transfer(ids[from], ids[to], 1.0);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        double perMillion = 1_000_000.0 / accounts;
+        System.out.printf("%-9s %10.1f %12.1f %14.1f %12d %14.1f %6d %8d%n",
+            store,
+            heap * perMillion / (1 << 20),
+            direct * perMillion / (1 << 20),
+            (double) (heap + direct) / accounts,
+            fullGcMs,
+            (double) allocated / transfers,
+            gcCount() - gcCountBefore,
+            gcTimeMs() - gcTimeBefore);
+
+        Reference.reachabilityFence(repository);
+    }
+
+    private static AccountRepository load(String store, int accounts) {
+        if (store.equals("memory")) {
+            InMemoryAccountRepository memory = new InMemoryAccountRepository();
+            for (int i = 0; i < accounts; i++) {
+                memory.addAccount(new Account(accountId(i), "User " + i, 1_000_000.0));
+            }
+            return memory;
+        }
+        OffHeapAccountRepository offHeap = new OffHeapAccountRepository(accounts);
+        for (int i = 0; i < accounts; i++) {
+            offHeap.addAccount(new Account(accountId(i), "User " + i, 1_000_000.0));
+        }
+        return offHeap;
+    }
+
+    private static String accountId(int i) {
+        return "ACC" + (10_000_000_000L + i);
+    }
+
+    private static long settledHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long directMemory() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (pool.getName().equals("direct")) {
+                return pool.getMemoryUsed();
+            }
+        }
+        return 0;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTimeMs() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.benchmark;
+
+import com.example.model.Account;
+import com.example.repository.AccountRepository;
+import com.example.repository.ConcurrentAccountRepository;
+import com.example.repository.ConnectionPool;
+import com.example.repository.InMemoryAccountRepository;
+import com.example.repository.JournaledAccountRepository;
+import com.example.repository.OffHeapAccountRepository;
+import com.example.repository.SnapshotAccountRepository;
+import com.example.repository.SqlAccountRepository;
+import com.example.repository.TransferJournal;
+import com.example.service.UPITransferService;
+import com.example.service.UPITransferService.TransferResult;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * UPITransferService transfer() / transferByUpiId() over every repository.
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║               TRANSFER SCALABILITY BENCHMARK                  ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  repository   : memory, concurrent, globallock, snapshot,     ║
+ * ║                 offheap, journal, jdbc                        ║
+ * ║  distribution : uniform, zipfian (hot accounts, contention)   ║
+ * ║                                                               ║
+ * ║  One shared service per trial; each benchmark thread walks    ║
+ * ║  its own pre-generated payer/payee pairs.                     ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * THREADS:
+ * ========
+ * JMH sets the thread count per run (-t), not per @Param.
+ * TransferScalabilitySuite runs this class for 1..64 threads, plus a
+ * single-thread latency run, with the GC profiler for allocation per
+ * operation. On its own (mvn -Pbenchmarks verify) it runs one thread.
+ *
+ * globallock is ConcurrentAccountRepository with a single stripe, so the
+ * concurrent/globallock rows compare 256 lock stripes with one lock.
+ *
+ * InMemoryAccountRepository is not thread-safe and is refused for more
+ * than one thread.
+ *
+ * Run: mvn -Pbenchmarks verify -Djmh.include=TransferScalabilityBenchmark
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransferScalabilityBenchmark {
+
+    /** Large enough that no transfer of ₹1 ever fails during a run */
+    private static final double OPENING_BALANCE = 1_000_000_000.0;
+
+    @Param({"concurrent", "globallock", "snapshot", "offheap", "journal", "jdbc", "memory"})
+    public String repository;
+
+    @Param({"uniform", "zipfian"})
+    public String distribution;
+
+    @Param({"100000"})
+    public int accounts;
+
+    private String[] accountIds;
+    private String[] upiIds;
+
+    private UPITransferService service;
+    private ConnectionPool pool;
+    private JournaledAccountRepository journal;
+    private Path journalDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkParams params) throws IOException {
+        if (repository.equals("memory") && params.getThreads() > 1) {
+            throw new IllegalStateException("InMemoryAccountRepository is not thread-safe; run it with -t 1");
+        }
+        accountIds = new String[accounts];
+        upiIds = new String[accounts];
+        Map<String, String> upiMappings = new HashMap<>(accounts * 2);
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = String.format("ACC%07d", i);
+            upiIds[i] = String.format("user%07d@upi", i);
+            upiMappings.put(upiIds[i], accountIds[i]);
+        }
+        service = new UPITransferService(createRepository(upiMappings));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (pool != null) {
+            pool.close();
+        }
+        if (journal != null) {
+            journal.close();
+            try (Stream<Path> files = Files.walk(journalDirectory)) {
+                for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Per-thread payer/payee sequence, seeded by thread index so runs repeat.
+     */
+    @State(Scope.Thread)
+    public static class Picks {
+        AccountSelection selection;
+
+        @Setup(Level.Trial)
+        public void setUp(TransferScalabilityBenchmark bank, ThreadParams thread) {
+            selection = new AccountSelection(bank.distribution, bank.accounts, 42 + thread.getThreadIndex());
+        }
+    }
+
+    @Benchmark
+    public TransferResult transfer(Picks picks) {
+        AccountSelection selection = picks.selection;
+        selection.advance();
+        return service.transfer(accountIds[selection.payer()], accountIds[selection.payee()], 1.0);
+    }
+
+    @Benchmark
+    public TransferResult transferByUpiId(Picks picks) {
+        AccountSelection selection = picks.selection;
+        selection.advance();
+        return service.transferByUpiId(upiIds[selection.payer()], upiIds[selection.payee()], 1.0);
+    }
+
+    private AccountRepository createRepository(Map<String, String> upiMappings) throws IOException {
+        switch (repository) {
+            case "memory": {
+                InMemoryAccountRepository memory = new InMemoryAccountRepository();
+                for (int i = 0; i < accounts; i++) {
+                    memory.addAccount(account(i));
+                }
+                return memory.addUpiMappings(upiMappings);
+            }
+            case "concurrent": {
+                ConcurrentAccountRepository concurrent = new ConcurrentAccountRepository();
+                for (int i = 0; i < accounts; i++) {
+                    concurrent.addAccount(account(i));
+                }
+                return concurrent.addUpiMappings(upiMappings);
+            }
+            case "globallock": {
+                ConcurrentAccountRepository globalLock = new ConcurrentAccountRepository(1);
+                for (int i = 0; i < accounts; i++) {
+                    globalLock.addAccount(account(i));
+                }
+                return globalLock.addUpiMappings(upiMappings);
+            }
+            case "snapshot": {
+                SnapshotAccountRepository snapshot = new SnapshotAccountRepository();
+                for (int i = 0; i < accounts; i++) {
+                    snapshot.addAccount(account(i));
+                }
+                return snapshot.addUpiMappings(upiMappings);
+            }
+            case "offheap": {
+                OffHeapAccountRepository offHeap = new OffHeapAccountRepository(accounts);
+                for (int i = 0; i < accounts; i++) {
+                    offHeap.addAccount(account(i));
+                }
+                return offHeap.addUpiMappings(upiMappings);
+            }
+            case "journal": {
+                journalDirectory = Files.createTempDirectory("transfer-journal");
+                journal = JournaledAccountRepository.open(journalDirectory,
+                    new ConcurrentAccountRepository().addUpiMappings(upiMappings),
+                    TransferJournal.DEFAULT_SEGMENT_BYTES, JournaledAccountRepository.DEFAULT_FORCE_EVERY,
+                    JournaledAccountRepository.DEFAULT_SNAPSHOT_EVERY);
+                for (int i = 0; i < accounts; i++) {
+                    journal.addAccount(account(i));
+                }
+                return journal;
+            }
+            case "jdbc": {
+                pool = new ConnectionPool("jdbc:h2:mem:transfer-scalability;DB_CLOSE_DELAY=-1", "sa", "", 16);
+                SqlAccountRepository jdbc = new SqlAccountRepository(pool);
+                jdbc.clear();
+                for (int i = 0; i < accounts; i++) {
+                    jdbc.addAccount(account(i));
+                    jdbc.addUpiMapping(upiIds[i], accountIds[i]);
+                }
+                return jdbc;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown repository: " + repository);
+        }
+    }
+
+    private Account account(int i) {
+        return new Account(accountIds[i], "User " + i, OPENING_BALANCE);
+    }
+}
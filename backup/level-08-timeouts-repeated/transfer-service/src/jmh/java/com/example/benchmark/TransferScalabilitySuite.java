@@ -0,0 +1,145 @@
+package com.example.benchmark;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.util.Statistics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs TransferScalabilityBenchmark as a latency + scalability sweep.
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║               TRANSFER SCALABILITY SUITE                      ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  1. Latency    : 1 thread, SampleTime → p50 / p99 / p99.9 µs  ║
+ * ║  2. Throughput : 1, 2, 4, 8, 16, 32, 64 threads → ops/s       ║
+ * ║                                                               ║
+ * ║  Every run uses the GC profiler: gc.alloc.rate.norm is the    ║
+ * ║  bytes allocated per transfer                                 ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * Writes one JMH JSON file per run next to {@code resultPrefix} and prints
+ * a table per benchmark: throughput and B/op by thread count.
+ * InMemoryAccountRepository only takes part in single-thread runs.
+ *
+ * Runs in the benchmarks profile when asked for (it takes hours with
+ * every parameter):
+ *
+ *   mvn -Pbenchmarks verify -Dscalability.skip=false -Dscalability.threads=1,4,16
+ *
+ * or directly: TransferScalabilitySuite [threads,...] [resultPrefix] [include regex]
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+public final class TransferScalabilitySuite {
+
+    private static final String BENCHMARK = TransferScalabilityBenchmark.class.getName();
+
+    private TransferScalabilitySuite() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        int[] threads = parseThreads(args.length > 0 ? args[0] : "1,2,4,8,16,32,64");
+        String resultPrefix = args.length > 1 ? args[1] : "target/jmh-scalability";
+        String include = args.length > 2 ? args[2] : BENCHMARK;
+
+        // ─────────────────────────────────────────────────────────
+        // 1. Single-thread latency distribution
+        // ─────────────────────────────────────────────────────────
+        Collection<RunResult> latency = new Runner(options(include, 1, resultPrefix + "-latency.json")
+            .mode(Mode.SampleTime)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .build()).run();
+        printLatency(latency);
+
+        // ─────────────────────────────────────────────────────────
+        // 2. Throughput per thread count
+        // ─────────────────────────────────────────────────────────
+        Map<String, Map<Integer, RunResult>> byBenchmark = new TreeMap<>();
+        for (int threadCount : threads) {
+            ChainedOptionsBuilder options = options(include, threadCount,
+                resultPrefix + "-t" + threadCount + ".json")
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS);
+            if (threadCount > 1) {
+                options.param("repository", "concurrent", "globallock", "snapshot", "offheap", "journal", "jdbc");
+            }
+            for (RunResult result : new Runner(options.build()).run()) {
+                byBenchmark.computeIfAbsent(label(result), k -> new TreeMap<>()).put(threadCount, result);
+            }
+        }
+        printThroughput(byBenchmark, threads);
+    }
+
+    private static ChainedOptionsBuilder options(String include, int threads, String resultFile) {
+        return new OptionsBuilder()
+            .include(include)
+            .threads(threads)
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(resultFile);
+    }
+
+    private static void printLatency(Collection<RunResult> results) {
+        System.out.printf("%nSingle-thread latency (µs)%n");
+        System.out.printf("%-60s %9s %9s %9s %10s%n", "benchmark", "p50", "p99", "p99.9", "alloc B/op");
+        for (RunResult result : results) {
+            Statistics statistics = result.getPrimaryResult().getStatistics();
+            System.out.printf("%-60s %9.2f %9.2f %9.2f %10.0f%n", label(result),
+                statistics.getPercentile(50), statistics.getPercentile(99), statistics.getPercentile(99.9),
+                allocatedPerOp(result));
+        }
+    }
+
+    private static void printThroughput(Map<String, Map<Integer, RunResult>> byBenchmark, int[] threads) {
+        System.out.printf("%nThroughput (ops/s) and allocation (B/op) by thread count%n");
+        StringBuilder header = new StringBuilder(String.format("%-60s", "benchmark"));
+        for (int threadCount : threads) {
+            header.append(String.format(" %16s", threadCount + " thr"));
+        }
+        System.out.println(header);
+        for (Map.Entry<String, Map<Integer, RunResult>> entry : byBenchmark.entrySet()) {
+            StringBuilder row = new StringBuilder(String.format("%-60s", entry.getKey()));
+            for (int threadCount : threads) {
+                RunResult result = entry.getValue().get(threadCount);
+                row.append(result == null ? String.format(" %16s", "-")
+                    : String.format(" %9.0f %4.0fB", result.getPrimaryResult().getScore(), allocatedPerOp(result)));
+            }
+            System.out.println(row);
+        }
+    }
+
+    private static double allocatedPerOp(RunResult result) {
+        Result<?> allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+        return allocation == null ? Double.NaN : allocation.getScore();
+    }
+
+    private static String label(RunResult result) {
+        BenchmarkParams params = result.getParams();
+        String method = params.getBenchmark().substring(params.getBenchmark().lastIndexOf('.') + 1);
+        return String.format("%s %s/%s", method, params.getParam("repository"), params.getParam("distribution"));
+    }
+
+    private static int[] parseThreads(String list) {
+        List<Integer> threads = new ArrayList<>();
+        for (String part : list.split(",")) {
+            threads.add(Integer.parseInt(part.trim()));
+        }
+        return threads.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.benchmark;
+
+import com.example.model.Account;
+import com.example.repository.AccountRepository;
+import com.example.repository.ConcurrentAccountRepository;
+import com.example.repository.ConnectionPool;
+import com.example.repository.InMemoryAccountRepository;
+import com.example.repository.SqlAccountRepository;
+import com.example.service.UPITransferService;
+import com.example.service.UPITransferService.TransferResult;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Same UPITransferService workload against each repository.
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║               TRANSFER SERVICE BENCHMARK                      ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  repository = memory     InMemoryAccountRepository (HashMap)  ║
+ * ║  repository = concurrent ConcurrentAccountRepository          ║
+ * ║  repository = jdbc       SqlAccountRepository on embedded H2  ║
+ * ║                                                               ║
+ * ║  transferById   : transfer(ACCxxxx, ACCyyyy, ₹1)              ║
+ * ║  transferByUpi  : transferByUpiId(userxxxx@upi, ...)          ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * Single-threaded on purpose: InMemoryAccountRepository is not thread-safe,
+ * and the point here is the per-call cost of a real database round trip
+ * (pooled connection, cached statements, row locks, commit) compared with
+ * a map lookup.
+ *
+ * Run: mvn -Pbenchmarks verify -Djmh.include=TransferServiceBenchmark
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransferServiceBenchmark {
+
+    private static final int ACCOUNTS = 1_000;
+
+    @Param({"memory", "concurrent", "jdbc"})
+    public String repository;
+
+    private final String[] accountIds = new String[ACCOUNTS];
+    private final String[] upiIds = new String[ACCOUNTS];
+
+    private ConnectionPool pool;
+    private UPITransferService service;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds[i] = String.format("ACC%04d", i);
+            upiIds[i] = String.format("user%04d@upi", i);
+        }
+        service = new UPITransferService(createRepository());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Benchmark
+    public TransferResult transferById() {
+        int from = nextIndex();
+        return service.transfer(accountIds[from], accountIds[(from + 1) % ACCOUNTS], 1.0);
+    }
+
+    @Benchmark
+    public TransferResult transferByUpi() {
+        int from = nextIndex();
+        return service.transferByUpiId(upiIds[from], upiIds[(from + 1) % ACCOUNTS], 1.0);
+    }
+
+    /** Walks the accounts in a ring, so every account pays and is paid equally often. */
+    private int nextIndex() {
+        int index = next;
+        next = (index + 1) % ACCOUNTS;
+        return index;
+    }
+
+    private AccountRepository createRepository() {
+        switch (repository) {
+            case "memory": {
+                InMemoryAccountRepository memory = new InMemoryAccountRepository();
+                for (int i = 0; i < ACCOUNTS; i++) {
+                    memory.addAccount(new Account(accountIds[i], "User " + i, 1_000_000.0));
+                    memory.addUpiMapping(upiIds[i], accountIds[i]);
+                }
+                return memory;
+            }
+            case "concurrent": {
+                ConcurrentAccountRepository concurrent = new ConcurrentAccountRepository();
+                for (int i = 0; i < ACCOUNTS; i++) {
+                    concurrent.addAccount(new Account(accountIds[i], "User " + i, 1_000_000.0));
+                    concurrent.addUpiMapping(upiIds[i], accountIds[i]);
+                }
+                return concurrent;
+            }
+            case "jdbc": {
+                pool = new ConnectionPool("jdbc:h2:mem:transfer-benchmark;DB_CLOSE_DELAY=-1", "sa", "", 4);
+                SqlAccountRepository jdbc = new SqlAccountRepository(pool);
+                jdbc.clear();
+                for (int i = 0; i < ACCOUNTS; i++) {
+                    jdbc.addAccount(new Account(accountIds[i], "User " + i, 1_000_000.0));
+                    jdbc.addUpiMapping(upiIds[i], accountIds[i]);
+                }
+                return jdbc;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown repository: " + repository);
+        }
+    }
+}
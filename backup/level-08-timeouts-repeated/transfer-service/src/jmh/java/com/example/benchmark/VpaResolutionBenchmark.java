@@ -0,0 +1,99 @@
+package com.example.benchmark;
+
+import com.example.repository.VpaIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UPI ID → account id resolution: HashMap + toLowerCase() vs VpaIndex.
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                 VPA RESOLUTION BENCHMARK                      ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  hashMapToLowerCase : map.get(upiId.toLowerCase())            ║
+ * ║  vpaIndex           : index.get(upiId)                        ║
+ * ║                                                               ║
+ * ║  Queries are mixed case ("User42@UPI", "USER42@upi", ...),    ║
+ * ║  as typed by payers. Run with -prof gc to compare             ║
+ * ║  gc.alloc.rate.norm: the baseline allocates a String per      ║
+ * ║  lookup, the index allocates nothing.                         ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * Run: mvn -Pbenchmarks verify -Djmh.include=VpaResolutionBenchmark
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VpaResolutionBenchmark {
+
+    private static final int QUERIES = 4096;
+
+    @Param({"10000", "1000000"})
+    public int vpas;
+
+    private final Map<String, String> hashMap = new HashMap<>();
+    private final VpaIndex<String> index = new VpaIndex<>();
+    private final String[] queries = new String[QUERIES];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, String> mappings = new HashMap<>(vpas * 2);
+        for (int i = 0; i < vpas; i++) {
+            mappings.put("user" + i + "@upi", "ACC" + i);
+        }
+        hashMap.putAll(mappings);
+        index.putAll(mappings);
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int q = 0; q < QUERIES; q++) {
+            queries[q] = mixCase("user" + random.nextInt(vpas) + "@upi", random);
+        }
+    }
+
+    @Benchmark
+    public String hashMapToLowerCase() {
+        return hashMap.get(nextQuery().toLowerCase());
+    }
+
+    @Benchmark
+    public String vpaIndex() {
+        return index.get(nextQuery());
+    }
+
+    private String nextQuery() {
+        return queries[next++ & (QUERIES - 1)];
+    }
+
+    private static String mixCase(String vpa, SplittableRandom random) {
+        char[] chars = vpa.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (random.nextBoolean()) {
+                chars[i] = Character.toUpperCase(chars[i]);
+            }
+        }
+        return new String(chars);
+    }
+}
@@ -76,7 +76,7 @@ public class Application {
         // Transfer 1: Account ID based transfer
         System.out.println("\n📤 Transfer 1: Rajesh → Priya (₹5,000)");
         try {
-            transferService.transfer(5000.0, "ACC001", "ACC002");
+            transferService.transfer("ACC001", "ACC002", 5000.0);
         } catch (Exception e) {
             System.out.println("❌ Failed: " + e.getMessage());
         }
@@ -84,7 +84,7 @@ public class Application {
         // Transfer 2: UPI ID based transfer
         System.out.println("\n📤 Transfer 2: Priya → Amit via UPI ID (₹2,500)");
         try {
-            transferService.transferByUpiId(2500.0, "priya@upi", "amit@upi");
+            transferService.transferByUpiId("priya@upi", "amit@upi", 2500.0);
         } catch (Exception e) {
             System.out.println("❌ Failed: " + e.getMessage());
         }
@@ -92,7 +92,7 @@ public class Application {
         // Transfer 3: Small amount (minimum limit test)
         System.out.println("\n📤 Transfer 3: Amit → Sunita (₹1 - Minimum)");
         try {
-            transferService.transfer(1.0, "ACC003", "ACC004");
+            transferService.transfer("ACC003", "ACC004", 1.0);
         } catch (Exception e) {
             System.out.println("❌ Failed: " + e.getMessage());
         }
@@ -106,7 +106,7 @@ public class Application {
         // Error 1: Insufficient Balance
         System.out.println("\n📤 Error Test 1: Transfer more than balance");
         try {
-            transferService.transfer(999999.0, "ACC004", "ACC001");
+            transferService.transfer("ACC004", "ACC001", 999999.0);
         } catch (Exception e) {
             System.out.println("✓ Expected Error: " + e.getMessage());
         }
@@ -114,7 +114,7 @@ public class Application {
         // Error 2: Exceeds UPI Limit
         System.out.println("\n📤 Error Test 2: Exceed UPI limit (₹1.5 Lakh)");
         try {
-            transferService.transfer(150000.0, "ACC005", "ACC001");
+            transferService.transfer("ACC005", "ACC001", 150000.0);
         } catch (Exception e) {
             System.out.println("✓ Expected Error: " + e.getMessage());
         }
@@ -122,7 +122,7 @@ public class Application {
         // Error 3: Below Minimum Amount
         System.out.println("\n📤 Error Test 3: Below minimum (₹0.50)");
         try {
-            transferService.transfer(0.50, "ACC001", "ACC002");
+            transferService.transfer("ACC001", "ACC002", 0.50);
         } catch (Exception e) {
             System.out.println("✓ Expected Error: " + e.getMessage());
         }
@@ -130,7 +130,7 @@ public class Application {
         // Error 4: Invalid Account
         System.out.println("\n📤 Error Test 4: Invalid account ID");
         try {
-            transferService.transfer(100.0, "ACC001", "INVALID_ACC");
+            transferService.transfer("ACC001", "INVALID_ACC", 100.0);
         } catch (Exception e) {
             System.out.println("✓ Expected Error: " + e.getMessage());
         }
@@ -138,7 +138,7 @@ public class Application {
         // Error 5: Same account transfer
         System.out.println("\n📤 Error Test 5: Transfer to same account");
         try {
-            transferService.transfer(100.0, "ACC001", "ACC001");
+            transferService.transfer("ACC001", "ACC001", 100.0);
         } catch (Exception e) {
             System.out.println("✓ Expected Error: " + e.getMessage());
         }
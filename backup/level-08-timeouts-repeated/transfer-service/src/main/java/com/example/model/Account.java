@@ -63,19 +63,8 @@ public class Account implements Comparable<Account> {
      * 3. Execute debit
      */
     public void debit(double amount) {
-        // Validate amount is positive
-        if (amount < 0) {
-            throw InvalidAmountException.negative(amount);
-        }
-        if (amount == 0) {
-            throw InvalidAmountException.zero();
-        }
-        
-        // Validate sufficient balance
-        if (amount > balance) {
-            throw new InsufficientBalanceException(accountId, balance, amount);
-        }
-        
+        validateDebit(accountId, balance, amount);
+
         // Execute debit
         balance -= amount;
     }
@@ -87,16 +76,38 @@ public class Account implements Comparable<Account> {
      * @throws InvalidAmountException if amount is zero or negative
      */
     public void credit(double amount) {
-        // Validate amount is positive
+        validateAmount(amount);
+
+        // Execute credit
+        balance += amount;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // Validation (shared with stores that keep no Account objects)
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Checks a debit of {@code amount} from {@code balance} without applying it.
+     */
+    public static void validateDebit(String accountId, double balance, double amount) {
+        validateAmount(amount);
+
+        // Validate sufficient balance
+        if (amount > balance) {
+            throw new InsufficientBalanceException(accountId, balance, amount);
+        }
+    }
+
+    /**
+     * Checks that {@code amount} is positive (not zero, not negative).
+     */
+    public static void validateAmount(double amount) {
         if (amount < 0) {
             throw InvalidAmountException.negative(amount);
         }
         if (amount == 0) {
             throw InvalidAmountException.zero();
         }
-        
-        // Execute credit
-        balance += amount;
     }
 
     @Override
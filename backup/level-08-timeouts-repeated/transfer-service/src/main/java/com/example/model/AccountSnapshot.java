@@ -0,0 +1,137 @@
+package com.example.model;
+
+/**
+ * Immutable, versioned view of an account.
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                     ACCOUNT SNAPSHOT                          ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  • Never changes once created, so a repository can hand the   ║
+ * ║    same instance to every reader instead of copying it        ║
+ * ║  • debited()/credited() return the NEXT version; the old one  ║
+ * ║    stays valid for whoever still holds it                     ║
+ * ║  • version lets a repository detect a stale write             ║
+ * ║    (optimistic concurrency)                                   ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * Deliberately NOT an Account: an Account can be debited and credited
+ * in place, a snapshot cannot, so it only appears in snapshot-specific
+ * repository methods. {@link #toAccount()} gives a mutable copy.
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+public final class AccountSnapshot {
+
+    private final String accountId;
+    private final String accountHolderName;
+    private final double balance;
+    private final long version;
+
+    /**
+     * Create a snapshot.
+     *
+     * @param accountId Unique account identifier
+     * @param accountHolderName Name of account holder
+     * @param balance Balance at this version
+     * @param version Version number (first version is 0)
+     */
+    public AccountSnapshot(String accountId, String accountHolderName, double balance, long version) {
+        this.accountId = accountId;
+        this.accountHolderName = accountHolderName;
+        this.balance = balance;
+        this.version = version;
+    }
+
+    /**
+     * Snapshot of any account at the given version.
+     *
+     * @param account Account to take the values from
+     * @param version Version number
+     * @return New snapshot
+     */
+    public static AccountSnapshot of(Account account, long version) {
+        return new AccountSnapshot(account.getAccountId(), account.getAccountHolderName(),
+            account.getBalance(), version);
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public String getAccountHolderName() {
+        return accountHolderName;
+    }
+
+    public double getBalance() {
+        return balance;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Mutable copy of this version; changing it does not affect the snapshot.
+     *
+     * @return New Account with the same values
+     */
+    public Account toAccount() {
+        return new Account(accountId, accountHolderName, balance);
+    }
+
+    /**
+     * Next version with {@code amount} debited. Same validation as
+     * {@link Account#debit}; this snapshot is not changed.
+     *
+     * @param amount Amount to debit
+     * @return Next version
+     * @throws com.example.exception.InvalidAmountException if amount is zero or negative
+     * @throws com.example.exception.InsufficientBalanceException if amount exceeds balance
+     */
+    public AccountSnapshot debited(double amount) {
+        Account.validateDebit(accountId, balance, amount);
+        return new AccountSnapshot(accountId, accountHolderName, balance - amount, version + 1);
+    }
+
+    /**
+     * Next version with {@code amount} credited. Same validation as
+     * {@link Account#credit}; this snapshot is not changed.
+     *
+     * @param amount Amount to credit
+     * @return Next version
+     * @throws com.example.exception.InvalidAmountException if amount is zero or negative
+     */
+    public AccountSnapshot credited(double amount) {
+        Account.validateAmount(amount);
+        return new AccountSnapshot(accountId, accountHolderName, balance + amount, version + 1);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AccountSnapshot snapshot = (AccountSnapshot) o;
+        return version == snapshot.version &&
+                Double.compare(snapshot.balance, balance) == 0 &&
+                accountId.equals(snapshot.accountId) &&
+                accountHolderName.equals(snapshot.accountHolderName);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = accountId.hashCode();
+        result = 31 * result + accountHolderName.hashCode();
+        result = 31 * result + Double.hashCode(balance);
+        return 31 * result + Long.hashCode(version);
+    }
+
+    @Override
+    public String toString() {
+        return "AccountSnapshot{" +
+                "accountId='" + accountId + '\'' +
+                ", balance=" + balance +
+                ", version=" + version +
+                '}';
+    }
+}
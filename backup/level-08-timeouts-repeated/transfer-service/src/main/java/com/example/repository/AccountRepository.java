@@ -1,6 +1,8 @@
 package com.example.repository;
 
 import com.example.model.Account;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -51,6 +53,33 @@ public interface AccountRepository {
      */
     void saveAccount(Account account);
     
+    /**
+     * Load several accounts in one call.
+     * 
+     * @param accountIds Account IDs to load (duplicates are loaded once)
+     * @return accountId → Account for every ID that exists, in request order;
+     *         unknown IDs are simply absent from the map
+     * 
+     * Banking Note: Against a real database this is ONE
+     * {@code SELECT ... WHERE account_id IN (...)} instead of N round trips.
+     * 
+     * Example:
+     * <pre>
+     *   Map&lt;String, Account&gt; accounts = repository.loadAccountsByIds(List.of("ACC001", "ACC002"));
+     * </pre>
+     */
+    Map<String, Account> loadAccountsByIds(Collection<String> accountIds);
+    
+    /**
+     * Save several accounts in one call.
+     * 
+     * @param accounts Accounts to save
+     * 
+     * Banking Note: Against a real database this is one batched UPDATE
+     * (JDBC addBatch/executeBatch) inside one transaction.
+     */
+    void saveAccounts(Collection<Account> accounts);
+    
     /**
      * Check if account exists.
      * Used for validation before transfer operations.
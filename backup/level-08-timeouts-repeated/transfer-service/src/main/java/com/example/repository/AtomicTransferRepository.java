@@ -0,0 +1,39 @@
+package com.example.repository;
+
+/**
+ * Repository that can move money between two accounts as one atomic step.
+ *
+ * WHY A SEPARATE INTERFACE?
+ * =========================
+ * The classic flow in UPITransferService is load → debit → credit → save,
+ * four independent calls. Two threads transferring from the same account can
+ * both load the old balance, and one of the saves is silently lost.
+ *
+ * A repository implementing this interface performs the whole transfer under
+ * its own concurrency control, so no other transfer can observe or overwrite
+ * a half-finished one. UPITransferService uses it whenever the injected
+ * repository supports it; plain repositories (and Mockito mocks of
+ * AccountRepository) keep the classic flow.
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+public interface AtomicTransferRepository extends AccountRepository {
+
+    /**
+     * Debit {@code fromAccountId} and credit {@code toAccountId} atomically.
+     * Either both balances change or neither does.
+     *
+     * Business validation (UPI limits, same-account check) stays in the
+     * service; this method only enforces what the accounts themselves enforce.
+     *
+     * @param fromAccountId Sender's account ID
+     * @param toAccountId Receiver's account ID (must differ from sender)
+     * @param amount Amount to move
+     * @return Balances of both accounts before and after the transfer
+     * @throws com.example.exception.AccountNotFoundException if either account doesn't exist
+     * @throws com.example.exception.InsufficientBalanceException if sender has insufficient funds
+     * @throws com.example.exception.InvalidAmountException if amount is zero or negative
+     */
+    BalanceTransfer transfer(String fromAccountId, String toAccountId, double amount);
+}
@@ -0,0 +1,29 @@
+package com.example.repository;
+
+/**
+ * Immutable record of one atomic transfer: both balances before and after.
+ * Returned by {@link AtomicTransferRepository#transfer}.
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+public class BalanceTransfer {
+
+    private final double senderBalanceBefore;
+    private final double senderBalanceAfter;
+    private final double receiverBalanceBefore;
+    private final double receiverBalanceAfter;
+
+    public BalanceTransfer(double senderBalanceBefore, double senderBalanceAfter,
+                           double receiverBalanceBefore, double receiverBalanceAfter) {
+        this.senderBalanceBefore = senderBalanceBefore;
+        this.senderBalanceAfter = senderBalanceAfter;
+        this.receiverBalanceBefore = receiverBalanceBefore;
+        this.receiverBalanceAfter = receiverBalanceAfter;
+    }
+
+    public double getSenderBalanceBefore() { return senderBalanceBefore; }
+    public double getSenderBalanceAfter() { return senderBalanceAfter; }
+    public double getReceiverBalanceBefore() { return receiverBalanceBefore; }
+    public double getReceiverBalanceAfter() { return receiverBalanceAfter; }
+}
@@ -0,0 +1,370 @@
+package com.example.repository;
+
+import com.example.exception.AccountNotFoundException;
+import com.example.model.Account;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * Thread-safe Account Repository with lock striping.
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                  CONCURRENT ACCOUNT REPOSITORY                ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  Problem: InMemory/Sql repositories are plain HashMaps, and   ║
+ * ║  load → debit → credit → save from two threads loses updates. ║
+ * ║                                                               ║
+ * ║  Solution:                                                    ║
+ * ║  • ConcurrentHashMap for the account and UPI tables           ║
+ * ║  • A fixed array of locks ("stripes"); each account id hashes ║
+ * ║    to one stripe, which guards that account's balance         ║
+ * ║  • transfer() holds both stripes while it debits and credits  ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * WHY STRIPES, NOT ONE LOCK PER ACCOUNT OR ONE GLOBAL LOCK?
+ * =========================================================
+ * - One global lock: correct, but every transfer waits for every other
+ * - One lock per account: unbounded lock objects for millions of accounts
+ * - N stripes: bounded memory, and two transfers only contend when their
+ *   accounts happen to share a stripe (probability ~ 1/N)
+ *
+ * DEADLOCK FREEDOM:
+ * =================
+ * Transfer A→B and B→A running together would deadlock if each took its
+ * sender's lock first. transfer() always takes the LOWER stripe index first,
+ * so every thread acquires locks in the same global order.
+ *
+ * Like InMemoryAccountRepository, it starts empty, stays silent, and hands
+ * out copies so callers can never modify stored balances without a lock.
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+public class ConcurrentAccountRepository implements AtomicTransferRepository, UpiIndexedRepository {
+
+    /** Default stripe count; plenty for 32-64 worker threads */
+    public static final int DEFAULT_STRIPES = 256;
+
+    // ═══════════════════════════════════════════════════════════
+    // STORAGE
+    // ═══════════════════════════════════════════════════════════
+
+    /** Account storage: accountId → Account (mutated only under its stripe lock) */
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+
+    /** UPI ID index: upiId (any case) → accountId */
+    private final VpaIndex<String> upiIndex = new VpaIndex<>();
+
+    /** Lock stripes; length is a power of two so the index is a mask */
+    private final ReentrantLock[] stripes;
+
+    public ConcurrentAccountRepository() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripeCount Number of locks, rounded up to a power of two.
+     *                    1 degenerates to a single global lock.
+     */
+    public ConcurrentAccountRepository(int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Stripe count must be positive: " + stripeCount);
+        }
+        int size = Integer.highestOneBit(stripeCount - 1) << 1;
+        stripes = new ReentrantLock[Math.max(1, size)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // TEST HELPER METHODS
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Add an account to the repository (stores a copy).
+     *
+     * @param account Account to add
+     * @return this repository (for chaining)
+     */
+    public ConcurrentAccountRepository addAccount(Account account) {
+        saveAccount(account);
+        return this;
+    }
+
+    /**
+     * Add multiple accounts at once.
+     *
+     * @param accountsToAdd Accounts to add
+     * @return this repository (for chaining)
+     */
+    public ConcurrentAccountRepository addAccounts(Account... accountsToAdd) {
+        for (Account account : accountsToAdd) {
+            addAccount(account);
+        }
+        return this;
+    }
+
+    /**
+     * Add UPI ID mapping.
+     *
+     * @param upiId UPI ID (e.g., "rajesh@upi")
+     * @param accountId Account ID to map to
+     * @return this repository (for chaining)
+     */
+    public ConcurrentAccountRepository addUpiMapping(String upiId, String accountId) {
+        upiIndex.put(upiId, accountId);
+        return this;
+    }
+
+    /**
+     * Bulk-load UPI ID mappings (sizes the index once).
+     *
+     * @param mappings UPI ID → account ID
+     * @return this repository (for chaining)
+     */
+    public ConcurrentAccountRepository addUpiMappings(Map<String, String> mappings) {
+        upiIndex.putAll(mappings);
+        return this;
+    }
+
+    /**
+     * Get count of stored accounts.
+     *
+     * @return Number of accounts
+     */
+    public int getAccountCount() {
+        return accounts.size();
+    }
+
+    /**
+     * Get number of lock stripes in use.
+     *
+     * @return Stripe count (a power of two)
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Get total balance across all accounts as one consistent snapshot.
+     * Takes every stripe (in index order), so no transfer is half-counted.
+     *
+     * @return Sum of all account balances
+     */
+    public double getTotalBalance() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+        try {
+            return accounts.values().stream()
+                .mapToDouble(Account::getBalance)
+                .sum();
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].unlock();
+            }
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // INTERFACE IMPLEMENTATION
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * {@inheritDoc}
+     *
+     * Returns a COPY taken under the account's stripe lock.
+     * Returns null if not found (let service handle exception).
+     */
+    @Override
+    public Account loadAccountById(String accountId) {
+        ReentrantLock lock = stripeFor(accountId);
+        lock.lock();
+        try {
+            Account account = accounts.get(accountId);
+            return account != null ? copyAccount(account) : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Stores a COPY under the account's stripe lock. Note that a save based on
+     * an earlier load can still overwrite a concurrent transfer; use
+     * {@link #transfer} for balance changes.
+     */
+    @Override
+    public void saveAccount(Account account) {
+        if (account == null) {
+            return;
+        }
+        ReentrantLock lock = stripeFor(account.getAccountId());
+        lock.lock();
+        try {
+            accounts.put(account.getAccountId(), copyAccount(account));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Holds every involved stripe (in index order) while copying, so the
+     * result is one consistent snapshot: no transfer is seen half-done.
+     */
+    @Override
+    public Map<String, Account> loadAccountsByIds(Collection<String> accountIds) {
+        int[] locked = lockAll(accountIds.stream().mapToInt(this::stripeIndex));
+        try {
+            Map<String, Account> loaded = new LinkedHashMap<>();
+            for (String accountId : accountIds) {
+                Account account = accounts.get(accountId);
+                if (account != null) {
+                    loaded.putIfAbsent(accountId, copyAccount(account));
+                }
+            }
+            return loaded;
+        } finally {
+            unlockAll(locked);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Stores COPIES with every involved stripe held, so readers see either
+     * none or all of the batch.
+     */
+    @Override
+    public void saveAccounts(Collection<Account> accountsToSave) {
+        int[] locked = lockAll(accountsToSave.stream().mapToInt(account -> stripeIndex(account.getAccountId())));
+        try {
+            for (Account account : accountsToSave) {
+                accounts.put(account.getAccountId(), copyAccount(account));
+            }
+        } finally {
+            unlockAll(locked);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean existsById(String accountId) {
+        return accounts.containsKey(accountId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Account> findByUpiId(String upiId) {
+        String accountId = upiIndex.get(upiId);
+        if (accountId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(loadAccountById(accountId));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * One VpaIndex probe; no String, no Account is created.
+     */
+    @Override
+    public String findAccountIdByUpiId(CharSequence upiId) {
+        return upiIndex.get(upiId);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Locks both accounts' stripes, lower index first, then debits and
+     * credits the stored accounts in place. Account.debit() validates before
+     * it changes anything, so a failed transfer leaves both balances intact.
+     */
+    @Override
+    public BalanceTransfer transfer(String fromAccountId, String toAccountId, double amount) {
+        int fromStripe = stripeIndex(fromAccountId);
+        int toStripe = stripeIndex(toAccountId);
+        ReentrantLock first = stripes[Math.min(fromStripe, toStripe)];
+        ReentrantLock second = stripes[Math.max(fromStripe, toStripe)];
+
+        first.lock();
+        try {
+            if (second != first) {
+                second.lock();
+            }
+            try {
+                Account from = accounts.get(fromAccountId);
+                if (from == null) {
+                    throw new AccountNotFoundException(fromAccountId);
+                }
+                Account to = accounts.get(toAccountId);
+                if (to == null) {
+                    throw new AccountNotFoundException(toAccountId);
+                }
+
+                double senderBefore = from.getBalance();
+                double receiverBefore = to.getBalance();
+                from.debit(amount);
+                to.credit(amount);
+                return new BalanceTransfer(senderBefore, from.getBalance(), receiverBefore, to.getBalance());
+            } finally {
+                if (second != first) {
+                    second.unlock();
+                }
+            }
+        } finally {
+            first.unlock();
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // PRIVATE HELPERS
+    // ═══════════════════════════════════════════════════════════
+
+    /** Locks the distinct stripes in ascending order, same global order as transfer(). */
+    private int[] lockAll(IntStream stripeIndexes) {
+        int[] indexes = stripeIndexes.distinct().sorted().toArray();
+        for (int i = 0; i < indexes.length; i++) {
+            stripes[indexes[i]].lock();
+        }
+        return indexes;
+    }
+
+    private void unlockAll(int[] indexes) {
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            stripes[indexes[i]].unlock();
+        }
+    }
+
+    private ReentrantLock stripeFor(String accountId) {
+        return stripes[stripeIndex(accountId)];
+    }
+
+    /** Spreads the hash (as HashMap does) so similar ids land on different stripes. */
+    private int stripeIndex(String accountId) {
+        int h = accountId.hashCode();
+        return (h ^ (h >>> 16)) & (stripes.length - 1);
+    }
+
+    private Account copyAccount(Account original) {
+        return new Account(
+            original.getAccountId(),
+            original.getAccountHolderName(),
+            original.getBalance()
+        );
+    }
+}
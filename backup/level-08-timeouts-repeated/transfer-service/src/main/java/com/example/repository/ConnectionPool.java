@@ -0,0 +1,169 @@
+package com.example.repository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed-size JDBC connection pool with a per-connection statement cache.
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                      CONNECTION POOL                          ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  Opening a JDBC connection costs a network handshake and      ║
+ * ║  authentication; preparing a statement costs a SQL parse and  ║
+ * ║  plan. A transfer should pay for neither.                     ║
+ * ║                                                               ║
+ * ║  • N connections opened up front, handed out from a queue     ║
+ * ║  • Each connection keeps its PreparedStatements by SQL text,  ║
+ * ║    so every statement is prepared once per connection         ║
+ * ║  • Callers borrow with try-with-resources; close() returns    ║
+ * ║    the connection to the pool instead of closing it           ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * In production this is HikariCP plus the driver's statement cache
+ * (e.g. Oracle implicit caching). This class keeps the project free of
+ * extra dependencies and shows the two ideas in ~100 lines.
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    /** How long acquire() waits for a free connection before failing */
+    private static final long ACQUIRE_TIMEOUT_MS = 5000;
+
+    private final BlockingQueue<PooledConnection> idle;
+    private final List<PooledConnection> all = new ArrayList<>();
+
+    /**
+     * Open {@code size} connections to {@code jdbcUrl}.
+     *
+     * @param jdbcUrl JDBC URL (e.g. "jdbc:h2:mem:accounts;DB_CLOSE_DELAY=-1")
+     * @param user Database user
+     * @param password Database password
+     * @param size Number of connections
+     */
+    public ConnectionPool(String jdbcUrl, String user, String password, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be positive: " + size);
+        }
+        idle = new ArrayBlockingQueue<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                Connection connection = DriverManager.getConnection(jdbcUrl, user, password);
+                connection.setAutoCommit(false);
+                PooledConnection pooled = new PooledConnection(connection);
+                all.add(pooled);
+                idle.add(pooled);
+            }
+        } catch (SQLException e) {
+            close();
+            throw new DataAccessException("Could not open connection pool for " + jdbcUrl, e);
+        }
+    }
+
+    /**
+     * Borrow a connection. Always use try-with-resources so it goes back.
+     *
+     * @return A connection with auto-commit off
+     * @throws DataAccessException if none becomes free within the timeout
+     */
+    public PooledConnection acquire() {
+        try {
+            PooledConnection connection = idle.poll(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            if (connection == null) {
+                throw new DataAccessException("No free connection within " + ACQUIRE_TIMEOUT_MS + " ms", null);
+            }
+            return connection;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    /**
+     * Get number of connections in the pool.
+     *
+     * @return Pool size
+     */
+    public int size() {
+        return all.size();
+    }
+
+    /**
+     * Close every connection (and with it every cached statement).
+     */
+    @Override
+    public void close() {
+        for (PooledConnection pooled : all) {
+            try {
+                pooled.connection.close();
+            } catch (SQLException ignored) {
+                // closing anyway
+            }
+        }
+        all.clear();
+        idle.clear();
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // POOLED CONNECTION
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * A borrowed connection. {@link #close()} returns it to the pool.
+     */
+    public final class PooledConnection implements AutoCloseable {
+
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Get the cached PreparedStatement for {@code sql}, preparing it on first use.
+         * Parameters from the previous use are cleared.
+         */
+        public PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            } else {
+                statement.clearParameters();
+            }
+            return statement;
+        }
+
+        public void commit() throws SQLException {
+            connection.commit();
+        }
+
+        /** Rolls back, swallowing errors: used on paths that are already failing. */
+        public void rollbackQuietly() {
+            try {
+                connection.rollback();
+            } catch (SQLException ignored) {
+                // the original exception is the one worth reporting
+            }
+        }
+
+        /** Returns the connection to the pool; any open transaction is rolled back first. */
+        @Override
+        public void close() {
+            rollbackQuietly();
+            idle.offer(this);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.repository;
+
+/**
+ * Unchecked wrapper for storage failures (SQLException, exhausted pool,
+ * journal or snapshot I/O).
+ *
+ * Not a TransferException: a broken database is an infrastructure fault,
+ * not a business rule the payer violated.
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+public class DataAccessException extends RuntimeException {
+
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
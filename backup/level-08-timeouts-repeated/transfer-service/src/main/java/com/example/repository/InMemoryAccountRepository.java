@@ -2,7 +2,9 @@ package com.example.repository;
 
 import com.example.model.Account;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -25,9 +27,9 @@ import java.util.Optional;
  * WHY NOT USE SqlAccountRepository?
  * =================================
  * SqlAccountRepository:
- * - Has pre-loaded test data that interferes with tests
- * - Prints to console (clutters test output)
- * - Harder to control initial state
+ * - Needs a database (embedded H2) and a connection pool
+ * - Its demo constructor pre-loads data that interferes with tests
+ * - Every call is a SQL round trip (see TransferServiceBenchmark)
  * 
  * InMemoryAccountRepository:
  * - Starts empty - you control all data
@@ -37,7 +39,7 @@ import java.util.Optional;
  * @author NPCI Training Team
  * @version 1.0
  */
-public class InMemoryAccountRepository implements AccountRepository {
+public class InMemoryAccountRepository implements UpiIndexedRepository {
 
     // ═══════════════════════════════════════════════════════════
     // STORAGE
@@ -46,8 +48,8 @@ public class InMemoryAccountRepository implements AccountRepository {
     /** Account storage: accountId → Account */
     private final Map<String, Account> accounts = new HashMap<>();
 
-    /** UPI ID mapping: upiId → accountId */
-    private final Map<String, String> upiMappings = new HashMap<>();
+    /** UPI ID index: upiId (any case) → accountId */
+    private final VpaIndex<String> upiIndex = new VpaIndex<>();
 
     // ═══════════════════════════════════════════════════════════
     // TEST HELPER METHODS
@@ -86,7 +88,18 @@ public class InMemoryAccountRepository implements AccountRepository {
      * @return this repository (for chaining)
      */
     public InMemoryAccountRepository addUpiMapping(String upiId, String accountId) {
-        upiMappings.put(upiId.toLowerCase(), accountId);
+        upiIndex.put(upiId, accountId);
+        return this;
+    }
+
+    /**
+     * Bulk-load UPI ID mappings (sizes the index once).
+     *
+     * @param mappings UPI ID → account ID
+     * @return this repository (for chaining)
+     */
+    public InMemoryAccountRepository addUpiMappings(Map<String, String> mappings) {
+        upiIndex.putAll(mappings);
         return this;
     }
 
@@ -96,7 +109,7 @@ public class InMemoryAccountRepository implements AccountRepository {
      */
     public void clear() {
         accounts.clear();
-        upiMappings.clear();
+        upiIndex.clear();
     }
 
     /**
@@ -115,7 +128,7 @@ public class InMemoryAccountRepository implements AccountRepository {
      * @return Number of UPI ID mappings
      */
     public int getUpiMappingCount() {
-        return upiMappings.size();
+        return upiIndex.size();
     }
 
     /**
@@ -167,6 +180,35 @@ public class InMemoryAccountRepository implements AccountRepository {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * Returns COPIES, like loadAccountById().
+     */
+    @Override
+    public Map<String, Account> loadAccountsByIds(Collection<String> accountIds) {
+        Map<String, Account> loaded = new LinkedHashMap<>();
+        for (String accountId : accountIds) {
+            Account account = accounts.get(accountId);
+            if (account != null) {
+                loaded.putIfAbsent(accountId, copyAccount(account));
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Stores COPIES, like saveAccount().
+     */
+    @Override
+    public void saveAccounts(Collection<Account> accountsToSave) {
+        for (Account account : accountsToSave) {
+            saveAccount(account);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -182,7 +224,7 @@ public class InMemoryAccountRepository implements AccountRepository {
      */
     @Override
     public Optional<Account> findByUpiId(String upiId) {
-        String accountId = upiMappings.get(upiId.toLowerCase());
+        String accountId = upiIndex.get(upiId);
         if (accountId == null) {
             return Optional.empty();
         }
@@ -190,6 +232,16 @@ public class InMemoryAccountRepository implements AccountRepository {
         return Optional.ofNullable(account);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * One VpaIndex probe; no String, no Account is created.
+     */
+    @Override
+    public String findAccountIdByUpiId(CharSequence upiId) {
+        return upiIndex.get(upiId);
+    }
+
     // ═══════════════════════════════════════════════════════════
     // PRIVATE HELPERS
     // ═══════════════════════════════════════════════════════════
@@ -197,6 +249,7 @@ public class InMemoryAccountRepository implements AccountRepository {
     /**
      * Create a defensive copy of an account.
      * Prevents external code from modifying stored data directly.
+     * (SnapshotAccountRepository.loadSnapshot() avoids the copy with immutable snapshots.)
      */
     private Account copyAccount(Account original) {
         return new Account(
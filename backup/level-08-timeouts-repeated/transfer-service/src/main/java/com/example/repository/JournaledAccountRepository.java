@@ -0,0 +1,544 @@
+package com.example.repository;
+
+import com.example.model.Account;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.System.Logger.Level;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Event-sourced decorator: every balance change goes to a durable journal.
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                JOURNALED ACCOUNT REPOSITORY                   ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  transfer()    → delegate.transfer() → journal TRANSFER       ║
+ * ║  saveAccount() → delegate.saveAccount() → journal ACCOUNT     ║
+ * ║  reads         → delegate, untouched                          ║
+ * ║                                                               ║
+ * ║  Every snapshotEvery records: all balances are written to     ║
+ * ║  snapshot-<seq>.snap and the journal segments it covers are   ║
+ * ║  deleted                                                      ║
+ * ║                                                               ║
+ * ║  open(): latest snapshot → replay the journal tail            ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * ORDERING:
+ * =========
+ * Replay must apply changes in the order they happened. Writes therefore
+ * run one at a time: apply to the delegate, then append to the journal,
+ * under one lock. A failed transfer (insufficient balance, unknown
+ * account) throws before anything is journaled. Appends are memory
+ * copies, so the lock is held for well under a microsecond; reads take
+ * no lock at all.
+ *
+ * FAILED APPENDS:
+ * ===============
+ * The journal is the source of truth, so memory must never hold a change
+ * the journal does not. If an append throws (e.g. a new segment cannot be
+ * mapped), the change is undone in the delegate, unless the record did
+ * reach the journal, and the exception is rethrown. The repository then
+ * fails closed: every later write throws DataAccessException until it is
+ * reopened, because the journal's state is no longer known.
+ *
+ * FAILED AUTOMATIC SNAPSHOTS:
+ * ===========================
+ * A snapshot taken because snapshotEvery was reached runs after the write
+ * is applied and journaled, so its failure must not fail that write: a
+ * caller told "failed" could retry and move the money twice. The failure
+ * is logged, kept for getLastSnapshotFailure(), and the snapshot is
+ * retried after another snapshotEvery records. Until one succeeds the
+ * journal simply keeps its segments. An explicit snapshot() still throws.
+ *
+ * The delegate must start empty: its state is rebuilt from the snapshot
+ * and the journal, and every account must enter through this decorator.
+ * UPI ID mappings are reference data, not balances, and are not journaled;
+ * load them into the delegate directly.
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+public class JournaledAccountRepository implements AtomicTransferRepository, UpiIndexedRepository, AutoCloseable {
+
+    /** Default records between two force() calls */
+    public static final int DEFAULT_FORCE_EVERY = 256;
+
+    /** Default records between two snapshots */
+    public static final long DEFAULT_SNAPSHOT_EVERY = 1_000_000;
+
+    private static final int SNAPSHOT_MAGIC = 0x534E4150;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private static final System.Logger LOG = System.getLogger(JournaledAccountRepository.class.getName());
+
+    private final AtomicTransferRepository delegate;
+    private final TransferJournal journal;
+    private final Path directory;
+    private final long snapshotEvery;
+
+    /** Every account ever saved: what a snapshot has to write */
+    private final Set<String> accountIds = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private long lastSnapshotSequence;
+
+    /** No automatic snapshot before this sequence (set after a failure) */
+    private long snapshotRetrySequence;
+    private volatile DataAccessException lastSnapshotFailure;
+    private long replayedRecords;
+
+    /** First append failure; once set, writes are rejected (guarded by writeLock) */
+    private RuntimeException appendFailure;
+
+    private JournaledAccountRepository(AtomicTransferRepository delegate, Path directory,
+                                       int segmentBytes, int forceEvery, long snapshotEvery) {
+        if (snapshotEvery < 1) {
+            throw new IllegalArgumentException("snapshotEvery must be positive: " + snapshotEvery);
+        }
+        this.delegate = delegate;
+        this.directory = directory;
+        this.snapshotEvery = snapshotEvery;
+        this.journal = new TransferJournal(directory, segmentBytes, forceEvery);
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // STARTUP
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Open with default segment size, force batch and snapshot interval.
+     *
+     * @param directory Directory holding snapshots and journal segments
+     * @param delegate Empty repository to rebuild the state into
+     * @return The recovered repository
+     */
+    public static JournaledAccountRepository open(Path directory, AtomicTransferRepository delegate) {
+        return open(directory, delegate, TransferJournal.DEFAULT_SEGMENT_BYTES,
+            DEFAULT_FORCE_EVERY, DEFAULT_SNAPSHOT_EVERY);
+    }
+
+    /**
+     * Load the latest valid snapshot into {@code delegate}, replay the
+     * journal records after it and continue the journal from there.
+     *
+     * @param directory Directory holding snapshots and journal segments
+     * @param delegate Empty repository to rebuild the state into
+     * @param segmentBytes Size of each journal segment file
+     * @param forceEvery Records between two force() calls (1 = every record)
+     * @param snapshotEvery Records between two automatic snapshots
+     * @return The recovered repository
+     * @throws DataAccessException if the files cannot be read
+     */
+    public static JournaledAccountRepository open(Path directory, AtomicTransferRepository delegate,
+                                                  int segmentBytes, int forceEvery, long snapshotEvery) {
+        JournaledAccountRepository repository =
+            new JournaledAccountRepository(delegate, directory, segmentBytes, forceEvery, snapshotEvery);
+        repository.recover();
+        return repository;
+    }
+
+    private void recover() {
+        lastSnapshotSequence = loadLatestSnapshot();
+        replayedRecords = journal.replay(lastSnapshotSequence, new TransferJournal.Visitor() {
+            @Override
+            public void transfer(long sequence, String fromAccountId, String toAccountId, double amount) {
+                delegate.transfer(fromAccountId, toAccountId, amount);
+            }
+
+            @Override
+            public void account(long sequence, String accountId, String holderName, double balance) {
+                delegate.saveAccount(new Account(accountId, holderName, balance));
+                accountIds.add(accountId);
+            }
+        });
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // WRITES (journaled)
+    // ═══════════════════════════════════════════════════════════
+
+    @Override
+    public BalanceTransfer transfer(String fromAccountId, String toAccountId, double amount) {
+        writeLock.lock();
+        try {
+            checkWritable();
+            BalanceTransfer result = delegate.transfer(fromAccountId, toAccountId, amount);
+            long sequence = journal.getLastSequence();
+            try {
+                journal.appendTransfer(fromAccountId, toAccountId, amount);
+            } catch (RuntimeException e) {
+                failClosed(e, sequence, () -> {
+                    // Exact previous balances: a reverse transfer could differ in the last bit
+                    restore(toAccountId, result.getReceiverBalanceBefore());
+                    restore(fromAccountId, result.getSenderBalanceBefore());
+                });
+                throw e;
+            }
+            snapshotIfDue();
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void saveAccount(Account account) {
+        writeLock.lock();
+        try {
+            checkWritable();
+            Account previous = delegate.loadAccountById(account.getAccountId());
+            delegate.saveAccount(account);
+            boolean added = accountIds.add(account.getAccountId());
+            long sequence = journal.getLastSequence();
+            try {
+                journal.appendAccount(account.getAccountId(), account.getAccountHolderName(), account.getBalance());
+            } catch (RuntimeException e) {
+                failClosed(e, sequence, () -> {
+                    // A new account cannot be removed from the delegate; failing closed covers it
+                    if (previous != null) {
+                        delegate.saveAccount(previous);
+                    } else if (added) {
+                        accountIds.remove(account.getAccountId());
+                    }
+                });
+                throw e;
+            }
+            snapshotIfDue();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void saveAccounts(Collection<Account> accountsToSave) {
+        writeLock.lock();
+        try {
+            for (Account account : accountsToSave) {
+                saveAccount(account);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Add an account (journaled like any other save).
+     *
+     * @param account Account to add
+     * @return this repository (for chaining)
+     */
+    public JournaledAccountRepository addAccount(Account account) {
+        saveAccount(account);
+        return this;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // READS (straight to the delegate)
+    // ═══════════════════════════════════════════════════════════
+
+    @Override
+    public Account loadAccountById(String accountId) {
+        return delegate.loadAccountById(accountId);
+    }
+
+    @Override
+    public Map<String, Account> loadAccountsByIds(Collection<String> ids) {
+        return delegate.loadAccountsByIds(ids);
+    }
+
+    @Override
+    public boolean existsById(String accountId) {
+        return delegate.existsById(accountId);
+    }
+
+    @Override
+    public Optional<Account> findByUpiId(String upiId) {
+        return delegate.findByUpiId(upiId);
+    }
+
+    @Override
+    public String findAccountIdByUpiId(CharSequence upiId) {
+        if (delegate instanceof UpiIndexedRepository indexed) {
+            return indexed.findAccountIdByUpiId(upiId);
+        }
+        return delegate.findByUpiId(upiId.toString()).map(Account::getAccountId).orElse(null);
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // SNAPSHOTS AND DURABILITY
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Write every balance to a new snapshot now, then delete the older
+     * snapshot and the journal segments it covers. Writers wait meanwhile.
+     *
+     * @return Journal sequence number the snapshot includes
+     */
+    public long snapshot() {
+        writeLock.lock();
+        try {
+            checkWritable();
+            journal.force();
+            long sequence = journal.getLastSequence();
+            if (sequence == lastSnapshotSequence) {
+                return sequence;
+            }
+            writeSnapshot(sequence);
+            deleteSnapshotsBefore(sequence);
+            journal.deleteSegmentsUpTo(sequence);
+            lastSnapshotSequence = sequence;
+            return sequence;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Force every journaled change to the storage device now.
+     */
+    public void sync() {
+        writeLock.lock();
+        try {
+            journal.force();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return Sequence number of the last journaled change
+     */
+    public long getLastSequence() {
+        writeLock.lock();
+        try {
+            return journal.getLastSequence();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return Sequence number included in the latest snapshot, 0 if none
+     */
+    public long getLastSnapshotSequence() {
+        writeLock.lock();
+        try {
+            return lastSnapshotSequence;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return Why the last automatic snapshot failed, null if it succeeded
+     */
+    public DataAccessException getLastSnapshotFailure() {
+        return lastSnapshotFailure;
+    }
+
+    /**
+     * @return Journal records replayed by open() on top of the snapshot
+     */
+    public long getReplayedRecords() {
+        return replayedRecords;
+    }
+
+    /**
+     * @return Number of journal segment files on disk
+     */
+    public int getJournalSegmentCount() {
+        writeLock.lock();
+        try {
+            return journal.getSegmentCount();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Force and close the journal. The delegate keeps its state.
+     */
+    @Override
+    public void close() {
+        writeLock.lock();
+        try {
+            journal.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // PRIVATE HELPERS
+    // ═══════════════════════════════════════════════════════════
+
+    private void checkWritable() {
+        if (appendFailure != null) {
+            throw new DataAccessException("Journal append failed earlier; reopen " + directory + " to recover",
+                appendFailure);
+        }
+    }
+
+    /**
+     * Reject further writes and, if the failed append left the journal
+     * where it was, undo the delegate change so memory matches the journal.
+     */
+    private void failClosed(RuntimeException failure, long sequenceBefore, Runnable undo) {
+        appendFailure = failure;
+        if (journal.getLastSequence() == sequenceBefore) {
+            try {
+                undo.run();
+            } catch (RuntimeException undoFailure) {
+                failure.addSuppressed(undoFailure);
+            }
+        }
+    }
+
+    private void restore(String accountId, double balance) {
+        Account current = delegate.loadAccountById(accountId);
+        delegate.saveAccount(new Account(accountId, current.getAccountHolderName(), balance));
+    }
+
+    private void snapshotIfDue() {
+        long sequence = journal.getLastSequence();
+        if (sequence - lastSnapshotSequence < snapshotEvery || sequence < snapshotRetrySequence) {
+            return;
+        }
+        try {
+            snapshot();
+            lastSnapshotFailure = null;
+        } catch (DataAccessException e) {
+            // The write is applied and journaled: report it as done, retry the snapshot later
+            lastSnapshotFailure = e;
+            snapshotRetrySequence = sequence + snapshotEvery;
+            LOG.log(Level.WARNING, "Snapshot at sequence " + sequence + " failed; retrying at "
+                + snapshotRetrySequence, e);
+        }
+    }
+
+    /**
+     * Snapshot file: magic, sequence, count, then (id, name, balance) per
+     * account, then a CRC32C of everything before it. Written to a temp
+     * file, fsynced and renamed, so a crash leaves either the old snapshot
+     * or the complete new one.
+     */
+    private void writeSnapshot(long sequence) {
+        List<String> ids = new ArrayList<>(accountIds);
+        Map<String, Account> accounts = delegate.loadAccountsByIds(ids);
+        Path target = snapshotPath(sequence);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try {
+            CRC32C crc = new CRC32C();
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(
+                     new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), crc))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(sequence);
+                out.writeInt(accounts.size());
+                for (Account account : accounts.values()) {
+                    out.writeUTF(account.getAccountId());
+                    out.writeUTF(account.getAccountHolderName() == null ? "" : account.getAccountHolderName());
+                    out.writeDouble(account.getBalance());
+                }
+                out.flush();
+                new DataOutputStream(file).writeInt((int) crc.getValue());
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new DataAccessException("Cannot write snapshot " + target, e);
+        }
+    }
+
+    /** Loads the newest snapshot that passes its CRC; returns its sequence, 0 if none. */
+    private long loadLatestSnapshot() {
+        List<Path> snapshots = listSnapshots();
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            List<Account> accounts = new ArrayList<>();
+            long sequence = readSnapshot(snapshots.get(i), accounts);
+            if (sequence >= 0) {
+                for (Account account : accounts) {
+                    delegate.saveAccount(account);
+                    accountIds.add(account.getAccountId());
+                }
+                return sequence;
+            }
+        }
+        return 0;
+    }
+
+    /** Returns the snapshot's sequence, or -1 if the file is damaged. */
+    private static long readSnapshot(Path path, List<Account> accounts) {
+        CRC32C crc = new CRC32C();
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(path), 1 << 16)) {
+            DataInputStream in = new DataInputStream(new CheckedInputStream(file, crc));
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                return -1;
+            }
+            long sequence = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                accounts.add(new Account(in.readUTF(), in.readUTF(), in.readDouble()));
+            }
+            int expected = (int) crc.getValue();
+            return new DataInputStream(file).readInt() == expected ? sequence : -1;
+        } catch (IOException e) {
+            accounts.clear();
+            return -1;
+        }
+    }
+
+    private void deleteSnapshotsBefore(long sequence) {
+        try {
+            for (Path path : listSnapshots()) {
+                if (!path.equals(snapshotPath(sequence))) {
+                    Files.delete(path);
+                }
+            }
+        } catch (IOException e) {
+            throw new DataAccessException("Cannot delete old snapshots in " + directory, e);
+        }
+    }
+
+    private List<Path> listSnapshots() {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> snapshots = new ArrayList<>();
+            files.filter(p -> p.getFileName().toString().startsWith(SNAPSHOT_PREFIX)
+                           && p.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+                 .sorted()
+                 .forEach(snapshots::add);
+            return snapshots;
+        } catch (IOException e) {
+            throw new DataAccessException("Cannot list snapshots in " + directory, e);
+        }
+    }
+
+    private Path snapshotPath(long sequence) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+    }
+}
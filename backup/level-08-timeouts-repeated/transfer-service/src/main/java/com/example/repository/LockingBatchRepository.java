@@ -0,0 +1,43 @@
+package com.example.repository;
+
+import com.example.model.Account;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Repository that can run a whole batch of transfers in one transaction,
+ * with every account the batch touches locked for its duration.
+ *
+ * WHY A SEPARATE INTERFACE?
+ * =========================
+ * transferBatch() on a plain repository loads every account once, applies
+ * the batch to the copies and saves the changed ones: two calls instead of
+ * 4N. On a shared database that is only safe if nobody else writes those
+ * rows in between, so an {@link AtomicTransferRepository} normally gets N
+ * separate transfer() calls instead, each its own transaction.
+ *
+ * A repository implementing this interface locks the batch's rows first,
+ * in account-id order like transfer() does, so the load/apply/save flow
+ * keeps its round-trip savings and stays safe next to concurrent
+ * transfer() calls. UPITransferService prefers it over the per-transfer
+ * path whenever the injected repository supports it.
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+public interface LockingBatchRepository extends AccountRepository {
+
+    /**
+     * Lock and load {@code accountIds}, let {@code batch} update the loaded
+     * copies, then save the accounts it returns and commit.
+     *
+     * Accounts that don't exist are simply missing from the map. If
+     * {@code batch} or the save throws, nothing is written.
+     *
+     * @param accountIds Every account the batch may touch
+     * @param batch Applies the batch to the locked accounts and returns those that changed
+     */
+    void updateLocked(Collection<String> accountIds, Function<Map<String, Account>, Collection<Account>> batch);
+}
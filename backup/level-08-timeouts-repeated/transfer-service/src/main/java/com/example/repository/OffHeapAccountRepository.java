@@ -0,0 +1,703 @@
+package com.example.repository;
+
+import com.example.exception.AccountNotFoundException;
+import com.example.model.Account;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * Off-heap account store for capacity-planning runs with tens of millions
+ * of accounts.
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                OFF-HEAP ACCOUNT REPOSITORY                    ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  A HashMap of String → Account costs ~150-200 bytes of heap   ║
+ * ║  per account (map node, key String + byte[], Account, name)   ║
+ * ║  and every one of those objects is traced by each full GC.    ║
+ * ║                                                               ║
+ * ║  Here the heap holds a handful of buffers, whatever the size: ║
+ * ║  • Slot table: open addressing (linear probing) in direct     ║
+ * ║    ByteBuffers, 24 bytes per slot                             ║
+ * ║  • Arena: account ids and holder names stored once as bytes   ║
+ * ║    (interned); slots point at them                            ║
+ * ║  • Balances are long paise, so no boxing and no drift         ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * SLOT LAYOUT (24 bytes):
+ * =======================
+ *   0  long  balance (paise)
+ *   8  int   version (+1 on every write)
+ *  12  int   id reference   (0 = empty slot)
+ *  16  int   name reference
+ *  20  int   hash of the id (most probes stop here without touching the arena)
+ *
+ * ARENA REFERENCES:
+ * =================
+ * A reference is chunk index × 2^26 + offset / 8. Records are
+ * [int length][bytes], 8-byte aligned. Chunks are sized from
+ * expectedAccounts (at most 512 MB each, at most 32 of them).
+ *
+ * CONCURRENCY:
+ * ============
+ * - Balances: lock striping by slot, lower stripe first, exactly as in
+ *   ConcurrentAccountRepository
+ * - Inserts: serialised by one lock; a slot is published by writing its
+ *   id reference last with release semantics, so lock-free lookups never
+ *   see a half-written slot
+ * - clear() must not run concurrently with other calls
+ *
+ * LIMITS:
+ * =======
+ * - Fixed capacity (no resize): size it with expectedAccounts up front;
+ *   a full table throws IllegalStateException
+ * - Account ids must be Latin-1 (one byte per char), which every NPCI
+ *   account id is; holder names can be any text (stored as UTF-8)
+ * - A holder name is written when the account is first stored; later
+ *   saves only change the balance
+ * - Accounts cannot be deleted individually (UPI has no such use case)
+ * - Loads still return a new Account, as the interface requires
+ * - UPI IDs live in an on-heap VpaIndex (keys as bytes, values are the
+ *   account id Strings passed to addUpiMapping)
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+public class OffHeapAccountRepository implements AtomicTransferRepository, UpiIndexedRepository {
+
+    /** Default stripe count, as in ConcurrentAccountRepository */
+    public static final int DEFAULT_STRIPES = 256;
+
+    /** The table never fills beyond this, so probe sequences stay short */
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    // ═══════════════════════════════════════════════════════════
+    // LAYOUT
+    // ═══════════════════════════════════════════════════════════
+
+    private static final int SLOT_BYTES = 24;
+    private static final int BALANCE = 0;
+    private static final int VERSION = 8;
+    private static final int ID_REF = 12;
+    private static final int NAME_REF = 16;
+    private static final int HASH = 20;
+
+    /** 2^24 slots × 24 bytes = 384 MB per slot buffer */
+    private static final int SLOTS_PER_CHUNK_SHIFT = 24;
+    private static final int SLOT_CHUNK_MASK = (1 << SLOTS_PER_CHUNK_SHIFT) - 1;
+
+    private static final int ARENA_OFFSET_BITS = 26;
+    private static final int ARENA_OFFSET_MASK = (1 << ARENA_OFFSET_BITS) - 1;
+    private static final int MAX_ARENA_CHUNKS = 32;
+    private static final int MIN_ARENA_CHUNK_BYTES = 64 * 1024;
+    private static final int MAX_ARENA_CHUNK_BYTES = 1 << (ARENA_OFFSET_BITS + 3);
+
+    /** Ordered access to the id-reference field (the slot's publish flag) */
+    private static final VarHandle INT =
+        MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    // ═══════════════════════════════════════════════════════════
+    // STORAGE
+    // ═══════════════════════════════════════════════════════════
+
+    private final ByteBuffer[] slotChunks;
+    private final int slotMask;
+    private final int maxAccounts;
+
+    /** Arena chunks; an entry is written before any reference into it is published */
+    private final ByteBuffer[] arenaChunks = new ByteBuffer[MAX_ARENA_CHUNKS];
+    private final int firstArenaChunkBytes;
+
+    /** Guards inserts and the arena write position */
+    private final Object insertLock = new Object();
+    private int arenaChunk;
+    private int arenaPosition;
+    private volatile int size;
+
+    private final ReentrantLock[] stripes;
+
+    /** UPI ID index: upiId (any case) → accountId */
+    private final VpaIndex<String> upiIndex = new VpaIndex<>();
+
+    /**
+     * @param expectedAccounts Most accounts this store will ever hold
+     */
+    public OffHeapAccountRepository(int expectedAccounts) {
+        this(expectedAccounts, DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param expectedAccounts Most accounts this store will ever hold
+     * @param stripeCount Number of balance locks, rounded up to a power of two
+     */
+    public OffHeapAccountRepository(int expectedAccounts, int stripeCount) {
+        if (expectedAccounts < 1) {
+            throw new IllegalArgumentException("Expected accounts must be positive: " + expectedAccounts);
+        }
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Stripe count must be positive: " + stripeCount);
+        }
+        long wanted = (long) Math.ceil(expectedAccounts / MAX_LOAD_FACTOR);
+        if (wanted > 1L << 30) {
+            throw new IllegalArgumentException("Too many accounts for one table: " + expectedAccounts);
+        }
+        int slots = Math.max(16, Integer.highestOneBit((int) wanted - 1) << 1);
+        slotMask = slots - 1;
+        maxAccounts = (int) (slots * MAX_LOAD_FACTOR);
+
+        int slotsPerChunk = Math.min(slots, 1 << SLOTS_PER_CHUNK_SHIFT);
+        slotChunks = new ByteBuffer[slots / slotsPerChunk];
+        for (int i = 0; i < slotChunks.length; i++) {
+            slotChunks[i] = ByteBuffer.allocateDirect(slotsPerChunk * SLOT_BYTES).order(ByteOrder.nativeOrder());
+        }
+
+        // ~40 arena bytes per account (id + name records); overflow chunks are a quarter of that
+        long arenaEstimate = (long) expectedAccounts * 40;
+        firstArenaChunkBytes = (int) Math.max(MIN_ARENA_CHUNK_BYTES, Math.min(MAX_ARENA_CHUNK_BYTES, arenaEstimate));
+        resetArena();
+
+        int stripeSize = Integer.highestOneBit(stripeCount - 1) << 1;
+        stripes = new ReentrantLock[Math.max(1, stripeSize)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // TEST HELPER METHODS
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Add an account (or overwrite the balance of an existing one).
+     *
+     * @param account Account to add
+     * @return this repository (for chaining)
+     */
+    public OffHeapAccountRepository addAccount(Account account) {
+        saveAccount(account);
+        return this;
+    }
+
+    /**
+     * Add multiple accounts at once.
+     *
+     * @param accountsToAdd Accounts to add
+     * @return this repository (for chaining)
+     */
+    public OffHeapAccountRepository addAccounts(Account... accountsToAdd) {
+        for (Account account : accountsToAdd) {
+            addAccount(account);
+        }
+        return this;
+    }
+
+    /**
+     * Add UPI ID mapping.
+     *
+     * @param upiId UPI ID (e.g., "rajesh@upi")
+     * @param accountId Account ID to map to
+     * @return this repository (for chaining)
+     */
+    public OffHeapAccountRepository addUpiMapping(String upiId, String accountId) {
+        upiIndex.put(upiId, accountId);
+        return this;
+    }
+
+    /**
+     * Bulk-load UPI ID mappings (sizes the index once).
+     *
+     * @param mappings UPI ID → account ID
+     * @return this repository (for chaining)
+     */
+    public OffHeapAccountRepository addUpiMappings(Map<String, String> mappings) {
+        upiIndex.putAll(mappings);
+        return this;
+    }
+
+    /**
+     * Remove every account and UPI mapping. Not safe while other calls run.
+     */
+    public void clear() {
+        synchronized (insertLock) {
+            for (ByteBuffer chunk : slotChunks) {
+                for (int offset = 0; offset < chunk.capacity(); offset += Long.BYTES) {
+                    chunk.putLong(offset, 0L);
+                }
+            }
+            resetArena();
+            upiIndex.clear();
+            size = 0;
+        }
+    }
+
+    /**
+     * Get count of stored accounts.
+     *
+     * @return Number of accounts
+     */
+    public int getAccountCount() {
+        return size;
+    }
+
+    /**
+     * Get the most accounts this store can hold.
+     *
+     * @return Capacity (75% of the slot count)
+     */
+    public int getCapacity() {
+        return maxAccounts;
+    }
+
+    /**
+     * Get the version of an account: 0 when first stored, +1 per write.
+     *
+     * @param accountId Account ID
+     * @return Version, or -1 if the account doesn't exist
+     */
+    public long getVersion(String accountId) {
+        int slot = findSlot(accountId);
+        if (slot < 0) {
+            return -1;
+        }
+        ReentrantLock lock = stripes[stripeIndex(slot)];
+        lock.lock();
+        try {
+            return slotChunk(slot).getInt(slotOffset(slot) + VERSION);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get total balance across all accounts as one consistent snapshot
+     * (takes every stripe, like ConcurrentAccountRepository).
+     *
+     * @return Sum of all account balances
+     */
+    public double getTotalBalance() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+        try {
+            long totalPaise = 0;
+            for (ByteBuffer chunk : slotChunks) {
+                for (int offset = 0; offset < chunk.capacity(); offset += SLOT_BYTES) {
+                    if (chunk.getInt(offset + ID_REF) != 0) {
+                        totalPaise += chunk.getLong(offset + BALANCE);
+                    }
+                }
+            }
+            return toRupees(totalPaise);
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].unlock();
+            }
+        }
+    }
+
+    /**
+     * Get direct memory held by this store (slot table + arena chunks).
+     *
+     * @return Bytes allocated off-heap
+     */
+    public long getOffHeapBytes() {
+        long bytes = 0;
+        for (ByteBuffer chunk : slotChunks) {
+            bytes += chunk.capacity();
+        }
+        synchronized (insertLock) {
+            for (int i = 0; i <= arenaChunk; i++) {
+                bytes += arenaChunks[i].capacity();
+            }
+        }
+        return bytes;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // INTERFACE IMPLEMENTATION
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * {@inheritDoc}
+     *
+     * Builds a new Account from the slot (the caller's id String is reused;
+     * the holder name is decoded from the arena).
+     * Returns null if not found (let service handle exception).
+     */
+    @Override
+    public Account loadAccountById(String accountId) {
+        int slot = findSlot(accountId);
+        if (slot < 0) {
+            return null;
+        }
+        return new Account(accountId, readName(slot), toRupees(readBalance(slot)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Inserts the account, or overwrites the balance of an existing one.
+     *
+     * @throws IllegalStateException if the table is full
+     */
+    @Override
+    public void saveAccount(Account account) {
+        if (account == null) {
+            return;
+        }
+        int slot = findSlot(account.getAccountId());
+        if (slot < 0 && insert(account)) {
+            return;
+        }
+        writeBalance(slot < 0 ? findSlot(account.getAccountId()) : slot, toPaise(account.getBalance()));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Holds every involved stripe (in index order) while reading, so the
+     * result is one consistent snapshot.
+     */
+    @Override
+    public Map<String, Account> loadAccountsByIds(Collection<String> accountIds) {
+        Map<String, Integer> slots = new LinkedHashMap<>();
+        for (String accountId : accountIds) {
+            int slot = findSlot(accountId);
+            if (slot >= 0) {
+                slots.putIfAbsent(accountId, slot);
+            }
+        }
+        long[] balances = new long[slots.size()];
+        int[] locked = lockAll(slots.values().stream().mapToInt(this::stripeIndex));
+        try {
+            int i = 0;
+            for (int slot : slots.values()) {
+                balances[i++] = slotChunk(slot).getLong(slotOffset(slot) + BALANCE);
+            }
+        } finally {
+            unlockAll(locked);
+        }
+        Map<String, Account> loaded = new LinkedHashMap<>();
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : slots.entrySet()) {
+            loaded.put(entry.getKey(), new Account(entry.getKey(), readName(entry.getValue()), toRupees(balances[i++])));
+        }
+        return loaded;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * New accounts are inserted first; the balances of existing ones are
+     * then written with every involved stripe held.
+     */
+    @Override
+    public void saveAccounts(Collection<Account> accountsToSave) {
+        Map<Integer, Long> updates = new LinkedHashMap<>();
+        for (Account account : accountsToSave) {
+            int slot = findSlot(account.getAccountId());
+            if (slot < 0 && insert(account)) {
+                continue;
+            }
+            updates.put(slot < 0 ? findSlot(account.getAccountId()) : slot, toPaise(account.getBalance()));
+        }
+        int[] locked = lockAll(updates.keySet().stream().mapToInt(this::stripeIndex));
+        try {
+            updates.forEach(this::putBalance);
+        } finally {
+            unlockAll(locked);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean existsById(String accountId) {
+        return findSlot(accountId) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Account> findByUpiId(String upiId) {
+        String accountId = upiIndex.get(upiId);
+        if (accountId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(loadAccountById(accountId));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * One VpaIndex probe; no String, no Account is created.
+     */
+    @Override
+    public String findAccountIdByUpiId(CharSequence upiId) {
+        return upiIndex.get(upiId);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Two probes, two stripe locks (lower first), four long writes.
+     * Validation is Account's, so messages and rules match the other stores.
+     */
+    @Override
+    public BalanceTransfer transfer(String fromAccountId, String toAccountId, double amount) {
+        int fromSlot = findSlot(fromAccountId);
+        if (fromSlot < 0) {
+            throw new AccountNotFoundException(fromAccountId);
+        }
+        int toSlot = findSlot(toAccountId);
+        if (toSlot < 0) {
+            throw new AccountNotFoundException(toAccountId);
+        }
+        Account.validateAmount(amount);
+        long amountPaise = toPaise(amount);
+
+        int fromStripe = stripeIndex(fromSlot);
+        int toStripe = stripeIndex(toSlot);
+        ReentrantLock first = stripes[Math.min(fromStripe, toStripe)];
+        ReentrantLock second = stripes[Math.max(fromStripe, toStripe)];
+
+        first.lock();
+        try {
+            if (second != first) {
+                second.lock();
+            }
+            try {
+                ByteBuffer fromChunk = slotChunk(fromSlot);
+                int fromOffset = slotOffset(fromSlot);
+                ByteBuffer toChunk = slotChunk(toSlot);
+                int toOffset = slotOffset(toSlot);
+
+                long senderBefore = fromChunk.getLong(fromOffset + BALANCE);
+                Account.validateDebit(fromAccountId, toRupees(senderBefore), amount);
+                putBalance(fromSlot, senderBefore - amountPaise);
+
+                long receiverBefore = toChunk.getLong(toOffset + BALANCE);
+                putBalance(toSlot, receiverBefore + amountPaise);
+
+                return new BalanceTransfer(toRupees(senderBefore), toRupees(senderBefore - amountPaise),
+                    toRupees(receiverBefore), toRupees(receiverBefore + amountPaise));
+            } finally {
+                if (second != first) {
+                    second.unlock();
+                }
+            }
+        } finally {
+            first.unlock();
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // SLOT TABLE
+    // ═══════════════════════════════════════════════════════════
+
+    /** Lock-free lookup: the slot holding {@code accountId}, or -1. */
+    private int findSlot(String accountId) {
+        int hash = hash(accountId);
+        for (int slot = hash & slotMask; ; slot = (slot + 1) & slotMask) {
+            ByteBuffer chunk = slotChunk(slot);
+            int offset = slotOffset(slot);
+            int idRef = (int) INT.getAcquire(chunk, offset + ID_REF);
+            if (idRef == 0) {
+                return -1;
+            }
+            if (chunk.getInt(offset + HASH) == hash && idEquals(idRef, accountId)) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Insert {@code account} unless another thread got there first.
+     *
+     * @return true if inserted, false if the id already existed
+     */
+    private boolean insert(Account account) {
+        String accountId = account.getAccountId();
+        for (int i = 0; i < accountId.length(); i++) {
+            if (accountId.charAt(i) > 0xFF) {
+                throw new IllegalArgumentException("Account ID must be Latin-1: " + accountId);
+            }
+        }
+        synchronized (insertLock) {
+            if (findSlot(accountId) >= 0) {
+                return false;
+            }
+            if (size >= maxAccounts) {
+                throw new IllegalStateException("OffHeapAccountRepository is full (" + maxAccounts
+                    + " accounts); create it with a larger expectedAccounts");
+            }
+            int hash = hash(accountId);
+            int slot = hash & slotMask;
+            while (slotChunk(slot).getInt(slotOffset(slot) + ID_REF) != 0) {
+                slot = (slot + 1) & slotMask;
+            }
+            int idRef = append(accountId.getBytes(StandardCharsets.ISO_8859_1));
+            int nameRef = append(account.getAccountHolderName().getBytes(StandardCharsets.UTF_8));
+
+            ByteBuffer chunk = slotChunk(slot);
+            int offset = slotOffset(slot);
+            chunk.putLong(offset + BALANCE, toPaise(account.getBalance()));
+            chunk.putInt(offset + VERSION, 0);
+            chunk.putInt(offset + NAME_REF, nameRef);
+            chunk.putInt(offset + HASH, hash);
+            INT.setRelease(chunk, offset + ID_REF, idRef);
+            size++;
+            return true;
+        }
+    }
+
+    private long readBalance(int slot) {
+        ReentrantLock lock = stripes[stripeIndex(slot)];
+        lock.lock();
+        try {
+            return slotChunk(slot).getLong(slotOffset(slot) + BALANCE);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeBalance(int slot, long balancePaise) {
+        ReentrantLock lock = stripes[stripeIndex(slot)];
+        lock.lock();
+        try {
+            putBalance(slot, balancePaise);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Caller holds the slot's stripe. */
+    private void putBalance(int slot, long balancePaise) {
+        ByteBuffer chunk = slotChunk(slot);
+        int offset = slotOffset(slot);
+        chunk.putLong(offset + BALANCE, balancePaise);
+        chunk.putInt(offset + VERSION, chunk.getInt(offset + VERSION) + 1);
+    }
+
+    private String readName(int slot) {
+        return readRecord(slotChunk(slot).getInt(slotOffset(slot) + NAME_REF));
+    }
+
+    private ByteBuffer slotChunk(int slot) {
+        return slotChunks[slot >>> SLOTS_PER_CHUNK_SHIFT];
+    }
+
+    private static int slotOffset(int slot) {
+        return (slot & SLOT_CHUNK_MASK) * SLOT_BYTES;
+    }
+
+    /** Multiplicative mix: sequential ids like ACC0000001 spread over the table. */
+    private static int hash(String accountId) {
+        int h = accountId.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // ARENA (interned ids and names)
+    // ═══════════════════════════════════════════════════════════
+
+    /** Caller holds insertLock. */
+    private int append(byte[] bytes) {
+        int recordBytes = (Integer.BYTES + bytes.length + 7) & ~7;
+        ByteBuffer chunk = arenaChunks[arenaChunk];
+        if (arenaPosition + recordBytes > chunk.capacity()) {
+            if (arenaChunk + 1 == MAX_ARENA_CHUNKS) {
+                throw new IllegalStateException("OffHeapAccountRepository arena is full");
+            }
+            int nextBytes = Math.max(recordBytes, Math.max(MIN_ARENA_CHUNK_BYTES, firstArenaChunkBytes / 4));
+            chunk = ByteBuffer.allocateDirect(nextBytes).order(ByteOrder.nativeOrder());
+            arenaChunks[++arenaChunk] = chunk;
+            arenaPosition = 0;
+        }
+        chunk.putInt(arenaPosition, bytes.length);
+        chunk.put(arenaPosition + Integer.BYTES, bytes);
+        int ref = (arenaChunk << ARENA_OFFSET_BITS) | (arenaPosition >>> 3);
+        arenaPosition += recordBytes;
+        return ref;
+    }
+
+    /** Compares a stored Latin-1 id with {@code accountId} without decoding it. */
+    private boolean idEquals(int ref, String accountId) {
+        ByteBuffer chunk = arenaChunks[ref >>> ARENA_OFFSET_BITS];
+        int position = (ref & ARENA_OFFSET_MASK) << 3;
+        int length = chunk.getInt(position);
+        if (length != accountId.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if ((chunk.get(position + Integer.BYTES + i) & 0xFF) != accountId.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readRecord(int ref) {
+        ByteBuffer chunk = arenaChunks[ref >>> ARENA_OFFSET_BITS];
+        int position = (ref & ARENA_OFFSET_MASK) << 3;
+        byte[] bytes = new byte[chunk.getInt(position)];
+        chunk.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Caller holds insertLock (or is the constructor). Position 0 of chunk 0 stays unused so ref 0 means "empty". */
+    private void resetArena() {
+        for (int i = 1; i < MAX_ARENA_CHUNKS; i++) {
+            arenaChunks[i] = null;
+        }
+        if (arenaChunks[0] == null) {
+            arenaChunks[0] = ByteBuffer.allocateDirect(firstArenaChunkBytes).order(ByteOrder.nativeOrder());
+        }
+        arenaChunk = 0;
+        arenaPosition = 8;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // PRIVATE HELPERS
+    // ═══════════════════════════════════════════════════════════
+
+    /** Locks the distinct stripes in ascending order, same global order as transfer(). */
+    private int[] lockAll(IntStream stripeIndexes) {
+        int[] indexes = stripeIndexes.distinct().sorted().toArray();
+        for (int i = 0; i < indexes.length; i++) {
+            stripes[indexes[i]].lock();
+        }
+        return indexes;
+    }
+
+    private void unlockAll(int[] indexes) {
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            stripes[indexes[i]].unlock();
+        }
+    }
+
+    private int stripeIndex(int slot) {
+        return slot & (stripes.length - 1);
+    }
+
+    private static long toPaise(double rupees) {
+        return Math.round(rupees * 100);
+    }
+
+    private static double toRupees(long paise) {
+        return paise / 100.0;
+    }
+}
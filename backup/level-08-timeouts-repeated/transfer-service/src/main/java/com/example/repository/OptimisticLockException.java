@@ -0,0 +1,30 @@
+package com.example.repository;
+
+/**
+ * Thrown when a save is based on a version that is no longer current:
+ * someone else wrote the account after it was loaded.
+ *
+ * The caller should reload and retry (or give up); the stored account is
+ * unchanged.
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+public class OptimisticLockException extends RuntimeException {
+
+    private final String accountId;
+    private final long expectedVersion;
+    private final long actualVersion;
+
+    public OptimisticLockException(String accountId, long expectedVersion, long actualVersion) {
+        super(String.format("Account %s was modified concurrently: expected version %d, found %d",
+            accountId, expectedVersion, actualVersion));
+        this.accountId = accountId;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public String getAccountId() { return accountId; }
+    public long getExpectedVersion() { return expectedVersion; }
+    public long getActualVersion() { return actualVersion; }
+}
@@ -0,0 +1,336 @@
+package com.example.repository;
+
+import com.example.exception.AccountNotFoundException;
+import com.example.model.Account;
+import com.example.model.AccountSnapshot;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Copy-free in-memory repository of immutable, versioned snapshots.
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                 SNAPSHOT ACCOUNT REPOSITORY                   ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  InMemoryAccountRepository copies an Account on every load    ║
+ * ║  and save so callers can't change stored balances. Here the   ║
+ * ║  stored value is an AccountSnapshot, which can't be changed   ║
+ * ║  at all, so there is nothing to copy:                         ║
+ * ║                                                               ║
+ * ║  • loadSnapshot() returns the shared snapshot (no allocation) ║
+ * ║  • saveSnapshot() compare-and-swaps the current snapshot;     ║
+ * ║    a save based on an old version fails with                  ║
+ * ║    OptimisticLockException instead of losing an update        ║
+ * ║  • transfer() allocates exactly the two new versions          ║
+ * ║  • The AccountRepository methods keep the Account contract:   ║
+ * ║    they hand out mutable copies, as InMemory does             ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * WHY NOT A FLAG ON InMemoryAccountRepository?
+ * ============================================
+ * The copy-free path is the repository-side transfer(), which
+ * UPITransferService picks by type (AtomicTransferRepository), plus the
+ * snapshot-specific loadSnapshot()/saveSnapshot(). Snapshots never leave
+ * through loadAccountById(), so the classic load → debit → credit → save
+ * flow still works here, it just pays for the copies.
+ *
+ * TRANSFER (lock-free):
+ * =====================
+ * 1. CAS sender: current → current.debited(amount); retry on conflict,
+ *    stop with InsufficientBalanceException if the balance is too low
+ * 2. CAS receiver: current → current.credited(amount); retry on conflict
+ *    (a credit cannot fail, so step 1 succeeding means step 2 will)
+ * Each account's history is linear and no update is lost, but the two
+ * CASes are separate: getTotalBalance() taken mid-transfer can be short by
+ * the amounts in flight. Use ConcurrentAccountRepository when readers need
+ * a consistent cross-account snapshot.
+ *
+ * Like InMemoryAccountRepository it starts empty and stays silent.
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+public class SnapshotAccountRepository implements AtomicTransferRepository, UpiIndexedRepository {
+
+    // ═══════════════════════════════════════════════════════════
+    // STORAGE
+    // ═══════════════════════════════════════════════════════════
+
+    /** accountId → current snapshot (the reference is what gets swapped) */
+    private final Map<String, AtomicReference<AccountSnapshot>> accounts = new ConcurrentHashMap<>();
+
+    /** UPI ID index: upiId (any case) → accountId */
+    private final VpaIndex<String> upiIndex = new VpaIndex<>();
+
+    // ═══════════════════════════════════════════════════════════
+    // TEST HELPER METHODS
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Add an account (or overwrite an existing one with a new version).
+     *
+     * @param account Account to add
+     * @return this repository (for chaining)
+     */
+    public SnapshotAccountRepository addAccount(Account account) {
+        overwrite(account);
+        return this;
+    }
+
+    /**
+     * Add multiple accounts at once.
+     *
+     * @param accountsToAdd Accounts to add
+     * @return this repository (for chaining)
+     */
+    public SnapshotAccountRepository addAccounts(Account... accountsToAdd) {
+        for (Account account : accountsToAdd) {
+            addAccount(account);
+        }
+        return this;
+    }
+
+    /**
+     * Add UPI ID mapping.
+     *
+     * @param upiId UPI ID (e.g., "rajesh@upi")
+     * @param accountId Account ID to map to
+     * @return this repository (for chaining)
+     */
+    public SnapshotAccountRepository addUpiMapping(String upiId, String accountId) {
+        upiIndex.put(upiId, accountId);
+        return this;
+    }
+
+    /**
+     * Bulk-load UPI ID mappings (sizes the index once).
+     *
+     * @param mappings UPI ID → account ID
+     * @return this repository (for chaining)
+     */
+    public SnapshotAccountRepository addUpiMappings(Map<String, String> mappings) {
+        upiIndex.putAll(mappings);
+        return this;
+    }
+
+    /**
+     * Clear all data.
+     */
+    public void clear() {
+        accounts.clear();
+        upiIndex.clear();
+    }
+
+    /**
+     * Get count of stored accounts.
+     *
+     * @return Number of accounts
+     */
+    public int getAccountCount() {
+        return accounts.size();
+    }
+
+    /**
+     * Get total balance across all accounts.
+     * Exact when no transfer is running (see class comment).
+     *
+     * @return Sum of all account balances
+     */
+    public double getTotalBalance() {
+        double total = 0.0;
+        for (AtomicReference<AccountSnapshot> current : accounts.values()) {
+            total += current.get().getBalance();
+        }
+        return total;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // INTERFACE IMPLEMENTATION
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * {@inheritDoc}
+     *
+     * Returns a mutable copy of the current snapshot (use
+     * {@link #loadSnapshot} to read without copying).
+     * Returns null if not found (let service handle exception).
+     */
+    @Override
+    public Account loadAccountById(String accountId) {
+        AtomicReference<AccountSnapshot> current = accounts.get(accountId);
+        return current != null ? current.get().toAccount() : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Overwrites unconditionally as a new version (last writer wins, as in
+     * InMemoryAccountRepository). Use {@link #saveSnapshot} to detect a
+     * stale write.
+     */
+    @Override
+    public void saveAccount(Account account) {
+        if (account != null) {
+            overwrite(account);
+        }
+    }
+
+    /**
+     * Current snapshot of an account.
+     *
+     * Returns the SHARED snapshot: no copy is made.
+     *
+     * @param accountId Account ID
+     * @return Current snapshot, or null if not found
+     */
+    public AccountSnapshot loadSnapshot(String accountId) {
+        AtomicReference<AccountSnapshot> current = accounts.get(accountId);
+        return current != null ? current.get() : null;
+    }
+
+    /**
+     * Compare-and-swap an account to its next version.
+     *
+     * {@code next} must be the next version of what is stored (e.g.
+     * {@code loaded.debited(100)}), otherwise nothing changes.
+     *
+     * @param next Next version of the account
+     * @throws OptimisticLockException if the snapshot is based on a stale version
+     */
+    public void saveSnapshot(AccountSnapshot next) {
+        AtomicReference<AccountSnapshot> current = accounts.get(next.getAccountId());
+        if (current == null) {
+            if (next.getVersion() != 0) {
+                throw new OptimisticLockException(next.getAccountId(), next.getVersion() - 1, -1);
+            }
+            if (accounts.putIfAbsent(next.getAccountId(), new AtomicReference<>(next)) == null) {
+                return;
+            }
+            current = accounts.get(next.getAccountId());
+        }
+        AccountSnapshot stored = current.get();
+        if (stored.getVersion() != next.getVersion() - 1 || !current.compareAndSet(stored, next)) {
+            throw new OptimisticLockException(next.getAccountId(), next.getVersion() - 1,
+                current.get().getVersion());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Returns mutable copies, like {@link #loadAccountById}.
+     */
+    @Override
+    public Map<String, Account> loadAccountsByIds(Collection<String> accountIds) {
+        Map<String, Account> loaded = new LinkedHashMap<>();
+        for (String accountId : accountIds) {
+            AtomicReference<AccountSnapshot> current = accounts.get(accountId);
+            if (current != null) {
+                loaded.putIfAbsent(accountId, current.get().toAccount());
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Overwrites one by one, like {@link #saveAccount}.
+     */
+    @Override
+    public void saveAccounts(Collection<Account> accountsToSave) {
+        for (Account account : accountsToSave) {
+            saveAccount(account);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean existsById(String accountId) {
+        return accounts.containsKey(accountId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Account> findByUpiId(String upiId) {
+        String accountId = upiIndex.get(upiId);
+        if (accountId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(loadAccountById(accountId));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * One VpaIndex probe; no String, no Account is created.
+     */
+    @Override
+    public String findAccountIdByUpiId(CharSequence upiId) {
+        return upiIndex.get(upiId);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Lock-free: debit CAS, then credit CAS, each retried on conflict.
+     * Both accounts are checked to exist before anything changes.
+     */
+    @Override
+    public BalanceTransfer transfer(String fromAccountId, String toAccountId, double amount) {
+        AtomicReference<AccountSnapshot> from = accounts.get(fromAccountId);
+        if (from == null) {
+            throw new AccountNotFoundException(fromAccountId);
+        }
+        AtomicReference<AccountSnapshot> to = accounts.get(toAccountId);
+        if (to == null) {
+            throw new AccountNotFoundException(toAccountId);
+        }
+
+        AccountSnapshot senderBefore;
+        AccountSnapshot senderAfter;
+        do {
+            senderBefore = from.get();
+            senderAfter = senderBefore.debited(amount);
+        } while (!from.compareAndSet(senderBefore, senderAfter));
+
+        AccountSnapshot receiverBefore;
+        AccountSnapshot receiverAfter;
+        do {
+            receiverBefore = to.get();
+            receiverAfter = receiverBefore.credited(amount);
+        } while (!to.compareAndSet(receiverBefore, receiverAfter));
+
+        return new BalanceTransfer(senderBefore.getBalance(), senderAfter.getBalance(),
+            receiverBefore.getBalance(), receiverAfter.getBalance());
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // PRIVATE HELPERS
+    // ═══════════════════════════════════════════════════════════
+
+    /** Stores {@code account} as the next version, whatever is there now. */
+    private void overwrite(Account account) {
+        AtomicReference<AccountSnapshot> current = accounts.get(account.getAccountId());
+        if (current == null) {
+            current = accounts.putIfAbsent(account.getAccountId(),
+                new AtomicReference<>(AccountSnapshot.of(account, 0)));
+            if (current == null) {
+                return;
+            }
+        }
+        AccountSnapshot stored;
+        do {
+            stored = current.get();
+        } while (!current.compareAndSet(stored, AccountSnapshot.of(account, stored.getVersion() + 1)));
+    }
+}
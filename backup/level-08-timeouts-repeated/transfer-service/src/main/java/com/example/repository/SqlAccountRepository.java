@@ -1,84 +1,136 @@
 package com.example.repository;
 
+import com.example.exception.AccountNotFoundException;
 import com.example.model.Account;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
- * SQL-based implementation of AccountRepository.
- * 
- * IMPLEMENTS INTERFACE:
- * =====================
- * This class now implements AccountRepository interface.
- * - Must provide implementation for ALL interface methods
- * - Can be swapped with any other implementation (Mock, NoSQL, Cache)
- * 
- * SIMULATION NOTE:
- * ================
- * For training, we use in-memory HashMap instead of real database.
- * In production NPCI systems, this would connect to:
- * - Oracle Database for CBS
- * - PostgreSQL for transaction logs
- * - Redis for caching
- * 
+ * JDBC implementation of AccountRepository (embedded H2).
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                    REAL SQL REPOSITORY                        ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  • Real tables: accounts, upi_ids (upi_id is the primary key, ║
+ * ║    so UPI resolution is one indexed lookup + PK join)         ║
+ * ║  • Pooled connections, cached PreparedStatements              ║
+ * ║  • transfer() locks both rows with SELECT ... FOR UPDATE      ║
+ * ║    (lower account id first) and commits once                  ║
+ * ║  • updateLocked() does the same for a whole batch: one        ║
+ * ║    locking SELECT, one UPDATE batch, one commit               ║
+ * ║  • Silent: nothing is printed on the data-access path         ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * SCHEMA:
+ * =======
+ *   accounts(account_id PK, holder_name, balance DECIMAL(19,2))
+ *   upi_ids(upi_id PK, account_id FK → accounts)
+ *
+ * Balances are stored as DECIMAL(19,2), so they are rounded to paise on
+ * every write.
+ *
+ * SQL DIALECT:
+ * ============
+ * MERGE ... KEY and "= ANY(?)" are H2 syntax. On Oracle/PostgreSQL they
+ * become MERGE ... USING / INSERT ... ON CONFLICT and "= ANY(?::varchar[])".
+ *
  * @author NPCI Training Team
- * @version 2.0 (Refactored for DI)
+ * @version 3.0 (JDBC)
  */
-public class SqlAccountRepository implements AccountRepository {
+public class SqlAccountRepository implements AtomicTransferRepository, LockingBatchRepository {
 
     // ═══════════════════════════════════════════════════════════
-    // In-memory storage (simulates database tables)
+    // SQL
     // ═══════════════════════════════════════════════════════════
-    
-    /** Account storage: accountId → Account */
-    private final Map<String, Account> accountStore = new HashMap<>();
-    
-    /** UPI ID mapping: upiId → accountId */
-    private final Map<String, String> upiIdMapping = new HashMap<>();
+
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS accounts ("
+            + " account_id VARCHAR(32) PRIMARY KEY,"
+            + " holder_name VARCHAR(100) NOT NULL,"
+            + " balance DECIMAL(19, 2) NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS upi_ids ("
+            + " upi_id VARCHAR(255) PRIMARY KEY,"
+            + " account_id VARCHAR(32) NOT NULL REFERENCES accounts (account_id))",
+        "CREATE INDEX IF NOT EXISTS idx_upi_ids_account ON upi_ids (account_id)"
+    };
+
+    private static final String SELECT_ACCOUNT =
+        "SELECT account_id, holder_name, balance FROM accounts WHERE account_id = ?";
+    private static final String SELECT_ACCOUNT_FOR_UPDATE = SELECT_ACCOUNT + " FOR UPDATE";
+    private static final String SELECT_ACCOUNTS =
+        "SELECT account_id, holder_name, balance FROM accounts WHERE account_id = ANY(?)";
+    private static final String SELECT_ACCOUNTS_FOR_UPDATE = SELECT_ACCOUNTS + " ORDER BY account_id FOR UPDATE";
+    private static final String SELECT_BY_UPI_ID =
+        "SELECT a.account_id, a.holder_name, a.balance FROM upi_ids u"
+            + " JOIN accounts a ON a.account_id = u.account_id WHERE u.upi_id = LOWER(?)";
+    private static final String EXISTS = "SELECT 1 FROM accounts WHERE account_id = ?";
+    private static final String UPSERT_ACCOUNT =
+        "MERGE INTO accounts (account_id, holder_name, balance) KEY (account_id) VALUES (?, ?, ?)";
+    private static final String UPDATE_BALANCE = "UPDATE accounts SET balance = ? WHERE account_id = ?";
+    private static final String UPSERT_UPI_ID = "MERGE INTO upi_ids (upi_id, account_id) KEY (upi_id) VALUES (LOWER(?), ?)";
+
+    /** Gives each demo repository its own in-memory database */
+    private static final AtomicInteger DEMO_DATABASES = new AtomicInteger();
+
+    private final ConnectionPool pool;
 
     /**
-     * Constructor - Initialize repository with test data.
-     * 
-     * In production:
-     * - Would receive DataSource/EntityManager via constructor (more DI!)
-     * - Would not have test data initialization
+     * Demo constructor used by Application: private in-memory H2 database
+     * with the five training accounts.
      */
     public SqlAccountRepository() {
-        System.out.println("[DB] SqlAccountRepository initialized");
+        this(new ConnectionPool("jdbc:h2:mem:upi-demo-" + DEMO_DATABASES.incrementAndGet() + ";DB_CLOSE_DELAY=-1",
+            "sa", "", 4));
         initializeTestData();
+        System.out.println("[DB] SqlAccountRepository initialized (H2, " + pool.size() + " pooled connections)");
+        System.out.println("[DB] Loaded " + getAccountCount() + " test accounts");
+    }
+
+    /**
+     * Create the repository on an existing pool. Creates the tables if
+     * missing and otherwise starts with whatever the database holds.
+     *
+     * @param pool Connection pool to the database
+     */
+    public SqlAccountRepository(ConnectionPool pool) {
+        this.pool = pool;
+        try (ConnectionPool.PooledConnection connection = pool.acquire()) {
+            for (String ddl : SCHEMA) {
+                connection.prepare(ddl).execute();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not create schema", e);
+        }
     }
 
     /**
      * Initialize sample accounts for training exercises.
-     * 
-     * These accounts will be used throughout all levels.
      */
     private void initializeTestData() {
-        // Sample NPCI-style accounts
-        Account rajesh = new Account("ACC001", "Rajesh Kumar", 50000.0);
-        Account priya = new Account("ACC002", "Priya Sharma", 75000.0);
-        Account amit = new Account("ACC003", "Amit Patel", 100000.0);
-        Account sunita = new Account("ACC004", "Sunita Reddy", 25000.0);
-        Account vikram = new Account("ACC005", "Vikram Mehta", 150000.0);
-
-        // Store accounts
-        accountStore.put("ACC001", rajesh);
-        accountStore.put("ACC002", priya);
-        accountStore.put("ACC003", amit);
-        accountStore.put("ACC004", sunita);
-        accountStore.put("ACC005", vikram);
-
-        // Map UPI IDs to accounts
-        upiIdMapping.put("rajesh@upi", "ACC001");
-        upiIdMapping.put("rajesh@sbi", "ACC001");
-        upiIdMapping.put("priya@upi", "ACC002");
-        upiIdMapping.put("amit@upi", "ACC003");
-        upiIdMapping.put("sunita@upi", "ACC004");
-        upiIdMapping.put("vikram@upi", "ACC005");
-
-        System.out.println("[DB] Loaded " + accountStore.size() + " test accounts");
-        System.out.println("[DB] Mapped " + upiIdMapping.size() + " UPI IDs");
+        addAccount(new Account("ACC001", "Rajesh Kumar", 50000.0));
+        addAccount(new Account("ACC002", "Priya Sharma", 75000.0));
+        addAccount(new Account("ACC003", "Amit Patel", 100000.0));
+        addAccount(new Account("ACC004", "Sunita Reddy", 25000.0));
+        addAccount(new Account("ACC005", "Vikram Mehta", 150000.0));
+
+        addUpiMapping("rajesh@upi", "ACC001");
+        addUpiMapping("rajesh@sbi", "ACC001");
+        addUpiMapping("priya@upi", "ACC002");
+        addUpiMapping("amit@upi", "ACC003");
+        addUpiMapping("sunita@upi", "ACC004");
+        addUpiMapping("vikram@upi", "ACC005");
     }
 
     // ═══════════════════════════════════════════════════════════
@@ -87,48 +139,92 @@ public class SqlAccountRepository implements AccountRepository {
 
     /**
      * {@inheritDoc}
-     * 
-     * Implementation Note:
-     * Returns a COPY of the account to simulate database fetch behavior.
-     * Each call returns a new object (like a real ORM would).
+     *
+     * Returns a new Account per call (like a real ORM would), or null if
+     * the account doesn't exist (the service turns that into
+     * AccountNotFoundException).
      */
     @Override
     public Account loadAccountById(String accountId) {
-        System.out.println("[DB] SELECT * FROM accounts WHERE account_id = '" + accountId + "'");
-
-        Account account = accountStore.get(accountId);
-        if (account == null) {
-            System.out.println("[DB] ❌ Account not found: " + accountId);
-            throw new RuntimeException("Account not found: " + accountId);
+        try (ConnectionPool.PooledConnection connection = pool.acquire()) {
+            PreparedStatement select = connection.prepare(SELECT_ACCOUNT);
+            select.setString(1, accountId);
+            return readOne(select);
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not load account " + accountId, e);
         }
+    }
 
-        // Return a copy (simulates ORM behavior)
-        Account fetchedAccount = new Account(
-            account.getAccountId(),
-            account.getAccountHolderName(),
-            account.getBalance()
-        );
+    /**
+     * {@inheritDoc}
+     *
+     * Inserts or updates (MERGE) in its own transaction.
+     */
+    @Override
+    public void saveAccount(Account account) {
+        try (ConnectionPool.PooledConnection connection = pool.acquire()) {
+            bindUpsert(connection.prepare(UPSERT_ACCOUNT), account).executeUpdate();
+            connection.commit();
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not save account " + account.getAccountId(), e);
+        }
+    }
 
-        System.out.println("[DB] ✓ Found: " + fetchedAccount.getAccountHolderName() + 
-                          " | Balance: ₹" + fetchedAccount.getBalance());
-        return fetchedAccount;
+    /**
+     * {@inheritDoc}
+     *
+     * One {@code WHERE account_id = ANY(?)} query with the IDs bound as an
+     * array, so the same cached statement serves every batch size.
+     */
+    @Override
+    public Map<String, Account> loadAccountsByIds(Collection<String> accountIds) {
+        Map<String, Account> loaded = new LinkedHashMap<>();
+        if (accountIds.isEmpty()) {
+            return loaded;
+        }
+        try (ConnectionPool.PooledConnection connection = pool.acquire()) {
+            PreparedStatement select = connection.prepare(SELECT_ACCOUNTS);
+            select.setObject(1, accountIds.toArray(new String[0]));
+            Map<String, Account> found = new LinkedHashMap<>();
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    Account account = toAccount(rows);
+                    found.put(account.getAccountId(), account);
+                }
+            }
+            // keep request order, as the interface promises
+            for (String accountId : accountIds) {
+                Account account = found.get(accountId);
+                if (account != null) {
+                    loaded.putIfAbsent(accountId, account);
+                }
+            }
+            return loaded;
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not load " + accountIds.size() + " accounts", e);
+        }
     }
 
     /**
      * {@inheritDoc}
-     * 
-     * Implementation Note:
-     * Overwrites existing account or inserts new one.
+     *
+     * One JDBC batch of MERGEs, committed once.
      */
     @Override
-    public void saveAccount(Account account) {
-        System.out.println("[DB] UPDATE accounts SET balance = " + account.getBalance() + 
-                          " WHERE account_id = '" + account.getAccountId() + "'");
-        
-        accountStore.put(account.getAccountId(), account);
-        
-        System.out.println("[DB] ✓ Saved: " + account.getAccountId() + 
-                          " | New Balance: ₹" + account.getBalance());
+    public void saveAccounts(Collection<Account> accounts) {
+        if (accounts.isEmpty()) {
+            return;
+        }
+        try (ConnectionPool.PooledConnection connection = pool.acquire()) {
+            PreparedStatement upsert = connection.prepare(UPSERT_ACCOUNT);
+            for (Account account : accounts) {
+                bindUpsert(upsert, account).addBatch();
+            }
+            upsert.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not save " + accounts.size() + " accounts", e);
+        }
     }
 
     /**
@@ -136,41 +232,194 @@ public class SqlAccountRepository implements AccountRepository {
      */
     @Override
     public boolean existsById(String accountId) {
-        boolean exists = accountStore.containsKey(accountId);
-        System.out.println("[DB] EXISTS check for " + accountId + ": " + exists);
-        return exists;
+        try (ConnectionPool.PooledConnection connection = pool.acquire()) {
+            PreparedStatement exists = connection.prepare(EXISTS);
+            exists.setString(1, accountId);
+            try (ResultSet rows = exists.executeQuery()) {
+                return rows.next();
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not check account " + accountId, e);
+        }
     }
 
     /**
      * {@inheritDoc}
-     * 
-     * Implementation Note:
-     * First resolves UPI ID to account ID, then loads account.
+     *
+     * One query: primary-key lookup on upi_ids joined to accounts by primary key.
+     * The database folds the case (LOWER(?) is a constant, so the key is
+     * still used); no lower-cased copy is made here.
      */
     @Override
     public Optional<Account> findByUpiId(String upiId) {
-        System.out.println("[DB] Resolving UPI ID: " + upiId);
+        try (ConnectionPool.PooledConnection connection = pool.acquire()) {
+            PreparedStatement select = connection.prepare(SELECT_BY_UPI_ID);
+            select.setString(1, upiId);
+            return Optional.ofNullable(readOne(select));
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not resolve UPI ID " + upiId, e);
+        }
+    }
 
-        String accountId = upiIdMapping.get(upiId.toLowerCase());
-        if (accountId == null) {
-            System.out.println("[DB] ❌ UPI ID not found: " + upiId);
-            return Optional.empty();
+    /**
+     * {@inheritDoc}
+     *
+     * One database transaction:
+     * <pre>
+     *   SELECT ... WHERE account_id = :lower  FOR UPDATE
+     *   SELECT ... WHERE account_id = :higher FOR UPDATE
+     *   UPDATE accounts SET balance = ? WHERE account_id = :from
+     *   UPDATE accounts SET balance = ? WHERE account_id = :to
+     *   COMMIT
+     * </pre>
+     * Row locks are always taken in account-id order, so concurrent A→B and
+     * B→A transfers queue instead of deadlocking. Any failure rolls back.
+     */
+    @Override
+    public BalanceTransfer transfer(String fromAccountId, String toAccountId, double amount) {
+        boolean fromFirst = fromAccountId.compareTo(toAccountId) < 0;
+        try (ConnectionPool.PooledConnection connection = pool.acquire()) {
+            Account first = lock(connection, fromFirst ? fromAccountId : toAccountId);
+            Account second = lock(connection, fromFirst ? toAccountId : fromAccountId);
+            Account from = fromFirst ? first : second;
+            Account to = fromFirst ? second : first;
+            if (from == null) {
+                throw new AccountNotFoundException(fromAccountId);
+            }
+            if (to == null) {
+                throw new AccountNotFoundException(toAccountId);
+            }
+
+            double senderBefore = from.getBalance();
+            double receiverBefore = to.getBalance();
+            from.debit(amount);
+            to.credit(amount);
+
+            PreparedStatement update = connection.prepare(UPDATE_BALANCE);
+            update.setBigDecimal(1, money(from.getBalance()));
+            update.setString(2, fromAccountId);
+            update.addBatch();
+            update.setBigDecimal(1, money(to.getBalance()));
+            update.setString(2, toAccountId);
+            update.addBatch();
+            update.executeBatch();
+            connection.commit();
+
+            return new BalanceTransfer(senderBefore, from.getBalance(), receiverBefore, to.getBalance());
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not transfer " + fromAccountId + " → " + toAccountId, e);
         }
+    }
 
-        System.out.println("[DB] ✓ UPI ID " + upiId + " → Account " + accountId);
-        return Optional.of(loadAccountById(accountId));
+    /**
+     * {@inheritDoc}
+     *
+     * One database transaction:
+     * <pre>
+     *   SELECT ... WHERE account_id = ANY(:ids) ORDER BY account_id FOR UPDATE
+     *   (batch runs against the locked copies)
+     *   UPDATE accounts SET balance = ? WHERE account_id = ?   -- one JDBC batch
+     *   COMMIT
+     * </pre>
+     * Rows are locked in account-id order, the same order transfer() uses,
+     * so batches and single transfers queue instead of deadlocking.
+     */
+    @Override
+    public void updateLocked(Collection<String> accountIds,
+                             Function<Map<String, Account>, Collection<Account>> batch) {
+        try (ConnectionPool.PooledConnection connection = pool.acquire()) {
+            PreparedStatement select = connection.prepare(SELECT_ACCOUNTS_FOR_UPDATE);
+            select.setObject(1, accountIds.toArray(new String[0]));
+            Map<String, Account> locked = new HashMap<>();
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    Account account = toAccount(rows);
+                    locked.put(account.getAccountId(), account);
+                }
+            }
+
+            Collection<Account> changed = batch.apply(locked);
+
+            if (!changed.isEmpty()) {
+                PreparedStatement update = connection.prepare(UPDATE_BALANCE);
+                for (Account account : changed) {
+                    update.setBigDecimal(1, money(account.getBalance()));
+                    update.setString(2, account.getAccountId());
+                    update.addBatch();
+                }
+                update.executeBatch();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not run a batch over " + accountIds.size() + " accounts", e);
+        }
     }
 
     // ═══════════════════════════════════════════════════════════
     // Additional Helper Methods (not in interface)
     // ═══════════════════════════════════════════════════════════
 
+    /**
+     * Add an account (insert or overwrite).
+     *
+     * @param account Account to add
+     * @return this repository (for chaining)
+     */
+    public SqlAccountRepository addAccount(Account account) {
+        saveAccount(account);
+        return this;
+    }
+
+    /**
+     * Add UPI ID mapping. The account must already exist.
+     *
+     * @param upiId UPI ID (stored lower-case)
+     * @param accountId Account ID to map to
+     * @return this repository (for chaining)
+     */
+    public SqlAccountRepository addUpiMapping(String upiId, String accountId) {
+        try (ConnectionPool.PooledConnection connection = pool.acquire()) {
+            PreparedStatement upsert = connection.prepare(UPSERT_UPI_ID);
+            upsert.setString(1, upiId);
+            upsert.setString(2, accountId);
+            upsert.executeUpdate();
+            connection.commit();
+            return this;
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not map UPI ID " + upiId, e);
+        }
+    }
+
+    /**
+     * Delete all accounts and UPI mappings.
+     */
+    public void clear() {
+        try (ConnectionPool.PooledConnection connection = pool.acquire()) {
+            connection.prepare("DELETE FROM upi_ids").executeUpdate();
+            connection.prepare("DELETE FROM accounts").executeUpdate();
+            connection.commit();
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not clear repository", e);
+        }
+    }
+
     /**
      * Get count of accounts (for testing/debugging).
      * @return Number of accounts in store
      */
     public int getAccountCount() {
-        return accountStore.size();
+        return (int) queryNumber("SELECT COUNT(*) FROM accounts").longValue();
+    }
+
+    /**
+     * Get total balance across all accounts.
+     * Useful for verifying conservation in transfers.
+     *
+     * @return Sum of all account balances
+     */
+    public double getTotalBalance() {
+        BigDecimal total = queryNumber("SELECT COALESCE(SUM(balance), 0) FROM accounts");
+        return total.doubleValue();
     }
 
     /**
@@ -179,12 +428,60 @@ public class SqlAccountRepository implements AccountRepository {
     public void printAllAccounts() {
         System.out.println("\n[DB] All Accounts:");
         System.out.println("-".repeat(50));
-        accountStore.values().forEach(acc -> 
-            System.out.printf("  %s | %s | ₹%.2f%n", 
-                acc.getAccountId(), 
-                acc.getAccountHolderName(), 
-                acc.getBalance())
-        );
+        try (ConnectionPool.PooledConnection connection = pool.acquire();
+             ResultSet rows = connection.prepare(
+                 "SELECT account_id, holder_name, balance FROM accounts ORDER BY account_id").executeQuery()) {
+            while (rows.next()) {
+                Account acc = toAccount(rows);
+                System.out.printf("  %s | %s | ₹%.2f%n",
+                    acc.getAccountId(),
+                    acc.getAccountHolderName(),
+                    acc.getBalance());
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not list accounts", e);
+        }
         System.out.println("-".repeat(50));
     }
+
+    // ═══════════════════════════════════════════════════════════
+    // Private Helpers
+    // ═══════════════════════════════════════════════════════════
+
+    private Account lock(ConnectionPool.PooledConnection connection, String accountId) throws SQLException {
+        PreparedStatement select = connection.prepare(SELECT_ACCOUNT_FOR_UPDATE);
+        select.setString(1, accountId);
+        return readOne(select);
+    }
+
+    private BigDecimal queryNumber(String sql) {
+        try (ConnectionPool.PooledConnection connection = pool.acquire();
+             ResultSet rows = connection.prepare(sql).executeQuery()) {
+            rows.next();
+            return rows.getBigDecimal(1);
+        } catch (SQLException e) {
+            throw new DataAccessException("Query failed: " + sql, e);
+        }
+    }
+
+    private static Account readOne(PreparedStatement select) throws SQLException {
+        try (ResultSet rows = select.executeQuery()) {
+            return rows.next() ? toAccount(rows) : null;
+        }
+    }
+
+    private static Account toAccount(ResultSet row) throws SQLException {
+        return new Account(row.getString(1), row.getString(2), row.getBigDecimal(3).doubleValue());
+    }
+
+    private static PreparedStatement bindUpsert(PreparedStatement upsert, Account account) throws SQLException {
+        upsert.setString(1, account.getAccountId());
+        upsert.setString(2, account.getAccountHolderName());
+        upsert.setBigDecimal(3, money(account.getBalance()));
+        return upsert;
+    }
+
+    private static BigDecimal money(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_EVEN);
+    }
 }
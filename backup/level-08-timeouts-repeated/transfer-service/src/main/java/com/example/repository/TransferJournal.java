@@ -0,0 +1,408 @@
+package com.example.repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of balance changes, written through memory-mapped files.
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                      TRANSFER JOURNAL                         ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  journal-00000000000000000001.log   records 1 .. k            ║
+ * ║  journal-0000000000000000000k+1.log records k+1 ..            ║
+ * ║                                                               ║
+ * ║  Record: [int length][int crc32c][long seq][byte type][body]  ║
+ * ║    TRANSFER : from, to, amount                                ║
+ * ║    ACCOUNT  : accountId, holderName, balance                  ║
+ * ║                                                               ║
+ * ║  • An append is a memory copy into the mapped segment         ║
+ * ║  • force() (msync) runs once per forceEvery records, not per  ║
+ * ║    record: batched like a database group commit               ║
+ * ║  • A full segment rolls over to a new file named after the    ║
+ * ║    sequence number of its first record                        ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * DURABILITY:
+ * ===========
+ * A record is in the OS page cache as soon as append() returns, so it
+ * survives the process crashing. Only a power or kernel failure can lose
+ * the records appended since the last force(): at most forceEvery - 1.
+ *
+ * CRASH CONSISTENCY:
+ * ==================
+ * Mapped segments are zero-filled, and length 0 marks the end of a
+ * segment. A record is valid only if its length fits, its CRC matches
+ * and its sequence number is the next one. replay() stops at the first
+ * invalid record (a torn write) and the journal continues from there,
+ * erasing the torn tail and any segment after it.
+ *
+ * Not thread-safe: {@link JournaledAccountRepository} serialises access.
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+public final class TransferJournal implements AutoCloseable {
+
+    /** Default segment size: 64 MB, about 1.5 million transfer records */
+    public static final int DEFAULT_SEGMENT_BYTES = 64 << 20;
+
+    static final byte TRANSFER = 1;
+    static final byte ACCOUNT = 2;
+
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_BODY_BYTES = 3 * (2 + 0xFFFF) + 17;
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+
+    /**
+     * Receives journal records in sequence order during replay().
+     */
+    public interface Visitor {
+        void transfer(long sequence, String fromAccountId, String toAccountId, double amount);
+
+        void account(long sequence, String accountId, String holderName, double balance);
+    }
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int forceEvery;
+
+    private final ByteBuffer body = ByteBuffer.allocate(MAX_BODY_BYTES);
+    private final CRC32C crc = new CRC32C();
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long lastSequence;
+    private int unforcedRecords;
+    private int forcedPosition;
+
+    /**
+     * Open (or create) the journal in {@code directory}. Call
+     * {@link #replay} before the first append.
+     *
+     * @param directory Directory holding the journal segments
+     * @param segmentBytes Size of each segment file
+     * @param forceEvery Records between two force() calls (1 = every record)
+     */
+    public TransferJournal(Path directory, int segmentBytes, int forceEvery) {
+        if (segmentBytes < HEADER_BYTES + MAX_BODY_BYTES + 4) {
+            throw new IllegalArgumentException("Segment too small: " + segmentBytes);
+        }
+        if (forceEvery < 1) {
+            throw new IllegalArgumentException("forceEvery must be positive: " + forceEvery);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.forceEvery = forceEvery;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new DataAccessException("Cannot create journal directory " + directory, e);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // RECOVERY
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Deliver every valid record after {@code afterSequence}, then position
+     * the journal for appending right after the last valid record.
+     *
+     * @param afterSequence Records up to this sequence are skipped (already in a snapshot)
+     * @param visitor Receives the records
+     * @return Number of records delivered
+     * @throws DataAccessException on I/O failure, or if records after
+     *         {@code afterSequence} are missing from the journal
+     */
+    public long replay(long afterSequence, Visitor visitor) {
+        try {
+            List<Path> segments = listSegments();
+            if (segments.isEmpty()) {
+                openSegment(afterSequence + 1, 0);
+                lastSequence = afterSequence;
+                return 0;
+            }
+            long first = firstSequenceOf(segments.get(0));
+            if (first > afterSequence + 1) {
+                throw new DataAccessException("Journal starts at record " + first
+                    + " but the snapshot ends at " + afterSequence, null);
+            }
+
+            long expected = first;
+            long delivered = 0;
+            int validSegments = 0;
+            int endPosition = 0;
+            for (Path path : segments) {
+                if (firstSequenceOf(path) != expected) {
+                    break;
+                }
+                ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(path));
+                validSegments++;
+                endPosition = 0;
+                while (true) {
+                    int length = readRecord(data, endPosition, expected);
+                    if (length < 0) {
+                        break;
+                    }
+                    if (expected > afterSequence) {
+                        deliver(data, endPosition + HEADER_BYTES, visitor);
+                        delivered++;
+                    }
+                    expected++;
+                    endPosition += HEADER_BYTES + length;
+                }
+                if (endPosition + HEADER_BYTES <= data.limit() && data.getInt(endPosition) != 0) {
+                    break;
+                }
+            }
+
+            if (expected - 1 < afterSequence) {
+                throw new DataAccessException("Journal ends at record " + (expected - 1)
+                    + " but the snapshot ends at " + afterSequence, null);
+            }
+
+            // Keep the segments up to the last valid record, drop anything after it
+            for (int i = validSegments; i < segments.size(); i++) {
+                Files.delete(segments.get(i));
+            }
+            lastSequence = expected - 1;
+            openSegment(firstSequenceOf(segments.get(validSegments - 1)), endPosition);
+            eraseFrom(endPosition);
+            return delivered;
+        } catch (IOException e) {
+            throw new DataAccessException("Cannot replay journal in " + directory, e);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // APPEND
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Append a transfer record.
+     *
+     * @return Sequence number of the record
+     */
+    public long appendTransfer(String fromAccountId, String toAccountId, double amount) {
+        body.clear();
+        body.putLong(lastSequence + 1).put(TRANSFER);
+        putString(fromAccountId);
+        putString(toAccountId);
+        body.putDouble(amount);
+        return append();
+    }
+
+    /**
+     * Append an account record (created or saved with a new balance).
+     *
+     * @return Sequence number of the record
+     */
+    public long appendAccount(String accountId, String holderName, double balance) {
+        body.clear();
+        body.putLong(lastSequence + 1).put(ACCOUNT);
+        putString(accountId);
+        putString(holderName == null ? "" : holderName);
+        body.putDouble(balance);
+        return append();
+    }
+
+    /**
+     * Force every appended record to the storage device now.
+     */
+    public void force() {
+        if (segment != null && segment.position() > forcedPosition) {
+            segment.force(forcedPosition, segment.position() - forcedPosition);
+            forcedPosition = segment.position();
+        }
+        unforcedRecords = 0;
+    }
+
+    /**
+     * Delete segments whose records all have a sequence up to {@code sequence}
+     * (they are covered by a snapshot). The current segment is never deleted.
+     */
+    public void deleteSegmentsUpTo(long sequence) {
+        try {
+            List<Path> segments = listSegments();
+            for (int i = 0; i + 1 < segments.size(); i++) {
+                if (firstSequenceOf(segments.get(i + 1)) - 1 > sequence) {
+                    break;
+                }
+                Files.delete(segments.get(i));
+            }
+        } catch (IOException e) {
+            throw new DataAccessException("Cannot delete old journal segments in " + directory, e);
+        }
+    }
+
+    /**
+     * @return Sequence number of the last record, 0 if none
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * @return Number of segment files on disk
+     */
+    public int getSegmentCount() {
+        try {
+            return listSegments().size();
+        } catch (IOException e) {
+            throw new DataAccessException("Cannot list journal segments in " + directory, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (channel != null) {
+            force();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new DataAccessException("Cannot close journal segment", e);
+            }
+            channel = null;
+            segment = null;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // PRIVATE HELPERS
+    // ═══════════════════════════════════════════════════════════
+
+    private long append() {
+        body.flip();
+        int length = body.remaining();
+        if (segment.remaining() < HEADER_BYTES + length + 4) {
+            force();
+            openSegment(lastSequence + 1, 0);
+        }
+        crc.reset();
+        crc.update(body.array(), 0, length);
+        int start = segment.position();
+        segment.position(start + 4);
+        segment.putInt((int) crc.getValue());
+        segment.put(body.array(), 0, length);
+        // Length last: until it is written the record reads as end-of-segment
+        segment.putInt(start, length);
+
+        lastSequence++;
+        if (++unforcedRecords >= forceEvery) {
+            force();
+        }
+        return lastSequence;
+    }
+
+    /** Returns the body length of a valid record at {@code position}, or -1. */
+    private int readRecord(ByteBuffer data, int position, long expectedSequence) {
+        if (position + HEADER_BYTES > data.limit()) {
+            return -1;
+        }
+        int length = data.getInt(position);
+        if (length < 9 || length > MAX_BODY_BYTES || position + HEADER_BYTES + length > data.limit()) {
+            return -1;
+        }
+        crc.reset();
+        crc.update(data.array(), position + HEADER_BYTES, length);
+        if ((int) crc.getValue() != data.getInt(position + 4)
+                || data.getLong(position + HEADER_BYTES) != expectedSequence) {
+            return -1;
+        }
+        return length;
+    }
+
+    private void deliver(ByteBuffer data, int position, Visitor visitor) {
+        data.position(position);
+        long sequence = data.getLong();
+        byte type = data.get();
+        String first = getString(data);
+        String second = getString(data);
+        double amount = data.getDouble();
+        if (type == TRANSFER) {
+            visitor.transfer(sequence, first, second, amount);
+        } else {
+            visitor.account(sequence, first, second, amount);
+        }
+    }
+
+    private void openSegment(long firstSequence, int position) {
+        close();
+        Path path = directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX));
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        } catch (IOException e) {
+            throw new DataAccessException("Cannot map journal segment " + path, e);
+        }
+        segment.position(position);
+        forcedPosition = position;
+        unforcedRecords = 0;
+    }
+
+    /**
+     * Zero the rest of the current segment so a torn tail can never be read
+     * back. Only non-zero words are written: untouched pages stay unallocated.
+     */
+    private void eraseFrom(int position) {
+        boolean erased = false;
+        for (int p = position; p < segmentBytes; p++) {
+            if ((p & 7) == 0 && p + 8 <= segmentBytes) {
+                if (segment.getLong(p) != 0) {
+                    segment.putLong(p, 0);
+                    erased = true;
+                }
+                p += 7;
+            } else if (segment.get(p) != 0) {
+                segment.put(p, (byte) 0);
+                erased = true;
+            }
+        }
+        if (erased) {
+            segment.force();
+        }
+    }
+
+    private void putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Journal field longer than 65535 bytes");
+        }
+        body.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer data) {
+        int length = Short.toUnsignedInt(data.getShort());
+        String value = new String(data.array(), data.position(), length, StandardCharsets.UTF_8);
+        data.position(data.position() + length);
+        return value;
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>();
+            files.filter(p -> p.getFileName().toString().startsWith(PREFIX)
+                           && p.getFileName().toString().endsWith(SUFFIX))
+                 .sorted()
+                 .forEach(segments::add);
+            return segments;
+        }
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
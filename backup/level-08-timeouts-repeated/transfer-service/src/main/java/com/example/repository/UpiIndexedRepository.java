@@ -0,0 +1,28 @@
+package com.example.repository;
+
+/**
+ * Repository that can resolve a UPI ID to an account ID without loading
+ * the account.
+ *
+ * WHY A SEPARATE INTERFACE?
+ * =========================
+ * transferByUpiId() only needs the two account IDs; findByUpiId() builds
+ * (or copies) a whole Account for each, and the transfer then loads both
+ * accounts again by ID. Repositories with a {@link VpaIndex} answer this
+ * with one allocation-free probe. Like {@link AtomicTransferRepository},
+ * UPITransferService uses it when the injected repository supports it;
+ * other repositories (and Mockito mocks) keep the findByUpiId() flow.
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+public interface UpiIndexedRepository extends AccountRepository {
+
+    /**
+     * Resolve a UPI ID, ignoring case.
+     *
+     * @param upiId UPI ID (e.g., "Rajesh@UPI")
+     * @return Account ID, or null if the UPI ID is not registered
+     */
+    String findAccountIdByUpiId(CharSequence upiId);
+}
@@ -0,0 +1,292 @@
+package com.example.repository;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Case-insensitive UPI ID (VPA) index with allocation-free lookups.
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                        VPA INDEX                              ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  BEFORE: upiMappings.get(upiId.toLowerCase())                 ║
+ * ║          → a new String (and byte[]) on every lookup          ║
+ * ║                                                               ║
+ * ║  AFTER:  index.get(upiId)                                     ║
+ * ║          → hash and compare fold case character by character, ║
+ * ║            nothing is allocated                               ║
+ * ║                                                               ║
+ * ║  • Open addressing (linear probing) over int[]/Object[]       ║
+ * ║  • Keys stored once, lower-cased, as bytes in 1 MB chunks     ║
+ * ║    (no String per VPA); the first chunk starts at 4 KB and    ║
+ * ║    doubles, so a small index stays small                      ║
+ * ║  • putAll() sizes the table once for bulk loads of millions   ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * FORMAT:
+ * =======
+ * NPCI VPAs are ASCII (letters, digits, '.', '-', '_' and one '@'), at
+ * most 255 characters. put() rejects anything else; get() simply misses.
+ * Case folding is ASCII A-Z → a-z, which is exactly what
+ * String.toLowerCase() did for these characters.
+ *
+ * CONCURRENCY:
+ * ============
+ * Writers are serialised; get() takes no lock. A new entry's key
+ * reference is written last with release semantics, and a resize
+ * publishes a complete new table, so a reader never sees a half-written
+ * entry. Growing the first chunk publishes a copy that already holds
+ * every existing key. A get() racing with the put() of the same VPA may miss it.
+ *
+ * @param <V> What a VPA maps to (repositories use the account id)
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+public final class VpaIndex<V> {
+
+    /** Longest VPA accepted (stored in one length byte) */
+    public static final int MAX_VPA_LENGTH = 255;
+
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    private static final int INITIAL_SLOTS = 16;
+
+    private static final int CHUNK_SHIFT = 20;
+    private static final int CHUNK_BYTES = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_BYTES - 1;
+    private static final int MAX_CHUNKS = 2048;
+    private static final int FIRST_CHUNK_BYTES = 4 << 10;
+
+    private static final VarHandle REFS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    /**
+     * One generation of the index. Never resized in place: a resize or
+     * clear() publishes a new Table.
+     */
+    private static final class Table {
+        final int[] hashes;
+        /** Arena position + 1 of the key; 0 = empty slot */
+        final int[] refs;
+        final Object[] values;
+        final byte[][] chunks;
+        final int mask;
+
+        Table(int slots, byte[][] chunks) {
+            hashes = new int[slots];
+            refs = new int[slots];
+            values = new Object[slots];
+            this.chunks = chunks;
+            mask = slots - 1;
+        }
+    }
+
+    private volatile Table table = new Table(INITIAL_SLOTS, new byte[MAX_CHUNKS][]);
+
+    /** Guarded by this */
+    private int size;
+    private int arenaPosition;
+
+    // ═══════════════════════════════════════════════════════════
+    // LOOKUP
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Look up a VPA, ignoring case. Allocates nothing.
+     *
+     * @param vpa UPI ID in any case (e.g. "Rajesh@UPI")
+     * @return The mapped value, or null if the VPA is unknown
+     */
+    @SuppressWarnings("unchecked")
+    public V get(CharSequence vpa) {
+        int hash = hash(vpa);
+        Table current = table;
+        for (int slot = hash & current.mask; ; slot = (slot + 1) & current.mask) {
+            int ref = (int) REFS.getAcquire(current.refs, slot);
+            if (ref == 0) {
+                return null;
+            }
+            if (current.hashes[slot] == hash && keyEquals(current.chunks, ref, vpa)) {
+                return (V) current.values[slot];
+            }
+        }
+    }
+
+    /**
+     * @return Number of VPAs in the index
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // UPDATES
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Map a VPA (any case) to {@code value}, replacing an earlier mapping.
+     *
+     * @param vpa UPI ID
+     * @param value Value to map to
+     * @throws IllegalArgumentException if the VPA is not ASCII or too long
+     */
+    public synchronized void put(CharSequence vpa, V value) {
+        validate(vpa);
+        ensureCapacity(size + 1);
+        putLocked(vpa, value);
+    }
+
+    /**
+     * Bulk load: sizes the table once, then inserts every entry.
+     *
+     * @param mappings VPA → value
+     * @throws IllegalArgumentException if any VPA is not ASCII or too long
+     *         (entries before it are kept)
+     */
+    public synchronized void putAll(Map<? extends CharSequence, ? extends V> mappings) {
+        ensureCapacity(size + mappings.size());
+        for (Map.Entry<? extends CharSequence, ? extends V> entry : mappings.entrySet()) {
+            validate(entry.getKey());
+            putLocked(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Remove every mapping.
+     */
+    public synchronized void clear() {
+        table = new Table(INITIAL_SLOTS, new byte[MAX_CHUNKS][]);
+        size = 0;
+        arenaPosition = 0;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // PRIVATE HELPERS
+    // ═══════════════════════════════════════════════════════════
+
+    private void putLocked(CharSequence vpa, V value) {
+        Table current = table;
+        int hash = hash(vpa);
+        int slot = hash & current.mask;
+        for (int ref; (ref = current.refs[slot]) != 0; slot = (slot + 1) & current.mask) {
+            if (current.hashes[slot] == hash && keyEquals(current.chunks, ref, vpa)) {
+                current.values[slot] = value;
+                return;
+            }
+        }
+        current.hashes[slot] = hash;
+        current.values[slot] = value;
+        REFS.setRelease(current.refs, slot, append(current.chunks, vpa));
+        size++;
+    }
+
+    /** Grows to the next power of two that keeps {@code entries} under the load factor. */
+    private void ensureCapacity(int entries) {
+        Table current = table;
+        if (entries <= (current.mask + 1) * MAX_LOAD_FACTOR) {
+            return;
+        }
+        int slots = current.mask + 1;
+        while (entries > slots * MAX_LOAD_FACTOR) {
+            slots <<= 1;
+        }
+        Table grown = new Table(slots, current.chunks);
+        for (int i = 0; i <= current.mask; i++) {
+            int ref = current.refs[i];
+            if (ref != 0) {
+                int slot = current.hashes[i] & grown.mask;
+                while (grown.refs[slot] != 0) {
+                    slot = (slot + 1) & grown.mask;
+                }
+                grown.hashes[slot] = current.hashes[i];
+                grown.values[slot] = current.values[i];
+                grown.refs[slot] = ref;
+            }
+        }
+        table = grown;
+    }
+
+    /** Appends [length][lower-case bytes]; a record never spans two chunks. */
+    private int append(byte[][] chunks, CharSequence vpa) {
+        int length = vpa.length();
+        int chunk = arenaPosition >>> CHUNK_SHIFT;
+        int offset = arenaPosition & CHUNK_MASK;
+        if (offset + 1 + length > CHUNK_BYTES) {
+            chunk++;
+            offset = 0;
+        }
+        if (chunk == MAX_CHUNKS) {
+            throw new IllegalStateException("VpaIndex is full");
+        }
+        byte[] bytes = chunks[chunk];
+        if (bytes == null || bytes.length < offset + 1 + length) {
+            bytes = grow(bytes, chunk, offset + 1 + length);
+            chunks[chunk] = bytes;
+        }
+        bytes[offset] = (byte) length;
+        for (int i = 0; i < length; i++) {
+            bytes[offset + 1 + i] = (byte) fold(vpa.charAt(i));
+        }
+        int position = (chunk << CHUNK_SHIFT) | offset;
+        arenaPosition = position + 1 + length;
+        return position + 1;
+    }
+
+    /**
+     * Chunk 0 starts at FIRST_CHUNK_BYTES and doubles up to CHUNK_BYTES;
+     * later chunks are only needed by a large index and start full size.
+     */
+    private static byte[] grow(byte[] bytes, int chunk, int needed) {
+        int capacity = bytes != null ? bytes.length : chunk == 0 ? FIRST_CHUNK_BYTES : CHUNK_BYTES;
+        while (capacity < needed) {
+            capacity <<= 1;
+        }
+        capacity = Math.min(capacity, CHUNK_BYTES);
+        return bytes == null ? new byte[capacity] : Arrays.copyOf(bytes, capacity);
+    }
+
+    private static boolean keyEquals(byte[][] chunks, int ref, CharSequence vpa) {
+        int position = ref - 1;
+        byte[] bytes = chunks[position >>> CHUNK_SHIFT];
+        int offset = position & CHUNK_MASK;
+        int length = bytes[offset] & 0xFF;
+        if (length != vpa.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (bytes[offset + 1 + i] != fold(vpa.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Case-insensitive hash (same value for "Rajesh@UPI" and "rajesh@upi"), then mixed. */
+    private static int hash(CharSequence vpa) {
+        int h = 0;
+        for (int i = 0; i < vpa.length(); i++) {
+            h = 31 * h + fold(vpa.charAt(i));
+        }
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int fold(char c) {
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+
+    private static void validate(CharSequence vpa) {
+        if (vpa.length() == 0) {
+            throw new IllegalArgumentException("UPI ID must not be empty");
+        }
+        if (vpa.length() > MAX_VPA_LENGTH) {
+            throw new IllegalArgumentException("UPI ID longer than " + MAX_VPA_LENGTH + " characters");
+        }
+        for (int i = 0; i < vpa.length(); i++) {
+            if (vpa.charAt(i) > 0x7F) {
+                throw new IllegalArgumentException("UPI ID must be ASCII: " + vpa);
+            }
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.service;
+
+import com.example.exception.TransferException;
+import com.example.service.UPITransferService.TransferOutcome;
+import com.example.service.UPITransferService.TransferRequest;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Runs a large batch of transfers in parallel without changing its result.
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                 PARALLEL BATCH EXECUTOR                       ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  1. Conflict chains: the transfers of each account, in        ║
+ * ║     submission order                                          ║
+ * ║  2. A transfer waits only for its predecessor on the sender's ║
+ * ║     and on the receiver's chain                               ║
+ * ║  3. Everything whose predecessors are done runs in parallel   ║
+ * ║     on a ForkJoinPool                                         ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * WHY THE RESULT MATCHES SERIAL EXECUTION:
+ * ========================================
+ * A transfer reads and writes only its two accounts, and every account
+ * sees its transfers in the order they were submitted. Every outcome,
+ * failures included, and every final balance is therefore the same as
+ * running the batch one by one.
+ *
+ * WHY CHAINS, NOT GROUPS:
+ * =======================
+ * Grouping transfers that share an account (A→B, B→C, ...) into one
+ * serial group stops working at batch scale: 50,000 random transfers over
+ * 2,000 accounts connect everything into a single group. Chains only
+ * serialise what really conflicts; the report's longest chain (critical
+ * path) is the part that cannot run in parallel, e.g. a merchant account
+ * that receives every payment.
+ *
+ * The service must use an {@link com.example.repository.AtomicTransferRepository}.
+ * Other repositories are not thread-safe, so the batch falls back to
+ * {@link UPITransferService#transferBatch(List)} on the calling thread.
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+public class ParallelBatchExecutor {
+
+    private final UPITransferService transferService;
+    private final ForkJoinPool pool;
+
+    /**
+     * Executor on the common fork-join pool.
+     *
+     * @param transferService Service every transfer goes through
+     */
+    public ParallelBatchExecutor(UPITransferService transferService) {
+        this(transferService, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Executor on a dedicated pool (e.g. to cap the threads a batch may use).
+     *
+     * @param transferService Service every transfer goes through
+     * @param pool Pool the transfers run on
+     */
+    public ParallelBatchExecutor(UPITransferService transferService, ForkJoinPool pool) {
+        if (transferService == null || pool == null) {
+            throw new IllegalArgumentException("UPITransferService and ForkJoinPool cannot be null");
+        }
+        this.transferService = transferService;
+        this.pool = pool;
+    }
+
+    /**
+     * Execute a batch.
+     *
+     * @param requests Transfers to execute, in submission order
+     * @return One outcome per request in the same order, plus batch statistics
+     */
+    public BatchReport execute(List<TransferRequest> requests) {
+        long start = System.nanoTime();
+        ConflictGraph graph = ConflictGraph.of(requests);
+
+        if (!transferService.supportsConcurrentTransfers()) {
+            return new BatchReport(transferService.transferBatch(requests), graph, 1, System.nanoTime() - start);
+        }
+
+        TransferOutcome[] outcomes = new TransferOutcome[requests.size()];
+        if (!requests.isEmpty()) {
+            pool.invoke(new BatchTask(requests, graph, outcomes));
+        }
+        return new BatchReport(Arrays.asList(outcomes), graph, pool.getParallelism(), System.nanoTime() - start);
+    }
+
+    private TransferOutcome run(TransferRequest request) {
+        try {
+            return TransferOutcome.success(request, transferService.transfer(
+                request.getFromAccountId(), request.getToAccountId(), request.getAmount()));
+        } catch (TransferException e) {
+            return TransferOutcome.failure(request, e);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // FORK-JOIN TASKS
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Completes when every transfer has run: forks the transfers that wait
+     * for nothing, each of which releases its successors.
+     */
+    private final class BatchTask extends CountedCompleter<Void> {
+
+        private final List<TransferRequest> requests;
+        private final ConflictGraph graph;
+        private final TransferOutcome[] outcomes;
+        private final AtomicIntegerArray waitingFor;
+
+        BatchTask(List<TransferRequest> requests, ConflictGraph graph, TransferOutcome[] outcomes) {
+            this.requests = requests;
+            this.graph = graph;
+            this.outcomes = outcomes;
+            this.waitingFor = new AtomicIntegerArray(graph.predecessors);
+        }
+
+        @Override
+        public void compute() {
+            for (int i = 0; i < requests.size(); i++) {
+                if (graph.predecessors[i] == 0) {
+                    addToPendingCount(1);
+                    new TransferTask(this, i).fork();
+                }
+            }
+            tryComplete();
+        }
+    }
+
+    /**
+     * Runs one transfer, then its successors: the first one that becomes
+     * ready runs on this thread, any other is forked.
+     */
+    private final class TransferTask extends CountedCompleter<Void> {
+
+        private final BatchTask batch;
+        private int index;
+
+        TransferTask(BatchTask batch, int index) {
+            super(batch);
+            this.batch = batch;
+            this.index = index;
+        }
+
+        @Override
+        public void compute() {
+            while (index >= 0) {
+                batch.outcomes[index] = run(batch.requests.get(index));
+                int next = -1;
+                for (int k = 0; k < 2; k++) {
+                    int successor = batch.graph.successors[2 * index + k];
+                    if (successor >= 0 && batch.waitingFor.decrementAndGet(successor) == 0) {
+                        if (next < 0) {
+                            next = successor;
+                        } else {
+                            batch.addToPendingCount(1);
+                            new TransferTask(batch, successor).fork();
+                        }
+                    }
+                }
+                index = next;
+            }
+            tryComplete();
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // CONFLICT GRAPH
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Per-account chains as a dependency graph. Transfer i has up to two
+     * predecessors (the previous transfer on its sender and on its receiver)
+     * and up to two successors: successors[2i] is the next transfer on i's
+     * sender, successors[2i + 1] the next on i's receiver, -1 if none.
+     */
+    static final class ConflictGraph {
+
+        final int[] predecessors;
+        final int[] successors;
+        final int accounts;
+        /** Transfers that wait for at least one earlier transfer */
+        final int conflicts;
+        /** Longest chain of dependent transfers: the serial part of the batch */
+        final int criticalPath;
+
+        private ConflictGraph(int[] predecessors, int[] successors, int accounts, int conflicts, int criticalPath) {
+            this.predecessors = predecessors;
+            this.successors = successors;
+            this.accounts = accounts;
+            this.conflicts = conflicts;
+            this.criticalPath = criticalPath;
+        }
+
+        static ConflictGraph of(List<TransferRequest> requests) {
+            int n = requests.size();
+            int[] predecessors = new int[n];
+            int[] successors = new int[2 * n];
+            Arrays.fill(successors, -1);
+            int[] depth = new int[n];
+            // account → 2 * last transfer + (0 if it was the sender, 1 if the receiver)
+            Map<String, Integer> lastSlot = new HashMap<>(n * 2);
+            int conflicts = 0;
+            int criticalPath = 0;
+
+            for (int i = 0; i < n; i++) {
+                TransferRequest request = requests.get(i);
+                int before = 0;
+                Integer fromSlot = lastSlot.put(request.getFromAccountId(), 2 * i);
+                if (fromSlot != null) {
+                    successors[fromSlot] = i;
+                    predecessors[i]++;
+                    before = depth[fromSlot >> 1];
+                }
+                if (!request.getToAccountId().equals(request.getFromAccountId())) {
+                    Integer toSlot = lastSlot.put(request.getToAccountId(), 2 * i + 1);
+                    if (toSlot != null) {
+                        successors[toSlot] = i;
+                        predecessors[i]++;
+                        before = Math.max(before, depth[toSlot >> 1]);
+                    }
+                }
+                if (predecessors[i] > 0) {
+                    conflicts++;
+                }
+                depth[i] = before + 1;
+                criticalPath = Math.max(criticalPath, depth[i]);
+            }
+            return new ConflictGraph(predecessors, successors, lastSlot.size(), conflicts, criticalPath);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // BATCH REPORT
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Outcomes of one batch plus how well it parallelised.
+     */
+    public static class BatchReport {
+        private final List<TransferOutcome> outcomes;
+        private final int accounts;
+        private final int conflictingTransfers;
+        private final int criticalPath;
+        private final int parallelism;
+        private final long elapsedNanos;
+
+        BatchReport(List<TransferOutcome> outcomes, ConflictGraph graph, int parallelism, long elapsedNanos) {
+            this.outcomes = outcomes;
+            this.accounts = graph.accounts;
+            this.conflictingTransfers = graph.conflicts;
+            this.criticalPath = graph.criticalPath;
+            this.parallelism = parallelism;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /** One outcome per request, in submission order */
+        public List<TransferOutcome> getOutcomes() { return outcomes; }
+        public int getTransferCount() { return outcomes.size(); }
+        /** Distinct accounts, i.e. conflict chains, in the batch */
+        public int getAccountCount() { return accounts; }
+        /** Transfers that had to wait for an earlier transfer on the same account */
+        public int getConflictingTransfers() { return conflictingTransfers; }
+        /** Longest chain of dependent transfers: the part that cannot run in parallel */
+        public int getCriticalPath() { return criticalPath; }
+        public int getParallelism() { return parallelism; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        public long getSuccessCount() {
+            return outcomes.stream().filter(TransferOutcome::isSuccess).count();
+        }
+
+        public long getFailureCount() {
+            return getTransferCount() - getSuccessCount();
+        }
+
+        /** Transfers per second, failures included */
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0 : getTransferCount() * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        /** Best possible speed-up over serial: transfers / critical path */
+        public double getAvailableParallelism() {
+            return criticalPath == 0 ? 0 : (double) getTransferCount() / criticalPath;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Batch: %d transfers (%d ok, %d failed) in %.1f ms = %.0f/s, " +
+                "%d accounts, %d conflicting, critical path %d (x%.1f available), parallelism %d",
+                getTransferCount(), getSuccessCount(), getFailureCount(), elapsedNanos / 1e6,
+                getThroughput(), accounts, conflictingTransfers, criticalPath,
+                getAvailableParallelism(), parallelism);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.service;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for UPITransferService's async API.
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                    TRANSFER EXECUTORS                         ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  Java 21+ : one virtual thread per transfer. A transfer that  ║
+ * ║             waits on JDBC parks its virtual thread and frees  ║
+ * ║             the carrier, so 10,000 in flight cost 10,000      ║
+ * ║             small heap objects, not 10,000 OS threads         ║
+ * ║  Java 17  : a fixed pool of daemon platform threads; extra    ║
+ * ║             transfers queue instead of creating threads       ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * The project compiles for Java 17, so the Java 21 factory
+ * (Executors.newVirtualThreadPerTaskExecutor) is looked up reflectively.
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+public final class TransferExecutors {
+
+    /** Platform threads in the Java 17 fallback pool */
+    public static final int FALLBACK_THREADS = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
+    private TransferExecutors() {
+    }
+
+    /** Created on first use, shared by every service that keeps the default */
+    private static final class Default {
+        static final ExecutorService INSTANCE = virtualThreadsIfAvailable();
+    }
+
+    /**
+     * @return The shared executor used when none is configured
+     */
+    public static Executor defaultExecutor() {
+        return Default.INSTANCE;
+    }
+
+    /**
+     * New executor: virtual thread per task on Java 21+, otherwise a fixed
+     * pool of {@link #FALLBACK_THREADS} daemon threads.
+     *
+     * @return A new executor; the caller owns it
+     */
+    public static ExecutorService virtualThreadsIfAvailable() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newFixedThreadPool(FALLBACK_THREADS, task -> {
+                Thread thread = new Thread(task, "upi-transfer-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * @return true if this JVM runs async transfers on virtual threads
+     */
+    public static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
@@ -2,8 +2,26 @@ package com.example.service;
 
 import com.example.model.Account;
 import com.example.repository.AccountRepository;
+import com.example.repository.AtomicTransferRepository;
+import com.example.repository.BalanceTransfer;
+import com.example.repository.LockingBatchRepository;
+import com.example.repository.UpiIndexedRepository;
 import com.example.exception.*;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
 /**
  * UPI Transfer Service - Core business logic for fund transfers.
  * 
@@ -42,6 +60,9 @@ public class UPITransferService {
     /** Maximum UPI transaction amount: ₹1,00,000 */
     public static final double UPI_MAX_AMOUNT = 100000.0;
 
+    /** Default bound on async transfers submitted but not yet finished */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 10_000;
+
     // ═══════════════════════════════════════════════════════════
     // DEPENDENCY INJECTION
     // ═══════════════════════════════════════════════════════════
@@ -51,6 +72,16 @@ public class UPITransferService {
      */
     private final AccountRepository accountRepository;
 
+    /**
+     * Executor and in-flight permits for the async API.
+     */
+    private volatile AsyncLimits asyncLimits = new AsyncLimits(null, DEFAULT_MAX_IN_FLIGHT);
+
+    /**
+     * Runs async transfers one at a time when the repository is not atomic.
+     */
+    private final ReentrantLock serialAsyncTransfers = new ReentrantLock();
+
     /**
      * Constructor with Dependency Injection.
      * 
@@ -90,6 +121,23 @@ public class UPITransferService {
             throw new SameAccountTransferException(fromAccountId);
         }
 
+        // ─────────────────────────────────────────────────────────
+        // Thread-safe repositories move the money in one atomic step;
+        // load → debit → credit → save below would lose concurrent updates
+        // ─────────────────────────────────────────────────────────
+        if (accountRepository instanceof AtomicTransferRepository atomicRepository) {
+            BalanceTransfer balances = atomicRepository.transfer(fromAccountId, toAccountId, amount);
+            return new TransferResult(
+                fromAccountId,
+                toAccountId,
+                amount,
+                balances.getSenderBalanceBefore(),
+                balances.getSenderBalanceAfter(),
+                balances.getReceiverBalanceBefore(),
+                balances.getReceiverBalanceAfter()
+            );
+        }
+
         // ─────────────────────────────────────────────────────────
         // STEP 3 & 4: Load accounts
         // ─────────────────────────────────────────────────────────
@@ -140,7 +188,23 @@ public class UPITransferService {
      * @return TransferResult
      */
     public TransferResult transferByUpiId(String fromUpiId, String toUpiId, double amount) {
-        
+
+        // ─────────────────────────────────────────────────────────
+        // Indexed repositories resolve UPI IDs to account IDs without
+        // building an Account that transfer() would load again anyway
+        // ─────────────────────────────────────────────────────────
+        if (accountRepository instanceof UpiIndexedRepository indexedRepository) {
+            String fromAccountId = indexedRepository.findAccountIdByUpiId(fromUpiId);
+            if (fromAccountId == null) {
+                throw new AccountNotFoundException(fromUpiId, true);
+            }
+            String toAccountId = indexedRepository.findAccountIdByUpiId(toUpiId);
+            if (toAccountId == null) {
+                throw new AccountNotFoundException(toUpiId, true);
+            }
+            return transfer(fromAccountId, toAccountId, amount);
+        }
+
         Account fromAccount = accountRepository.findByUpiId(fromUpiId)
             .orElseThrow(() -> new AccountNotFoundException(fromUpiId, true));
 
@@ -150,6 +214,123 @@ public class UPITransferService {
         return transfer(fromAccount.getAccountId(), toAccount.getAccountId(), amount);
     }
 
+    /**
+     * Execute many transfers with two repository calls instead of 4N.
+     * 
+     * BATCH FLOW:
+     * ===========
+     * 1. loadAccountsByIds() - every account the batch touches, once
+     * 2. Apply transfers IN ORDER to the loaded copies; a later transfer
+     *    sees the balances left by earlier ones, exactly as if they ran
+     *    one by one
+     * 3. saveAccounts() - only the accounts that actually changed
+     * 
+     * A failed transfer (bad amount, unknown account, insufficient balance)
+     * is reported in its outcome and changes nothing; the rest of the batch
+     * still runs.
+     * 
+     * A {@link LockingBatchRepository} (the SQL repository) runs the same
+     * flow in one transaction with the batch's rows locked. Other
+     * thread-safe repositories ({@link AtomicTransferRepository}) keep their
+     * per-transfer atomic path: a load/save batch there would overwrite
+     * concurrent transfers made between the load and the save.
+     * 
+     * @param requests Transfers to execute, in order
+     * @return One outcome per request, in the same order
+     */
+    public List<TransferOutcome> transferBatch(List<TransferRequest> requests) {
+        List<TransferOutcome> outcomes = new ArrayList<>(requests.size());
+
+        Set<String> accountIds = new LinkedHashSet<>();
+        for (TransferRequest request : requests) {
+            accountIds.add(request.getFromAccountId());
+            accountIds.add(request.getToAccountId());
+        }
+
+        if (accountRepository instanceof LockingBatchRepository) {
+            if (!requests.isEmpty()) {
+                ((LockingBatchRepository) accountRepository).updateLocked(accountIds,
+                    accounts -> applyBatch(requests, accounts, outcomes));
+            }
+            return outcomes;
+        }
+
+        if (accountRepository instanceof AtomicTransferRepository) {
+            for (TransferRequest request : requests) {
+                try {
+                    outcomes.add(TransferOutcome.success(request,
+                        transfer(request.getFromAccountId(), request.getToAccountId(), request.getAmount())));
+                } catch (TransferException e) {
+                    outcomes.add(TransferOutcome.failure(request, e));
+                }
+            }
+            return outcomes;
+        }
+
+        Map<String, Account> accounts = accountRepository.loadAccountsByIds(accountIds);
+        Collection<Account> changed = applyBatch(requests, accounts, outcomes);
+        if (!changed.isEmpty()) {
+            accountRepository.saveAccounts(changed);
+        }
+        return outcomes;
+    }
+
+    /**
+     * Apply the batch IN ORDER to loaded accounts, adding one outcome per
+     * request to {@code outcomes}.
+     * 
+     * @return The accounts whose balance changed
+     */
+    private Collection<Account> applyBatch(List<TransferRequest> requests, Map<String, Account> accounts,
+                                           List<TransferOutcome> outcomes) {
+        Map<String, Account> changed = new LinkedHashMap<>();
+        for (TransferRequest request : requests) {
+            try {
+                TransferResult result = applyTransfer(request, accounts);
+                changed.put(request.getFromAccountId(), accounts.get(request.getFromAccountId()));
+                changed.put(request.getToAccountId(), accounts.get(request.getToAccountId()));
+                outcomes.add(TransferOutcome.success(request, result));
+            } catch (TransferException e) {
+                outcomes.add(TransferOutcome.failure(request, e));
+            }
+        }
+        return changed.values();
+    }
+
+    /**
+     * Same validation and debit/credit as transfer(), against already-loaded accounts.
+     */
+    private TransferResult applyTransfer(TransferRequest request, Map<String, Account> accounts) {
+        validateAmount(request.getAmount());
+        if (request.getFromAccountId().equals(request.getToAccountId())) {
+            throw new SameAccountTransferException(request.getFromAccountId());
+        }
+
+        Account fromAccount = accounts.get(request.getFromAccountId());
+        if (fromAccount == null) {
+            throw new AccountNotFoundException(request.getFromAccountId());
+        }
+        Account toAccount = accounts.get(request.getToAccountId());
+        if (toAccount == null) {
+            throw new AccountNotFoundException(request.getToAccountId());
+        }
+
+        double senderBalanceBefore = fromAccount.getBalance();
+        double receiverBalanceBefore = toAccount.getBalance();
+        fromAccount.debit(request.getAmount());
+        toAccount.credit(request.getAmount());
+
+        return new TransferResult(
+            request.getFromAccountId(),
+            request.getToAccountId(),
+            request.getAmount(),
+            senderBalanceBefore,
+            fromAccount.getBalance(),
+            receiverBalanceBefore,
+            toAccount.getBalance()
+        );
+    }
+
     /**
      * Validate transfer amount against UPI limits.
      */
@@ -168,6 +349,138 @@ public class UPITransferService {
         }
     }
 
+    // ═══════════════════════════════════════════════════════════
+    // ASYNC API - CompletableFuture variants with back-pressure
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Run async transfers on {@code executor}, with at most
+     * {@code maxInFlight} submitted but not yet finished.
+     * 
+     * Without this the service uses {@link TransferExecutors#defaultExecutor()}
+     * (virtual threads where available) and {@link #DEFAULT_MAX_IN_FLIGHT}.
+     * 
+     * @param executor Executor the transfers run on
+     * @param maxInFlight Bound on concurrent async transfers
+     * @return this service (for chaining)
+     */
+    public UPITransferService withAsyncExecutor(Executor executor, int maxInFlight) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        asyncLimits = new AsyncLimits(executor, maxInFlight);
+        return this;
+    }
+
+    /**
+     * {@link #transfer} on the async executor.
+     * 
+     * BACK-PRESSURE:
+     * ==============
+     * When the in-flight limit is reached, this call blocks until an
+     * earlier async transfer finishes, so a fast producer cannot queue
+     * unbounded work.
+     * 
+     * NON-ATOMIC REPOSITORIES:
+     * ========================
+     * Without an AtomicTransferRepository, transfer() is a load → save
+     * sequence that loses concurrent updates, so the async transfers run
+     * one at a time (as ParallelBatchExecutor falls back to serial). They
+     * still queue up to maxInFlight.
+     * 
+     * FAILURES:
+     * =========
+     * The future completes exceptionally with the same exception transfer()
+     * would throw (InsufficientBalanceException, AccountNotFoundException,
+     * ...), unwrapped: {@code exceptionally(e -> ...)} receives it directly,
+     * {@code get()} reports it as the ExecutionException's cause.
+     * 
+     * @param fromAccountId Sender's account ID
+     * @param toAccountId Receiver's account ID
+     * @param amount Amount to transfer (₹1 to ₹1,00,000)
+     * @return Future of the TransferResult
+     */
+    public CompletableFuture<TransferResult> transferAsync(String fromAccountId, String toAccountId, double amount) {
+        return submitAsync(() -> transfer(fromAccountId, toAccountId, amount));
+    }
+
+    /**
+     * {@link #transferByUpiId} on the async executor; same back-pressure
+     * and failures as {@link #transferAsync}.
+     * 
+     * @param fromUpiId Sender's UPI ID
+     * @param toUpiId Receiver's UPI ID
+     * @param amount Amount to transfer
+     * @return Future of the TransferResult
+     */
+    public CompletableFuture<TransferResult> transferByUpiIdAsync(String fromUpiId, String toUpiId, double amount) {
+        return submitAsync(() -> transferByUpiId(fromUpiId, toUpiId, amount));
+    }
+
+    /**
+     * @return Async transfers submitted but not yet finished
+     */
+    public int getAsyncInFlight() {
+        AsyncLimits limits = asyncLimits;
+        return limits.maxInFlight - limits.permits.availablePermits();
+    }
+
+    private CompletableFuture<TransferResult> submitAsync(Supplier<TransferResult> transfer) {
+        AsyncLimits limits = asyncLimits;
+        CompletableFuture<TransferResult> future = new CompletableFuture<>();
+        try {
+            limits.permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+            return future;
+        }
+        try {
+            limits.executor().execute(() -> {
+                TransferResult result = null;
+                Throwable failure = null;
+                try {
+                    result = supportsConcurrentTransfers() ? transfer.get() : runSerially(transfer);
+                } catch (RuntimeException | Error e) {
+                    failure = e;
+                } finally {
+                    // Released before completing: a callback that submits
+                    // another transfer must not wait for its own permit
+                    limits.permits.release();
+                }
+                if (failure == null) {
+                    future.complete(result);
+                } else {
+                    future.completeExceptionally(failure);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            limits.permits.release();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private TransferResult runSerially(Supplier<TransferResult> transfer) {
+        serialAsyncTransfers.lock();
+        try {
+            return transfer.get();
+        } finally {
+            serialAsyncTransfers.unlock();
+        }
+    }
+
+    /**
+     * Whether transfer() may be called from many threads at once: only
+     * atomic repositories move money without a load → save window.
+     */
+    boolean supportsConcurrentTransfers() {
+        return accountRepository instanceof AtomicTransferRepository;
+    }
+
     /**
      * Check if account exists.
      */
@@ -186,6 +499,88 @@ public class UPITransferService {
         return account.getBalance();
     }
 
+    /**
+     * Executor (null = the shared default) and the permits bounding
+     * in-flight async transfers.
+     */
+    private static final class AsyncLimits {
+        private final Executor executor;
+        private final int maxInFlight;
+        private final Semaphore permits;
+
+        AsyncLimits(Executor executor, int maxInFlight) {
+            this.executor = executor;
+            this.maxInFlight = maxInFlight;
+            this.permits = new Semaphore(maxInFlight);
+        }
+
+        Executor executor() {
+            return executor != null ? executor : TransferExecutors.defaultExecutor();
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // BATCH TYPES - One request and one outcome per transfer
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * One transfer in a batch.
+     */
+    public static class TransferRequest {
+        private final String fromAccountId;
+        private final String toAccountId;
+        private final double amount;
+
+        public TransferRequest(String fromAccountId, String toAccountId, double amount) {
+            this.fromAccountId = fromAccountId;
+            this.toAccountId = toAccountId;
+            this.amount = amount;
+        }
+
+        public String getFromAccountId() { return fromAccountId; }
+        public String getToAccountId() { return toAccountId; }
+        public double getAmount() { return amount; }
+
+        @Override
+        public String toString() {
+            return String.format("%s → %s ₹%.2f", fromAccountId, toAccountId, amount);
+        }
+    }
+
+    /**
+     * Result of one batch entry: either a TransferResult or the exception
+     * the same transfer would have thrown on its own.
+     */
+    public static class TransferOutcome {
+        private final TransferRequest request;
+        private final TransferResult result;
+        private final TransferException failure;
+
+        private TransferOutcome(TransferRequest request, TransferResult result, TransferException failure) {
+            this.request = request;
+            this.result = result;
+            this.failure = failure;
+        }
+
+        public static TransferOutcome success(TransferRequest request, TransferResult result) {
+            return new TransferOutcome(request, result, null);
+        }
+
+        public static TransferOutcome failure(TransferRequest request, TransferException failure) {
+            return new TransferOutcome(request, null, failure);
+        }
+
+        public TransferRequest getRequest() { return request; }
+        public TransferResult getResult() { return result; }
+        public TransferException getFailure() { return failure; }
+        public boolean isSuccess() { return failure == null; }
+
+        @Override
+        public String toString() {
+            return isSuccess() ? result.toString() : request + " failed: " + failure.getMessage();
+        }
+    }
+
     // ═══════════════════════════════════════════════════════════
     // TRANSFER RESULT - Immutable result object
     // ═══════════════════════════════════════════════════════════
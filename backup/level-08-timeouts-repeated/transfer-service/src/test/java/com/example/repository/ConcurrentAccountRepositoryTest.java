@@ -0,0 +1,277 @@
+package com.example.repository;
+
+import com.example.exception.AccountNotFoundException;
+import com.example.exception.InsufficientBalanceException;
+import com.example.model.Account;
+import com.example.service.UPITransferService;
+import com.example.service.UPITransferService.TransferResult;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrent Account Repository Tests
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║              LOCK STRIPING & ATOMIC TRANSFER TESTS            ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  • Conservation: money is never created or destroyed, even    ║
+ * ║    with 32 threads racing on the same 100 accounts            ║
+ * ║  • Deadlock freedom: A→B and B→A at the same time finish      ║
+ * ║  • No overdraft: a balance never goes below zero              ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * Amounts and balances are whole rupees, so double arithmetic is exact
+ * and the conservation check can compare with assertEquals(..., 0.0).
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+@DisplayName("Concurrent Account Repository Tests")
+class ConcurrentAccountRepositoryTest {
+
+    private static final int ACCOUNTS = 100;
+    private static final double OPENING_BALANCE = 100000.0;
+    private static final String[] ACCOUNT_IDS = new String[ACCOUNTS];
+
+    static {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            ACCOUNT_IDS[i] = String.format("ACC%03d", i);
+        }
+    }
+
+    private ConcurrentAccountRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ConcurrentAccountRepository();
+        seed(repository);
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // SINGLE-THREADED BEHAVIOUR
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Atomic Transfer")
+    class AtomicTransferTests {
+
+        @Test
+        @DisplayName("Moves money and reports balances before and after")
+        void transferMovesMoney() {
+            BalanceTransfer result = repository.transfer("ACC000", "ACC001", 2500.0);
+
+            assertAll(
+                () -> assertEquals(100000.0, result.getSenderBalanceBefore()),
+                () -> assertEquals(97500.0, result.getSenderBalanceAfter()),
+                () -> assertEquals(100000.0, result.getReceiverBalanceBefore()),
+                () -> assertEquals(102500.0, result.getReceiverBalanceAfter()),
+                () -> assertEquals(97500.0, repository.loadAccountById("ACC000").getBalance()),
+                () -> assertEquals(102500.0, repository.loadAccountById("ACC001").getBalance())
+            );
+        }
+
+        @Test
+        @DisplayName("Insufficient balance leaves both accounts untouched")
+        void insufficientBalanceChangesNothing() {
+            assertThrows(InsufficientBalanceException.class,
+                () -> repository.transfer("ACC000", "ACC001", OPENING_BALANCE + 1));
+
+            assertEquals(OPENING_BALANCE, repository.loadAccountById("ACC000").getBalance());
+            assertEquals(OPENING_BALANCE, repository.loadAccountById("ACC001").getBalance());
+        }
+
+        @Test
+        @DisplayName("Unknown account throws AccountNotFoundException")
+        void unknownAccountThrows() {
+            AccountNotFoundException ex = assertThrows(AccountNotFoundException.class,
+                () -> repository.transfer("ACC000", "UNKNOWN", 100.0));
+
+            assertEquals("UNKNOWN", ex.getAccountId());
+            assertEquals(OPENING_BALANCE, repository.loadAccountById("ACC000").getBalance());
+        }
+
+        @Test
+        @DisplayName("Loaded accounts are copies")
+        void loadReturnsCopy() {
+            Account loaded = repository.loadAccountById("ACC000");
+            loaded.debit(50000.0);
+
+            assertEquals(OPENING_BALANCE, repository.loadAccountById("ACC000").getBalance());
+        }
+
+        @Test
+        @DisplayName("Service uses the atomic path")
+        void serviceUsesAtomicTransfer() {
+            repository.addUpiMapping("rajesh@upi", "ACC000").addUpiMapping("priya@upi", "ACC001");
+            UPITransferService service = new UPITransferService(repository);
+
+            TransferResult result = service.transferByUpiId("rajesh@upi", "priya@upi", 1000.0);
+
+            assertEquals(99000.0, result.getSenderBalanceAfter());
+            assertEquals(101000.0, result.getReceiverBalanceAfter());
+            assertEquals(ACCOUNTS * OPENING_BALANCE, repository.getTotalBalance(), 0.0);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // MULTI-THREADED CORRECTNESS
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Concurrency")
+    class ConcurrencyTests {
+
+        @Test
+        @Timeout(value = 60, unit = TimeUnit.SECONDS)
+        @DisplayName("1M random transfers on 32 threads conserve the total balance")
+        void conservesBalanceUnderContention() throws Exception {
+            RunStats stats = runRandomTransfers(repository, 32, 1_000_000);
+
+            assertEquals(1_000_000, stats.completed + stats.rejected);
+            assertEquals(ACCOUNTS * OPENING_BALANCE, repository.getTotalBalance(), 0.0);
+            for (int i = 0; i < ACCOUNTS; i++) {
+                assertTrue(repository.loadAccountById(accountId(i)).getBalance() >= 0.0);
+            }
+        }
+
+        @Test
+        @Timeout(value = 30, unit = TimeUnit.SECONDS)
+        @DisplayName("Opposite-direction transfers on the same pair never deadlock")
+        void oppositeDirectionsDoNotDeadlock() throws Exception {
+            ExecutorService pool = Executors.newFixedThreadPool(2);
+            CountDownLatch start = new CountDownLatch(1);
+            try {
+                Future<?> forward = pool.submit(() -> pingPong(start, "ACC000", "ACC001"));
+                Future<?> backward = pool.submit(() -> pingPong(start, "ACC001", "ACC000"));
+                start.countDown();
+                forward.get();
+                backward.get();
+            } finally {
+                pool.shutdownNow();
+            }
+
+            assertEquals(2 * OPENING_BALANCE,
+                repository.loadAccountById("ACC000").getBalance()
+                    + repository.loadAccountById("ACC001").getBalance(), 0.0);
+        }
+
+        @Test
+        @Timeout(value = 30, unit = TimeUnit.SECONDS)
+        @DisplayName("Concurrent service transfers from one payer never overdraw it")
+        void concurrentServiceTransfersNeverOverdraw() throws Exception {
+            UPITransferService service = new UPITransferService(repository);
+            ExecutorService pool = Executors.newFixedThreadPool(16);
+            List<Future<Boolean>> attempts = new ArrayList<>();
+            try {
+                // 200 x ₹1000 against ₹1,00,000: exactly 100 can succeed
+                for (int i = 0; i < 200; i++) {
+                    String payee = accountId(1 + i % (ACCOUNTS - 1));
+                    attempts.add(pool.submit(() -> {
+                        try {
+                            service.transfer("ACC000", payee, 1000.0);
+                            return true;
+                        } catch (InsufficientBalanceException e) {
+                            return false;
+                        }
+                    }));
+                }
+                int succeeded = 0;
+                for (Future<Boolean> attempt : attempts) {
+                    succeeded += attempt.get() ? 1 : 0;
+                }
+                assertEquals(100, succeeded);
+            } finally {
+                pool.shutdownNow();
+            }
+
+            assertEquals(0.0, repository.loadAccountById("ACC000").getBalance());
+            assertEquals(ACCOUNTS * OPENING_BALANCE, repository.getTotalBalance(), 0.0);
+        }
+
+        private Void pingPong(CountDownLatch start, String from, String to) throws InterruptedException {
+            start.await();
+            for (int i = 0; i < 200_000; i++) {
+                repository.transfer(from, to, 1.0);
+            }
+            return null;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // HELPERS
+    // ═══════════════════════════════════════════════════════════
+
+    private static void seed(ConcurrentAccountRepository target) {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            target.addAccount(new Account(accountId(i), "Test User " + i, OPENING_BALANCE));
+        }
+    }
+
+    private static String accountId(int index) {
+        return ACCOUNT_IDS[index];
+    }
+
+    /**
+     * Run {@code total} random transfers of ₹1-₹1000 split across {@code threads},
+     * all released at once by a latch. Overdraft attempts count as rejected.
+     */
+    private static RunStats runRandomTransfers(ConcurrentAccountRepository target, int threads, int total)
+            throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int share = total / threads + (t < total % threads ? 1 : 0);
+                workers.add(pool.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long completed = 0;
+                    long rejected = 0;
+                    start.await();
+                    for (int i = 0; i < share; i++) {
+                        int from = random.nextInt(ACCOUNTS);
+                        int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                        try {
+                            target.transfer(accountId(from), accountId(to), 1 + random.nextInt(1000));
+                            completed++;
+                        } catch (InsufficientBalanceException e) {
+                            rejected++;
+                        }
+                    }
+                    return new long[] {completed, rejected};
+                }));
+            }
+
+            start.countDown();
+            RunStats stats = new RunStats();
+            for (Future<long[]> worker : workers) {
+                long[] counts = worker.get();
+                stats.completed += counts[0];
+                stats.rejected += counts[1];
+            }
+            return stats;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static class RunStats {
+        long completed;
+        long rejected;
+    }
+}
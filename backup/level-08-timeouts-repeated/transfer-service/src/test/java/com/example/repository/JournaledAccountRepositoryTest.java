@@ -0,0 +1,487 @@
+package com.example.repository;
+
+import com.example.exception.InsufficientBalanceException;
+import com.example.model.Account;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Journaled Account Repository Tests
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║              JOURNALED ACCOUNT REPOSITORY TESTS               ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  • Reopening rebuilds exactly the balances that were written  ║
+ * ║  • Snapshots bound replay time and delete covered segments    ║
+ * ║  • A torn last record is dropped, never half-applied          ║
+ * ║  • A killed process loses no acknowledged transfer and no     ║
+ * ║    money                                                      ║
+ * ║  • A failed append is undone in memory and later writes fail  ║
+ * ║  • A failed automatic snapshot never fails the write          ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+@DisplayName("Journaled Account Repository Tests")
+class JournaledAccountRepositoryTest {
+
+    private static final int ACCOUNTS = 100;
+    private static final double OPENING_BALANCE = 1000.0;
+    private static final int SMALL_SEGMENT = 256 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private JournaledAccountRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // RECOVERY
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Recovery")
+    class RecoveryTests {
+
+        @Test
+        @DisplayName("Reopening should rebuild the same balances from the journal")
+        void reopenRebuildsBalances() {
+            repository = open(Long.MAX_VALUE);
+            ConcurrentAccountRepository expected = new ConcurrentAccountRepository();
+            seed(repository);
+            seed(expected);
+            int applied = runTransfers(repository, expected, 20_000, 1);
+            repository.close();
+
+            repository = open(Long.MAX_VALUE);
+
+            assertEquals(ACCOUNTS + applied, repository.getReplayedRecords(),
+                "every account and every successful transfer is replayed");
+            assertSameBalances(expected, repository);
+        }
+
+        @Test
+        @DisplayName("A failed transfer should not be journaled")
+        void failedTransferNotJournaled() {
+            repository = open(Long.MAX_VALUE);
+            repository.addAccount(new Account("ACC001", "Rajesh", 100.0))
+                      .addAccount(new Account("ACC002", "Priya", 0.0));
+
+            assertThrows(InsufficientBalanceException.class, () -> repository.transfer("ACC001", "ACC002", 500.0));
+            repository.transfer("ACC001", "ACC002", 40.0);
+
+            assertEquals(3, repository.getLastSequence());
+            repository.close();
+            repository = open(Long.MAX_VALUE);
+            assertEquals(60.0, repository.loadAccountById("ACC001").getBalance());
+            assertEquals(40.0, repository.loadAccountById("ACC002").getBalance());
+        }
+
+        @Test
+        @DisplayName("Should roll over to new segments and replay across them")
+        void replaysAcrossSegments() {
+            repository = open(Long.MAX_VALUE);
+            ConcurrentAccountRepository expected = new ConcurrentAccountRepository();
+            seed(repository);
+            seed(expected);
+            runTransfers(repository, expected, 30_000, 2);
+
+            assertTrue(repository.getJournalSegmentCount() > 2);
+            repository.close();
+            repository = open(Long.MAX_VALUE);
+            assertSameBalances(expected, repository);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // SNAPSHOTS
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Snapshots")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("Startup should load the snapshot and replay only the tail")
+        void replaysOnlyTail() throws IOException {
+            repository = open(10_000);
+            ConcurrentAccountRepository expected = new ConcurrentAccountRepository();
+            seed(repository);
+            seed(expected);
+            runTransfers(repository, expected, 35_000, 3);
+            long snapshotSequence = repository.getLastSnapshotSequence();
+            repository.close();
+
+            repository = open(10_000);
+
+            assertTrue(snapshotSequence > 0);
+            assertEquals(repository.getLastSequence() - snapshotSequence, repository.getReplayedRecords());
+            assertTrue(repository.getReplayedRecords() < 10_000);
+            assertEquals(1, count("snapshot-"), "older snapshots are deleted");
+            assertSameBalances(expected, repository);
+        }
+
+        @Test
+        @DisplayName("Segments covered by a snapshot should be deleted")
+        void deletesCoveredSegments() {
+            repository = open(Long.MAX_VALUE);
+            ConcurrentAccountRepository expected = new ConcurrentAccountRepository();
+            seed(repository);
+            seed(expected);
+            runTransfers(repository, expected, 30_000, 4);
+            int segmentsBefore = repository.getJournalSegmentCount();
+
+            repository.snapshot();
+
+            assertEquals(1, repository.getJournalSegmentCount());
+            assertTrue(segmentsBefore > 1);
+            repository.close();
+            repository = open(Long.MAX_VALUE);
+            assertEquals(0, repository.getReplayedRecords());
+            assertSameBalances(expected, repository);
+        }
+
+        @Test
+        @DisplayName("A damaged snapshot whose journal is gone should fail startup, not lose money")
+        void damagedSnapshotFailsStartup() throws IOException {
+            repository = open(Long.MAX_VALUE);
+            ConcurrentAccountRepository expected = new ConcurrentAccountRepository();
+            seed(repository);
+            seed(expected);
+            runTransfers(repository, expected, 30_000, 5);
+            repository.snapshot();
+            repository.close();
+            repository = null;
+            Path snapshot = list("snapshot-").get(0);
+            flipByte(snapshot, Files.size(snapshot) / 2);
+
+            assertThrows(DataAccessException.class, () -> open(Long.MAX_VALUE));
+        }
+
+        @Test
+        @DisplayName("A failed automatic snapshot should not fail the write, and be retried later")
+        void failedSnapshotKeepsWriteSuccessful() throws IOException {
+            repository = open(10);
+            repository.addAccount(new Account("PAYER", "Payer", 1_000.0))
+                .addAccount(new Account("PAYEE", "Payee", 0.0));
+            // A directory where the temp file of the snapshot at sequence 10 goes
+            Files.createDirectory(directory.resolve(String.format("snapshot-%020d.snap.tmp", 10)));
+
+            for (int i = 0; i < 8; i++) {
+                repository.transfer("PAYER", "PAYEE", 1.0);
+            }
+
+            assertEquals(10, repository.getLastSequence());
+            assertEquals(0, repository.getLastSnapshotSequence());
+            assertNotNull(repository.getLastSnapshotFailure());
+            assertEquals(992.0, repository.loadAccountById("PAYER").getBalance());
+
+            for (int i = 0; i < 10; i++) {
+                repository.transfer("PAYER", "PAYEE", 1.0);
+            }
+
+            assertEquals(20, repository.getLastSnapshotSequence(), "retried after another snapshotEvery records");
+            assertNull(repository.getLastSnapshotFailure());
+            repository.close();
+            repository = open(10);
+            assertEquals(982.0, repository.loadAccountById("PAYER").getBalance());
+            assertEquals(18.0, repository.loadAccountById("PAYEE").getBalance());
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // CRASH CONSISTENCY
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Crash Consistency")
+    class CrashTests {
+
+        @Test
+        @DisplayName("A torn last record should be dropped and the journal continue after it")
+        void tornLastRecordDropped() throws IOException {
+            repository = open(Long.MAX_VALUE);
+            ConcurrentAccountRepository expected = new ConcurrentAccountRepository();
+            seed(repository);
+            seed(expected);
+            runTransfers(repository, expected, 999, 6);
+            ConcurrentAccountRepository beforeLast = new ConcurrentAccountRepository();
+            copyBalances(expected, beforeLast);
+            repository.transfer(richest(expected), id(0), 1.0);
+            long lastSequence = repository.getLastSequence();
+            repository.close();
+
+            Path segment = list("journal-").get(0);
+            flipByte(segment, lastRecordOffset(segment) + 20);
+            repository = open(Long.MAX_VALUE);
+
+            assertEquals(lastSequence - 1, repository.getLastSequence());
+            assertSameBalances(beforeLast, repository);
+
+            repository.transfer(richest(beforeLast), id(1), 2.0);
+            beforeLast.transfer(richest(beforeLast), id(1), 2.0);
+            repository.close();
+            repository = open(Long.MAX_VALUE);
+            assertEquals(lastSequence, repository.getLastSequence());
+            assertSameBalances(beforeLast, repository);
+        }
+
+        @Test
+        @Timeout(value = 120, unit = TimeUnit.SECONDS)
+        @DisplayName("Killing the writer process should lose no acknowledged transfer and no money")
+        void killedProcessRecovers() throws Exception {
+            Process writer = new ProcessBuilder(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-cp", System.getProperty("java.class.path"),
+                    CrashingWriter.class.getName(), directory.toString())
+                .redirectErrorStream(true)
+                .start();
+            long acknowledged = 0;
+            try (BufferedReader out = new BufferedReader(new InputStreamReader(writer.getInputStream()))) {
+                for (String line; acknowledged < 50_000 && (line = out.readLine()) != null; ) {
+                    acknowledged = Long.parseLong(line.trim());
+                }
+                writer.destroyForcibly();
+                writer.waitFor(30, TimeUnit.SECONDS);
+            }
+            assertTrue(acknowledged >= 50_000, "writer died early");
+
+            repository = open(CrashingWriter.SNAPSHOT_EVERY);
+
+            assertTrue(repository.getLastSequence() >= acknowledged,
+                repository.getLastSequence() + " < acknowledged " + acknowledged);
+            double total = 0;
+            for (int i = 0; i < ACCOUNTS; i++) {
+                total += repository.loadAccountById(id(i)).getBalance();
+            }
+            assertEquals(ACCOUNTS * OPENING_BALANCE, total, 0.001, "money created or lost");
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // APPEND FAILURE
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Append Failure")
+    class AppendFailureTests {
+
+        private Path journalDirectory;
+
+        /** Opens in a subdirectory, then deletes it: the next segment rollover cannot map a file. */
+        private void openAndBreakRollover() throws IOException {
+            journalDirectory = directory.resolve("broken");
+            repository = JournaledAccountRepository.open(journalDirectory, new ConcurrentAccountRepository(),
+                SMALL_SEGMENT, JournaledAccountRepository.DEFAULT_FORCE_EVERY, Long.MAX_VALUE);
+            repository.addAccount(new Account("PAYER", "Payer", 1_000_000.0))
+                .addAccount(new Account("PAYEE", "Payee", 1_000_000.0));
+            for (Path path : list(journalDirectory, "journal-")) {
+                Files.delete(path);
+            }
+            Files.delete(journalDirectory);
+        }
+
+        @Test
+        @DisplayName("A transfer whose append fails should be undone and later writes rejected")
+        void failedTransferAppendUndone() throws IOException {
+            openAndBreakRollover();
+            long sequence = repository.getLastSequence();
+            int journaled = 0;
+            DataAccessException failure = null;
+            while (failure == null) {
+                try {
+                    repository.transfer("PAYER", "PAYEE", 1.0);
+                    journaled++;
+                } catch (DataAccessException e) {
+                    failure = e;
+                }
+            }
+
+            assertEquals(sequence + journaled, repository.getLastSequence());
+            assertEquals(1_000_000.0 - journaled, repository.loadAccountById("PAYER").getBalance());
+            assertEquals(1_000_000.0 + journaled, repository.loadAccountById("PAYEE").getBalance());
+
+            DataAccessException rejected = assertThrows(DataAccessException.class,
+                () -> repository.transfer("PAYER", "PAYEE", 1.0));
+            assertSame(failure, rejected.getCause());
+            assertThrows(DataAccessException.class,
+                () -> repository.saveAccount(new Account("PAYER", "Payer", 0.0)));
+            assertThrows(DataAccessException.class, () -> repository.snapshot());
+            assertEquals(1_000_000.0 - journaled, repository.loadAccountById("PAYER").getBalance());
+        }
+
+        @Test
+        @DisplayName("A save whose append fails should restore the previous account")
+        void failedSaveAppendRestoresPrevious() throws IOException {
+            openAndBreakRollover();
+            double lastJournaled = 0;
+            DataAccessException failure = null;
+            for (int i = 1; failure == null; i++) {
+                try {
+                    repository.saveAccount(new Account("PAYER", "Payer", i));
+                    lastJournaled = i;
+                } catch (DataAccessException e) {
+                    failure = e;
+                }
+            }
+
+            assertTrue(lastJournaled > 0, "rollover should not fail on the first record");
+            assertEquals(lastJournaled, repository.loadAccountById("PAYER").getBalance());
+            assertThrows(DataAccessException.class,
+                () -> repository.saveAccount(new Account("PAYER", "Payer", 1.0)));
+        }
+    }
+
+    /**
+     * Child process for the kill test: transfers forever, printing the last
+     * journaled sequence every 1,000 transfers until it is killed.
+     */
+    static final class CrashingWriter {
+
+        static final long SNAPSHOT_EVERY = 40_000;
+
+        public static void main(String[] args) {
+            JournaledAccountRepository repository = JournaledAccountRepository.open(Path.of(args[0]),
+                new ConcurrentAccountRepository(), SMALL_SEGMENT, JournaledAccountRepository.DEFAULT_FORCE_EVERY,
+                SNAPSHOT_EVERY);
+            seed(repository);
+            SplittableRandom random = new SplittableRandom(8);
+            for (long n = 1; ; n++) {
+                try {
+                    repository.transfer(id(random.nextInt(ACCOUNTS)), id(random.nextInt(ACCOUNTS)),
+                        1 + random.nextInt(300) + random.nextInt(100) / 100.0);
+                } catch (RuntimeException e) {
+                    // insufficient balance, same account: not journaled
+                }
+                if (n % 1000 == 0) {
+                    System.out.println(repository.getLastSequence());
+                    System.out.flush();
+                }
+            }
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // HELPERS
+    // ═══════════════════════════════════════════════════════════
+
+    private JournaledAccountRepository open(long snapshotEvery) {
+        return JournaledAccountRepository.open(directory, new ConcurrentAccountRepository(),
+            SMALL_SEGMENT, JournaledAccountRepository.DEFAULT_FORCE_EVERY, snapshotEvery);
+    }
+
+    private static String id(int i) {
+        return String.format("ACC%03d", i);
+    }
+
+    private static void seed(AccountRepository target) {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            target.saveAccount(new Account(id(i), "Holder " + i, OPENING_BALANCE));
+        }
+    }
+
+    /** Same random transfers on both; returns how many succeeded (and were journaled). */
+    private static int runTransfers(AtomicTransferRepository journaled, AtomicTransferRepository expected,
+                                     int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int applied = 0;
+        for (int i = 0; i < count; i++) {
+            String from = id(random.nextInt(ACCOUNTS));
+            String to = id(random.nextInt(ACCOUNTS));
+            double amount = 1 + random.nextInt(500) + random.nextInt(100) / 100.0;
+            try {
+                expected.transfer(from, to, amount);
+            } catch (RuntimeException e) {
+                assertThrows(RuntimeException.class, () -> journaled.transfer(from, to, amount));
+                continue;
+            }
+            journaled.transfer(from, to, amount);
+            applied++;
+        }
+        return applied;
+    }
+
+    private static String richest(AccountRepository accounts) {
+        int richest = 1;
+        for (int i = 1; i < ACCOUNTS; i++) {
+            if (accounts.loadAccountById(id(i)).getBalance() > accounts.loadAccountById(id(richest)).getBalance()) {
+                richest = i;
+            }
+        }
+        return id(richest);
+    }
+
+    private static void copyBalances(AccountRepository from, AccountRepository to) {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            to.saveAccount(from.loadAccountById(id(i)));
+        }
+    }
+
+    private static void assertSameBalances(AccountRepository expected, AccountRepository actual) {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            assertEquals(expected.loadAccountById(id(i)).getBalance(),
+                         actual.loadAccountById(id(i)).getBalance(), id(i));
+        }
+    }
+
+    /** Walks [length][crc][body] records to the start of the last one. */
+    private static long lastRecordOffset(Path segment) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int position = 0;
+        int last = -1;
+        while (position + 8 <= data.limit() && data.getInt(position) != 0) {
+            last = position;
+            position += 8 + data.getInt(position);
+        }
+        return last;
+    }
+
+    private static void flipByte(Path file, long offset) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(offset);
+            int b = raf.read();
+            raf.seek(offset);
+            raf.write(b ^ 0xFF);
+        }
+    }
+
+    private List<Path> list(String prefix) throws IOException {
+        return list(directory, prefix);
+    }
+
+    private static List<Path> list(Path in, String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(in)) {
+            return files.filter(p -> p.getFileName().toString().startsWith(prefix)).sorted().toList();
+        }
+    }
+
+    private long count(String prefix) throws IOException {
+        return list(prefix).size();
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.repository;
+
+import com.example.exception.AccountNotFoundException;
+import com.example.exception.InsufficientBalanceException;
+import com.example.exception.InvalidAmountException;
+import com.example.model.Account;
+import com.example.service.UPITransferService;
+import com.example.service.UPITransferService.TransferResult;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Off-Heap Account Repository Tests
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                 OFF-HEAP STORE TESTS                          ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  • Same repository contract as InMemoryAccountRepository      ║
+ * ║  • Balances in paise, a version per slot                      ║
+ * ║  • Fixed capacity fails loudly instead of degrading           ║
+ * ║  • Conservation with 16 threads over 100,000 accounts         ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * Footprint and GC numbers are in MemoryFootprintReport
+ * (src/jmh/java, run with -Pbenchmarks).
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+@DisplayName("Off-Heap Account Repository Tests")
+class OffHeapAccountRepositoryTest {
+
+    private OffHeapAccountRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new OffHeapAccountRepository(1_000)
+            .addAccounts(
+                new Account("ACC001", "Rajesh Kumar", 10000.0),
+                new Account("ACC002", "प्रिया शर्मा", 5000.0)
+            )
+            .addUpiMapping("rajesh@upi", "ACC001");
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // REPOSITORY CONTRACT
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Repository Contract")
+    class ContractTests {
+
+        @Test
+        @DisplayName("Should round-trip ids, names (any script) and balances")
+        void shouldRoundTrip() {
+            Account loaded = repository.loadAccountById("ACC002");
+
+            assertEquals("ACC002", loaded.getAccountId());
+            assertEquals("प्रिया शर्मा", loaded.getAccountHolderName());
+            assertEquals(5000.0, loaded.getBalance());
+            assertEquals(2, repository.getAccountCount());
+        }
+
+        @Test
+        @DisplayName("Should return null / false / empty for unknown ids")
+        void shouldHandleMissing() {
+            assertNull(repository.loadAccountById("ACC999"));
+            assertFalse(repository.existsById("ACC00"));
+            assertTrue(repository.findByUpiId("nobody@upi").isEmpty());
+            assertEquals(-1, repository.getVersion("ACC999"));
+        }
+
+        @Test
+        @DisplayName("Should resolve UPI IDs case-insensitively")
+        void shouldResolveUpiId() {
+            assertEquals("ACC001", repository.findByUpiId("Rajesh@UPI").orElseThrow().getAccountId());
+        }
+
+        @Test
+        @DisplayName("Should store balances in paise and bump the version on each write")
+        void shouldRoundToPaiseAndVersion() {
+            Account account = repository.loadAccountById("ACC001");
+            account.debit(0.1);
+            account.debit(0.2);
+            repository.saveAccount(account);
+
+            assertEquals(9999.70, repository.loadAccountById("ACC001").getBalance());
+            assertEquals(1, repository.getVersion("ACC001"));
+            assertEquals(2, repository.getAccountCount(), "save must update, not insert");
+        }
+
+        @Test
+        @DisplayName("Should load and save batches, keeping request order")
+        void shouldBatch() {
+            Map<String, Account> loaded = repository.loadAccountsByIds(List.of("ACC002", "GHOST", "ACC001"));
+            assertEquals(List.of("ACC002", "ACC001"), new ArrayList<>(loaded.keySet()));
+
+            loaded.get("ACC001").debit(1000.0);
+            loaded.get("ACC002").credit(1000.0);
+            List<Account> toSave = new ArrayList<>(loaded.values());
+            toSave.add(new Account("ACC003", "Amit", 42.0));
+            repository.saveAccounts(toSave);
+
+            assertEquals(9000.0, repository.loadAccountById("ACC001").getBalance());
+            assertEquals(6000.0, repository.loadAccountById("ACC002").getBalance());
+            assertEquals(42.0, repository.loadAccountById("ACC003").getBalance());
+            assertEquals(0, repository.getVersion("ACC003"));
+        }
+
+        @Test
+        @DisplayName("Should clear everything and accept new accounts afterwards")
+        void shouldClear() {
+            repository.clear();
+
+            assertEquals(0, repository.getAccountCount());
+            assertFalse(repository.existsById("ACC001"));
+            repository.addAccount(new Account("ACC001", "Again", 1.0));
+            assertEquals("Again", repository.loadAccountById("ACC001").getAccountHolderName());
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // CAPACITY
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Capacity")
+    class CapacityTests {
+
+        @Test
+        @DisplayName("Should hold at least the expected number of accounts")
+        void shouldHoldExpectedAccounts() {
+            OffHeapAccountRepository store = new OffHeapAccountRepository(100_000);
+            for (int i = 0; i < 100_000; i++) {
+                store.addAccount(new Account("ACC" + i, "User " + i, i));
+            }
+
+            assertEquals(100_000, store.getAccountCount());
+            assertEquals(99_999.0, store.loadAccountById("ACC99999").getBalance());
+            assertEquals(4_999_950_000.0, store.getTotalBalance());
+        }
+
+        @Test
+        @DisplayName("Should throw when the table is full instead of degrading")
+        void shouldFailWhenFull() {
+            OffHeapAccountRepository store = new OffHeapAccountRepository(10);
+            for (int i = 0; i < store.getCapacity(); i++) {
+                store.addAccount(new Account("ACC" + i, "User", 1.0));
+            }
+
+            assertThrows(IllegalStateException.class, () -> store.addAccount(new Account("ONE_MORE", "User", 1.0)));
+            assertDoesNotThrow(() -> store.saveAccount(new Account("ACC0", "User", 2.0)));
+        }
+
+        @Test
+        @DisplayName("Should reject account ids outside Latin-1")
+        void shouldRejectWideIds() {
+            assertThrows(IllegalArgumentException.class, () -> repository.addAccount(new Account("खाता1", "X", 1.0)));
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // TRANSFER
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Atomic Transfer")
+    class TransferTests {
+
+        @Test
+        @DisplayName("Should move money through UPITransferService")
+        void shouldTransfer() {
+            TransferResult result = new UPITransferService(repository).transfer("ACC001", "ACC002", 2500.50);
+
+            assertEquals(7499.50, result.getSenderBalanceAfter());
+            assertEquals(7500.50, result.getReceiverBalanceAfter());
+            assertEquals(1, repository.getVersion("ACC001"));
+            assertEquals(1, repository.getVersion("ACC002"));
+        }
+
+        @Test
+        @DisplayName("Should reject like Account does and change nothing")
+        void shouldRejectAndChangeNothing() {
+            assertThrows(InsufficientBalanceException.class, () -> repository.transfer("ACC002", "ACC001", 5000.01));
+            assertThrows(InvalidAmountException.class, () -> repository.transfer("ACC002", "ACC001", 0.0));
+            assertThrows(AccountNotFoundException.class, () -> repository.transfer("ACC001", "GHOST", 1.0));
+
+            assertEquals(15000.0, repository.getTotalBalance());
+            assertEquals(0, repository.getVersion("ACC001"));
+        }
+
+        @Test
+        @Timeout(value = 60, unit = TimeUnit.SECONDS)
+        @DisplayName("Should conserve money with 16 threads over 100,000 accounts")
+        void shouldConserveUnderConcurrency() throws Exception {
+            int accounts = 100_000;
+            OffHeapAccountRepository store = new OffHeapAccountRepository(accounts);
+            String[] ids = new String[accounts];
+            for (int i = 0; i < accounts; i++) {
+                ids[i] = "ACC" + i;
+                store.addAccount(new Account(ids[i], "User " + i, 1000.0));
+            }
+            UPITransferService service = new UPITransferService(store);
+
+            ExecutorService executor = Executors.newFixedThreadPool(16);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 16; t++) {
+                    futures.add(executor.submit(() -> {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for (int i = 0; i < 50_000; i++) {
+                            // a hot set of 100 accounts forces contention on the same stripes
+                            int bound = i % 2 == 0 ? 100 : accounts;
+                            int from = random.nextInt(bound);
+                            int to = (from + 1 + random.nextInt(bound - 1)) % bound;
+                            try {
+                                service.transfer(ids[from], ids[to], 1 + random.nextInt(50000) / 100.0);
+                            } catch (InsufficientBalanceException expected) {
+                                // hot accounts run dry
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertEquals(accounts * 1000.0, store.getTotalBalance());
+        }
+    }
+}
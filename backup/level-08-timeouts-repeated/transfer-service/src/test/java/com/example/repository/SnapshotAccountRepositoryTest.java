@@ -0,0 +1,302 @@
+package com.example.repository;
+
+import com.example.exception.AccountNotFoundException;
+import com.example.exception.InsufficientBalanceException;
+import com.example.model.Account;
+import com.example.model.AccountSnapshot;
+import com.example.service.UPITransferService;
+import com.example.service.UPITransferService.TransferResult;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Snapshot Account Repository Tests
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║              COPY-FREE VERSIONED SNAPSHOT TESTS               ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  • Snapshot reads share one immutable instance (no copies)    ║
+ * ║  • Account reads are mutable copies (classic flow works)      ║
+ * ║  • Every write is a new version; stale saves are rejected     ║
+ * ║  • Lock-free transfers conserve money across 16 threads       ║
+ * ║  • Allocation: reads 0 bytes; a transfer only the 2 new       ║
+ * ║    versions plus the result records                           ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+@DisplayName("Snapshot Account Repository Tests")
+class SnapshotAccountRepositoryTest {
+
+    private SnapshotAccountRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new SnapshotAccountRepository()
+            .addAccounts(
+                new Account("ACC001", "Rajesh", 10000.0),
+                new Account("ACC002", "Priya", 5000.0)
+            )
+            .addUpiMapping("rajesh@upi", "ACC001");
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // SNAPSHOTS
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Immutable Snapshots")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("Should return the same shared snapshot on every read")
+        void readsShareOneInstance() {
+            AccountSnapshot first = repository.loadSnapshot("ACC001");
+
+            assertSame(first, repository.loadSnapshot("ACC001"));
+            assertEquals(0, first.getVersion());
+            assertNull(repository.loadSnapshot("GHOST"));
+        }
+
+        @Test
+        @DisplayName("Should hand out mutable Account copies through the AccountRepository methods")
+        void accountReadsAreMutableCopies() {
+            Account loaded = repository.loadAccountById("ACC001");
+            loaded.debit(100.0);
+            repository.findByUpiId("RAJESH@upi").orElseThrow().credit(50.0);
+            repository.loadAccountsByIds(List.of("ACC001")).get("ACC001").debit(25.0);
+
+            assertEquals(Account.class, loaded.getClass());
+            assertEquals(9900.0, loaded.getBalance());
+            assertEquals(10000.0, repository.loadSnapshot("ACC001").getBalance());
+            assertEquals(0, repository.loadSnapshot("ACC001").getVersion());
+        }
+
+        @Test
+        @DisplayName("Should support the classic load → debit → credit → save flow")
+        void classicFlowWorks() {
+            Account sender = repository.loadAccountById("ACC001");
+            Account receiver = repository.loadAccountById("ACC002");
+            sender.debit(2500.0);
+            receiver.credit(2500.0);
+            repository.saveAccounts(List.of(sender, receiver));
+
+            assertEquals(7500.0, repository.loadAccountById("ACC001").getBalance());
+            assertEquals(7500.0, repository.loadAccountById("ACC002").getBalance());
+            assertEquals(1, repository.loadSnapshot("ACC001").getVersion());
+            assertEquals(15000.0, repository.getTotalBalance());
+        }
+
+        @Test
+        @DisplayName("debited() should validate like Account.debit() and leave the original alone")
+        void debitedReturnsNextVersion() {
+            AccountSnapshot snapshot = repository.loadSnapshot("ACC002");
+
+            AccountSnapshot next = snapshot.debited(1000.0);
+
+            assertEquals(4000.0, next.getBalance());
+            assertEquals(1, next.getVersion());
+            assertEquals(5000.0, snapshot.getBalance());
+            assertThrows(InsufficientBalanceException.class, () -> snapshot.debited(5000.01));
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // OPTIMISTIC CONCURRENCY
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Optimistic Concurrency")
+    class OptimisticTests {
+
+        @Test
+        @DisplayName("Should accept a save based on the current version")
+        void shouldSaveNextVersion() {
+            AccountSnapshot loaded = repository.loadSnapshot("ACC001");
+
+            repository.saveSnapshot(loaded.debited(500.0));
+
+            AccountSnapshot stored = repository.loadSnapshot("ACC001");
+            assertEquals(9500.0, stored.getBalance());
+            assertEquals(1, stored.getVersion());
+        }
+
+        @Test
+        @DisplayName("Should reject a save based on a stale version")
+        void shouldRejectStaleSave() {
+            AccountSnapshot loadedByA = repository.loadSnapshot("ACC001");
+            AccountSnapshot loadedByB = repository.loadSnapshot("ACC001");
+            repository.saveSnapshot(loadedByA.debited(500.0));
+
+            OptimisticLockException conflict = assertThrows(OptimisticLockException.class,
+                () -> repository.saveSnapshot(loadedByB.debited(700.0)));
+
+            assertEquals(0, conflict.getExpectedVersion());
+            assertEquals(1, conflict.getActualVersion());
+            assertEquals(9500.0, repository.loadAccountById("ACC001").getBalance());
+        }
+
+        @Test
+        @DisplayName("Should overwrite unconditionally when given a plain Account")
+        void plainAccountOverwrites() {
+            repository.saveAccount(new Account("ACC001", "Rajesh", 1.0));
+
+            AccountSnapshot stored = repository.loadSnapshot("ACC001");
+            assertEquals(1.0, stored.getBalance());
+            assertEquals(1, stored.getVersion());
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // TRANSFER
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Lock-Free Transfer")
+    class TransferTests {
+
+        @Test
+        @DisplayName("Should publish one new version per account")
+        void transferPublishesNewVersions() {
+            AccountSnapshot senderBefore = repository.loadSnapshot("ACC001");
+
+            TransferResult result = new UPITransferService(repository).transfer("ACC001", "ACC002", 2500.0);
+
+            assertEquals(7500.0, result.getSenderBalanceAfter());
+            assertEquals(7500.0, result.getReceiverBalanceAfter());
+            assertEquals(1, repository.loadSnapshot("ACC001").getVersion());
+            assertEquals(1, repository.loadSnapshot("ACC002").getVersion());
+            assertEquals(10000.0, senderBefore.getBalance(), "old snapshot must not change");
+        }
+
+        @Test
+        @DisplayName("Should change nothing when the transfer fails")
+        void failedTransferChangesNothing() {
+            assertThrows(InsufficientBalanceException.class, () -> repository.transfer("ACC002", "ACC001", 9999.0));
+            assertThrows(AccountNotFoundException.class, () -> repository.transfer("ACC001", "GHOST", 100.0));
+
+            assertEquals(0, repository.loadSnapshot("ACC001").getVersion());
+            assertEquals(0, repository.loadSnapshot("ACC002").getVersion());
+            assertEquals(15000.0, repository.getTotalBalance());
+        }
+
+        @Test
+        @Timeout(value = 60, unit = TimeUnit.SECONDS)
+        @DisplayName("Should conserve money with 16 threads and never overdraw")
+        void shouldConserveUnderContention() throws Exception {
+            String[] ids = new String[50];
+            repository.clear();
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = String.format("ACC%03d", i);
+                repository.addAccount(new Account(ids[i], "User " + i, 10000.0));
+            }
+            UPITransferService service = new UPITransferService(repository);
+
+            ExecutorService executor = Executors.newFixedThreadPool(16);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 16; t++) {
+                    futures.add(executor.submit(() -> {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for (int i = 0; i < 20_000; i++) {
+                            int from = random.nextInt(ids.length);
+                            int to = (from + 1 + random.nextInt(ids.length - 1)) % ids.length;
+                            try {
+                                service.transfer(ids[from], ids[to], 1 + random.nextInt(5000));
+                            } catch (InsufficientBalanceException expected) {
+                                // balances run low under random load
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertEquals(500000.0, repository.getTotalBalance(), 0.0);
+            for (String id : ids) {
+                assertTrue(repository.loadAccountById(id).getBalance() >= 0.0, id);
+            }
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // ALLOCATION
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Allocation")
+    class AllocationTests {
+
+        private static final int OPERATIONS = 200_000;
+
+        @Test
+        @DisplayName("Snapshot reads should allocate nothing, unlike InMemoryAccountRepository copies")
+        void readsAreAllocationFree() {
+            InMemoryAccountRepository copying = new InMemoryAccountRepository()
+                .addAccount(new Account("ACC001", "Rajesh", 10000.0));
+            Object[] sink = new Object[1];
+
+            double copyBytes = bytesPerOperation(() -> sink[0] = copying.loadAccountById("ACC001"));
+            double snapshotBytes = bytesPerOperation(() -> sink[0] = repository.loadSnapshot("ACC001"));
+
+            System.out.printf("  load: copy %.1f B/op, snapshot %.1f B/op%n", copyBytes, snapshotBytes);
+            assertTrue(copyBytes >= 16, "copy mode should allocate an Account per load: " + copyBytes);
+            assertTrue(snapshotBytes < 1, "snapshot reads should not allocate: " + snapshotBytes);
+        }
+
+        @Test
+        @DisplayName("Transfers should allocate only the new versions and result records")
+        void transfersAllocateOnlyNewVersions() {
+            repository.addAccount(new Account("ACC001", "Rajesh", 1e12))
+                .addAccount(new Account("ACC002", "Priya", 1e12));
+            UPITransferService snapshotService = new UPITransferService(repository);
+            InMemoryAccountRepository copying = new InMemoryAccountRepository()
+                .addAccounts(new Account("ACC001", "Rajesh", 1e12), new Account("ACC002", "Priya", 1e12));
+            UPITransferService copyService = new UPITransferService(copying);
+            Object[] sink = new Object[1];
+
+            double copyBytes = bytesPerOperation(() -> sink[0] = copyService.transfer("ACC001", "ACC002", 1.0));
+            double snapshotBytes = bytesPerOperation(() -> sink[0] = snapshotService.transfer("ACC001", "ACC002", 1.0));
+
+            System.out.printf("  transfer: copy %.1f B/op, snapshot %.1f B/op%n", copyBytes, snapshotBytes);
+            // 2 snapshots (40 B) + BalanceTransfer (48 B) + TransferResult (64 B) with compressed oops.
+            // The copy path's 4 Account copies are partly removed by escape analysis once
+            // C2 inlines it, so the two end up close; the gain is in reads and lookups.
+            assertTrue(snapshotBytes <= 256, "snapshot transfer allocated " + snapshotBytes + " B/op");
+        }
+
+        /** Bytes allocated by this thread per call, after a warm-up pass. */
+        private double bytesPerOperation(Runnable operation) {
+            com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            for (int i = 0; i < OPERATIONS; i++) {
+                operation.run();
+            }
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < OPERATIONS; i++) {
+                operation.run();
+            }
+            return (double) (threads.getCurrentThreadAllocatedBytes() - before) / OPERATIONS;
+        }
+    }
+}
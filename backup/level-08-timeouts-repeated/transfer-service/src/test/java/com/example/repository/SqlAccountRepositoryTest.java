@@ -0,0 +1,300 @@
+package com.example.repository;
+
+import com.example.exception.AccountNotFoundException;
+import com.example.exception.InsufficientBalanceException;
+import com.example.model.Account;
+import com.example.service.UPITransferService;
+import com.example.service.UPITransferService.TransferOutcome;
+import com.example.service.UPITransferService.TransferRequest;
+import com.example.service.UPITransferService.TransferResult;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SQL Account Repository Tests (embedded H2)
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                 JDBC REPOSITORY TESTS                         ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  • CRUD and UPI resolution against real tables                ║
+ * ║  • Batch load/save in one statement each                      ║
+ * ║  • transfer() is atomic: failures roll back both rows         ║
+ * ║  • transferBatch() runs in one transaction with rows locked   ║
+ * ║  • Conservation with 8 threads on a 4-connection pool         ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * Every test gets its own in-memory database, so tests never see each
+ * other's rows.
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+@DisplayName("SQL Account Repository Tests")
+class SqlAccountRepositoryTest {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private ConnectionPool pool;
+    private SqlAccountRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ConnectionPool("jdbc:h2:mem:sql-repo-test-" + DATABASES.incrementAndGet() + ";DB_CLOSE_DELAY=-1",
+            "sa", "", 4);
+        repository = new SqlAccountRepository(pool);
+        repository.addAccount(new Account("ACC001", "Rajesh", 10000.0))
+            .addAccount(new Account("ACC002", "Priya", 5000.0))
+            .addUpiMapping("rajesh@upi", "ACC001")
+            .addUpiMapping("priya@upi", "ACC002");
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // CRUD & LOOKUP
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("CRUD & Lookup")
+    class CrudTests {
+
+        @Test
+        @DisplayName("Should round-trip an account through the table")
+        void shouldLoadWhatWasSaved() {
+            repository.saveAccount(new Account("ACC003", "Amit", 1234.56));
+
+            Account loaded = repository.loadAccountById("ACC003");
+
+            assertEquals("Amit", loaded.getAccountHolderName());
+            assertEquals(1234.56, loaded.getBalance(), 0.0);
+            assertEquals(3, repository.getAccountCount());
+        }
+
+        @Test
+        @DisplayName("Should update an existing row instead of inserting twice")
+        void shouldUpsert() {
+            Account account = repository.loadAccountById("ACC001");
+            account.debit(2500.0);
+            repository.saveAccount(account);
+
+            assertEquals(7500.0, repository.loadAccountById("ACC001").getBalance(), 0.0);
+            assertEquals(2, repository.getAccountCount());
+        }
+
+        @Test
+        @DisplayName("Should return null / false for a missing account")
+        void shouldHandleMissingAccount() {
+            assertNull(repository.loadAccountById("GHOST"));
+            assertFalse(repository.existsById("GHOST"));
+            assertTrue(repository.existsById("ACC001"));
+        }
+
+        @Test
+        @DisplayName("Should resolve UPI IDs case-insensitively")
+        void shouldResolveUpiId() {
+            assertEquals("ACC001", repository.findByUpiId("Rajesh@UPI").orElseThrow().getAccountId());
+            assertTrue(repository.findByUpiId("nobody@upi").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should load and save batches, keeping request order")
+        void shouldBatch() {
+            Map<String, Account> loaded = repository.loadAccountsByIds(List.of("ACC002", "GHOST", "ACC001"));
+            assertEquals(List.of("ACC002", "ACC001"), new ArrayList<>(loaded.keySet()));
+
+            loaded.get("ACC001").debit(1000.0);
+            loaded.get("ACC002").credit(1000.0);
+            repository.saveAccounts(loaded.values());
+
+            assertEquals(9000.0, repository.loadAccountById("ACC001").getBalance(), 0.0);
+            assertEquals(6000.0, repository.loadAccountById("ACC002").getBalance(), 0.0);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // ATOMIC TRANSFER
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Atomic Transfer")
+    class TransferTests {
+
+        @Test
+        @DisplayName("Should move money in one transaction")
+        void shouldTransfer() {
+            BalanceTransfer transfer = repository.transfer("ACC001", "ACC002", 2500.0);
+
+            assertEquals(10000.0, transfer.getSenderBalanceBefore(), 0.0);
+            assertEquals(7500.0, transfer.getSenderBalanceAfter(), 0.0);
+            assertEquals(7500.0, repository.loadAccountById("ACC002").getBalance(), 0.0);
+        }
+
+        @Test
+        @DisplayName("Should roll back on insufficient balance or missing account")
+        void shouldRollBack() {
+            assertThrows(InsufficientBalanceException.class, () -> repository.transfer("ACC002", "ACC001", 9999.0));
+            assertThrows(AccountNotFoundException.class, () -> repository.transfer("ACC001", "GHOST", 100.0));
+
+            assertEquals(10000.0, repository.loadAccountById("ACC001").getBalance(), 0.0);
+            assertEquals(5000.0, repository.loadAccountById("ACC002").getBalance(), 0.0);
+        }
+
+        @Test
+        @DisplayName("Service should use the atomic path")
+        void serviceUsesAtomicPath() {
+            TransferResult result = new UPITransferService(repository).transferByUpiId("rajesh@upi", "priya@upi", 100.0);
+
+            assertEquals(9900.0, result.getSenderBalanceAfter(), 0.0);
+        }
+
+        @Test
+        @Timeout(value = 60, unit = TimeUnit.SECONDS)
+        @DisplayName("Should conserve money with 8 threads on 4 connections")
+        void shouldConserveUnderConcurrency() throws Exception {
+            String[] ids = new String[20];
+            repository.clear();
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = String.format("ACC%03d", i);
+                repository.addAccount(new Account(ids[i], "User " + i, 1000.0));
+            }
+            UPITransferService service = new UPITransferService(repository);
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    futures.add(executor.submit(() -> {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for (int i = 0; i < 500; i++) {
+                            int from = random.nextInt(ids.length);
+                            int to = (from + 1 + random.nextInt(ids.length - 1)) % ids.length;
+                            try {
+                                service.transfer(ids[from], ids[to], 1 + random.nextInt(300));
+                            } catch (InsufficientBalanceException expected) {
+                                // balances run low; the rollback is what is being tested
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertEquals(20000.0, repository.getTotalBalance(), 0.0);
+            for (String id : ids) {
+                assertTrue(repository.loadAccountById(id).getBalance() >= 0.0, id);
+            }
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // LOCKED BATCH
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Locked Batch")
+    class LockedBatchTests {
+
+        @Test
+        @DisplayName("Service batch should apply in order and report failures")
+        void serviceBatchUsesLockedPath() {
+            List<TransferOutcome> outcomes = new UPITransferService(repository).transferBatch(List.of(
+                new TransferRequest("ACC002", "ACC001", 6000.0),   // Priya has only 5000
+                new TransferRequest("ACC001", "ACC002", 2000.0),
+                new TransferRequest("ACC002", "ACC001", 6000.0),   // sees the 2000 credit
+                new TransferRequest("ACC001", "GHOST", 100.0)));
+
+            assertInstanceOf(InsufficientBalanceException.class, outcomes.get(0).getFailure());
+            assertTrue(outcomes.get(1).isSuccess());
+            assertTrue(outcomes.get(2).isSuccess());
+            assertEquals(1000.0, outcomes.get(2).getResult().getSenderBalanceAfter(), 0.0);
+            assertInstanceOf(AccountNotFoundException.class, outcomes.get(3).getFailure());
+            assertEquals(14000.0, repository.loadAccountById("ACC001").getBalance(), 0.0);
+            assertEquals(1000.0, repository.loadAccountById("ACC002").getBalance(), 0.0);
+        }
+
+        @Test
+        @DisplayName("Should write nothing when the batch throws")
+        void shouldRollBackWholeBatch() {
+            assertThrows(IllegalStateException.class, () -> repository.updateLocked(List.of("ACC001", "ACC002"),
+                accounts -> {
+                    accounts.get("ACC001").debit(500.0);
+                    throw new IllegalStateException("batch failed");
+                }));
+
+            assertEquals(10000.0, repository.loadAccountById("ACC001").getBalance(), 0.0);
+        }
+
+        @Test
+        @Timeout(value = 60, unit = TimeUnit.SECONDS)
+        @DisplayName("Batches and single transfers together should conserve money without deadlock")
+        void shouldConserveAlongsideTransfers() throws Exception {
+            String[] ids = new String[20];
+            repository.clear();
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = String.format("ACC%03d", i);
+                repository.addAccount(new Account(ids[i], "User " + i, 1000.0));
+            }
+            UPITransferService service = new UPITransferService(repository);
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    boolean batches = t % 2 == 0;
+                    futures.add(executor.submit(() -> {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for (int round = 0; round < 100; round++) {
+                            List<TransferRequest> batch = new ArrayList<>();
+                            for (int i = 0; i < (batches ? 10 : 1); i++) {
+                                int from = random.nextInt(ids.length);
+                                int to = (from + 1 + random.nextInt(ids.length - 1)) % ids.length;
+                                batch.add(new TransferRequest(ids[from], ids[to], 1 + random.nextInt(300)));
+                            }
+                            if (batches) {
+                                service.transferBatch(batch);
+                            } else {
+                                try {
+                                    service.transfer(batch.get(0).getFromAccountId(),
+                                        batch.get(0).getToAccountId(), batch.get(0).getAmount());
+                                } catch (InsufficientBalanceException expected) {
+                                    // balances run low; conservation is what is being tested
+                                }
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertEquals(20000.0, repository.getTotalBalance(), 0.0);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.repository;
+
+import com.example.model.Account;
+import com.example.service.UPITransferService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * VPA Index Tests
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                     VPA INDEX TESTS                           ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  • Case-insensitive like the old toLowerCase() lookups        ║
+ * ║  • Bulk load of 1,000,000 VPAs                                ║
+ * ║  • Lookups allocate nothing                                   ║
+ * ║  • A small index does not reserve a full 1 MB key chunk       ║
+ * ║  • Readers never miss an existing VPA during a resize         ║
+ * ║  • transferByUpiId() resolves IDs without loading accounts    ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+@DisplayName("VPA Index Tests")
+class VpaIndexTest {
+
+    private VpaIndex<String> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new VpaIndex<>();
+        index.put("rajesh@upi", "ACC001");
+        index.put("Priya.Sharma@OKSBI", "ACC002");
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // LOOKUP
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Lookup")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should ignore case on both put and get")
+        void shouldIgnoreCase() {
+            assertEquals("ACC001", index.get("RAJESH@UPI"));
+            assertEquals("ACC001", index.get("Rajesh@Upi"));
+            assertEquals("ACC002", index.get("priya.sharma@oksbi"));
+            assertEquals("ACC002", index.get(new StringBuilder("PRIYA.sharma@oksbi")));
+        }
+
+        @Test
+        @DisplayName("Should miss unknown, prefix and non-ASCII look-alikes")
+        void shouldMiss() {
+            assertNull(index.get("rajesh@up"));
+            assertNull(index.get("rajesh@upi."));
+            assertNull(index.get("rаjesh@upi"), "Cyrillic 'а' must not match Latin 'a'");
+            assertNull(index.get(""));
+        }
+
+        @Test
+        @DisplayName("Should replace the mapping of an existing VPA in any case")
+        void shouldReplace() {
+            index.put("RAJESH@upi", "ACC009");
+
+            assertEquals("ACC009", index.get("rajesh@upi"));
+            assertEquals(2, index.size());
+        }
+
+        @Test
+        @DisplayName("Should reject VPAs that are empty, non-ASCII or too long")
+        void shouldRejectInvalid() {
+            assertThrows(IllegalArgumentException.class, () -> index.put("", "X"));
+            assertThrows(IllegalArgumentException.class, () -> index.put("राजेश@upi", "X"));
+            assertThrows(IllegalArgumentException.class, () -> index.put("a".repeat(256), "X"));
+            assertEquals(2, index.size());
+        }
+
+        @Test
+        @DisplayName("Should forget everything on clear()")
+        void shouldClear() {
+            index.clear();
+
+            assertNull(index.get("rajesh@upi"));
+            assertEquals(0, index.size());
+            index.put("rajesh@upi", "ACC001");
+            assertEquals("ACC001", index.get("RAJESH@UPI"));
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // SCALE
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Scale")
+    class ScaleTests {
+
+        @Test
+        @Timeout(value = 60, unit = TimeUnit.SECONDS)
+        @DisplayName("Should bulk-load 1,000,000 VPAs and find every one")
+        void shouldBulkLoad() {
+            Map<String, String> mappings = new LinkedHashMap<>();
+            for (int i = 0; i < 1_000_000; i++) {
+                mappings.put("user" + i + "@upi", "ACC" + i);
+            }
+
+            index.putAll(mappings);
+
+            assertEquals(1_000_002, index.size());
+            for (int i = 0; i < 1_000_000; i += 997) {
+                assertEquals("ACC" + i, index.get("USER" + i + "@UPI"));
+            }
+            assertNull(index.get("user1000000@upi"));
+        }
+
+        @Test
+        @DisplayName("Lookups should not allocate")
+        void lookupsDoNotAllocate() {
+            String[] queries = {"RAJESH@UPI", "priya.sharma@oksbi", "nobody@upi"};
+            com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            int found = 0;
+            for (int i = 0; i < 300_000; i++) {
+                found += index.get(queries[i % 3]) != null ? 1 : 0;
+            }
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < 300_000; i++) {
+                found += index.get(queries[i % 3]) != null ? 1 : 0;
+            }
+            double bytesPerLookup = (double) (threads.getCurrentThreadAllocatedBytes() - before) / 300_000;
+
+            assertEquals(400_000, found);
+            assertTrue(bytesPerLookup < 1, "lookup allocated " + bytesPerLookup + " B");
+        }
+
+        @Test
+        @DisplayName("A small index should not allocate a full 1 MB key chunk")
+        void smallIndexStaysSmall() {
+            com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long before = threads.getCurrentThreadAllocatedBytes();
+            VpaIndex<String> small = new VpaIndex<>();
+            small.put("rajesh@upi", "ACC001");
+            small.put("priya@upi", "ACC002");
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+            assertEquals("ACC002", small.get("PRIYA@UPI"));
+            assertTrue(allocated < 64 << 10, "small index allocated " + allocated + " B");
+        }
+
+        @Test
+        @Timeout(value = 60, unit = TimeUnit.SECONDS)
+        @DisplayName("Readers should always find existing VPAs while a writer grows the index")
+        void readersSeeExistingEntriesDuringResize() throws Exception {
+            AtomicBoolean done = new AtomicBoolean();
+            AtomicReference<String> failure = new AtomicReference<>();
+            Thread reader = new Thread(() -> {
+                while (!done.get()) {
+                    if (!"ACC001".equals(index.get("Rajesh@UPI")) || !"ACC002".equals(index.get("priya.sharma@oksbi"))) {
+                        failure.set("existing VPA missed during resize");
+                        return;
+                    }
+                }
+            });
+            reader.start();
+            for (int i = 0; i < 200_000; i++) {
+                index.put("bulk" + i + "@upi", "ACC" + i);
+            }
+            done.set(true);
+            reader.join();
+
+            assertNull(failure.get());
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // SERVICE INTEGRATION
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Service Integration")
+    class ServiceTests {
+
+        @Test
+        @DisplayName("transferByUpiId should resolve through the index and bulk-loaded mappings")
+        void transferByUpiIdUsesIndex() {
+            ConcurrentAccountRepository repository = new ConcurrentAccountRepository()
+                .addAccounts(new Account("ACC001", "Rajesh", 10000.0), new Account("ACC002", "Priya", 0.0))
+                .addUpiMappings(Map.of("rajesh@upi", "ACC001", "priya@upi", "ACC002"));
+
+            new UPITransferService(repository).transferByUpiId("Rajesh@UPI", "PRIYA@upi", 2500.0);
+
+            assertEquals("ACC002", repository.findAccountIdByUpiId("priya@UPI"));
+            assertEquals(7500.0, repository.loadAccountById("ACC001").getBalance());
+            assertEquals(2500.0, repository.loadAccountById("ACC002").getBalance());
+        }
+    }
+}
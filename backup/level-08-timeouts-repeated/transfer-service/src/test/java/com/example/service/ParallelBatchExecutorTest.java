@@ -0,0 +1,320 @@
+package com.example.service;
+
+import com.example.exception.InsufficientBalanceException;
+import com.example.exception.TransferException;
+import com.example.model.Account;
+import com.example.repository.AccountRepository;
+import com.example.repository.ConcurrentAccountRepository;
+import com.example.repository.InMemoryAccountRepository;
+import com.example.repository.OffHeapAccountRepository;
+import com.example.repository.SnapshotAccountRepository;
+import com.example.service.ParallelBatchExecutor.BatchReport;
+import com.example.service.UPITransferService.TransferOutcome;
+import com.example.service.UPITransferService.TransferRequest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parallel Batch Executor Tests
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║               PARALLEL BATCH EXECUTOR TESTS                   ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  • Same outcomes and balances as running the batch serially   ║
+ * ║  • Transfers on one account keep their submission order       ║
+ * ║  • Conflict statistics describe how far the batch can spread  ║
+ * ║  • Non-thread-safe repositories fall back to transferBatch()  ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+@DisplayName("Parallel Batch Executor Tests")
+class ParallelBatchExecutorTest {
+
+    private static final int ACCOUNTS = 2_000;
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // SERIAL EQUIVALENCE
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Serial Equivalence")
+    class SerialEquivalenceTests {
+
+        @Test
+        @Timeout(value = 60, unit = TimeUnit.SECONDS)
+        @DisplayName("ConcurrentAccountRepository: same outcomes and balances as serial")
+        void concurrentMatchesSerial() {
+            assertMatchesSerial(() -> new ConcurrentAccountRepository().addAccounts(accounts()));
+        }
+
+        @Test
+        @Timeout(value = 60, unit = TimeUnit.SECONDS)
+        @DisplayName("SnapshotAccountRepository: same outcomes and balances as serial")
+        void snapshotMatchesSerial() {
+            assertMatchesSerial(() -> {
+                SnapshotAccountRepository repository = new SnapshotAccountRepository();
+                for (Account account : accounts()) {
+                    repository.addAccount(account);
+                }
+                return repository;
+            });
+        }
+
+        @Test
+        @Timeout(value = 60, unit = TimeUnit.SECONDS)
+        @DisplayName("OffHeapAccountRepository: same outcomes and balances as serial")
+        void offHeapMatchesSerial() {
+            assertMatchesSerial(() -> {
+                OffHeapAccountRepository repository = new OffHeapAccountRepository(ACCOUNTS);
+                for (Account account : accounts()) {
+                    repository.addAccount(account);
+                }
+                return repository;
+            });
+        }
+
+        @Test
+        @DisplayName("InMemoryAccountRepository: falls back to serial transferBatch()")
+        void inMemoryFallsBackToSerial() {
+            List<TransferRequest> batch = randomBatch(5_000, 7);
+            InMemoryAccountRepository serial = inMemory();
+            InMemoryAccountRepository parallel = inMemory();
+
+            List<TransferOutcome> expected = new UPITransferService(serial).transferBatch(batch);
+            BatchReport report = new ParallelBatchExecutor(new UPITransferService(parallel), pool).execute(batch);
+
+            assertEquals(1, report.getParallelism());
+            assertSameOutcomes(expected, report.getOutcomes());
+            assertSameBalances(serial, parallel);
+        }
+
+        private void assertMatchesSerial(Supplier<AccountRepository> repositories) {
+            List<TransferRequest> batch = randomBatch(50_000, 42);
+            AccountRepository serial = repositories.get();
+            AccountRepository parallel = repositories.get();
+
+            List<TransferOutcome> expected = runSerially(new UPITransferService(serial), batch);
+            BatchReport report = new ParallelBatchExecutor(new UPITransferService(parallel), pool).execute(batch);
+
+            assertEquals(batch.size(), report.getTransferCount());
+            assertTrue(report.getFailureCount() > 0, "batch should include failures: " + report);
+            assertTrue(report.getCriticalPath() < batch.size() / 10, "batch should parallelise: " + report);
+            assertSameOutcomes(expected, report.getOutcomes());
+            assertSameBalances(serial, parallel);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // ORDERING
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Per-Account Ordering")
+    class OrderingTests {
+
+        @Test
+        @DisplayName("A transfer funded by an earlier one in the batch should succeed")
+        void laterTransferSeesEarlierCredit() {
+            ConcurrentAccountRepository repository = new ConcurrentAccountRepository().addAccounts(
+                new Account("ACC001", "Rajesh", 1000.0),
+                new Account("ACC002", "Priya", 0.0),
+                new Account("ACC003", "Amit", 0.0));
+            List<TransferRequest> batch = List.of(
+                new TransferRequest("ACC001", "ACC002", 1000.0),
+                new TransferRequest("ACC002", "ACC003", 1000.0),
+                new TransferRequest("ACC002", "ACC003", 1.0));
+
+            BatchReport report = new ParallelBatchExecutor(new UPITransferService(repository), pool).execute(batch);
+
+            assertTrue(report.getOutcomes().get(0).isSuccess());
+            assertTrue(report.getOutcomes().get(1).isSuccess());
+            assertInstanceOf(InsufficientBalanceException.class, report.getOutcomes().get(2).getFailure());
+            assertEquals(1000.0, repository.loadAccountById("ACC003").getBalance());
+        }
+
+        @Test
+        @DisplayName("Outcomes should be returned in submission order")
+        void outcomesInSubmissionOrder() {
+            List<TransferRequest> batch = randomBatch(10_000, 3);
+            UPITransferService service = new UPITransferService(new ConcurrentAccountRepository().addAccounts(accounts()));
+
+            BatchReport report = new ParallelBatchExecutor(service, pool).execute(batch);
+
+            for (int i = 0; i < batch.size(); i++) {
+                assertSame(batch.get(i), report.getOutcomes().get(i).getRequest());
+            }
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // STATISTICS
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Statistics")
+    class StatisticsTests {
+
+        @Test
+        @DisplayName("Disjoint pairs: no conflicts, critical path of one")
+        void disjointPairs() {
+            List<TransferRequest> batch = new ArrayList<>();
+            for (int i = 0; i < ACCOUNTS; i += 2) {
+                batch.add(new TransferRequest(id(i + 1), id(i), 10.0));
+            }
+
+            BatchReport report = execute(batch);
+
+            assertEquals(ACCOUNTS, report.getAccountCount());
+            assertEquals(0, report.getConflictingTransfers());
+            assertEquals(1, report.getCriticalPath());
+            assertEquals(ACCOUNTS / 2, report.getSuccessCount());
+            assertTrue(report.getThroughput() > 0);
+        }
+
+        @Test
+        @DisplayName("Everything through one merchant: every later transfer conflicts")
+        void singleHotAccount() {
+            List<TransferRequest> batch = new ArrayList<>();
+            for (int i = 1; i <= 500; i++) {
+                batch.add(new TransferRequest(id(i), id(0), 10.0));
+            }
+
+            BatchReport report = execute(batch);
+
+            assertEquals(499, report.getConflictingTransfers());
+            assertEquals(500, report.getCriticalPath());
+            assertEquals(1.0, report.getAvailableParallelism());
+        }
+
+        @Test
+        @DisplayName("A chain (A→B, B→C, C→D) is only as long as its dependent transfers")
+        void chainLength() {
+            BatchReport report = execute(List.of(
+                new TransferRequest(id(1), id(2), 10.0),
+                new TransferRequest(id(5), id(6), 10.0),
+                new TransferRequest(id(2), id(3), 10.0),
+                new TransferRequest(id(3), id(4), 10.0),
+                new TransferRequest(id(7), id(8), 10.0)));
+
+            assertEquals(8, report.getAccountCount());
+            assertEquals(2, report.getConflictingTransfers());
+            assertEquals(3, report.getCriticalPath());
+        }
+
+        @Test
+        @DisplayName("Empty batch should report nothing")
+        void emptyBatch() {
+            BatchReport report = execute(List.of());
+
+            assertEquals(0, report.getTransferCount());
+            assertEquals(0, report.getCriticalPath());
+        }
+
+        private BatchReport execute(List<TransferRequest> batch) {
+            UPITransferService service = new UPITransferService(new ConcurrentAccountRepository().addAccounts(accounts()));
+            return new ParallelBatchExecutor(service, pool).execute(batch);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // HELPERS
+    // ═══════════════════════════════════════════════════════════
+
+    private static String id(int i) {
+        return String.format("ACC%04d", i);
+    }
+
+    private static Account[] accounts() {
+        Account[] accounts = new Account[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts[i] = new Account(id(i), "Holder " + i, (i % 10) * 500.0);
+        }
+        return accounts;
+    }
+
+    private static InMemoryAccountRepository inMemory() {
+        InMemoryAccountRepository repository = new InMemoryAccountRepository();
+        repository.clear();
+        for (Account account : accounts()) {
+            repository.addAccount(account);
+        }
+        return repository;
+    }
+
+    /** Random transfers, a few to unknown accounts or with invalid amounts, many overdrawing. */
+    private static List<TransferRequest> randomBatch(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<TransferRequest> batch = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String from = random.nextInt(100) == 0 ? "UNKNOWN" : id(random.nextInt(ACCOUNTS));
+            String to = id(random.nextInt(ACCOUNTS));
+            double amount = random.nextInt(100) == 0 ? -5.0 : 1 + random.nextInt(1500) + random.nextInt(100) / 100.0;
+            batch.add(new TransferRequest(from, to, amount));
+        }
+        return batch;
+    }
+
+    private static List<TransferOutcome> runSerially(UPITransferService service, List<TransferRequest> batch) {
+        List<TransferOutcome> outcomes = new ArrayList<>(batch.size());
+        for (TransferRequest request : batch) {
+            try {
+                outcomes.add(TransferOutcome.success(request,
+                    service.transfer(request.getFromAccountId(), request.getToAccountId(), request.getAmount())));
+            } catch (TransferException e) {
+                outcomes.add(TransferOutcome.failure(request, e));
+            }
+        }
+        return outcomes;
+    }
+
+    private static void assertSameOutcomes(List<TransferOutcome> expected, List<TransferOutcome> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            TransferOutcome e = expected.get(i);
+            TransferOutcome a = actual.get(i);
+            assertEquals(e.isSuccess(), a.isSuccess(), "outcome " + i + ": " + e + " vs " + a);
+            if (e.isSuccess()) {
+                assertEquals(e.getResult().getSenderBalanceAfter(), a.getResult().getSenderBalanceAfter());
+                assertEquals(e.getResult().getReceiverBalanceAfter(), a.getResult().getReceiverBalanceAfter());
+            } else {
+                assertEquals(e.getFailure().getClass(), a.getFailure().getClass(), "outcome " + i);
+                assertEquals(e.getFailure().getMessage(), a.getFailure().getMessage());
+            }
+        }
+    }
+
+    private static void assertSameBalances(AccountRepository expected, AccountRepository actual) {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            assertEquals(expected.loadAccountById(id(i)).getBalance(),
+                         actual.loadAccountById(id(i)).getBalance(), id(i));
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.service;
+
+import com.example.exception.AccountNotFoundException;
+import com.example.exception.InsufficientBalanceException;
+import com.example.exception.InvalidAmountException;
+import com.example.model.Account;
+import com.example.repository.BalanceTransfer;
+import com.example.repository.ConcurrentAccountRepository;
+import com.example.repository.InMemoryAccountRepository;
+import com.example.service.UPITransferService.TransferResult;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UPITransferService Async API Tests
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║               ASYNC TRANSFER API TESTS                        ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  • Thousands of concurrent transfers without a thread each    ║
+ * ║  • Submission blocks once maxInFlight transfers are running   ║
+ * ║  • Failures arrive as the original TransferException subtype  ║
+ * ║  • Non-atomic repositories run one transfer at a time         ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+@DisplayName("UPITransferService Async API Tests")
+class UPITransferServiceAsyncTest {
+
+    private static final int ACCOUNTS = 100;
+    private static final double OPENING_BALANCE = 10_000.0;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = TransferExecutors.virtualThreadsIfAvailable();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // CONCURRENCY
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Concurrency")
+    class ConcurrencyTests {
+
+        @Test
+        @Timeout(value = 60, unit = TimeUnit.SECONDS)
+        @DisplayName("10,000 slow transfers complete without a thread per transfer")
+        void thousandsOfTransfersWithoutThreadExhaustion() {
+            int transfers = 10_000;
+            ConcurrentAccountRepository repository = new SlowRepository(1);
+            for (int i = 0; i < ACCOUNTS; i++) {
+                repository.addAccount(new Account("ACC" + i, "User " + i, OPENING_BALANCE));
+            }
+            UPITransferService service = new UPITransferService(repository)
+                .withAsyncExecutor(executor, 2_000);
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            int threadsBefore = threads.getThreadCount();
+            threads.resetPeakThreadCount();
+
+            List<CompletableFuture<TransferResult>> futures = new ArrayList<>(transfers);
+            for (int i = 0; i < transfers; i++) {
+                futures.add(service.transferAsync("ACC" + (i % ACCOUNTS), "ACC" + ((i * 7 + 1) % ACCOUNTS), 1.0));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+            for (CompletableFuture<TransferResult> future : futures) {
+                assertEquals(1.0, future.join().getAmount(), 0.001);
+            }
+            assertEquals(ACCOUNTS * OPENING_BALANCE, repository.getTotalBalance(), 0.001);
+            assertEquals(0, service.getAsyncInFlight());
+            assertTrue(threads.getPeakThreadCount() <= threadsBefore + TransferExecutors.FALLBACK_THREADS + 8,
+                "Peak platform threads: " + threads.getPeakThreadCount() + ", before: " + threadsBefore);
+        }
+
+        @Test
+        @Timeout(value = 30, unit = TimeUnit.SECONDS)
+        @DisplayName("transferByUpiIdAsync resolves UPI IDs on the executor")
+        void transferByUpiIdAsync() throws Exception {
+            ConcurrentAccountRepository repository = new ConcurrentAccountRepository()
+                .addAccounts(new Account("ACC1", "Payer", 1_000.0), new Account("ACC2", "Payee", 0.0))
+                .addUpiMapping("payer@upi", "ACC1")
+                .addUpiMapping("payee@upi", "ACC2");
+            UPITransferService service = new UPITransferService(repository).withAsyncExecutor(executor, 10);
+
+            TransferResult result = service.transferByUpiIdAsync("payer@upi", "payee@upi", 250.0).get();
+
+            assertEquals("ACC1", result.getSenderId());
+            assertEquals(750.0, repository.loadAccountById("ACC1").getBalance(), 0.001);
+            assertEquals(250.0, repository.loadAccountById("ACC2").getBalance(), 0.001);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // NON-ATOMIC REPOSITORIES
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Non-Atomic Repositories")
+    class NonAtomicTests {
+
+        @Test
+        @Timeout(value = 60, unit = TimeUnit.SECONDS)
+        @DisplayName("InMemoryAccountRepository transfers run one at a time and lose no update")
+        void inMemoryRunsSerially() throws Exception {
+            OverlapDetectingRepository repository = new OverlapDetectingRepository();
+            for (int i = 0; i < 10; i++) {
+                repository.addAccount(new Account("ACC" + i, "User " + i, OPENING_BALANCE));
+            }
+            UPITransferService service = new UPITransferService(repository).withAsyncExecutor(executor, 64);
+
+            List<CompletableFuture<TransferResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                futures.add(service.transferAsync("ACC" + (i % 10), "ACC" + ((i + 1) % 10), 1.0));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+
+            assertEquals(1, repository.maxConcurrent.get(), "transfers overlapped");
+            for (int i = 0; i < 10; i++) {
+                assertEquals(OPENING_BALANCE, repository.loadAccountById("ACC" + i).getBalance(), 0.001);
+            }
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // BACK-PRESSURE
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Back-Pressure")
+    class BackPressureTests {
+
+        @Test
+        @Timeout(value = 30, unit = TimeUnit.SECONDS)
+        @DisplayName("Submission blocks at maxInFlight until a transfer finishes")
+        void submissionBlocksAtLimit() throws Exception {
+            int maxInFlight = 10;
+            GatedRepository repository = new GatedRepository();
+            repository.addAccounts(new Account("ACC1", "Payer", OPENING_BALANCE), new Account("ACC2", "Payee", 0.0));
+            UPITransferService service = new UPITransferService(repository)
+                .withAsyncExecutor(executor, maxInFlight);
+
+            List<CompletableFuture<TransferResult>> futures = new ArrayList<>();
+            for (int i = 0; i < maxInFlight; i++) {
+                futures.add(service.transferAsync("ACC1", "ACC2", 1.0));
+            }
+            assertEquals(maxInFlight, service.getAsyncInFlight());
+
+            AtomicReference<CompletableFuture<TransferResult>> extra = new AtomicReference<>();
+            Thread producer = new Thread(() -> extra.set(service.transferAsync("ACC1", "ACC2", 1.0)));
+            producer.start();
+            producer.join(300);
+            assertTrue(producer.isAlive(), "Submission beyond maxInFlight should block");
+            assertNull(extra.get());
+
+            repository.open.countDown();
+            producer.join(10_000);
+            assertFalse(producer.isAlive());
+            futures.add(extra.get());
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+            assertEquals(maxInFlight + 1, repository.loadAccountById("ACC2").getBalance(), 0.001);
+            assertEquals(0, service.getAsyncInFlight());
+        }
+
+        @Test
+        @DisplayName("Invalid async configuration is rejected")
+        void invalidConfiguration() {
+            UPITransferService service = new UPITransferService(new ConcurrentAccountRepository());
+            assertThrows(IllegalArgumentException.class, () -> service.withAsyncExecutor(null, 10));
+            assertThrows(IllegalArgumentException.class, () -> service.withAsyncExecutor(executor, 0));
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // FAILURES
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Failures")
+    class FailureTests {
+
+        private UPITransferService service;
+
+        @BeforeEach
+        void setUp() {
+            ConcurrentAccountRepository repository = new ConcurrentAccountRepository()
+                .addAccounts(new Account("ACC1", "Payer", 100.0), new Account("ACC2", "Payee", 0.0));
+            service = new UPITransferService(repository).withAsyncExecutor(executor, 10);
+        }
+
+        @Test
+        @Timeout(value = 30, unit = TimeUnit.SECONDS)
+        @DisplayName("InsufficientBalanceException is the ExecutionException's cause")
+        void insufficientBalance() {
+            ExecutionException thrown = assertThrows(ExecutionException.class,
+                () -> service.transferAsync("ACC1", "ACC2", 500.0).get());
+            assertInstanceOf(InsufficientBalanceException.class, thrown.getCause());
+        }
+
+        @Test
+        @Timeout(value = 30, unit = TimeUnit.SECONDS)
+        @DisplayName("exceptionally() receives AccountNotFoundException unwrapped")
+        void accountNotFound() {
+            Throwable failure = service.transferAsync("ACC1", "MISSING", 10.0)
+                .handle((result, e) -> e)
+                .join();
+            assertInstanceOf(AccountNotFoundException.class, failure);
+        }
+
+        @Test
+        @Timeout(value = 30, unit = TimeUnit.SECONDS)
+        @DisplayName("Validation failures also complete the future exceptionally")
+        void invalidAmount() {
+            ExecutionException thrown = assertThrows(ExecutionException.class,
+                () -> service.transferAsync("ACC1", "ACC2", -5.0).get());
+            assertInstanceOf(InvalidAmountException.class, thrown.getCause());
+            assertEquals(0, service.getAsyncInFlight());
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // TEST REPOSITORIES
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Sleeps inside every transfer, like a round trip to a database.
+     */
+    private static final class SlowRepository extends ConcurrentAccountRepository {
+        private final long millis;
+
+        SlowRepository(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public BalanceTransfer transfer(String fromAccountId, String toAccountId, double amount) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.transfer(fromAccountId, toAccountId, amount);
+        }
+    }
+
+    /**
+     * Non-atomic (load → save) repository that records how many loads
+     * overlap; each load is slowed down to widen the window.
+     */
+    private static final class OverlapDetectingRepository extends InMemoryAccountRepository {
+        final AtomicInteger maxConcurrent = new AtomicInteger();
+        private final AtomicInteger concurrent = new AtomicInteger();
+
+        @Override
+        public Account loadAccountById(String accountId) {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(0, 100_000);
+                return super.loadAccountById(accountId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Holds every transfer until {@code open} is counted down.
+     */
+    private static final class GatedRepository extends ConcurrentAccountRepository {
+        final CountDownLatch open = new CountDownLatch(1);
+
+        @Override
+        public BalanceTransfer transfer(String fromAccountId, String toAccountId, double amount) {
+            try {
+                open.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.transfer(fromAccountId, toAccountId, amount);
+        }
+    }
+}
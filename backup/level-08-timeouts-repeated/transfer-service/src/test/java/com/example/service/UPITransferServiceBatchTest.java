@@ -0,0 +1,225 @@
+package com.example.service;
+
+import com.example.exception.*;
+import com.example.model.Account;
+import com.example.repository.AccountRepository;
+import com.example.repository.ConcurrentAccountRepository;
+import com.example.repository.InMemoryAccountRepository;
+import com.example.service.UPITransferService.TransferOutcome;
+import com.example.service.UPITransferService.TransferRequest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Batch Transfer Tests
+ *
+ * ╔═══════════════════════════════════════════════════════════════╗
+ * ║                    BATCH TRANSFER TESTS                       ║
+ * ╠═══════════════════════════════════════════════════════════════╣
+ * ║  transferBatch() must:                                        ║
+ * ║  • Cost 2 repository calls per batch, not 4 per transfer      ║
+ * ║  • Give the same balances as running transfers one by one     ║
+ * ║  • Report failures per transfer without stopping the batch    ║
+ * ╚═══════════════════════════════════════════════════════════════╝
+ *
+ * @author NPCI Training Team
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UPI Transfer Service - Batch Tests")
+class UPITransferServiceBatchTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private UPITransferService transferService;
+
+    @Captor
+    private ArgumentCaptor<Collection<Account>> savedCaptor;
+
+    // ═══════════════════════════════════════════════════════════
+    // ROUND TRIPS (Mockito)
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Repository Round Trips")
+    class RoundTripTests {
+
+        @Test
+        @DisplayName("Should load once and save once for the whole batch")
+        void shouldUseOneLoadAndOneSave() {
+            Map<String, Account> accounts = new LinkedHashMap<>();
+            accounts.put("ACC001", new Account("ACC001", "Rajesh", 10000.0));
+            accounts.put("ACC002", new Account("ACC002", "Priya", 5000.0));
+            accounts.put("ACC003", new Account("ACC003", "Amit", 0.0));
+            when(accountRepository.loadAccountsByIds(anyCollection())).thenReturn(accounts);
+
+            List<TransferOutcome> outcomes = transferService.transferBatch(List.of(
+                new TransferRequest("ACC001", "ACC002", 1000.0),
+                new TransferRequest("ACC002", "ACC003", 500.0),
+                new TransferRequest("ACC001", "ACC003", 250.0)
+            ));
+
+            assertTrue(outcomes.stream().allMatch(TransferOutcome::isSuccess));
+            verify(accountRepository, times(1)).loadAccountsByIds(anyCollection());
+            verify(accountRepository, times(1)).saveAccounts(savedCaptor.capture());
+            verify(accountRepository, never()).loadAccountById(anyString());
+            verify(accountRepository, never()).saveAccount(any());
+
+            Map<String, Double> saved = new LinkedHashMap<>();
+            savedCaptor.getValue().forEach(account -> saved.put(account.getAccountId(), account.getBalance()));
+            assertEquals(Map.of("ACC001", 8750.0, "ACC002", 5500.0, "ACC003", 750.0), saved);
+        }
+
+        @Test
+        @DisplayName("Should not save when every transfer fails")
+        void shouldNotSaveWhenNothingChanged() {
+            when(accountRepository.loadAccountsByIds(anyCollection())).thenReturn(Map.of());
+
+            List<TransferOutcome> outcomes = transferService.transferBatch(List.of(
+                new TransferRequest("GHOST1", "GHOST2", 100.0)
+            ));
+
+            assertInstanceOf(AccountNotFoundException.class, outcomes.get(0).getFailure());
+            verify(accountRepository, never()).saveAccounts(any());
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // SEMANTICS (real repositories)
+    // ═══════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Batch Semantics")
+    class SemanticsTests {
+
+        private InMemoryAccountRepository repository;
+        private UPITransferService service;
+
+        @BeforeEach
+        void setUp() {
+            repository = new InMemoryAccountRepository();
+            repository.addAccounts(
+                new Account("ACC001", "Rajesh", 10000.0),
+                new Account("ACC002", "Priya", 5000.0),
+                new Account("ACC003", "Amit", 0.0)
+            );
+            service = new UPITransferService(repository);
+        }
+
+        @Test
+        @DisplayName("Later transfers see balances left by earlier ones")
+        void transfersApplyInOrder() {
+            // ACC003 starts empty and can only pay once it has been credited
+            List<TransferOutcome> outcomes = service.transferBatch(List.of(
+                new TransferRequest("ACC001", "ACC003", 3000.0),
+                new TransferRequest("ACC003", "ACC002", 2000.0)
+            ));
+
+            assertTrue(outcomes.get(1).isSuccess());
+            assertEquals(7000.0, repository.loadAccountById("ACC001").getBalance());
+            assertEquals(7000.0, repository.loadAccountById("ACC002").getBalance());
+            assertEquals(1000.0, repository.loadAccountById("ACC003").getBalance());
+        }
+
+        @Test
+        @DisplayName("Failures are reported per transfer and change nothing")
+        void failuresAreIsolated() {
+            List<TransferOutcome> outcomes = service.transferBatch(List.of(
+                new TransferRequest("ACC001", "ACC002", 1000.0),
+                new TransferRequest("ACC003", "ACC001", 500.0),
+                new TransferRequest("ACC001", "ACC001", 100.0),
+                new TransferRequest("ACC001", "UNKNOWN", 100.0),
+                new TransferRequest("ACC002", "ACC001", 0.5),
+                new TransferRequest("ACC002", "ACC003", 2500.0)
+            ));
+
+            assertAll(
+                () -> assertTrue(outcomes.get(0).isSuccess()),
+                () -> assertInstanceOf(InsufficientBalanceException.class, outcomes.get(1).getFailure()),
+                () -> assertInstanceOf(SameAccountTransferException.class, outcomes.get(2).getFailure()),
+                () -> assertInstanceOf(AccountNotFoundException.class, outcomes.get(3).getFailure()),
+                () -> assertInstanceOf(TransactionLimitExceededException.class, outcomes.get(4).getFailure()),
+                () -> assertTrue(outcomes.get(5).isSuccess())
+            );
+            assertEquals(9000.0, repository.loadAccountById("ACC001").getBalance());
+            assertEquals(3500.0, repository.loadAccountById("ACC002").getBalance());
+            assertEquals(2500.0, repository.loadAccountById("ACC003").getBalance());
+            assertEquals(15000.0, repository.getTotalBalance(), 0.0);
+        }
+
+        @Test
+        @DisplayName("Batch gives the same balances as one-by-one transfers")
+        void batchMatchesSequentialTransfers() {
+            InMemoryAccountRepository sequentialRepository = new InMemoryAccountRepository();
+            sequentialRepository.addAccounts(
+                new Account("ACC001", "Rajesh", 10000.0),
+                new Account("ACC002", "Priya", 5000.0),
+                new Account("ACC003", "Amit", 0.0)
+            );
+            UPITransferService sequential = new UPITransferService(sequentialRepository);
+
+            List<TransferRequest> requests = new ArrayList<>();
+            String[] ids = {"ACC001", "ACC002", "ACC003"};
+            for (int i = 0; i < 300; i++) {
+                requests.add(new TransferRequest(ids[i % 3], ids[(i * 7 + 1) % 3], 1 + (i * 37) % 4000));
+            }
+
+            List<TransferOutcome> outcomes = service.transferBatch(requests);
+            for (int i = 0; i < requests.size(); i++) {
+                TransferRequest request = requests.get(i);
+                boolean succeeded;
+                try {
+                    sequential.transfer(request.getFromAccountId(), request.getToAccountId(), request.getAmount());
+                    succeeded = true;
+                } catch (TransferException e) {
+                    succeeded = false;
+                }
+                assertEquals(succeeded, outcomes.get(i).isSuccess(), "outcome of " + request);
+            }
+            for (String id : ids) {
+                assertEquals(sequentialRepository.loadAccountById(id).getBalance(),
+                    repository.loadAccountById(id).getBalance(), id);
+            }
+        }
+
+        @Test
+        @DisplayName("Thread-safe repositories keep the atomic per-transfer path")
+        void atomicRepositoryBatch() {
+            ConcurrentAccountRepository concurrent = new ConcurrentAccountRepository();
+            concurrent.addAccounts(new Account("ACC001", "Rajesh", 10000.0), new Account("ACC002", "Priya", 0.0));
+            UPITransferService atomicService = new UPITransferService(concurrent);
+
+            List<TransferOutcome> outcomes = atomicService.transferBatch(List.of(
+                new TransferRequest("ACC001", "ACC002", 4000.0),
+                new TransferRequest("ACC002", "ACC001", 5000.0)
+            ));
+
+            assertTrue(outcomes.get(0).isSuccess());
+            assertInstanceOf(InsufficientBalanceException.class, outcomes.get(1).getFailure());
+            assertEquals(6000.0, concurrent.loadAccountById("ACC001").getBalance());
+            assertEquals(4000.0, concurrent.loadAccountById("ACC002").getBalance());
+        }
+    }
+}
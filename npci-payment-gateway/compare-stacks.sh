@@ -0,0 +1,27 @@
+#!/bin/bash
+
+# Servlet vs reactive under the same open-model UPI workload.
+#
+#   ./compare-stacks.sh                          400 req/s for 60s against each stack
+#   ./compare-stacks.sh -Dloadtest.compare.rps=800 -Dduration=120
+#
+# Extra arguments are passed to Maven. Results end up in target/stack-comparison/.
+
+set -e
+
+RESULTS=$(mktemp -d)
+trap 'rm -rf "$RESULTS"' EXIT
+
+for STACK in servlet reactive; do
+    echo "Running the comparison workload against the $STACK stack..."
+    # clean between stacks: each one compiles a different set of controllers
+    mvn -q clean test -Ploadtest -Dstack=$STACK -Dtest=OpenModelComparisonTest "$@"
+    cp target/stack-comparison/$STACK.json "$RESULTS/"
+done
+
+mkdir -p target/stack-comparison
+cp "$RESULTS"/*.json target/stack-comparison/
+
+echo
+echo "=== Stack comparison ==="
+cat target/stack-comparison/servlet.json target/stack-comparison/reactive.json
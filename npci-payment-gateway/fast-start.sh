@@ -0,0 +1,48 @@
+#!/bin/bash
+
+# Startup-optimized launch: AppCDS archive + fast-start profile.
+#
+#   ./fast-start.sh train   Build, then record target/cds/app.jsa from a training run
+#   ./fast-start.sh         Start the gateway using the archive (trains first if missing)
+
+set -e
+
+CDS_DIR=target/cds
+CDS_ARCHIVE=$CDS_DIR/app.jsa
+MAIN_CLASS=com.npci.gateway.NpciPaymentGatewayApplication
+
+build_classpath() {
+    echo "Building the application..."
+    mvn -q clean package -DskipTests
+    mvn -q dependency:copy-dependencies -DincludeScope=runtime -DoutputDirectory=$CDS_DIR/lib
+    # CDS only archives classes loaded from jars, so package the classes as a plain jar
+    jar --create --file $CDS_DIR/app.jar -C target/classes .
+}
+
+classpath() {
+    # CDS requires the same explicit classpath at training and run time
+    echo "$CDS_DIR/app.jar$(printf ':%s' $CDS_DIR/lib/*.jar)"
+}
+
+train() {
+    build_classpath
+    echo "Recording class data sharing archive..."
+    java -XX:ArchiveClassesAtExit=$CDS_ARCHIVE \
+         -Dspring.context.exit=onRefresh \
+         -Dspring.profiles.active=fast-start \
+         -cp "$(classpath)" $MAIN_CLASS
+    echo "Archive written to $CDS_ARCHIVE"
+}
+
+if [ "$1" == "train" ] || [ ! -f "$CDS_ARCHIVE" ]; then
+    train
+fi
+
+if [ "$1" != "train" ]; then
+    echo "==================================="
+    echo "Starting NPCI Payment Gateway (fast-start)..."
+    echo "==================================="
+    exec java -XX:SharedArchiveFile=$CDS_ARCHIVE \
+              -Dspring.profiles.active=fast-start \
+              -cp "$(classpath)" $MAIN_CLASS "$@"
+fi
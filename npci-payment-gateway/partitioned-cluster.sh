@@ -0,0 +1,103 @@
+#!/bin/bash
+
+# Local partitioned deployment: N gateway processes on consecutive ports, each
+# holding its own in-memory H2 shard of the accounts.
+#
+#   ./partitioned-cluster.sh start [nodes]   Build and start nodes (default 3) on ports 8081, 8082, ...
+#   ./partitioned-cluster.sh demo            Send a cross-node IMPS transfer and poll its status
+#   ./partitioned-cluster.sh stop            Stop every node started by this script
+#
+# Logs and per-node data go to target/cluster/node-N/.
+
+set -e
+
+CLUSTER_DIR=target/cluster
+BASE_PORT=8081
+JAR=target/payment-gateway-1.0.0.jar
+
+node_port() {
+    echo $((BASE_PORT + $1 - 1))
+}
+
+start() {
+    local count=${1:-3}
+    echo "Building the application..."
+    mvn -q clean package -DskipTests
+    mkdir -p $CLUSTER_DIR
+    echo $count > $CLUSTER_DIR/nodes
+    # shared by every node for the internal endpoints; kept off the command line
+    head -c 32 /dev/urandom | od -An -tx1 | tr -d ' \n' > $CLUSTER_DIR/secret
+    export PARTITION_SHARED_SECRET=$(cat $CLUSTER_DIR/secret)
+
+    # every node gets the same static partition map
+    local map=()
+    for i in $(seq 1 $count); do
+        map+=("--app.partition.nodes.node-$i=http://localhost:$(node_port $i)/api")
+    done
+
+    for i in $(seq 1 $count); do
+        local dir=$CLUSTER_DIR/node-$i
+        mkdir -p $dir
+        java -jar $JAR \
+             --server.port=$(node_port $i) \
+             --spring.jpa.show-sql=false \
+             --app.partition.enabled=true \
+             --app.partition.node-id=node-$i \
+             "${map[@]}" \
+             --app.velocity.snapshot-path=$dir/velocity.snapshot \
+             --app.event-log.dir=$dir/event-log \
+             --app.settlement.output-dir=$dir/settlement \
+             --app.archive.dir=$dir/archive \
+             > $dir/gateway.log 2>&1 &
+        echo $! > $dir/pid
+        echo "node-$i: http://localhost:$(node_port $i)/api (pid $!, log $dir/gateway.log)"
+    done
+
+    for i in $(seq 1 $count); do
+        until curl -sf http://localhost:$(node_port $i)/api/actuator/health/readiness > /dev/null; do
+            sleep 1
+        done
+    done
+    echo "All $count nodes ready"
+}
+
+demo() {
+    local url=http://localhost:$(node_port 1)/api
+    local secret="X-Partition-Secret: $(cat $CLUSTER_DIR/secret)"
+    local from=ACC000001
+    local from_node=$(curl -s -H "$secret" $url/internal/partition/owners/$from | sed 's/.*"data":"\([^"]*\)".*/\1/')
+    local to
+    for i in $(seq 2 100); do
+        to=$(printf "ACC%06d" $i)
+        local to_node=$(curl -s -H "$secret" $url/internal/partition/owners/$to | sed 's/.*"data":"\([^"]*\)".*/\1/')
+        [ "$to_node" != "$from_node" ] && break
+    done
+    echo "Transferring 100 from $from ($from_node) to $to ($to_node), entering through node-1"
+
+    # -L follows the 307 to the payer's node when node-1 does not hold it
+    local response=$(curl -sL -X POST $url/imps/transfer -H "Content-Type: application/json" \
+        -d "{\"fromAccount\":\"$from\",\"toAccount\":\"$to\",\"ifscCode\":\"SBIN0001234\",\"amount\":100,\"remarks\":\"Cross-node demo\"}")
+    echo "$response"
+    local id=$(echo "$response" | sed 's/.*"transactionId":"\([^"]*\)".*/\1/')
+    local owner_url=http://localhost:$(node_port ${from_node#node-})/api
+
+    sleep 1
+    curl -s $owner_url/transactions/$id
+    echo
+}
+
+stop() {
+    for pid_file in $CLUSTER_DIR/node-*/pid; do
+        [ -f "$pid_file" ] || continue
+        kill $(cat $pid_file) 2>/dev/null || true
+        rm -f $pid_file
+    done
+    echo "Cluster stopped"
+}
+
+case "$1" in
+    start) start "$2" ;;
+    demo) demo ;;
+    stop) stop ;;
+    *) echo "Usage: $0 {start [nodes]|demo|stop}"; exit 1 ;;
+esac
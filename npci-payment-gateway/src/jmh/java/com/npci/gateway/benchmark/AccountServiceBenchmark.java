@@ -0,0 +1,54 @@
+package com.npci.gateway.benchmark;
+
+import com.npci.gateway.service.AccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/** Debit and credit through the JPA path against embedded H2. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AccountServiceBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = GatewayBenchmarkContext.start("account-bench");
+        accountService = context.getBean(AccountService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void debit() {
+        accountService.debitAccount(randomAccount(), AMOUNT);
+    }
+
+    @Benchmark
+    public void credit() {
+        accountService.creditAccount(randomAccount(), AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void debitContended() {
+        accountService.debitAccount(randomAccount(), AMOUNT);
+    }
+
+    private static String randomAccount() {
+        return String.format("ACC%06d", ThreadLocalRandom.current().nextInt(1, 101));
+    }
+}
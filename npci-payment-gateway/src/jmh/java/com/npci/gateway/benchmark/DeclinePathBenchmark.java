@@ -0,0 +1,70 @@
+package com.npci.gateway.benchmark;
+
+import com.npci.gateway.exception.InsufficientBalanceException;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the decline path: throw at the bottom of a call stack of
+ * {@code depth} frames (Spring proxies and JPA put 50-100 frames between the
+ * controller and the balance check), catch at the top and read the message as
+ * UpiService does. Compares a classic exception with an eagerly built
+ * message against the stack-trace-free {@link InsufficientBalanceException}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeclinePathBenchmark {
+
+    @Param({"10", "80"})
+    public int depth;
+
+    private final String accountNumber = "ACC000042";
+
+    @Benchmark
+    public String classicException() {
+        try {
+            return descend(depth, true);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String businessDecline() {
+        try {
+            return descend(depth, false);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public Object businessDeclineMessageUnread() {
+        try {
+            return descend(depth, false);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private String descend(int remaining, boolean classic) {
+        if (remaining > 0) {
+            return descend(remaining - 1, classic);
+        }
+        if (classic) {
+            throw new ClassicInsufficientBalanceException("Insufficient balance in account: " + accountNumber);
+        }
+        throw InsufficientBalanceException.forAccount(accountNumber);
+    }
+
+    /** The pre-change exception shape: full stack trace, eager message. */
+    static class ClassicInsufficientBalanceException extends RuntimeException {
+        ClassicInsufficientBalanceException(String message) {
+            super(message);
+        }
+    }
+}
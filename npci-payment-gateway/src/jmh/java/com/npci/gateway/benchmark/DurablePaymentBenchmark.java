@@ -0,0 +1,67 @@
+package com.npci.gateway.benchmark;
+
+import com.npci.gateway.dto.TransactionResponse;
+import com.npci.gateway.dto.UpiPaymentRequest;
+import com.npci.gateway.service.UpiService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payments per second with durability on: {@link UpiService#initiatePayment}
+ * against the in-memory database, the durable profile writing every commit
+ * through to the file, and the durable profile batching commits for 500 ms.
+ * Each trial starts from a fresh database directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DurablePaymentBenchmark {
+
+    @Param({"memory", "file-sync", "file-delayed"})
+    public String store;
+
+    private ConfigurableApplicationContext context;
+    private UpiService upiService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (store.equals("memory")) {
+            context = GatewayBenchmarkContext.start("durable-bench");
+        } else {
+            Path dir = Path.of("target", "benchmark-durable", store).toAbsolutePath();
+            FileSystemUtils.deleteRecursively(dir);
+            context = GatewayBenchmarkContext.start("durable-bench", Map.of(
+                    "app.durable.dir", dir.toString(),
+                    "app.durable.write-delay-ms", store.equals("file-sync") ? "0" : "500"), "durable");
+        }
+        upiService = context.getBean(UpiService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public TransactionResponse initiatePayment() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(1, 101);
+        UpiPaymentRequest request = new UpiPaymentRequest();
+        request.setFromUpiId("user" + from + "@upi");
+        request.setToUpiId("user" + (from % 100 + 1) + "@upi");
+        request.setAmount(BigDecimal.ONE);
+        request.setRemarks("benchmark");
+        return upiService.initiatePayment(request);
+    }
+}
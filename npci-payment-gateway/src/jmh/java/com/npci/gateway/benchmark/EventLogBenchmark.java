@@ -0,0 +1,77 @@
+package com.npci.gateway.benchmark;
+
+import com.npci.gateway.eventlog.EventLog;
+import com.npci.gateway.eventlog.LogRecord;
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Consumer and producer throughput of the local event log, in records per
+ * millisecond, with payment-event-sized records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventLogBenchmark {
+
+    private static final int BATCH = 500;
+    private static final byte[] PAYLOAD = ("{\"eventId\":1234567,\"eventType\":\"PAYMENT_SUCCESS\",\"payload\":"
+            + "{\"transactionId\":\"UPI20240101123456789012\",\"transactionType\":\"UPI\",\"amount\":1000.00,"
+            + "\"status\":\"SUCCESS\",\"fromAccount\":\"ACC000001\",\"toAccount\":\"ACC000002\","
+            + "\"remarks\":\"Payment\",\"failureReason\":null,\"timestamp\":\"2024-01-01T12:34:56\"}}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Param({"1000000"})
+    private int records;
+
+    private Path dir;
+    private EventLog eventLog;
+    private long consumerOffset;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("event-log-bench");
+        eventLog = new EventLog(dir, 64 * 1024 * 1024);
+        for (int i = 0; i < records; i++) {
+            eventLog.append("UPI" + i, PAYLOAD, System.currentTimeMillis());
+        }
+        eventLog.flush();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        eventLog.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int consume() {
+        List<LogRecord> batch = eventLog.read(consumerOffset, BATCH);
+        consumerOffset = batch.size() < BATCH ? 0 : consumerOffset + BATCH;
+        return batch.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long appendAndFlush() {
+        long offset = 0;
+        for (int i = 0; i < BATCH; i++) {
+            offset = eventLog.append("UPI" + i, PAYLOAD, System.currentTimeMillis());
+        }
+        eventLog.flush();
+        return offset;
+    }
+}
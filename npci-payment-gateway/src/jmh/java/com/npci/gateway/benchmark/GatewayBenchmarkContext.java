@@ -0,0 +1,51 @@
+package com.npci.gateway.benchmark;
+
+import com.npci.gateway.NpciPaymentGatewayApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.Map;
+
+/**
+ * Boots the gateway without a web server, against a private in-memory H2
+ * database, with the simulated bank latency at zero and every background or
+ * limiting feature that would skew a microbenchmark switched off.
+ *
+ * <p>Profiles and overrides take precedence over those defaults, which is how a
+ * benchmark runs against the durable profile's file-backed database instead.
+ */
+final class GatewayBenchmarkContext {
+
+    private GatewayBenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String name) {
+        return start(name, Map.of());
+    }
+
+    static ConfigurableApplicationContext start(String name, Map<String, String> overrides, String... profiles) {
+        SpringApplication application = new SpringApplication(NpciPaymentGatewayApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setAdditionalProfiles(profiles);
+        application.setDefaultProperties(Map.ofEntries(
+                Map.entry("spring.datasource.url", "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1"),
+                Map.entry("spring.jpa.show-sql", "false"),
+                Map.entry("logging.level.root", "WARN"),
+                Map.entry("logging.level.com.npci", "WARN"),
+                Map.entry("app.simulation.delay.min", "0"),
+                Map.entry("app.simulation.delay.max", "0"),
+                Map.entry("app.switch.hedging.enabled", "false"),
+                Map.entry("app.velocity.enabled", "false"),
+                Map.entry("app.velocity.snapshot-path", ""),
+                Map.entry("app.archive.enabled", "false"),
+                Map.entry("app.warmup.enabled", "false"),
+                Map.entry("app.event-log.dir", "target/benchmark-event-log/" + name)));
+        ConfigurableApplicationContext context = application.run(overrides.entrySet().stream()
+                .map(override -> "--" + override.getKey() + "=" + override.getValue())
+                .toArray(String[]::new));
+        // large enough that no benchmark iteration can exhaust a balance
+        context.getBean(JdbcTemplate.class).update("UPDATE accounts SET balance = 1000000000000");
+        return context;
+    }
+}
@@ -0,0 +1,94 @@
+package com.npci.gateway.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.npci.gateway.dto.ApiResponse;
+import com.npci.gateway.dto.TransactionResponse;
+import com.npci.gateway.dto.UpiPaymentRequest;
+import org.openjdk.jmh.annotations.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-message encode/decode cost of the payment payloads in JSON, Smile and
+ * CBOR. Encoded sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadCodecBenchmark {
+
+    private static final TypeReference<ApiResponse<TransactionResponse>> API_RESPONSE_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private UpiPaymentRequest request;
+    private ApiResponse<TransactionResponse> response;
+    private byte[] encodedRequest;
+    private byte[] encodedResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        JsonFactory factory = switch (format) {
+            case "smile" -> new SmileFactory();
+            case "cbor" -> new CBORFactory();
+            default -> new JsonFactory();
+        };
+        mapper = new ObjectMapper(factory)
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        request = new UpiPaymentRequest();
+        request.setFromUpiId("user1@upi");
+        request.setToUpiId("user99@upi");
+        request.setAmount(new BigDecimal("1000.00"));
+        request.setRemarks("Test payment");
+
+        response = ApiResponse.success("Payment initiated successfully", TransactionResponse.builder()
+                .transactionId("UPI20241211123456ABC12345")
+                .transactionType("UPI")
+                .amount(new BigDecimal("1000.00"))
+                .status("SUCCESS")
+                .fromAccount("ACC000001")
+                .toAccount("ACC000099")
+                .remarks("Test payment")
+                .timestamp(LocalDateTime.of(2024, 12, 11, 12, 34, 56))
+                .build());
+
+        encodedRequest = mapper.writeValueAsBytes(request);
+        encodedResponse = mapper.writeValueAsBytes(response);
+        System.out.printf("%n[%s] UpiPaymentRequest: %d bytes, ApiResponse<TransactionResponse>: %d bytes%n",
+                format, encodedRequest.length, encodedResponse.length);
+    }
+
+    @Benchmark
+    public byte[] encodeRequest() throws Exception {
+        return mapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public UpiPaymentRequest decodeRequest() throws Exception {
+        return mapper.readValue(encodedRequest, UpiPaymentRequest.class);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() throws Exception {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ApiResponse<TransactionResponse> decodeResponse() throws Exception {
+        return mapper.readValue(encodedResponse, API_RESPONSE_TYPE);
+    }
+}
@@ -0,0 +1,171 @@
+package com.npci.gateway.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.spi.ToolProvider;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cold-start benchmark: launches the gateway as a fresh JVM and measures the time
+ * until the first {@code POST /upi/payment} succeeds, for the default mode, the
+ * fast-start profile, and the fast-start profile with an AppCDS archive.
+ *
+ * <p>Not a JMH benchmark, since each sample needs a new process. It runs from the
+ * benchmarks profile and writes {@code target/startup-result.json}.
+ */
+public final class StartupBenchmark {
+
+    private static final String MAIN_CLASS = "com.npci.gateway.NpciPaymentGatewayApplication";
+    private static final String PAYMENT = "{\"fromUpiId\":\"user1@upi\",\"toUpiId\":\"user2@upi\",\"amount\":1,\"remarks\":\"startup\"}";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private enum Mode {
+        DEFAULT("default", false, false),
+        FAST_START("fast-start", true, false),
+        FAST_START_CDS("fast-start+cds", true, true);
+
+        final String label;
+        final boolean fastStart;
+        final boolean cds;
+
+        Mode(String label, boolean fastStart, boolean cds) {
+            this.label = label;
+            this.fastStart = fastStart;
+            this.cds = cds;
+        }
+    }
+
+    private final Path cdsDir;
+    private final String classpath;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    private StartupBenchmark(Path buildDir) throws IOException {
+        this.cdsDir = buildDir.resolve("cds");
+        this.classpath = prepareClasspath(buildDir);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path buildDir = Path.of(args.length > 0 ? args[0] : "target");
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        StartupBenchmark benchmark = new StartupBenchmark(buildDir);
+        benchmark.train();
+
+        List<String> results = new ArrayList<>();
+        for (Mode mode : Mode.values()) {
+            long[] samples = new long[iterations];
+            for (int i = 0; i < iterations; i++) {
+                samples[i] = benchmark.timeToFirstPayment(mode);
+            }
+            Arrays.sort(samples);
+            System.out.printf("%-16s min=%dms median=%dms max=%dms%n",
+                    mode.label, samples[0], samples[iterations / 2], samples[iterations - 1]);
+            results.add(String.format("{\"mode\":\"%s\",\"iterations\":%d,\"minMs\":%d,\"medianMs\":%d,\"maxMs\":%d}",
+                    mode.label, iterations, samples[0], samples[iterations / 2], samples[iterations - 1]));
+        }
+        Files.writeString(buildDir.resolve("startup-result.json"), "[" + String.join(",\n", results) + "]\n");
+    }
+
+    /** CDS only archives classes loaded from jars, so the classes directory is packaged first. */
+    private String prepareClasspath(Path buildDir) throws IOException {
+        Path appJar = cdsDir.resolve("app.jar");
+        Files.deleteIfExists(appJar);
+        ToolProvider jar = ToolProvider.findFirst("jar").orElseThrow();
+        int status = jar.run(System.out, System.err, "--create", "--file", appJar.toString(),
+                "-C", buildDir.resolve("classes").toString(), ".");
+        if (status != 0) {
+            throw new IOException("jar tool exited with " + status);
+        }
+        try (Stream<Path> libs = Files.list(cdsDir.resolve("lib"))) {
+            return Stream.concat(Stream.of(appJar), libs.sorted())
+                    .map(Path::toString)
+                    .collect(Collectors.joining(File.pathSeparator));
+        }
+    }
+
+    private void train() throws Exception {
+        List<String> command = command(Mode.FAST_START, 0);
+        command.add(1, "-XX:ArchiveClassesAtExit=" + cdsDir.resolve("app.jsa"));
+        command.add(2, "-Dspring.context.exit=onRefresh");
+        Process process = start(command, "train");
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("CDS training run failed, see " + cdsDir.resolve("startup-train.log"));
+        }
+    }
+
+    private long timeToFirstPayment(Mode mode) throws Exception {
+        int port = freePort();
+        HttpRequest payment = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/upi/payment"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(PAYMENT))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = start(command(mode, port), mode.name().toLowerCase());
+        try {
+            while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.label + " exited with " + process.exitValue());
+                }
+                try {
+                    if (http.send(payment, HttpResponse.BodyHandlers.discarding()).statusCode() == 201) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException notListeningYet) {
+                    // server socket not bound yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(mode.label + " did not serve a payment within " + STARTUP_TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private List<String> command(Mode mode, int port) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (mode.cds) {
+            command.add("-XX:SharedArchiveFile=" + cdsDir.resolve("app.jsa"));
+        }
+        command.add("-cp");
+        command.add(classpath);
+        command.add(MAIN_CLASS);
+        command.add("--server.port=" + port);
+        command.add("--app.velocity.snapshot-path=");
+        command.add("--app.event-log.dir=" + cdsDir.resolve("event-log"));
+        // measures cold start itself; warm-up would compete for CPU with the first payment
+        command.add("--app.warmup.enabled=false");
+        if (mode.fastStart) {
+            command.add("--spring.profiles.active=fast-start");
+        }
+        return command;
+    }
+
+    private Process start(List<String> command, String logName) throws IOException {
+        File log = cdsDir.resolve("startup-" + logName + ".log").toFile();
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log))
+                .start();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
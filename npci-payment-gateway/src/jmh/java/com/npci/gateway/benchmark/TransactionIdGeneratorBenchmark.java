@@ -0,0 +1,32 @@
+package com.npci.gateway.benchmark;
+
+import com.npci.gateway.util.TransactionIdGenerator;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionIdGeneratorBenchmark {
+
+    private final TransactionIdGenerator generator = new TransactionIdGenerator();
+
+    @Benchmark
+    public String upiTransactionId() {
+        return generator.generateUpiTransactionId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String upiTransactionIdContended() {
+        return generator.generateUpiTransactionId();
+    }
+
+    @Benchmark
+    public String impsTransactionId() {
+        return generator.generateImpsTransactionId();
+    }
+}
@@ -0,0 +1,61 @@
+package com.npci.gateway.benchmark;
+
+import com.npci.gateway.dto.TransactionResponse;
+import com.npci.gateway.dto.UpiPaymentRequest;
+import com.npci.gateway.service.UpiService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link UpiService#initiatePayment} with zero simulated bank
+ * latency: VPA resolution, bank switch hand-off, debit, credit and the two
+ * transaction writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UpiPaymentBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private UpiService upiService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = GatewayBenchmarkContext.start("upi-bench");
+        upiService = context.getBean(UpiService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionResponse initiatePayment() {
+        return upiService.initiatePayment(randomPayment());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public TransactionResponse initiatePaymentConcurrent() {
+        return upiService.initiatePayment(randomPayment());
+    }
+
+    private static UpiPaymentRequest randomPayment() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(1, 101);
+        int to = from % 100 + 1;
+        UpiPaymentRequest request = new UpiPaymentRequest();
+        request.setFromUpiId("user" + from + "@upi");
+        request.setToUpiId("user" + to + "@upi");
+        request.setAmount(BigDecimal.ONE);
+        request.setRemarks("benchmark");
+        return request;
+    }
+}
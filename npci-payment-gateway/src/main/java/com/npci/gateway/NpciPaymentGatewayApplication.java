@@ -2,8 +2,10 @@ package com.npci.gateway;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class NpciPaymentGatewayApplication {
     public static void main(String[] args) {
         SpringApplication.run(NpciPaymentGatewayApplication.class, args);
@@ -0,0 +1,26 @@
+package com.npci.gateway.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.archive")
+@Data
+public class ArchiveProperties {
+
+    private boolean enabled = true;
+
+    /** Daily partitions older than this many days are moved out of the transactions table. */
+    private int retentionDays = 30;
+
+    private String dir = "data/archive";
+
+    /** Records per compressed block; one sparse index entry is kept per block. */
+    private int blockSize = 256;
+
+    /** Number of segment indexes kept in memory. */
+    private int indexCacheSize = 64;
+
+    private String cron = "0 15 1 * * *";
+}
@@ -0,0 +1,98 @@
+package com.npci.gateway.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Read side of a segment written by {@link ArchiveSegmentWriter}. Only the
+ * sparse index is kept in memory; a lookup binary-searches it and inflates a
+ * single block.
+ */
+final class ArchiveSegment {
+
+    private final Path path;
+    private final String[] firstIds;
+    private final long[] offsets;
+    private final int[] lengths;
+
+    private ArchiveSegment(Path path, String[] firstIds, long[] offsets, int[] lengths) {
+        this.path = path;
+        this.firstIds = firstIds;
+        this.offsets = offsets;
+        this.lengths = lengths;
+    }
+
+    static ArchiveSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer trailer = read(channel, size - 12, 12);
+            long indexOffset = trailer.getLong();
+            if (trailer.getInt() != ArchiveSegmentWriter.MAGIC) {
+                throw new IOException("Not an archive segment: " + path);
+            }
+            ByteBuffer indexBuffer = read(channel, indexOffset, (int) (size - 12 - indexOffset));
+            DataInputStream index = new DataInputStream(new ByteArrayInputStream(
+                    indexBuffer.array(), indexBuffer.arrayOffset(), indexBuffer.remaining()));
+            int blocks = index.readInt();
+            String[] firstIds = new String[blocks];
+            long[] offsets = new long[blocks];
+            int[] lengths = new int[blocks];
+            for (int i = 0; i < blocks; i++) {
+                firstIds[i] = index.readUTF();
+                offsets[i] = index.readLong();
+                lengths[i] = index.readInt();
+            }
+            return new ArchiveSegment(path, firstIds, offsets, lengths);
+        }
+    }
+
+    Optional<ArchivedTransaction> find(String transactionId) throws IOException {
+        int position = Arrays.binarySearch(firstIds, transactionId);
+        int blockIndex = position >= 0 ? position : -position - 2;
+        if (blockIndex < 0) {
+            return Optional.empty();
+        }
+        ByteBuffer compressed;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            compressed = read(channel, offsets[blockIndex], lengths[blockIndex]);
+        }
+        try (DataInputStream block = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(
+                compressed.array(), compressed.arrayOffset(), compressed.remaining())))) {
+            while (true) {
+                ArchivedTransaction record = ArchivedTransaction.readFrom(block);
+                int order = record.getTransactionId().compareTo(transactionId);
+                if (order == 0) {
+                    return Optional.of(record);
+                }
+                if (order > 0) {
+                    return Optional.empty();
+                }
+            }
+        } catch (EOFException endOfBlock) {
+            return Optional.empty();
+        }
+    }
+
+    int blocks() {
+        return firstIds.length;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Truncated archive segment");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,121 @@
+package com.npci.gateway.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes one day's transactions, sorted by transaction id, as a sequence of
+ * independently deflated blocks followed by a sparse index (first id and file
+ * offset of every block). The file only appears under its final name once
+ * {@link #close()} has forced it to disk.
+ *
+ * <pre>
+ * [magic][version][day] [block]... [index: count, (firstId, offset, length)...] [indexOffset][magic]
+ * </pre>
+ */
+final class ArchiveSegmentWriter implements Closeable {
+
+    static final int MAGIC = 0x4e545841; // "NTXA"
+    static final int VERSION = 1;
+
+    private final Path target;
+    private final Path tmp;
+    private final FileChannel channel;
+    private final int blockSize;
+
+    private final List<String> blockFirstIds = new ArrayList<>();
+    private final List<long[]> blockPositions = new ArrayList<>();
+
+    private ByteArrayOutputStream blockBytes;
+    private DataOutputStream block;
+    private int blockRecords;
+    private String lastId;
+    private long records;
+
+    ArchiveSegmentWriter(Path target, int day, int blockSize) throws IOException {
+        this.target = target;
+        this.tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        this.blockSize = blockSize;
+        Files.createDirectories(target.getParent());
+        this.channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(12).putInt(MAGIC).putInt(VERSION).putInt(day).flip();
+        writeFully(header);
+    }
+
+    void append(ArchivedTransaction transaction) throws IOException {
+        if (lastId != null && transaction.getTransactionId().compareTo(lastId) <= 0) {
+            throw new IllegalArgumentException("Archive records must be appended in transaction id order");
+        }
+        if (block == null) {
+            blockBytes = new ByteArrayOutputStream(16 * 1024);
+            block = new DataOutputStream(new DeflaterOutputStream(blockBytes, new Deflater(Deflater.BEST_SPEED)));
+            blockFirstIds.add(transaction.getTransactionId());
+        }
+        transaction.writeTo(block);
+        lastId = transaction.getTransactionId();
+        records++;
+        if (++blockRecords == blockSize) {
+            flushBlock();
+        }
+    }
+
+    long records() {
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBlock();
+            long indexOffset = channel.position();
+            ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+            try (DataOutputStream index = new DataOutputStream(indexBytes)) {
+                index.writeInt(blockFirstIds.size());
+                for (int i = 0; i < blockFirstIds.size(); i++) {
+                    index.writeUTF(blockFirstIds.get(i));
+                    index.writeLong(blockPositions.get(i)[0]);
+                    index.writeInt((int) blockPositions.get(i)[1]);
+                }
+                index.writeLong(indexOffset);
+                index.writeInt(MAGIC);
+            }
+            writeFully(ByteBuffer.wrap(indexBytes.toByteArray()));
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void flushBlock() throws IOException {
+        if (block == null) {
+            return;
+        }
+        block.close();
+        byte[] compressed = blockBytes.toByteArray();
+        blockPositions.add(new long[] {channel.position(), compressed.length});
+        writeFully(ByteBuffer.wrap(compressed));
+        block = null;
+        blockBytes = null;
+        blockRecords = 0;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.npci.gateway.archive;
+
+import lombok.Value;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Value
+public class ArchivedTransaction {
+    String transactionId;
+    String transactionType;
+    String fromAccount;
+    String toAccount;
+    BigDecimal amount;
+    String status;
+    String remarks;
+    String failureReason;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeUTF(transactionId);
+        out.writeUTF(transactionType);
+        writeNullable(out, fromAccount);
+        writeNullable(out, toAccount);
+        out.writeUTF(amount.toPlainString());
+        out.writeUTF(status);
+        writeNullable(out, remarks);
+        writeNullable(out, failureReason);
+        writeNullable(out, createdAt == null ? null : createdAt.toString());
+        writeNullable(out, updatedAt == null ? null : updatedAt.toString());
+    }
+
+    static ArchivedTransaction readFrom(DataInput in) throws IOException {
+        String transactionId = in.readUTF();
+        String transactionType = in.readUTF();
+        String fromAccount = readNullable(in);
+        String toAccount = readNullable(in);
+        BigDecimal amount = new BigDecimal(in.readUTF());
+        String status = in.readUTF();
+        String remarks = readNullable(in);
+        String failureReason = readNullable(in);
+        String createdAt = readNullable(in);
+        String updatedAt = readNullable(in);
+        return new ArchivedTransaction(transactionId, transactionType, fromAccount, toAccount, amount, status,
+                remarks, failureReason,
+                createdAt == null ? null : LocalDateTime.parse(createdAt),
+                updatedAt == null ? null : LocalDateTime.parse(updatedAt));
+    }
+
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,109 @@
+package com.npci.gateway.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Lookup over archived daily partitions. Transaction ids embed their creation
+ * date ({@code UPIyyyyMMdd...}), so a lookup goes straight to one segment.
+ */
+@Component
+@Slf4j
+public class TransactionArchive {
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final ArchiveProperties properties;
+    private final Map<Integer, ArchiveSegment> indexCache;
+
+    public TransactionArchive(ArchiveProperties properties) {
+        this.properties = properties;
+        this.indexCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, ArchiveSegment> eldest) {
+                return size() > properties.getIndexCacheSize();
+            }
+        };
+    }
+
+    public static int dayKey(LocalDate date) {
+        return date.getYear() * 10_000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
+
+    public Optional<ArchivedTransaction> find(String transactionId) {
+        int day = dayOf(transactionId);
+        if (day < 0) {
+            return Optional.empty();
+        }
+        // a transaction created just before midnight can land in the next day's partition
+        Optional<ArchivedTransaction> found = findInSegment(day, transactionId);
+        if (found.isEmpty()) {
+            LocalDate next = LocalDate.parse(Integer.toString(day), DAY_FORMAT).plusDays(1);
+            found = findInSegment(dayKey(next), transactionId);
+        }
+        return found;
+    }
+
+    Path segmentPath(int day) {
+        return Path.of(properties.getDir(), "transactions-" + day + ".seg");
+    }
+
+    void invalidate(int day) {
+        synchronized (indexCache) {
+            indexCache.remove(day);
+        }
+    }
+
+    private Optional<ArchivedTransaction> findInSegment(int day, String transactionId) {
+        try {
+            ArchiveSegment segment = segment(day);
+            return segment == null ? Optional.empty() : segment.find(transactionId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive segment for " + day, e);
+        }
+    }
+
+    private ArchiveSegment segment(int day) throws IOException {
+        synchronized (indexCache) {
+            ArchiveSegment cached = indexCache.get(day);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Path path = segmentPath(day);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        ArchiveSegment segment = ArchiveSegment.open(path);
+        synchronized (indexCache) {
+            indexCache.put(day, segment);
+        }
+        return segment;
+    }
+
+    static int dayOf(String transactionId) {
+        int start = 0;
+        while (start < transactionId.length() && Character.isLetter(transactionId.charAt(start))) {
+            start++;
+        }
+        if (transactionId.length() < start + 8) {
+            return -1;
+        }
+        String digits = transactionId.substring(start, start + 8);
+        try {
+            LocalDate.parse(digits, DAY_FORMAT);
+            return Integer.parseInt(digits);
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+}
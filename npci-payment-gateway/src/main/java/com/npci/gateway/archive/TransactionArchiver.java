@@ -0,0 +1,111 @@
+package com.npci.gateway.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves whole daily partitions older than {@code app.archive.retention-days}
+ * out of the transactions table into compressed segment files, keeping the
+ * hot table bounded by the retention window instead of total history.
+ *
+ * A partition is only deleted after its segment has been forced to disk and
+ * its record count matches the table. The delete is a single statement, so
+ * a crash leaves either the whole partition in the table (and the next run
+ * rewrites the segment) or none of it.
+ */
+@Component
+@Slf4j
+public class TransactionArchiver {
+
+    private static final String PARTITIONS_SQL =
+            "SELECT DISTINCT partition_day FROM transactions WHERE partition_day < ? ORDER BY partition_day";
+
+    private static final String PARTITION_SQL =
+            "SELECT t.transaction_id, t.transaction_type, fa.account_number, "
+            + "COALESCE(ta.account_number, t.remote_to_account), t.amount, "
+            + "t.status, t.remarks, t.failure_reason, t.created_at, t.updated_at "
+            + "FROM transactions t "
+            + "JOIN accounts fa ON fa.id = t.from_account_id "
+            + "LEFT JOIN accounts ta ON ta.id = t.to_account_id "
+            + "WHERE t.partition_day = ? ORDER BY t.transaction_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionArchive archive;
+    private final ArchiveProperties properties;
+
+    public TransactionArchiver(DataSource dataSource, TransactionTemplate transactionTemplate,
+                               TransactionArchive archive, ArchiveProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getBlockSize());
+        this.transactionTemplate = transactionTemplate;
+        this.archive = archive;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 15 1 * * *}")
+    public void archiveExpiredPartitions() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int cutoff = TransactionArchive.dayKey(LocalDate.now().minusDays(properties.getRetentionDays()));
+        List<Integer> days = jdbcTemplate.queryForList(PARTITIONS_SQL, Integer.class, cutoff);
+        for (int day : days) {
+            archivePartition(day);
+        }
+    }
+
+    public long archivePartition(int day) {
+        long written;
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(archive.segmentPath(day), day,
+                properties.getBlockSize())) {
+            jdbcTemplate.query(PARTITION_SQL, rs -> {
+                try {
+                    writer.append(new ArchivedTransaction(
+                            rs.getString(1),
+                            rs.getString(2),
+                            rs.getString(3),
+                            rs.getString(4),
+                            rs.getBigDecimal(5),
+                            rs.getString(6),
+                            rs.getString(7),
+                            rs.getString(8),
+                            toLocalDateTime(rs.getTimestamp(9)),
+                            toLocalDateTime(rs.getTimestamp(10))));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, day);
+            written = writer.records();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write archive segment for " + day, e);
+        }
+        archive.invalidate(day);
+
+        Integer deleted = transactionTemplate.execute(status -> {
+            Long count = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM transactions WHERE partition_day = ?", Long.class, day);
+            if (count == null || count != written) {
+                throw new IllegalStateException("Partition " + day + " changed while archiving: wrote "
+                        + written + " records, table has " + count);
+            }
+            return jdbcTemplate.update("DELETE FROM transactions WHERE partition_day = ?", day);
+        });
+        log.info("Archived partition {}: {} transactions moved to {}", day, deleted, archive.segmentPath(day));
+        return written;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
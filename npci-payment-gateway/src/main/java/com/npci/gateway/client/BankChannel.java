@@ -0,0 +1,62 @@
+package com.npci.gateway.client;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-bank isolation: a bulkhead, a circuit breaker and latency history, so
+ * one slow partner bank cannot exhaust capacity meant for the others.
+ */
+class BankChannel {
+
+    final String bankCode;
+    final Semaphore bulkhead;
+    final CircuitBreaker circuitBreaker;
+    final LatencyRecorder latency = new LatencyRecorder(1024, 64);
+
+    private final int maxConcurrentCalls;
+    private final AtomicLong hedgeWindowStart = new AtomicLong();
+    private final AtomicLong hedgesInWindow = new AtomicLong();
+
+    final AtomicLong calls = new AtomicLong();
+    final AtomicLong failures = new AtomicLong();
+    final AtomicLong declines = new AtomicLong();
+    final AtomicLong timeouts = new AtomicLong();
+    final AtomicLong rejected = new AtomicLong();
+    final AtomicLong hedges = new AtomicLong();
+    final AtomicLong hedgeWins = new AtomicLong();
+
+    BankChannel(String bankCode, BankSwitchProperties properties) {
+        this.bankCode = bankCode;
+        this.maxConcurrentCalls = properties.getBulkhead().getMaxConcurrentCalls();
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(properties.getCircuitBreaker());
+    }
+
+    /** Caps hedges per second so hedging cannot double the load on a bank that is already struggling. */
+    boolean tryHedgeBudget(int maxPerSecond) {
+        long now = System.currentTimeMillis();
+        long windowStart = hedgeWindowStart.get();
+        if (now - windowStart >= 1000 && hedgeWindowStart.compareAndSet(windowStart, now)) {
+            hedgesInWindow.set(0);
+        }
+        return hedgesInWindow.incrementAndGet() <= maxPerSecond;
+    }
+
+    BankChannelStats stats() {
+        return new BankChannelStats(
+                bankCode,
+                circuitBreaker.state().name(),
+                maxConcurrentCalls - bulkhead.availablePermits(),
+                calls.get(),
+                failures.get(),
+                declines.get(),
+                timeouts.get(),
+                rejected.get(),
+                hedges.get(),
+                hedgeWins.get(),
+                latency.percentile(0.50),
+                latency.percentile(0.95),
+                latency.percentile(0.99));
+    }
+}
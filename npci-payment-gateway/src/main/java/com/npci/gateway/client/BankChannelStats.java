@@ -0,0 +1,20 @@
+package com.npci.gateway.client;
+
+import lombok.Value;
+
+@Value
+public class BankChannelStats {
+    String bankCode;
+    String circuitState;
+    int inFlight;
+    long calls;
+    long failures;
+    long declines;
+    long timeouts;
+    long rejected;
+    long hedges;
+    long hedgeWins;
+    long p50Ms;
+    long p95Ms;
+    long p99Ms;
+}
@@ -0,0 +1,15 @@
+package com.npci.gateway.client;
+
+/**
+ * Call to a remitter or beneficiary bank through the NPCI switch.
+ * Implementations either return an approved {@link SwitchResponse} or throw
+ * {@link BankSwitchException}.
+ */
+public interface BankSwitchClient {
+
+    SwitchResponse send(SwitchRequest request);
+
+    static String bankCodeOf(String ifscCode) {
+        return ifscCode == null || ifscCode.length() < 4 ? "UNKNOWN" : ifscCode.substring(0, 4);
+    }
+}
@@ -0,0 +1,30 @@
+package com.npci.gateway.client;
+
+import lombok.Getter;
+
+@Getter
+public class BankSwitchException extends RuntimeException {
+
+    public enum Reason {
+        /** The bank answered and refused: a business outcome, not a fault. */
+        DECLINED,
+        TIMEOUT,
+        CIRCUIT_OPEN,
+        BULKHEAD_FULL,
+        /** Unexpected failure inside the switch client; the bank's answer is unknown. */
+        ERROR
+    }
+
+    private final String bankCode;
+    private final Reason reason;
+
+    public BankSwitchException(String bankCode, Reason reason, String message) {
+        super(message);
+        this.bankCode = bankCode;
+        this.reason = reason;
+    }
+
+    public boolean isDecline() {
+        return reason == Reason.DECLINED;
+    }
+}
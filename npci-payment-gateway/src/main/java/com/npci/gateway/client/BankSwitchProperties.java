@@ -0,0 +1,109 @@
+package com.npci.gateway.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+@Component
+@ConfigurationProperties(prefix = "app.switch")
+@Data
+public class BankSwitchProperties {
+
+    private long timeoutMs = 2000;
+
+    private Bulkhead bulkhead = new Bulkhead();
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private Hedging hedging = new Hedging();
+
+    /** Latency model used for every bank without an entry in {@link #banks}. */
+    private Latency latency = new Latency();
+
+    /** Per-bank latency overrides keyed by the first four IFSC characters, e.g. {@code SBIN}. */
+    private Map<String, Latency> banks = new HashMap<>();
+
+    /**
+     * Bank codes that get their own bulkhead and circuit breaker, besides the
+     * keys of {@link #banks}. Calls to further codes share one overflow
+     * channel, so IFSC codes taken from request bodies cannot grow the channel map.
+     */
+    private int maxBanks = 16;
+
+    public Latency latencyFor(String bankCode) {
+        return banks.getOrDefault(bankCode, latency);
+    }
+
+    @Data
+    public static class Bulkhead {
+        private int maxConcurrentCalls = 50;
+        private long maxWaitMs = 100;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        private int windowSize = 50;
+        private int minimumCalls = 20;
+        private double failureRateThreshold = 0.5;
+        private long openDurationMs = 5000;
+    }
+
+    @Data
+    public static class Hedging {
+        private boolean enabled = true;
+        private double percentile = 0.95;
+        private int minSamples = 100;
+        private int maxHedgesPerSecond = 50;
+        /**
+         * Operations that may be sent twice. DEBIT and CREDIT move money and
+         * stay off unless the banks de-duplicate on the request reference.
+         */
+        private Set<SwitchOperation> operations = EnumSet.of(SwitchOperation.VALIDATE);
+    }
+
+    @Data
+    public static class Latency {
+        private Distribution distribution = Distribution.UNIFORM;
+        private long minMs = 100;
+        private long maxMs = 500;
+        /** Median and shape for {@link Distribution#LOG_NORMAL}. */
+        private long medianMs = 200;
+        private double sigma = 0.5;
+        /** Fraction of calls that take {@link #spikeMs} instead of a sampled latency. */
+        private double spikeRate = 0.0;
+        private long spikeMs = 3000;
+        /** Fraction of calls the bank declines. */
+        private double failureRate = 0.0;
+
+        /** Draws one call's latency, including spikes. */
+        public long sampleMillis(Random random) {
+            if (random.nextDouble() < spikeRate) {
+                return spikeMs;
+            }
+            switch (distribution) {
+                case FIXED:
+                    return minMs;
+                case LOG_NORMAL:
+                    double sample = medianMs * Math.exp(sigma * random.nextGaussian());
+                    return Math.max(minMs, Math.min(maxMs, Math.round(sample)));
+                case UNIFORM:
+                default:
+                    if (maxMs <= minMs) {
+                        return minMs;
+                    }
+                    return minMs + (long) (random.nextDouble() * (maxMs - minMs));
+            }
+        }
+    }
+
+    public enum Distribution {
+        FIXED,
+        UNIFORM,
+        LOG_NORMAL
+    }
+}
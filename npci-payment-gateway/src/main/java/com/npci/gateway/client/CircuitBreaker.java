@@ -0,0 +1,101 @@
+package com.npci.gateway.client;
+
+/**
+ * Count-based circuit breaker over the last {@code windowSize} outcomes.
+ * After {@code openDurationMs} in OPEN a single probe is let through; its
+ * outcome closes or re-opens the circuit.
+ */
+class CircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationMs;
+
+    private int position;
+    private int recorded;
+    private int failures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    CircuitBreaker(BankSwitchProperties.CircuitBreaker config) {
+        this.window = new boolean[config.getWindowSize()];
+        this.minimumCalls = config.getMinimumCalls();
+        this.failureRateThreshold = config.getFailureRateThreshold();
+        this.openDurationMs = config.getOpenDurationMs();
+    }
+
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDurationMs) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return false;
+            }
+            probeInFlight = true;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset(State.CLOSED);
+            return;
+        }
+        record(false);
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            trip();
+            return;
+        }
+        record(true);
+        if (recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+            trip();
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[position]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[position] = failure;
+        if (failure) {
+            failures++;
+        }
+        position = (position + 1) % window.length;
+    }
+
+    private void trip() {
+        reset(State.OPEN);
+        openedAt = System.currentTimeMillis();
+    }
+
+    private void reset(State newState) {
+        state = newState;
+        probeInFlight = false;
+        position = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,43 @@
+package com.npci.gateway.client;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring of the most recent call latencies. Percentiles are
+ * recomputed every {@code refreshEvery} samples so the hot path only pays for
+ * an array store.
+ */
+class LatencyRecorder {
+
+    private final long[] samples;
+    private final int refreshEvery;
+    private long count;
+    private long[] sorted = new long[0];
+
+    LatencyRecorder(int capacity, int refreshEvery) {
+        this.samples = new long[capacity];
+        this.refreshEvery = refreshEvery;
+    }
+
+    synchronized void record(long latencyMs) {
+        samples[(int) (count % samples.length)] = latencyMs;
+        count++;
+        if (count % refreshEvery == 0 || sorted.length < samples.length) {
+            int size = (int) Math.min(count, samples.length);
+            sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+        }
+    }
+
+    synchronized long count() {
+        return count;
+    }
+
+    synchronized long percentile(double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,289 @@
+package com.npci.gateway.client;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Wraps the remote bank call with a per-bank bulkhead, an overall timeout, a
+ * circuit breaker and, once a bank has enough history, a hedged second call
+ * fired when the first has not answered within the bank's p95 latency.
+ * Only the operations in {@code app.switch.hedging.operations} are hedged
+ * (VALIDATE by default): a hedged DEBIT or CREDIT is a second instruction
+ * unless the bank de-duplicates on {@link SwitchRequest#getReference()}.
+ * <p>
+ * Business declines are answers, not faults: they reach the caller but count
+ * as successful round trips for the circuit breaker. Timeouts and transport
+ * or unexpected errors count as failures; an unexpected error reaches the
+ * caller as {@link BankSwitchException.Reason#ERROR}, never as a decline.
+ * <p>
+ * Channels exist for the banks under {@code app.switch.banks} and at most
+ * {@code app.switch.max-banks} others, plus one shared overflow channel, and calls run on a pool no larger than the sum of
+ * their bulkheads, so neither grows with the bank codes clients send.
+ */
+@Component
+@Primary
+@Slf4j
+public class ResilientBankSwitchClient implements BankSwitchClient {
+
+    /** IFSC bank codes are four letters; anything else goes to the overflow channel. */
+    private static final Pattern BANK_CODE = Pattern.compile("[A-Z]{4}");
+
+    private static final String OTHER_BANKS = "OTHER";
+
+    private final BankSwitchClient delegate;
+    private final BankSwitchProperties properties;
+    private final Map<String, BankChannel> channels = new ConcurrentHashMap<>();
+    private final BankChannel otherBanks;
+    private final int maxBanks;
+    private final ExecutorService executor;
+
+    @Autowired
+    public ResilientBankSwitchClient(SimulatedBankSwitchClient delegate, BankSwitchProperties properties) {
+        this((BankSwitchClient) delegate, properties);
+    }
+
+    ResilientBankSwitchClient(BankSwitchClient delegate, BankSwitchProperties properties) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.otherBanks = new BankChannel(OTHER_BANKS, properties);
+        this.maxBanks = properties.getMaxBanks();
+        // Every running call holds a bulkhead permit, so this many threads never queue a call
+        int channelLimit = maxBanks + properties.getBanks().size() + 1;
+        int threads = channelLimit * properties.getBulkhead().getMaxConcurrentCalls();
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "bank-switch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+    }
+
+    @Override
+    public SwitchResponse send(SwitchRequest request) {
+        BankChannel channel = channelFor(request.getBankCode());
+        channel.calls.incrementAndGet();
+
+        acquireBulkhead(channel);
+        if (!channel.circuitBreaker.tryAcquire()) {
+            channel.bulkhead.release();
+            channel.rejected.incrementAndGet();
+            throw new BankSwitchException(channel.bankCode, BankSwitchException.Reason.CIRCUIT_OPEN,
+                    "Bank " + channel.bankCode + " is unavailable (circuit open)");
+        }
+
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(properties.getTimeoutMs());
+        CompletableFuture<SwitchResponse> primary = submit(channel, request, false);
+        CompletableFuture<SwitchResponse> hedge = null;
+        try {
+            CompletableFuture<SwitchResponse> outcome = primary;
+            long hedgeAfterMs = hedgeDelayMs(channel, request.getOperation());
+            if (hedgeAfterMs >= 0) {
+                try {
+                    return complete(channel, primary.get(hedgeAfterMs, TimeUnit.MILLISECONDS));
+                } catch (TimeoutException slowPrimary) {
+                    if (channel.bulkhead.tryAcquire()) {
+                        if (channel.tryHedgeBudget(properties.getHedging().getMaxHedgesPerSecond())) {
+                            channel.hedges.incrementAndGet();
+                            hedge = submit(channel, request, true);
+                            outcome = firstSuccessful(primary, hedge);
+                        } else {
+                            channel.bulkhead.release();
+                        }
+                    }
+                }
+            }
+            long remainingNanos = Math.max(0, deadlineNanos - System.nanoTime());
+            return complete(channel, outcome.get(remainingNanos, TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            channel.timeouts.incrementAndGet();
+            channel.circuitBreaker.onFailure();
+            cancel(primary, hedge);
+            throw new BankSwitchException(channel.bankCode, BankSwitchException.Reason.TIMEOUT,
+                    "Bank " + channel.bankCode + " did not respond within " + properties.getTimeoutMs() + "ms");
+        } catch (ExecutionException e) {
+            BankSwitchException failure = asSwitchException(channel.bankCode, e.getCause());
+            if (isDecline(e.getCause())) {
+                // The bank answered; a high decline rate is not an outage
+                channel.declines.incrementAndGet();
+                channel.circuitBreaker.onSuccess();
+            } else {
+                channel.failures.incrementAndGet();
+                channel.circuitBreaker.onFailure();
+            }
+            throw failure;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            channel.circuitBreaker.onFailure();
+            cancel(primary, hedge);
+            throw new BankSwitchException(channel.bankCode, BankSwitchException.Reason.TIMEOUT,
+                    "Switch call to " + channel.bankCode + " interrupted");
+        }
+    }
+
+    public List<BankChannelStats> stats() {
+        return Stream.concat(channels.values().stream(), Stream.of(otherBanks))
+                .map(BankChannel::stats)
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * The bank's own channel if it has configured overrides or fewer than
+     * {@code maxBanks} channels exist, otherwise the shared overflow channel.
+     */
+    private BankChannel channelFor(String bankCode) {
+        BankChannel channel = channels.get(bankCode);
+        if (channel != null) {
+            return channel;
+        }
+        if (bankCode == null || !BANK_CODE.matcher(bankCode).matches()) {
+            return otherBanks;
+        }
+        synchronized (channels) {
+            channel = channels.get(bankCode);
+            if (channel == null && (channels.size() < maxBanks || properties.getBanks().containsKey(bankCode))) {
+                channel = new BankChannel(bankCode, properties);
+                channels.put(bankCode, channel);
+            }
+        }
+        return channel != null ? channel : otherBanks;
+    }
+
+    private void acquireBulkhead(BankChannel channel) {
+        boolean acquired;
+        try {
+            acquired = channel.bulkhead.tryAcquire(properties.getBulkhead().getMaxWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            channel.rejected.incrementAndGet();
+            throw new BankSwitchException(channel.bankCode, BankSwitchException.Reason.BULKHEAD_FULL,
+                    "Too many concurrent calls to bank " + channel.bankCode);
+        }
+    }
+
+    /**
+     * Runs one remote call. The bulkhead permit is released when the call
+     * itself finishes, not when the caller gives up, so abandoned slow calls
+     * still count against the bank's concurrency limit. Cancelling the
+     * returned future interrupts the call, or drops it if it has not started.
+     */
+    private CompletableFuture<SwitchResponse> submit(BankChannel channel, SwitchRequest request, boolean hedged) {
+        CompletableFuture<SwitchResponse> result = new CompletableFuture<>();
+        AtomicBoolean started = new AtomicBoolean();
+        Future<?> task = executor.submit(() -> {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                SwitchResponse response = delegate.send(request);
+                channel.latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                result.complete(hedged ? response.asHedged() : response);
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            } finally {
+                channel.bulkhead.release();
+            }
+        });
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                if (started.compareAndSet(false, true)) {
+                    channel.bulkhead.release();
+                } else {
+                    task.cancel(true);
+                }
+            }
+        });
+        return result;
+    }
+
+    private long hedgeDelayMs(BankChannel channel, SwitchOperation operation) {
+        BankSwitchProperties.Hedging hedging = properties.getHedging();
+        if (!hedging.isEnabled() || !hedging.getOperations().contains(operation)
+                || channel.latency.count() < hedging.getMinSamples()) {
+            return -1;
+        }
+        long threshold = channel.latency.percentile(hedging.getPercentile());
+        return threshold < properties.getTimeoutMs() ? threshold : -1;
+    }
+
+    private SwitchResponse complete(BankChannel channel, SwitchResponse response) {
+        channel.circuitBreaker.onSuccess();
+        if (response.isHedged()) {
+            channel.hedgeWins.incrementAndGet();
+        }
+        return response;
+    }
+
+    private static CompletableFuture<SwitchResponse> firstSuccessful(CompletableFuture<SwitchResponse> first,
+                                                                     CompletableFuture<SwitchResponse> second) {
+        CompletableFuture<SwitchResponse> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(2);
+        for (CompletableFuture<SwitchResponse> future : List.of(first, second)) {
+            future.whenComplete((response, error) -> {
+                if (error == null) {
+                    result.complete(response);
+                } else if (pending.decrementAndGet() == 0) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+        return result;
+    }
+
+    private static void cancel(CompletableFuture<?> primary, CompletableFuture<?> hedge) {
+        primary.cancel(true);
+        if (hedge != null) {
+            hedge.cancel(true);
+        }
+    }
+
+    private static boolean isDecline(Throwable cause) {
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof BankSwitchException switchException && switchException.isDecline();
+    }
+
+    private static BankSwitchException asSwitchException(String bankCode, Throwable cause) {
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof BankSwitchException switchException) {
+            return switchException;
+        }
+        log.error("Unexpected switch failure for bank {}", bankCode, cause);
+        return new BankSwitchException(bankCode, BankSwitchException.Reason.ERROR,
+                "Switch call to " + bankCode + " failed: " + cause.getMessage());
+    }
+}
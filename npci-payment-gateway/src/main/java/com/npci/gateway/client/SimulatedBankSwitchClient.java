@@ -0,0 +1,54 @@
+package com.npci.gateway.client;
+
+import com.npci.gateway.telemetry.PaymentStages;
+import com.npci.gateway.telemetry.SwitchCallEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for the remitter and beneficiary banks. Latency and declines
+ * follow the per-bank model in {@link BankSwitchProperties}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SimulatedBankSwitchClient implements BankSwitchClient {
+
+    private final BankSwitchProperties properties;
+
+    @Override
+    public SwitchResponse send(SwitchRequest request) {
+        // VALIDATE references are VPAs, which do not belong in a recording
+        boolean payment = request.getOperation() != SwitchOperation.VALIDATE;
+        return PaymentStages.time(new SwitchCallEvent(request.getBankCode(), request.getOperation().name()),
+                payment ? request.getReference() : null, payment ? request.getAmount() : null, () -> call(request));
+    }
+
+    private SwitchResponse call(SwitchRequest request) {
+        BankSwitchProperties.Latency model = properties.latencyFor(request.getBankCode());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long latency = model.sampleMillis(random);
+        sleep(request.getBankCode(), latency);
+
+        if (random.nextDouble() < model.getFailureRate()) {
+            throw new BankSwitchException(request.getBankCode(), BankSwitchException.Reason.DECLINED,
+                    "Bank " + request.getBankCode() + " declined " + request.getOperation());
+        }
+        return new SwitchResponse(request.getBankCode(), request.getOperation(),
+                request.getReference(), latency, false);
+    }
+
+    private void sleep(String bankCode, long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BankSwitchException(bankCode, BankSwitchException.Reason.TIMEOUT,
+                    "Switch call to " + bankCode + " interrupted");
+        }
+    }
+}
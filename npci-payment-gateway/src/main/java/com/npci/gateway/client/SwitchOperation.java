@@ -0,0 +1,7 @@
+package com.npci.gateway.client;
+
+public enum SwitchOperation {
+    VALIDATE,
+    DEBIT,
+    CREDIT
+}
@@ -0,0 +1,24 @@
+package com.npci.gateway.client;
+
+import lombok.Value;
+import java.math.BigDecimal;
+
+@Value
+public class SwitchRequest {
+    String bankCode;
+    SwitchOperation operation;
+    String reference;
+    BigDecimal amount;
+
+    public static SwitchRequest validate(String bankCode, String reference) {
+        return new SwitchRequest(bankCode, SwitchOperation.VALIDATE, reference, BigDecimal.ZERO);
+    }
+
+    public static SwitchRequest debit(String bankCode, String reference, BigDecimal amount) {
+        return new SwitchRequest(bankCode, SwitchOperation.DEBIT, reference, amount);
+    }
+
+    public static SwitchRequest credit(String bankCode, String reference, BigDecimal amount) {
+        return new SwitchRequest(bankCode, SwitchOperation.CREDIT, reference, amount);
+    }
+}
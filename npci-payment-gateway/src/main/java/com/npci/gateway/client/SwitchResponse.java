@@ -0,0 +1,16 @@
+package com.npci.gateway.client;
+
+import lombok.Value;
+
+@Value
+public class SwitchResponse {
+    String bankCode;
+    SwitchOperation operation;
+    String reference;
+    long latencyMs;
+    boolean hedged;
+
+    public SwitchResponse asHedged() {
+        return new SwitchResponse(bankCode, operation, reference, latencyMs, true);
+    }
+}
@@ -2,11 +2,15 @@ package com.npci.gateway.config;
 
 import com.npci.gateway.model.Account;
 import com.npci.gateway.model.UpiId;
+import com.npci.gateway.partition.PartitionMap;
 import com.npci.gateway.repository.AccountRepository;
 import com.npci.gateway.repository.UpiIdRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -18,9 +22,28 @@ public class DataLoader implements CommandLineRunner {
     
     private final AccountRepository accountRepository;
     private final UpiIdRepository upiIdRepository;
+    private final PartitionMap partitionMap;
+    
+    @Value("${app.data-loader.deferred:false}")
+    private boolean deferred;
     
     @Override
     public void run(String... args) {
+        if (!deferred) {
+            loadIfEmpty();
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (deferred) {
+            Thread seeder = new Thread(this::loadIfEmpty, "data-loader");
+            seeder.setDaemon(true);
+            seeder.start();
+        }
+    }
+    
+    private void loadIfEmpty() {
         if (accountRepository.count() == 0) {
             loadSampleData();
         }
@@ -29,10 +52,16 @@ public class DataLoader implements CommandLineRunner {
     private void loadSampleData() {
         log.info("Loading sample data...");
         
-        // Create accounts
+        // Create accounts; a partitioned node only keeps the ones it owns
+        int loaded = 0;
         for (int i = 1; i <= 100; i++) {
+            String accountNumber = String.format("ACC%06d", i);
+            if (!partitionMap.ownsAccount(accountNumber)) {
+                continue;
+            }
+            
             Account account = new Account();
-            account.setAccountNumber(String.format("ACC%06d", i));
+            account.setAccountNumber(accountNumber);
             account.setAccountHolderName("Test User " + i);
             account.setBalance(new BigDecimal(100000));
             account.setIfscCode("SBIN0001234");
@@ -53,8 +82,9 @@ public class DataLoader implements CommandLineRunner {
             upiId.setCreatedAt(LocalDateTime.now());
             
             upiIdRepository.save(upiId);
+            loaded++;
         }
         
-        log.info("Sample data loaded successfully: 100 accounts with UPI IDs");
+        log.info("Sample data loaded successfully: {} accounts with UPI IDs", loaded);
     }
 }
@@ -0,0 +1,26 @@
+package com.npci.gateway.config;
+
+import com.npci.gateway.archive.TransactionArchiver;
+import com.npci.gateway.eventlog.EventLogMaintenance;
+import com.npci.gateway.outbox.OutboxRelay;
+import com.npci.gateway.partition.CrossNodePayments;
+import com.npci.gateway.risk.VelocityCounterStore;
+import com.npci.gateway.settlement.SettlementJob;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Beans that must start eagerly even under spring.main.lazy-initialization:
+     * their @Scheduled methods and snapshot restore only run once the bean exists.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                VelocityCounterStore.class, TransactionArchiver.class, SettlementJob.class,
+                OutboxRelay.class, EventLogMaintenance.class, CrossNodePayments.class);
+    }
+}
@@ -0,0 +1,24 @@
+package com.npci.gateway.controller;
+
+import com.npci.gateway.client.BankChannelStats;
+import com.npci.gateway.client.ResilientBankSwitchClient;
+import com.npci.gateway.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/switch")
+@RequiredArgsConstructor
+public class BankSwitchController {
+    
+    private final ResilientBankSwitchClient bankSwitchClient;
+    
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<List<BankChannelStats>>> getStats() {
+        return ResponseEntity.ok(
+            ApiResponse.success("Bank switch statistics retrieved", bankSwitchClient.stats())
+        );
+    }
+}
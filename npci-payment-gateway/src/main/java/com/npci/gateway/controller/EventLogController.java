@@ -0,0 +1,42 @@
+package com.npci.gateway.controller;
+
+import com.npci.gateway.dto.ApiResponse;
+import com.npci.gateway.dto.EventLogEntry;
+import com.npci.gateway.eventlog.EventLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@RestController
+@RequestMapping("/events")
+@RequiredArgsConstructor
+public class EventLogController {
+    
+    private static final int MAX_LIMIT = 1000;
+    
+    private final EventLog eventLog;
+    
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<EventLogEntry>>> read(
+            @RequestParam long offset,
+            @RequestParam(defaultValue = "100") int limit) {
+        List<EventLogEntry> entries = eventLog.read(offset, Math.max(1, Math.min(limit, MAX_LIMIT))).stream()
+                .map(record -> new EventLogEntry(record.getOffset(), record.getTimestamp(), record.getKey(),
+                        new String(record.getPayload(), StandardCharsets.UTF_8)))
+                .toList();
+        return ResponseEntity.ok(ApiResponse.success("Events retrieved successfully", entries));
+    }
+    
+    @GetMapping("/consumers/{consumer}")
+    public ResponseEntity<ApiResponse<Long>> committedOffset(@PathVariable String consumer) {
+        return ResponseEntity.ok(ApiResponse.success("Committed offset", eventLog.committedOffset(consumer)));
+    }
+    
+    @PostMapping("/consumers/{consumer}/commit")
+    public ResponseEntity<ApiResponse<Long>> commit(@PathVariable String consumer, @RequestParam long offset) {
+        eventLog.commit(consumer, offset);
+        return ResponseEntity.ok(ApiResponse.success("Offset committed", offset));
+    }
+}
@@ -3,6 +3,7 @@ package com.npci.gateway.controller;
 import com.npci.gateway.dto.ApiResponse;
 import com.npci.gateway.dto.ImpsTransferRequest;
 import com.npci.gateway.dto.TransactionResponse;
+import com.npci.gateway.rules.PaymentRules;
 import com.npci.gateway.service.ImpsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -22,9 +23,12 @@ public class ImpsController {
             @Valid @RequestBody ImpsTransferRequest request) {
         TransactionResponse response = impsService.initiateTransfer(request);
         
-        if ("SUCCESS".equals(response.getStatus())) {
+        if (PaymentRules.SUCCESS.equals(response.getStatus())) {
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("Transfer initiated successfully", response));
+        } else if (PaymentRules.PROCESSING.equals(response.getStatus())) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("Transfer accepted, credit pending on the payee's node", response));
         } else {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponse.error("Transfer failed: " + response.getFailureReason()));
@@ -0,0 +1,78 @@
+package com.npci.gateway.controller;
+
+import com.npci.gateway.dto.ApiResponse;
+import com.npci.gateway.partition.CreditInstruction;
+import com.npci.gateway.partition.CreditReceipt;
+import com.npci.gateway.partition.PartitionAuthenticationException;
+import com.npci.gateway.partition.PartitionClient;
+import com.npci.gateway.partition.PartitionMap;
+import com.npci.gateway.partition.PartitionProperties;
+import com.npci.gateway.partition.PartitionRouter;
+import com.npci.gateway.partition.RemoteAccount;
+import com.npci.gateway.partition.RemoteCreditLedger;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Node-to-node endpoints of a partitioned deployment. Registered only with
+ * {@code app.partition.enabled=true}; every call must carry the shared secret.
+ */
+@RestController
+@RequestMapping("/internal/partition")
+@ConditionalOnProperty(prefix = "app.partition", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class PartitionController {
+    
+    private final PartitionMap partitionMap;
+    private final RemoteCreditLedger remoteCreditLedger;
+    private final PartitionRouter partitionRouter;
+    private final PartitionProperties properties;
+    
+    @GetMapping("/owners/{accountNumber}")
+    public ResponseEntity<ApiResponse<String>> ownerOf(
+            @RequestHeader(value = PartitionClient.SECRET_HEADER, required = false) String secret,
+            @PathVariable String accountNumber) {
+        authenticate(secret);
+        return ResponseEntity.ok(ApiResponse.success("Owning node", partitionMap.ownerOf(accountNumber)));
+    }
+    
+    @GetMapping("/vpas/{vpa}")
+    public ResponseEntity<ApiResponse<RemoteAccount>> findVpa(
+            @RequestHeader(value = PartitionClient.SECRET_HEADER, required = false) String secret,
+            @PathVariable String vpa) {
+        authenticate(secret);
+        return partitionRouter.localVpa(vpa)
+                .map(account -> ResponseEntity.ok(ApiResponse.success("VPA held by this node", account)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("VPA not held by this node")));
+    }
+    
+    @PostMapping("/credits")
+    public ResponseEntity<ApiResponse<CreditReceipt>> credit(
+            @RequestHeader(value = PartitionClient.SECRET_HEADER, required = false) String secret,
+            @RequestBody CreditInstruction instruction) {
+        authenticate(secret);
+        return ResponseEntity.ok(ApiResponse.success("Credit processed", remoteCreditLedger.apply(instruction)));
+    }
+    
+    @PostMapping("/credits/{transactionId}/cancel")
+    public ResponseEntity<ApiResponse<CreditReceipt>> cancel(
+            @RequestHeader(value = PartitionClient.SECRET_HEADER, required = false) String secret,
+            @PathVariable String transactionId) {
+        authenticate(secret);
+        return ResponseEntity.ok(ApiResponse.success("Cancel processed", remoteCreditLedger.cancel(transactionId)));
+    }
+    
+    /** Constant-time comparison, so response timing does not leak the secret. */
+    private void authenticate(String secret) {
+        byte[] expected = properties.getSharedSecret().getBytes(StandardCharsets.UTF_8);
+        if (secret == null || !MessageDigest.isEqual(expected, secret.getBytes(StandardCharsets.UTF_8))) {
+            throw new PartitionAuthenticationException("Missing or wrong " + PartitionClient.SECRET_HEADER);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.npci.gateway.controller;
+
+import com.npci.gateway.dto.ApiResponse;
+import com.npci.gateway.settlement.SettlementJob;
+import com.npci.gateway.settlement.SettlementReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/settlement")
+@RequiredArgsConstructor
+public class SettlementController {
+    
+    private final SettlementJob settlementJob;
+    
+    @PostMapping("/run")
+    public ResponseEntity<ApiResponse<SettlementReport>> run(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        SettlementReport report = settlementJob.run(date);
+        return ResponseEntity.ok(ApiResponse.success("Settlement completed", report));
+    }
+}
@@ -3,6 +3,7 @@ package com.npci.gateway.controller;
 import com.npci.gateway.dto.ApiResponse;
 import com.npci.gateway.dto.TransactionResponse;
 import com.npci.gateway.dto.UpiPaymentRequest;
+import com.npci.gateway.rules.PaymentRules;
 import com.npci.gateway.service.UpiService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -32,9 +33,13 @@ public class UpiController {
             @Valid @RequestBody UpiPaymentRequest request) {
         TransactionResponse response = upiService.initiatePayment(request);
         
-        if ("SUCCESS".equals(response.getStatus())) {
+        if (PaymentRules.SUCCESS.equals(response.getStatus())) {
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("Payment initiated successfully", response));
+        } else if (PaymentRules.PROCESSING.equals(response.getStatus())) {
+            // payee held by another partition node; poll /transactions/{id} for the outcome
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("Payment accepted, credit pending on the payee's node", response));
         } else {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponse.error("Payment failed: " + response.getFailureReason()));
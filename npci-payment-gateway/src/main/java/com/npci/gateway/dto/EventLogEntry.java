@@ -0,0 +1,18 @@
+package com.npci.gateway.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventLogEntry {
+    private long offset;
+    private long timestamp;
+    private String key;
+    
+    @JsonRawValue
+    private String event;
+}
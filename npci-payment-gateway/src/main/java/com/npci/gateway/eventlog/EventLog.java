@@ -0,0 +1,282 @@
+package com.npci.gateway.eventlog;
+
+import lombok.extern.slf4j.Slf4j;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, segmented event log on local disk. Records get consecutive
+ * offsets; consumers read from any offset and commit how far they have got
+ * under a name of their choosing.
+ *
+ * <p>Sealed segments are removed by {@link #applyRetention} once they are old
+ * enough, and {@link #compact} keeps only the newest record per key in the
+ * segments every consumer has already committed past. Compaction leaves gaps
+ * in the offsets but never renumbers records.
+ */
+@Slf4j
+public class EventLog implements Closeable {
+
+    private static final String CONSUMERS_DIR = "consumers";
+    private static final String OFFSET_SUFFIX = ".offset";
+
+    private final Path dir;
+    private final Path consumersDir;
+    private final int segmentBytes;
+    private final Object lock = new Object();
+
+    /** Sorted by base offset; the last one is the active segment. Replaced, never mutated. */
+    private volatile List<LogSegment> segments;
+
+    public EventLog(Path dir, int segmentBytes) throws IOException {
+        if (segmentBytes < LogSegment.HEADER_BYTES * 2) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentBytes);
+        }
+        this.dir = dir;
+        this.consumersDir = dir.resolve(CONSUMERS_DIR);
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(consumersDir);
+        this.segments = openSegments();
+        log.info("Event log opened at {}: {} segments, offsets [{}, {})",
+                dir, segments.size(), startOffset(), endOffset());
+    }
+
+    /** Appends a record and returns its offset. Durable only after {@link #flush()}. */
+    public long append(String key, byte[] payload, long timestamp) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Key too long: " + keyBytes.length + " bytes");
+        }
+        if (LogSegment.HEADER_BYTES + keyBytes.length + payload.length > segmentBytes) {
+            throw new IllegalArgumentException("Record larger than a segment: " + payload.length + " bytes");
+        }
+        synchronized (lock) {
+            LogSegment active = active();
+            long offset = active.nextOffset();
+            if (!active.tryAppend(offset, timestamp, keyBytes, payload)) {
+                active = roll(active);
+                active.tryAppend(offset, timestamp, keyBytes, payload);
+            }
+            return offset;
+        }
+    }
+
+    public void flush() {
+        active().force();
+    }
+
+    /** Up to {@code maxRecords} records with offset at or after {@code fromOffset}. */
+    public List<LogRecord> read(long fromOffset, int maxRecords) {
+        List<LogRecord> records = new ArrayList<>(Math.min(maxRecords, 1024));
+        List<LogSegment> snapshot = segments;
+        for (int i = floorSegment(snapshot, fromOffset); i < snapshot.size() && records.size() < maxRecords; i++) {
+            snapshot.get(i).read(fromOffset, maxRecords, records);
+        }
+        return records;
+    }
+
+    /** Offset of the oldest record still retained. */
+    public long startOffset() {
+        return segments.get(0).baseOffset;
+    }
+
+    /** Offset the next appended record will get. */
+    public long endOffset() {
+        return active().nextOffset();
+    }
+
+    /** Records that {@code consumer} has processed everything before {@code nextOffset}. */
+    public void commit(String consumer, long nextOffset) {
+        Path file = consumerFile(consumer);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.writeString(temp, Long.toString(nextOffset));
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Where {@code consumer} should resume, or the start of the log if it never committed. */
+    public long committedOffset(String consumer) {
+        Path file = consumerFile(consumer);
+        try {
+            return Files.exists(file) ? Long.parseLong(Files.readString(file).trim()) : startOffset();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Deletes sealed segments whose newest record is older than {@code cutoffMillis}. */
+    public int applyRetention(long cutoffMillis) {
+        synchronized (lock) {
+            List<LogSegment> current = segments;
+            List<LogSegment> kept = new ArrayList<>();
+            int deleted = 0;
+            for (int i = 0; i < current.size(); i++) {
+                LogSegment segment = current.get(i);
+                boolean sealed = i < current.size() - 1;
+                if (sealed && deleted == i && segment.lastTimestamp() < cutoffMillis) {
+                    segment.delete();
+                    deleted++;
+                } else {
+                    kept.add(segment);
+                }
+            }
+            segments = List.copyOf(kept);
+            return deleted;
+        }
+    }
+
+    /**
+     * Rewrites the sealed segments below the lowest committed consumer offset,
+     * keeping only the newest record for each key. Does nothing while no
+     * consumer has committed.
+     */
+    public int compact() {
+        OptionalLong acknowledged = lowestCommittedOffset();
+        if (acknowledged.isEmpty()) {
+            return 0;
+        }
+        synchronized (lock) {
+            List<LogSegment> current = segments;
+            List<LogSegment> eligible = new ArrayList<>();
+            for (int i = 0; i < current.size() - 1; i++) {
+                if (current.get(i + 1).baseOffset <= acknowledged.getAsLong()) {
+                    eligible.add(current.get(i));
+                }
+            }
+
+            // first pass only remembers the newest offset per key, so one segment is in memory at a time
+            Map<String, Long> newest = new HashMap<>();
+            for (LogSegment segment : eligible) {
+                readAll(segment).forEach(record -> newest.put(record.getKey(), record.getOffset()));
+            }
+
+            List<LogSegment> replaced = new ArrayList<>(current);
+            int compacted = 0;
+            try {
+                for (LogSegment segment : eligible) {
+                    List<LogRecord> records = readAll(segment);
+                    List<LogRecord> survivors = records.stream()
+                            .filter(record -> newest.get(record.getKey()) == record.getOffset())
+                            .toList();
+                    if (survivors.size() == records.size()) {
+                        continue;
+                    }
+                    int index = replaced.indexOf(segment);
+                    if (survivors.isEmpty() && index > 0) {
+                        segment.delete();
+                        replaced.remove(index);
+                    } else {
+                        replaced.set(index, LogSegment.rewrite(dir, segment.baseOffset, survivors));
+                    }
+                    compacted++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                segments = List.copyOf(replaced);
+            }
+            return compacted;
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            active().force();
+        }
+    }
+
+    private static List<LogRecord> readAll(LogSegment segment) {
+        List<LogRecord> records = new ArrayList<>();
+        segment.read(segment.baseOffset, Integer.MAX_VALUE, records);
+        return records;
+    }
+
+    private LogSegment active() {
+        List<LogSegment> snapshot = segments;
+        return snapshot.get(snapshot.size() - 1);
+    }
+
+    private LogSegment roll(LogSegment active) {
+        active.seal();
+        try {
+            LogSegment next = LogSegment.create(dir, active.nextOffset(), segmentBytes);
+            List<LogSegment> rolled = new ArrayList<>(segments);
+            rolled.add(next);
+            segments = List.copyOf(rolled);
+            return next;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<LogSegment> openSegments() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(dir)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(LogSegment.SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        List<LogSegment> opened = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            opened.add(LogSegment.open(files.get(i), i == files.size() - 1, segmentBytes));
+        }
+        if (opened.isEmpty()) {
+            opened.add(LogSegment.create(dir, 0, segmentBytes));
+        }
+        return List.copyOf(opened);
+    }
+
+    private OptionalLong lowestCommittedOffset() {
+        try (Stream<Path> listing = Files.list(consumersDir)) {
+            return listing.filter(path -> path.getFileName().toString().endsWith(OFFSET_SUFFIX))
+                    .mapToLong(path -> {
+                        try {
+                            return Long.parseLong(Files.readString(path).trim());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .min();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path consumerFile(String consumer) {
+        if (!consumer.matches("[A-Za-z0-9._-]+")) {
+            throw new IllegalArgumentException("Invalid consumer name: " + consumer);
+        }
+        return consumersDir.resolve(consumer + OFFSET_SUFFIX);
+    }
+
+    private static int floorSegment(List<LogSegment> snapshot, long offset) {
+        int low = 0;
+        int high = snapshot.size() - 1;
+        int found = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (snapshot.get(mid).baseOffset <= offset) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+}
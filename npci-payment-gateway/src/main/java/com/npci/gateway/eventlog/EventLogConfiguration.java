@@ -0,0 +1,15 @@
+package com.npci.gateway.eventlog;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class EventLogConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public EventLog eventLog(EventLogProperties properties) throws IOException {
+        return new EventLog(Path.of(properties.getDir()), properties.getSegmentBytes());
+    }
+}
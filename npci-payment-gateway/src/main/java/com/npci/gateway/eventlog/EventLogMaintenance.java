@@ -0,0 +1,26 @@
+package com.npci.gateway.eventlog;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventLogMaintenance {
+
+    private final EventLog eventLog;
+    private final EventLogProperties properties;
+
+    @Scheduled(cron = "${app.event-log.maintenance-cron:0 */10 * * * *}")
+    public void maintain() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(properties.getRetentionHours());
+        int deleted = eventLog.applyRetention(cutoff);
+        int compacted = eventLog.compact();
+        if (deleted > 0 || compacted > 0) {
+            log.info("Event log maintenance: {} segments past retention deleted, {} compacted", deleted, compacted);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.npci.gateway.eventlog;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.event-log")
+@Data
+public class EventLogProperties {
+
+    private String dir = "data/event-log";
+
+    /** Size of each memory-mapped segment file. */
+    private int segmentBytes = 64 * 1024 * 1024;
+
+    /** Sealed segments whose newest record is older than this are deleted. */
+    private long retentionHours = 72;
+
+    /** Retention and compaction run on this cron; "-" disables both. */
+    private String maintenanceCron = "0 */10 * * * *";
+}
@@ -0,0 +1,11 @@
+package com.npci.gateway.eventlog;
+
+import lombok.Value;
+
+@Value
+public class LogRecord {
+    long offset;
+    long timestamp;
+    String key;
+    byte[] payload;
+}
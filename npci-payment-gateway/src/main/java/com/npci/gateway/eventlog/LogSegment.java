@@ -0,0 +1,272 @@
+package com.npci.gateway.eventlog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * One memory-mapped file of the event log, named after the offset of its first
+ * record. Record layout:
+ * <pre>
+ *   int   length (whole record, including this field)
+ *   long  offset
+ *   long  timestamp
+ *   int   crc32 of key and payload
+ *   short key length
+ *   key bytes, payload bytes
+ * </pre>
+ * A zero length, a failed checksum or a non-increasing offset marks the end
+ * of valid data, which is how a torn tail is detected on restart.
+ *
+ * <p>One thread appends; readers work on duplicates of the mapping and never
+ * look past the published {@link #size}.
+ */
+final class LogSegment {
+
+    static final String SUFFIX = ".log";
+    static final int HEADER_BYTES = 4 + 8 + 8 + 4 + 2;
+    private static final int INDEX_INTERVAL_BYTES = 4096;
+
+    final long baseOffset;
+    final Path path;
+    private final MappedByteBuffer buffer;
+    private volatile boolean writable;
+    private volatile int size;
+    private volatile long nextOffset;
+    private volatile long lastTimestamp;
+
+    private long[] indexOffsets = new long[64];
+    private int[] indexPositions = new int[64];
+    private int indexEntries;
+    private int lastIndexedPosition = -INDEX_INTERVAL_BYTES;
+
+    private LogSegment(long baseOffset, Path path, MappedByteBuffer buffer, boolean writable) {
+        this.baseOffset = baseOffset;
+        this.path = path;
+        this.buffer = buffer;
+        this.writable = writable;
+        this.nextOffset = baseOffset;
+    }
+
+    static Path pathFor(Path dir, long baseOffset) {
+        return dir.resolve(String.format("%020d%s", baseOffset, SUFFIX));
+    }
+
+    static long baseOffsetOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    static LogSegment create(Path dir, long baseOffset, int capacity) throws IOException {
+        Path path = pathFor(dir, baseOffset);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new LogSegment(baseOffset, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity), true);
+        }
+    }
+
+    /** Maps an existing file and scans it to rebuild the index and find the end of valid data. */
+    static LogSegment open(Path path, boolean active, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long length = active ? Math.max(capacity, channel.size()) : channel.size();
+            MappedByteBuffer buffer = channel.map(
+                    active ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, length);
+            LogSegment segment = new LogSegment(baseOffsetOf(path), path, buffer, active);
+            segment.recover();
+            return segment;
+        }
+    }
+
+    /** Writes a read-only segment holding only the given records, replacing the file atomically. */
+    static LogSegment rewrite(Path dir, long baseOffset, List<LogRecord> records) throws IOException {
+        Path path = pathFor(dir, baseOffset);
+        Path temp = path.resolveSibling(path.getFileName() + ".compacting");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (LogRecord record : records) {
+                byte[] key = record.getKey().getBytes(StandardCharsets.UTF_8);
+                ByteBuffer encoded = ByteBuffer.allocate(HEADER_BYTES + key.length + record.getPayload().length);
+                encode(encoded, record.getOffset(), record.getTimestamp(), key, record.getPayload());
+                encoded.flip();
+                while (encoded.hasRemaining()) {
+                    channel.write(encoded);
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return open(path, false, 0);
+    }
+
+    /**
+     * Appends one record, or returns false when it does not fit and the log
+     * should roll to a new segment.
+     */
+    synchronized boolean tryAppend(long offset, long timestamp, byte[] key, byte[] payload) {
+        int length = HEADER_BYTES + key.length + payload.length;
+        int position = size;
+        if (!writable || position + length > buffer.capacity()) {
+            return false;
+        }
+        ByteBuffer target = buffer.duplicate();
+        target.position(position);
+        encode(target, offset, timestamp, key, payload);
+        index(offset, position);
+        nextOffset = offset + 1;
+        lastTimestamp = timestamp;
+        size = position + length;
+        return true;
+    }
+
+    /** Adds records with offset at or after {@code fromOffset} until {@code out} holds {@code limit} records. */
+    void read(long fromOffset, int limit, List<LogRecord> out) {
+        ByteBuffer view = buffer.duplicate();
+        int end = size;
+        int position = floorPosition(fromOffset);
+        while (out.size() < limit && position + HEADER_BYTES <= end) {
+            int length = view.getInt(position);
+            long offset = view.getLong(position + 4);
+            if (offset >= fromOffset) {
+                out.add(decode(view, position, length));
+            }
+            position += length;
+        }
+    }
+
+    void force() {
+        if (writable) {
+            buffer.force();
+        }
+    }
+
+    void seal() {
+        force();
+        writable = false;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long nextOffset() {
+        return nextOffset;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void recover() {
+        ByteBuffer view = buffer.duplicate();
+        int limit = view.capacity();
+        int position = 0;
+        long previousOffset = -1;
+        while (position + HEADER_BYTES <= limit) {
+            int length = view.getInt(position);
+            if (length < HEADER_BYTES || position + length > limit) {
+                break;
+            }
+            long offset = view.getLong(position + 4);
+            if (offset <= previousOffset || offset < baseOffset || !checksumMatches(view, position, length)) {
+                break;
+            }
+            index(offset, position);
+            previousOffset = offset;
+            nextOffset = offset + 1;
+            lastTimestamp = view.getLong(position + 12);
+            position += length;
+        }
+        size = position;
+        if (writable && position + 4 <= limit && view.getInt(position) != 0) {
+            // torn tail from a crash: clear it so later appends can't be followed by stale bytes
+            byte[] zeros = new byte[Math.min(1 << 16, limit - position)];
+            view.position(position);
+            while (view.hasRemaining()) {
+                view.put(zeros, 0, Math.min(zeros.length, view.remaining()));
+            }
+        }
+    }
+
+    private synchronized void index(long offset, int position) {
+        if (position - lastIndexedPosition < INDEX_INTERVAL_BYTES) {
+            return;
+        }
+        if (indexEntries == indexOffsets.length) {
+            indexOffsets = Arrays.copyOf(indexOffsets, indexEntries * 2);
+            indexPositions = Arrays.copyOf(indexPositions, indexEntries * 2);
+        }
+        indexOffsets[indexEntries] = offset;
+        indexPositions[indexEntries] = position;
+        indexEntries++;
+        lastIndexedPosition = position;
+    }
+
+    private synchronized int floorPosition(long offset) {
+        int low = 0;
+        int high = indexEntries - 1;
+        int position = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (indexOffsets[mid] <= offset) {
+                position = indexPositions[mid];
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return position;
+    }
+
+    private static void encode(ByteBuffer target, long offset, long timestamp, byte[] key, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(key);
+        crc.update(payload);
+        target.putInt(HEADER_BYTES + key.length + payload.length)
+                .putLong(offset)
+                .putLong(timestamp)
+                .putInt((int) crc.getValue())
+                .putShort((short) key.length)
+                .put(key)
+                .put(payload);
+    }
+
+    private static LogRecord decode(ByteBuffer view, int position, int length) {
+        int keyLength = Short.toUnsignedInt(view.getShort(position + 24));
+        byte[] key = new byte[keyLength];
+        byte[] payload = new byte[length - HEADER_BYTES - keyLength];
+        view.get(position + HEADER_BYTES, key);
+        view.get(position + HEADER_BYTES + keyLength, payload);
+        return new LogRecord(view.getLong(position + 4), view.getLong(position + 12),
+                new String(key, StandardCharsets.UTF_8), payload);
+    }
+
+    private static boolean checksumMatches(ByteBuffer view, int position, int length) {
+        int keyLength = Short.toUnsignedInt(view.getShort(position + 24));
+        if (HEADER_BYTES + keyLength > length) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        ByteBuffer body = view.duplicate();
+        body.position(position + HEADER_BYTES).limit(position + length);
+        crc.update(body);
+        return (int) crc.getValue() == view.getInt(position + 20);
+    }
+}
@@ -1,7 +1,15 @@
 package com.npci.gateway.exception;
 
-public class AccountNotFoundException extends RuntimeException {
+public class AccountNotFoundException extends BusinessDeclineException {
     public AccountNotFoundException(String message) {
         super(message);
     }
+    
+    private AccountNotFoundException(String template, Object... args) {
+        super(template, args);
+    }
+    
+    public static AccountNotFoundException forAccount(String accountNumber) {
+        return new AccountNotFoundException("Account not found: %s", accountNumber);
+    }
 }
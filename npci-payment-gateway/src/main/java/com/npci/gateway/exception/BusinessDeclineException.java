@@ -0,0 +1,32 @@
+package com.npci.gateway.exception;
+
+/**
+ * Base for expected payment declines (insufficient balance, unknown VPA,
+ * unknown account, velocity breach). These are normal outcomes at UPI volumes,
+ * so they skip stack trace capture and only format their message if something
+ * reads it. Real faults should keep using ordinary exceptions.
+ */
+public abstract class BusinessDeclineException extends RuntimeException {
+    
+    private final String template;
+    private final Object[] args;
+    private String message;
+    
+    protected BusinessDeclineException(String message) {
+        this("%s", message);
+    }
+    
+    protected BusinessDeclineException(String template, Object... args) {
+        super(null, null, false, false);
+        this.template = template;
+        this.args = args;
+    }
+    
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = String.format(template, args);
+        }
+        return message;
+    }
+}
@@ -1,5 +1,6 @@
 package com.npci.gateway.exception;
 
+import com.npci.gateway.client.BankSwitchException;
 import com.npci.gateway.dto.ApiResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -34,6 +35,17 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage()));
     }
     
+    @ExceptionHandler(BankSwitchException.class)
+    public ResponseEntity<ApiResponse<Void>> handleBankSwitch(BankSwitchException ex) {
+        HttpStatus status = switch (ex.getReason()) {
+            case TIMEOUT -> HttpStatus.GATEWAY_TIMEOUT;
+            case ERROR -> HttpStatus.BAD_GATEWAY;
+            default -> HttpStatus.SERVICE_UNAVAILABLE;
+        };
+        return ResponseEntity.status(status)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Void>> handleValidationException(MethodArgumentNotValidException ex) {
         String message = ex.getBindingResult().getAllErrors().get(0).getDefaultMessage();
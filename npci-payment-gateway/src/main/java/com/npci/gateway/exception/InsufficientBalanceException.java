@@ -1,7 +1,15 @@
 package com.npci.gateway.exception;
 
-public class InsufficientBalanceException extends RuntimeException {
+public class InsufficientBalanceException extends BusinessDeclineException {
     public InsufficientBalanceException(String message) {
         super(message);
     }
+    
+    private InsufficientBalanceException(String template, Object... args) {
+        super(template, args);
+    }
+    
+    public static InsufficientBalanceException forAccount(String accountNumber) {
+        return new InsufficientBalanceException("Insufficient balance in account: %s", accountNumber);
+    }
 }
@@ -1,7 +1,19 @@
 package com.npci.gateway.exception;
 
-public class InvalidUpiIdException extends RuntimeException {
+public class InvalidUpiIdException extends BusinessDeclineException {
     public InvalidUpiIdException(String message) {
         super(message);
     }
+    
+    private InvalidUpiIdException(String template, Object... args) {
+        super(template, args);
+    }
+    
+    public static InvalidUpiIdException sender(String upiId) {
+        return new InvalidUpiIdException("Invalid sender UPI ID: %s", upiId);
+    }
+    
+    public static InvalidUpiIdException receiver(String upiId) {
+        return new InvalidUpiIdException("Invalid receiver UPI ID: %s", upiId);
+    }
 }
@@ -0,0 +1,7 @@
+package com.npci.gateway.exception;
+
+public class VelocityLimitExceededException extends BusinessDeclineException {
+    public VelocityLimitExceededException(String message) {
+        super(message);
+    }
+}
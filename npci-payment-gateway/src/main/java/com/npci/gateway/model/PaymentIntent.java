@@ -0,0 +1,74 @@
+package com.npci.gateway.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Payer-side record of a payment whose payee lives on another partition node.
+ * Written in the same transaction as the payer's debit, so a debited payer
+ * always has an intent that ends either credited or refunded.
+ */
+@Entity
+@Table(name = "payment_intents", indexes = {
+        @Index(name = "idx_payment_intents_state_next_attempt", columnList = "state, nextAttemptAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentIntent {
+    
+    public static final String PENDING_CREDIT = "PENDING_CREDIT";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String COMPENSATED = "COMPENSATED";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(unique = true, nullable = false)
+    private String transactionId;
+    
+    @Column(nullable = false)
+    private String fromAccount;
+    
+    @Column(nullable = false)
+    private String toAccount;
+    
+    @Column(nullable = false)
+    private String toNode;
+    
+    @Column(nullable = false)
+    private BigDecimal amount;
+    
+    @Column(nullable = false)
+    private String state;
+    
+    @Column(nullable = false)
+    private int attempts;
+    
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    private String lastError;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
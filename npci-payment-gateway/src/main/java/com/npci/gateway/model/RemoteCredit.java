@@ -0,0 +1,49 @@
+package com.npci.gateway.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Payee-side outcome of a credit requested by another partition node, keyed
+ * by transaction id. Retried requests find the recorded outcome instead of
+ * crediting twice, and a cancelled credit can never be applied afterwards.
+ */
+@Entity
+@Table(name = "remote_credits")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RemoteCredit {
+    
+    public static final String APPLIED = "APPLIED";
+    public static final String CANCELLED = "CANCELLED";
+    public static final String REJECTED = "REJECTED";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(unique = true, nullable = false)
+    private String transactionId;
+    
+    private String accountNumber;
+    
+    private BigDecimal amount;
+    
+    @Column(nullable = false)
+    private String status;
+    
+    private String reason;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
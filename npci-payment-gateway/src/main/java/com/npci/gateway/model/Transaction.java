@@ -1,5 +1,6 @@
 package com.npci.gateway.model;
 
+import com.npci.gateway.rules.PaymentRules;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,7 +9,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_created_at", columnList = "createdAt"),
+        @Index(name = "idx_transactions_partition_day", columnList = "partitionDay")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,10 +32,13 @@ public class Transaction {
     @JoinColumn(name = "from_account_id", nullable = false)
     private Account fromAccount;
     
+    /** Null when the payee is held by another partition node; see {@link #remoteToAccount}. */
     @ManyToOne
-    @JoinColumn(name = "to_account_id", nullable = false)
+    @JoinColumn(name = "to_account_id")
     private Account toAccount;
     
+    private String remoteToAccount;
+    
     @Column(nullable = false)
     private BigDecimal amount;
     
@@ -48,10 +55,19 @@ public class Transaction {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
     
+    /** Daily partition key (yyyyMMdd); whole partitions are archived together. */
+    @Column(nullable = false)
+    private Integer partitionDay;
+    
+    public String toAccountNumber() {
+        return toAccount != null ? toAccount.getAccountNumber() : remoteToAccount;
+    }
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        partitionDay = PaymentRules.partitionDay(createdAt);
     }
     
     @PreUpdate
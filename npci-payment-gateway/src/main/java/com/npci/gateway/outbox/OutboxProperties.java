@@ -0,0 +1,18 @@
+package com.npci.gateway.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.outbox")
+@Data
+public class OutboxProperties {
+
+    /** When false the relay stops; events keep accumulating in the outbox table. */
+    private boolean relayEnabled = true;
+
+    private int batchSize = 500;
+
+    private long pollIntervalMs = 200;
+}
@@ -0,0 +1,75 @@
+package com.npci.gateway.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.npci.gateway.eventlog.EventLog;
+import com.npci.gateway.model.OutboxEvent;
+import com.npci.gateway.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Tails the outbox in id order and moves each batch into the {@link EventLog}.
+ * Rows are deleted only after the batch has been flushed to disk, so a crash
+ * can re-append a batch but never lose one. Consumers de-duplicate on
+ * {@code eventId}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventLog eventLog;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:200}")
+    public void relay() {
+        if (!properties.isRelayEnabled()) {
+            return;
+        }
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == properties.getBatchSize());
+    }
+
+    public int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.findAllByOrderByIdAsc(
+                PageRequest.of(0, properties.getBatchSize()));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        for (OutboxEvent event : batch) {
+            eventLog.append(event.getAggregateId(), envelope(event),
+                    event.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        eventLog.flush();
+        transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).toList()));
+        log.debug("Relayed {} outbox events, log end offset {}", batch.size(), eventLog.endOffset());
+        return batch.size();
+    }
+
+    private byte[] envelope(OutboxEvent event) {
+        ObjectNode envelope = objectMapper.createObjectNode()
+                .put("eventId", event.getId())
+                .put("eventType", event.getEventType());
+        envelope.putRawValue("payload", new RawValue(event.getPayload()));
+        try {
+            return objectMapper.writeValueAsBytes(envelope);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode outbox event " + event.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.npci.gateway.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.npci.gateway.dto.TransactionResponse;
+import com.npci.gateway.model.OutboxEvent;
+import com.npci.gateway.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Adds a payment event to the outbox. Must run inside the payment's own
+ * transaction, so the event exists if and only if the payment outcome does.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void paymentCompleted(TransactionResponse payment) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateId(payment.getTransactionId());
+        event.setEventType("PAYMENT_" + payment.getStatus());
+        try {
+            event.setPayload(objectMapper.writeValueAsString(payment));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize payment event " + payment.getTransactionId(), e);
+        }
+        outboxEventRepository.save(event);
+    }
+}
@@ -0,0 +1,16 @@
+package com.npci.gateway.partition;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditInstruction {
+    private String transactionId;
+    private String fromNode;
+    private String accountNumber;
+    private BigDecimal amount;
+}
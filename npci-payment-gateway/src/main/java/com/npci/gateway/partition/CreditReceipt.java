@@ -0,0 +1,15 @@
+package com.npci.gateway.partition;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Final outcome of a credit on the payee's node: APPLIED, CANCELLED or REJECTED. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditReceipt {
+    private String transactionId;
+    private String status;
+    private String reason;
+}
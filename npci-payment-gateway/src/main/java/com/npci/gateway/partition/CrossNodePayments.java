@@ -0,0 +1,207 @@
+package com.npci.gateway.partition;
+
+import com.npci.gateway.dto.TransactionResponse;
+import com.npci.gateway.model.PaymentIntent;
+import com.npci.gateway.model.RemoteCredit;
+import com.npci.gateway.model.Transaction;
+import com.npci.gateway.outbox.OutboxWriter;
+import com.npci.gateway.repository.PaymentIntentRepository;
+import com.npci.gateway.repository.TransactionRepository;
+import com.npci.gateway.rules.PaymentRules;
+import com.npci.gateway.service.AccountService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Payer side of a payment whose payee is held by another node, run as two
+ * local steps linked by a durable {@link PaymentIntent}:
+ * <ol>
+ *   <li>debit the payer and record the intent, in the payment's transaction;</li>
+ *   <li>once that commits, ask the payee's node to credit, idempotently by
+ *       transaction id, and mark the payment SUCCESS.</li>
+ * </ol>
+ * Unanswered credits are retried with backoff by {@link #recover()}, also after
+ * a restart. After {@code max-attempts} the payee's node is asked to cancel
+ * instead. The payer is refunded only if that node confirms the credit was never applied.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CrossNodePayments {
+
+    private final PaymentIntentRepository intentRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountService accountService;
+    private final OutboxWriter outboxWriter;
+    private final PartitionClient partitionClient;
+    private final PartitionMap partitionMap;
+    private final PartitionProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService dispatcher = Executors.newFixedThreadPool(4, runnable -> {
+        Thread thread = new Thread(runnable, "cross-node-credit");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Records the pending credit in the caller's transaction; the credit is sent after that commits. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void begin(Transaction transaction, RemoteAccount payee) {
+        PaymentIntent intent = new PaymentIntent();
+        intent.setTransactionId(transaction.getTransactionId());
+        intent.setFromAccount(transaction.getFromAccount().getAccountNumber());
+        intent.setToAccount(payee.getAccountNumber());
+        intent.setToNode(payee.getNode());
+        intent.setAmount(transaction.getAmount());
+        intent.setState(PaymentIntent.PENDING_CREDIT);
+        // recovery leaves it alone while the after-commit dispatch is in flight
+        intent.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(properties.getRequestTimeoutMs() * 2)));
+        intentRepository.save(intent);
+
+        String transactionId = transaction.getTransactionId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    dispatcher.execute(() -> dispatch(transactionId));
+                } catch (RejectedExecutionException e) {
+                    log.debug("Credit for {} left to recovery: {}", transactionId, e.getMessage());
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.partition.recovery.interval-ms:5000}")
+    public void recover() {
+        if (!partitionMap.isEnabled()) {
+            return;
+        }
+        List<PaymentIntent> due = intentRepository.findByStateAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                PaymentIntent.PENDING_CREDIT, LocalDateTime.now(),
+                PageRequest.of(0, properties.getRecovery().getBatchSize()));
+        for (PaymentIntent intent : due) {
+            dispatch(intent.getTransactionId());
+        }
+        if (!due.isEmpty()) {
+            log.info("Retried {} pending cross-node credits", due.size());
+        }
+    }
+
+    void dispatch(String transactionId) {
+        PaymentIntent intent = intentRepository.findByTransactionId(transactionId).orElse(null);
+        if (intent == null || !PaymentIntent.PENDING_CREDIT.equals(intent.getState())) {
+            return;
+        }
+        boolean cancel = intent.getAttempts() >= properties.getRecovery().getMaxAttempts();
+        CreditReceipt receipt;
+        try {
+            receipt = cancel
+                    ? partitionClient.cancelCredit(intent.getToNode(), transactionId)
+                    : partitionClient.credit(intent.getToNode(), new CreditInstruction(transactionId,
+                            partitionMap.localNode(), intent.getToAccount(), intent.getAmount()));
+        } catch (RuntimeException e) {
+            retryLater(transactionId, e.getMessage());
+            return;
+        }
+        if (RemoteCredit.APPLIED.equals(receipt.getStatus())) {
+            complete(transactionId);
+        } else {
+            compensate(transactionId, receipt);
+        }
+    }
+
+    private void complete(String transactionId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            PaymentIntent intent = lockPending(transactionId);
+            if (intent == null) {
+                return;
+            }
+            intent.setState(PaymentIntent.COMPLETED);
+            Transaction transaction = finish(transactionId, PaymentRules.SUCCESS, null);
+            log.info("Cross-node payment {} credited on node {}", transactionId, intent.getToNode());
+            outboxWriter.paymentCompleted(toResponse(transaction));
+        });
+    }
+
+    private void compensate(String transactionId, CreditReceipt receipt) {
+        transactionTemplate.executeWithoutResult(status -> {
+            PaymentIntent intent = lockPending(transactionId);
+            if (intent == null) {
+                return;
+            }
+            accountService.creditAccount(intent.getFromAccount(), intent.getAmount());
+            intent.setState(PaymentIntent.COMPENSATED);
+            intent.setLastError(receipt.getReason());
+            Transaction transaction = finish(transactionId, PaymentRules.FAILED,
+                    "Credit on node " + intent.getToNode() + " " + receipt.getStatus().toLowerCase()
+                            + (receipt.getReason() != null ? ": " + receipt.getReason() : ""));
+            log.warn("Cross-node payment {} refunded to {}: credit {}", transactionId,
+                    intent.getFromAccount(), receipt.getStatus());
+            outboxWriter.paymentCompleted(toResponse(transaction));
+        });
+    }
+
+    private void retryLater(String transactionId, String error) {
+        transactionTemplate.executeWithoutResult(status -> {
+            PaymentIntent intent = lockPending(transactionId);
+            if (intent == null) {
+                return;
+            }
+            intent.setAttempts(intent.getAttempts() + 1);
+            intent.setLastError(error);
+            PartitionProperties.Recovery recovery = properties.getRecovery();
+            long backoff = Math.min(recovery.getMaxBackoffMs(),
+                    recovery.getBackoffMs() << Math.min(intent.getAttempts() - 1, 20));
+            intent.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoff)));
+            log.warn("Credit for {} on node {} failed (attempt {}), retrying in {}ms: {}",
+                    transactionId, intent.getToNode(), intent.getAttempts(), backoff, error);
+        });
+    }
+
+    private PaymentIntent lockPending(String transactionId) {
+        return intentRepository.lockByTransactionId(transactionId)
+                .filter(intent -> PaymentIntent.PENDING_CREDIT.equals(intent.getState()))
+                .orElse(null);
+    }
+
+    private Transaction finish(String transactionId, String status, String failureReason) {
+        Transaction transaction = transactionRepository.findByTransactionId(transactionId)
+                .orElseThrow(() -> new IllegalStateException("Intent without transaction: " + transactionId));
+        transaction.setStatus(status);
+        transaction.setFailureReason(failureReason);
+        return transactionRepository.save(transaction);
+    }
+
+    private TransactionResponse toResponse(Transaction transaction) {
+        return TransactionResponse.builder()
+                .transactionId(transaction.getTransactionId())
+                .transactionType(transaction.getTransactionType())
+                .amount(transaction.getAmount())
+                .status(transaction.getStatus())
+                .fromAccount(transaction.getFromAccount().getAccountNumber())
+                .toAccount(transaction.toAccountNumber())
+                .remarks(transaction.getRemarks())
+                .failureReason(transaction.getFailureReason())
+                .timestamp(transaction.getCreatedAt())
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdown();
+    }
+}
@@ -0,0 +1,9 @@
+package com.npci.gateway.partition;
+
+/** A node-to-node call without the shared secret, or from a node outside the partition map. */
+public class PartitionAuthenticationException extends RuntimeException {
+
+    public PartitionAuthenticationException(String message) {
+        super(message);
+    }
+}
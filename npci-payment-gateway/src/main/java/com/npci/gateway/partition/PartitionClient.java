@@ -0,0 +1,90 @@
+package com.npci.gateway.partition;
+
+import com.npci.gateway.dto.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import java.util.Optional;
+
+/** Calls the internal endpoints of other partition nodes. */
+@Component
+@Slf4j
+public class PartitionClient {
+
+    /** Carries {@code app.partition.shared-secret} on every node-to-node call. */
+    public static final String SECRET_HEADER = "X-Partition-Secret";
+
+    private static final ParameterizedTypeReference<ApiResponse<RemoteAccount>> ACCOUNT =
+            new ParameterizedTypeReference<>() { };
+    private static final ParameterizedTypeReference<ApiResponse<CreditReceipt>> RECEIPT =
+            new ParameterizedTypeReference<>() { };
+
+    private final PartitionMap partitionMap;
+    private final RestClient restClient;
+
+    public PartitionClient(PartitionMap partitionMap, PartitionProperties properties, RestClient.Builder builder) {
+        this.partitionMap = partitionMap;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout((int) properties.getRequestTimeoutMs());
+        requestFactory.setReadTimeout((int) properties.getRequestTimeoutMs());
+        builder.requestFactory(requestFactory);
+        if (properties.getSharedSecret() != null) {
+            builder.defaultHeader(SECRET_HEADER, properties.getSharedSecret());
+        }
+        this.restClient = builder.build();
+    }
+
+    /**
+     * Asks each peer in turn. VPAs are not placed by the hash ring (only the
+     * accounts behind them are), so the owner is not known up front.
+     */
+    public Optional<RemoteAccount> findVpa(String vpa) {
+        for (String peer : partitionMap.peers()) {
+            try {
+                ApiResponse<RemoteAccount> response = restClient.get()
+                        .uri(partitionMap.baseUrlOf(peer) + "/internal/partition/vpas/{vpa}", vpa)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .retrieve()
+                        .onStatus(status -> status.value() == HttpStatus.NOT_FOUND.value(), (request, reply) -> { })
+                        .body(ACCOUNT);
+                if (response != null && response.isSuccess()) {
+                    return Optional.of(response.getData());
+                }
+            } catch (RestClientException e) {
+                log.warn("VPA lookup on partition node {} failed: {}", peer, e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Throws on any transport or server error; the caller retries with the same transaction id. */
+    public CreditReceipt credit(String node, CreditInstruction instruction) {
+        return receipt(restClient.post()
+                .uri(partitionMap.baseUrlOf(node) + "/internal/partition/credits")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(instruction)
+                .retrieve()
+                .body(RECEIPT), node);
+    }
+
+    public CreditReceipt cancelCredit(String node, String transactionId) {
+        return receipt(restClient.post()
+                .uri(partitionMap.baseUrlOf(node) + "/internal/partition/credits/{transactionId}/cancel", transactionId)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .body(RECEIPT), node);
+    }
+
+    private static CreditReceipt receipt(ApiResponse<CreditReceipt> response, String node) {
+        if (response == null || response.getData() == null) {
+            throw new IllegalStateException("Partition node " + node + " returned no credit receipt");
+        }
+        return response.getData();
+    }
+}
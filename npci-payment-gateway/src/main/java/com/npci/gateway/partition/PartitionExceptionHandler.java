@@ -0,0 +1,34 @@
+package com.npci.gateway.partition;
+
+import com.npci.gateway.dto.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Sends a payment to the node that holds its payer. 307 keeps the method and
+ * body, so clients that follow redirects simply retry there. Node-to-node
+ * calls that fail authentication get 403.
+ */
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PartitionExceptionHandler {
+
+    @ExceptionHandler(PaymentMisroutedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleMisrouted(PaymentMisroutedException ex, HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT)
+                .header(HttpHeaders.LOCATION, ex.getOwnerBaseUrl() + path)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    @ExceptionHandler(PartitionAuthenticationException.class)
+    public ResponseEntity<ApiResponse<Void>> handleAuthentication(PartitionAuthenticationException ex) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error(ex.getMessage()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.npci.gateway.partition;
+
+import org.springframework.stereotype.Component;
+import java.util.List;
+
+/**
+ * Which node owns which account. Built once from the static node list in
+ * {@link PartitionProperties}; every node must be started with the same list.
+ */
+@Component
+public class PartitionMap {
+
+    private final PartitionProperties properties;
+    private final ConsistentHashRing ring;
+
+    public PartitionMap(PartitionProperties properties) {
+        this.properties = properties;
+        if (properties.isEnabled()) {
+            if (!properties.getNodes().containsKey(properties.getNodeId())) {
+                throw new IllegalStateException("app.partition.node-id " + properties.getNodeId()
+                        + " is not listed in app.partition.nodes " + properties.getNodes().keySet());
+            }
+            if (properties.getSharedSecret() == null || properties.getSharedSecret().isBlank()) {
+                throw new IllegalStateException("app.partition.shared-secret must be set when partitioning is enabled");
+            }
+            this.ring = new ConsistentHashRing(properties.getNodes().keySet(), properties.getVirtualNodes());
+        } else {
+            this.ring = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return ring != null;
+    }
+
+    public String localNode() {
+        return properties.getNodeId();
+    }
+
+    public String ownerOf(String accountNumber) {
+        return ring == null ? properties.getNodeId() : ring.nodeFor(accountNumber);
+    }
+
+    public boolean ownsAccount(String accountNumber) {
+        return ownerOf(accountNumber).equals(properties.getNodeId());
+    }
+
+    public String baseUrlOf(String node) {
+        String baseUrl = properties.getNodes().get(node);
+        if (baseUrl == null) {
+            throw new IllegalArgumentException("Unknown partition node: " + node);
+        }
+        return baseUrl;
+    }
+
+    public List<String> peers() {
+        return properties.getNodes().keySet().stream()
+                .filter(node -> !node.equals(properties.getNodeId()))
+                .toList();
+    }
+}
@@ -0,0 +1,45 @@
+package com.npci.gateway.partition;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.partition")
+@Data
+public class PartitionProperties {
+
+    /** When false this node holds every account and never talks to other nodes. */
+    private boolean enabled = false;
+
+    private String nodeId = "node-1";
+
+    /** Every node of the deployment, this one included, mapped to its base URL, e.g. {@code http://localhost:8081/api}. */
+    private Map<String, String> nodes = new LinkedHashMap<>();
+
+    /** Points per node on the hash ring; more points spread accounts more evenly. */
+    private int virtualNodes = 160;
+
+    private long requestTimeoutMs = 2000;
+
+    /**
+     * Sent by every node in {@link PartitionClient#SECRET_HEADER}; the internal
+     * endpoints reject calls without it. Required, and the same on every node,
+     * when partitioning is enabled.
+     */
+    private String sharedSecret;
+
+    private Recovery recovery = new Recovery();
+
+    @Data
+    public static class Recovery {
+        private long intervalMs = 5000;
+        private long backoffMs = 1000;
+        private long maxBackoffMs = 60000;
+        /** Failed credit attempts before the payer node cancels the credit and refunds the payer. */
+        private int maxAttempts = 10;
+        private int batchSize = 100;
+    }
+}
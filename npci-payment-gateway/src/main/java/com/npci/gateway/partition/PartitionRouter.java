@@ -0,0 +1,112 @@
+package com.npci.gateway.partition;
+
+import com.npci.gateway.exception.AccountNotFoundException;
+import com.npci.gateway.exception.InvalidUpiIdException;
+import com.npci.gateway.model.Account;
+import com.npci.gateway.model.UpiId;
+import com.npci.gateway.repository.AccountRepository;
+import com.npci.gateway.repository.UpiIdRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+import java.util.Optional;
+
+/**
+ * Resolves the parties of a payment. The payer must be held by this node;
+ * otherwise the request is redirected to the node that holds it. The payee
+ * may be local or on another node. With partitioning disabled everything is
+ * local and the lookups behave as before.
+ */
+@Component
+@RequiredArgsConstructor
+public class PartitionRouter {
+
+    private final PartitionMap partitionMap;
+    private final PartitionClient partitionClient;
+    private final AccountRepository accountRepository;
+    private final UpiIdRepository upiIdRepository;
+
+    public Account payerAccount(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber).orElseThrow(() -> {
+            if (partitionMap.isEnabled() && !partitionMap.ownsAccount(accountNumber)) {
+                return misrouted(accountNumber, partitionMap.ownerOf(accountNumber));
+            }
+            return AccountNotFoundException.forAccount(accountNumber);
+        });
+    }
+
+    public Payee payeeAccount(String accountNumber, String ifscCode) {
+        return accountRepository.findByAccountNumber(accountNumber)
+                .map(Payee::local)
+                .orElseGet(() -> {
+                    if (partitionMap.isEnabled() && !partitionMap.ownsAccount(accountNumber)) {
+                        return Payee.remote(new RemoteAccount(accountNumber, ifscCode,
+                                partitionMap.ownerOf(accountNumber)));
+                    }
+                    throw AccountNotFoundException.forAccount(accountNumber);
+                });
+    }
+
+    public UpiId payerVpa(String vpa) {
+        return upiIdRepository.findByUpiId(vpa).orElseThrow(() -> {
+            if (partitionMap.isEnabled()) {
+                RemoteAccount owner = partitionClient.findVpa(vpa).orElse(null);
+                if (owner != null) {
+                    return misrouted(vpa, owner.getNode());
+                }
+            }
+            return InvalidUpiIdException.sender(vpa);
+        });
+    }
+
+    public Payee payeeVpa(String vpa) {
+        return upiIdRepository.findByUpiId(vpa)
+                .map(upiId -> Payee.local(upiId.getAccount()))
+                .orElseGet(() -> {
+                    if (partitionMap.isEnabled()) {
+                        return partitionClient.findVpa(vpa)
+                                .map(Payee::remote)
+                                .orElseThrow(() -> InvalidUpiIdException.receiver(vpa));
+                    }
+                    throw InvalidUpiIdException.receiver(vpa);
+                });
+    }
+
+    /** This node's answer to another node's {@link PartitionClient#findVpa} lookup. */
+    public Optional<RemoteAccount> localVpa(String vpa) {
+        return upiIdRepository.findByUpiId(vpa)
+                .map(upiId -> new RemoteAccount(upiId.getAccount().getAccountNumber(),
+                        upiId.getAccount().getIfscCode(), partitionMap.localNode()));
+    }
+
+    private PaymentMisroutedException misrouted(String payer, String node) {
+        return new PaymentMisroutedException(payer, node, partitionMap.baseUrlOf(node));
+    }
+
+    /** Either a local {@link Account} or an account held by another node. */
+    @Value
+    public static class Payee {
+        Account account;
+        RemoteAccount remote;
+
+        static Payee local(Account account) {
+            return new Payee(account, null);
+        }
+
+        static Payee remote(RemoteAccount remote) {
+            return new Payee(null, remote);
+        }
+
+        public boolean isRemote() {
+            return remote != null;
+        }
+
+        public String getAccountNumber() {
+            return isRemote() ? remote.getAccountNumber() : account.getAccountNumber();
+        }
+
+        public String getIfscCode() {
+            return isRemote() ? remote.getIfscCode() : account.getIfscCode();
+        }
+    }
+}
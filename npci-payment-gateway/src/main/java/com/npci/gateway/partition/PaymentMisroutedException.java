@@ -0,0 +1,17 @@
+package com.npci.gateway.partition;
+
+import lombok.Getter;
+
+/** The payer's account is held by another node; the request is redirected there. */
+@Getter
+public class PaymentMisroutedException extends RuntimeException {
+
+    private final String ownerNode;
+    private final String ownerBaseUrl;
+
+    public PaymentMisroutedException(String payer, String ownerNode, String ownerBaseUrl) {
+        super("Payer " + payer + " is held by partition node " + ownerNode);
+        this.ownerNode = ownerNode;
+        this.ownerBaseUrl = ownerBaseUrl;
+    }
+}
@@ -0,0 +1,15 @@
+package com.npci.gateway.partition;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** An account held by another partition node, as much of it as the payer's node needs. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RemoteAccount {
+    private String accountNumber;
+    private String ifscCode;
+    private String node;
+}
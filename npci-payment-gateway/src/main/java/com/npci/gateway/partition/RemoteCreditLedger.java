@@ -0,0 +1,85 @@
+package com.npci.gateway.partition;
+
+import com.npci.gateway.model.RemoteCredit;
+import com.npci.gateway.repository.AccountRepository;
+import com.npci.gateway.repository.RemoteCreditRepository;
+import com.npci.gateway.service.AccountService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Payee side of a cross-node payment. The outcome of each transaction id is
+ * recorded once, in the same local transaction as the credit, and every later
+ * request for that id gets the recorded outcome back.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RemoteCreditLedger {
+
+    private final RemoteCreditRepository remoteCreditRepository;
+    private final AccountRepository accountRepository;
+    private final AccountService accountService;
+    private final PartitionMap partitionMap;
+
+    /**
+     * @throws PartitionAuthenticationException if the instruction does not
+     *         come from a peer node; nothing is recorded for its transaction id
+     */
+    @Transactional
+    public CreditReceipt apply(CreditInstruction instruction) {
+        if (!partitionMap.peers().contains(instruction.getFromNode())) {
+            throw new PartitionAuthenticationException("Credit " + instruction.getTransactionId()
+                    + " from unknown partition node " + instruction.getFromNode());
+        }
+        RemoteCredit existing = remoteCreditRepository.findByTransactionId(instruction.getTransactionId()).orElse(null);
+        if (existing != null) {
+            return receipt(existing);
+        }
+
+        RemoteCredit credit = new RemoteCredit();
+        credit.setTransactionId(instruction.getTransactionId());
+        credit.setAccountNumber(instruction.getAccountNumber());
+        credit.setAmount(instruction.getAmount());
+        if (instruction.getAmount() == null || instruction.getAmount().signum() <= 0) {
+            credit.setStatus(RemoteCredit.REJECTED);
+            credit.setReason("Invalid amount: " + instruction.getAmount());
+        } else if (!partitionMap.ownsAccount(instruction.getAccountNumber())
+                || !accountRepository.existsByAccountNumber(instruction.getAccountNumber())) {
+            credit.setStatus(RemoteCredit.REJECTED);
+            credit.setReason("Account not found on node " + partitionMap.localNode() + ": "
+                    + instruction.getAccountNumber());
+        } else {
+            credit.setStatus(RemoteCredit.APPLIED);
+        }
+        // flushed first: a concurrent retry of the same id fails on the unique key before crediting
+        remoteCreditRepository.saveAndFlush(credit);
+        if (RemoteCredit.APPLIED.equals(credit.getStatus())) {
+            accountService.creditAccount(instruction.getAccountNumber(), instruction.getAmount());
+            log.info("Applied credit {} from node {}", instruction.getTransactionId(), instruction.getFromNode());
+        }
+        return receipt(credit);
+    }
+
+    /** Cancels a credit that has not been applied; an applied credit stays applied. */
+    @Transactional
+    public CreditReceipt cancel(String transactionId) {
+        return remoteCreditRepository.findByTransactionId(transactionId)
+                .map(RemoteCreditLedger::receipt)
+                .orElseGet(() -> {
+                    RemoteCredit credit = new RemoteCredit();
+                    credit.setTransactionId(transactionId);
+                    credit.setStatus(RemoteCredit.CANCELLED);
+                    credit.setReason("Cancelled by payer node");
+                    remoteCreditRepository.saveAndFlush(credit);
+                    log.info("Cancelled credit {} before it was applied", transactionId);
+                    return receipt(credit);
+                });
+    }
+
+    private static CreditReceipt receipt(RemoteCredit credit) {
+        return new CreditReceipt(credit.getTransactionId(), credit.getStatus(), credit.getReason());
+    }
+}
@@ -0,0 +1,24 @@
+package com.npci.gateway.repository;
+
+import com.npci.gateway.model.PaymentIntent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PaymentIntentRepository extends JpaRepository<PaymentIntent, Long> {
+    Optional<PaymentIntent> findByTransactionId(String transactionId);
+    List<PaymentIntent> findByStateAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            String state, LocalDateTime now, Pageable pageable);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM PaymentIntent i WHERE i.transactionId = :transactionId")
+    Optional<PaymentIntent> lockByTransactionId(@Param("transactionId") String transactionId);
+}
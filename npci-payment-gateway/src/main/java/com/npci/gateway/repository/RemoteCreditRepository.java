@@ -0,0 +1,11 @@
+package com.npci.gateway.repository;
+
+import com.npci.gateway.model.RemoteCredit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+@Repository
+public interface RemoteCreditRepository extends JpaRepository<RemoteCredit, Long> {
+    Optional<RemoteCredit> findByTransactionId(String transactionId);
+}
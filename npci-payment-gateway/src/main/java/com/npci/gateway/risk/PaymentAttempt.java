@@ -0,0 +1,15 @@
+package com.npci.gateway.risk;
+
+import lombok.Value;
+import java.math.BigDecimal;
+
+@Value
+public class PaymentAttempt {
+    String transactionId;
+    String transactionType;
+    String payerAccount;
+    String payerVpa;
+    String payeeAccount;
+    BigDecimal amount;
+    long attemptedAtMillis;
+}
@@ -0,0 +1,17 @@
+package com.npci.gateway.risk;
+
+/**
+ * Runs after the payment is recorded as PROCESSING and before any money
+ * moves. Throwing fails the payment with the exception message as reason.
+ */
+public interface PreDebitCheck {
+
+    void check(PaymentAttempt attempt);
+
+    /**
+     * Undoes whatever a passed {@link #check} reserved, called once if the
+     * payment then fails or rolls back without moving money.
+     */
+    default void release(PaymentAttempt attempt) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.npci.gateway.risk;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs every {@link PreDebitCheck} for a payment and remembers which ones
+ * passed, so their reservations can be released if the payment moves no money.
+ */
+@Component
+@RequiredArgsConstructor
+public class PreDebitChecks {
+
+    private final List<PreDebitCheck> checks;
+
+    /**
+     * Runs the checks in order. If one throws, the checks that already passed
+     * are released before the exception propagates.
+     */
+    public Hold run(PaymentAttempt attempt) {
+        List<PreDebitCheck> passed = new ArrayList<>(checks.size());
+        try {
+            for (PreDebitCheck check : checks) {
+                check.check(attempt);
+                passed.add(check);
+            }
+        } catch (RuntimeException e) {
+            new Hold(attempt, passed).release();
+            throw e;
+        }
+        return new Hold(attempt, passed);
+    }
+
+    /** What the passed checks reserved for one payment. */
+    public static final class Hold {
+
+        private final PaymentAttempt attempt;
+        private final List<PreDebitCheck> passed;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Hold(PaymentAttempt attempt, List<PreDebitCheck> passed) {
+            this.attempt = attempt;
+            this.passed = passed;
+        }
+
+        /** Releases the reservations; only the first call has any effect. */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                passed.forEach(check -> check.release(attempt));
+            }
+        }
+
+        /**
+         * Also releases if the surrounding transaction does not commit. Does
+         * nothing when no transaction synchronization is active.
+         */
+        public Hold releaseOnRollback() {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status != STATUS_COMMITTED) {
+                            release();
+                        }
+                    }
+                });
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.npci.gateway.risk;
+
+import lombok.Value;
+
+@Value
+public class VelocityBreach {
+    String key;
+    VelocityWindow window;
+    long count;
+    long amountPaise;
+    VelocityProperties.Limit limit;
+
+    public String describe() {
+        return String.format("Velocity limit exceeded for %s: %d payments / %d.%02d in the last %s (limit %d payments / %d)",
+                key, count, amountPaise / 100, amountPaise % 100, window.name().toLowerCase(),
+                limit.getMaxCount(), limit.getMaxAmount());
+    }
+}
@@ -0,0 +1,46 @@
+package com.npci.gateway.risk;
+
+import com.npci.gateway.exception.VelocityLimitExceededException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import java.math.RoundingMode;
+
+@Component
+@RequiredArgsConstructor
+public class VelocityCheck implements PreDebitCheck {
+
+    private final VelocityCounterStore store;
+    private final VelocityProperties properties;
+
+    @Override
+    public void check(PaymentAttempt attempt) {
+        if (!properties.isEnabled() || attempt.getPayerVpa() == null) {
+            return;
+        }
+        store.tryRecord(
+                VelocityCounterStore.accountKey(attempt.getPayerAccount()),
+                VelocityCounterStore.vpaKey(attempt.getPayerVpa()),
+                amountPaise(attempt),
+                attempt.getAttemptedAtMillis()
+        ).ifPresent(breach -> {
+            throw new VelocityLimitExceededException(breach.describe());
+        });
+    }
+
+    @Override
+    public void release(PaymentAttempt attempt) {
+        if (!properties.isEnabled() || attempt.getPayerVpa() == null) {
+            return;
+        }
+        store.release(
+                VelocityCounterStore.accountKey(attempt.getPayerAccount()),
+                VelocityCounterStore.vpaKey(attempt.getPayerVpa()),
+                amountPaise(attempt),
+                attempt.getAttemptedAtMillis()
+        );
+    }
+
+    private static long amountPaise(PaymentAttempt attempt) {
+        return attempt.getAmount().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+}
@@ -0,0 +1,110 @@
+package com.npci.gateway.risk;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Bucketed sliding-window counts and amounts for one key. Each window is a
+ * fixed ring of buckets, so memory per key is constant no matter how many
+ * payments the key makes. Not thread-safe; callers hold the key's stripe lock.
+ */
+final class VelocityCounter {
+
+    private static final VelocityWindow[] WINDOWS = VelocityWindow.values();
+
+    private final long[][] bucketIds = new long[WINDOWS.length][];
+    private final long[][] counts = new long[WINDOWS.length][];
+    private final long[][] amounts = new long[WINDOWS.length][];
+    private long lastActivityMillis;
+
+    VelocityCounter() {
+        for (VelocityWindow window : WINDOWS) {
+            bucketIds[window.ordinal()] = new long[window.getBuckets()];
+            counts[window.ordinal()] = new long[window.getBuckets()];
+            amounts[window.ordinal()] = new long[window.getBuckets()];
+        }
+    }
+
+    long count(VelocityWindow window, long nowMillis) {
+        return sum(window, counts[window.ordinal()], nowMillis);
+    }
+
+    long amount(VelocityWindow window, long nowMillis) {
+        return sum(window, amounts[window.ordinal()], nowMillis);
+    }
+
+    void record(long amountPaise, long nowMillis) {
+        for (VelocityWindow window : WINDOWS) {
+            int w = window.ordinal();
+            long bucketId = nowMillis / window.getBucketMillis();
+            int slot = (int) (bucketId % window.getBuckets());
+            if (bucketIds[w][slot] != bucketId) {
+                bucketIds[w][slot] = bucketId;
+                counts[w][slot] = 0;
+                amounts[w][slot] = 0;
+            }
+            counts[w][slot]++;
+            amounts[w][slot] += amountPaise;
+        }
+        lastActivityMillis = Math.max(lastActivityMillis, nowMillis);
+    }
+
+    /**
+     * Takes back a payment recorded at {@code recordedAtMillis}. Windows whose
+     * bucket has since been reused have already aged the payment out.
+     */
+    void unrecord(long amountPaise, long recordedAtMillis) {
+        for (VelocityWindow window : WINDOWS) {
+            int w = window.ordinal();
+            long bucketId = recordedAtMillis / window.getBucketMillis();
+            int slot = (int) (bucketId % window.getBuckets());
+            if (bucketIds[w][slot] == bucketId && counts[w][slot] > 0) {
+                counts[w][slot]--;
+                amounts[w][slot] = Math.max(0, amounts[w][slot] - amountPaise);
+            }
+        }
+    }
+
+    boolean isIdle(long nowMillis) {
+        return nowMillis - lastActivityMillis >= VelocityWindow.DAY.spanMillis();
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(lastActivityMillis);
+        for (VelocityWindow window : WINDOWS) {
+            int w = window.ordinal();
+            for (int slot = 0; slot < window.getBuckets(); slot++) {
+                out.writeLong(bucketIds[w][slot]);
+                out.writeLong(counts[w][slot]);
+                out.writeLong(amounts[w][slot]);
+            }
+        }
+    }
+
+    static VelocityCounter readFrom(DataInput in) throws IOException {
+        VelocityCounter counter = new VelocityCounter();
+        counter.lastActivityMillis = in.readLong();
+        for (VelocityWindow window : WINDOWS) {
+            int w = window.ordinal();
+            for (int slot = 0; slot < window.getBuckets(); slot++) {
+                counter.bucketIds[w][slot] = in.readLong();
+                counter.counts[w][slot] = in.readLong();
+                counter.amounts[w][slot] = in.readLong();
+            }
+        }
+        return counter;
+    }
+
+    private long sum(VelocityWindow window, long[] values, long nowMillis) {
+        long oldestLiveBucket = nowMillis / window.getBucketMillis() - window.getBuckets() + 1;
+        long[] ids = bucketIds[window.ordinal()];
+        long total = 0;
+        for (int slot = 0; slot < values.length; slot++) {
+            if (ids[slot] >= oldestLiveBucket) {
+                total += values[slot];
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,251 @@
+package com.npci.gateway.risk;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory sliding-window velocity counters keyed by payer account number
+ * and payer VPA. Check-and-record for a payment takes the stripe locks of
+ * both keys (in stripe order), so concurrent payments from the same payer
+ * cannot both slip under a limit.
+ * <p>
+ * A recorded payment is a reservation until it moves money: callers
+ * {@link #release} it when the payment is declined, fails or rolls back, so
+ * only payments that went through count towards the limits.
+ */
+@Component
+@Slf4j
+public class VelocityCounterStore {
+
+    private static final int SNAPSHOT_MAGIC = 0x56454c31; // "VEL1"
+
+    private final VelocityProperties properties;
+    private final Map<String, VelocityCounter> counters = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes;
+
+    public VelocityCounterStore(VelocityProperties properties) {
+        this.properties = properties;
+        int size = Integer.highestOneBit(Math.max(1, properties.getStripes() - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public static String accountKey(String accountNumber) {
+        return "ACC:" + accountNumber;
+    }
+
+    public static String vpaKey(String vpa) {
+        return "VPA:" + vpa.toLowerCase();
+    }
+
+    /**
+     * Records the payment against both keys unless doing so would breach a
+     * limit, in which case nothing is recorded and the first breach is returned.
+     */
+    public Optional<VelocityBreach> tryRecord(String accountKey, String vpaKey, long amountPaise, long nowMillis) {
+        ReentrantLock[] locks = lockBoth(accountKey, vpaKey);
+        try {
+            VelocityCounter account = counters.computeIfAbsent(accountKey, k -> new VelocityCounter());
+            VelocityCounter vpa = counters.computeIfAbsent(vpaKey, k -> new VelocityCounter());
+
+            Optional<VelocityBreach> breach = findBreach(accountKey, account, properties.getPayer(), amountPaise, nowMillis);
+            if (breach.isEmpty()) {
+                breach = findBreach(vpaKey, vpa, properties.getVpa(), amountPaise, nowMillis);
+            }
+            if (breach.isEmpty()) {
+                account.record(amountPaise, nowMillis);
+                vpa.record(amountPaise, nowMillis);
+            }
+            return breach;
+        } finally {
+            unlockBoth(locks);
+        }
+    }
+
+    /**
+     * Gives back a payment that {@link #tryRecord} recorded at
+     * {@code recordedAtMillis} but that never moved money.
+     */
+    public void release(String accountKey, String vpaKey, long amountPaise, long recordedAtMillis) {
+        ReentrantLock[] locks = lockBoth(accountKey, vpaKey);
+        try {
+            VelocityCounter account = counters.get(accountKey);
+            if (account != null) {
+                account.unrecord(amountPaise, recordedAtMillis);
+            }
+            VelocityCounter vpa = counters.get(vpaKey);
+            if (vpa != null) {
+                vpa.unrecord(amountPaise, recordedAtMillis);
+            }
+        } finally {
+            unlockBoth(locks);
+        }
+    }
+
+    public long count(String key, VelocityWindow window, long nowMillis) {
+        ReentrantLock lock = stripes[stripeOf(key)];
+        lock.lock();
+        try {
+            VelocityCounter counter = counters.get(key);
+            return counter == null ? 0 : counter.count(window, nowMillis);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Drops all history for the key, e.g. synthetic keys used during warm-up. */
+    public void forget(String key) {
+        ReentrantLock lock = stripes[stripeOf(key)];
+        lock.lock();
+        try {
+            counters.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.velocity.decay-interval-ms:60000}")
+    public void decay() {
+        long now = System.currentTimeMillis();
+        int before = counters.size();
+        counters.keySet().forEach(key -> {
+            ReentrantLock lock = stripes[stripeOf(key)];
+            lock.lock();
+            try {
+                VelocityCounter counter = counters.get(key);
+                if (counter != null && counter.isIdle(now)) {
+                    counters.remove(key);
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+        if (before != counters.size()) {
+            log.debug("Velocity decay removed {} idle keys", before - counters.size());
+        }
+    }
+
+    @PostConstruct
+    public void restore() {
+        Path path = snapshotPath();
+        if (path == null || !Files.exists(path)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                log.warn("Ignoring velocity snapshot {} with unknown format", path);
+                return;
+            }
+            int entries = in.readInt();
+            for (int i = 0; i < entries; i++) {
+                String key = in.readUTF();
+                counters.put(key, VelocityCounter.readFrom(in));
+            }
+            log.info("Restored {} velocity counters from {}", entries, path);
+        } catch (IOException e) {
+            counters.clear();
+            log.warn("Could not restore velocity snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void snapshot() {
+        Path path = snapshotPath();
+        if (path == null) {
+            return;
+        }
+        decay();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            int written = 0;
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                Map<String, VelocityCounter> copy = Map.copyOf(counters);
+                out.writeInt(copy.size());
+                for (Map.Entry<String, VelocityCounter> entry : copy.entrySet()) {
+                    ReentrantLock lock = stripes[stripeOf(entry.getKey())];
+                    lock.lock();
+                    try {
+                        out.writeUTF(entry.getKey());
+                        entry.getValue().writeTo(out);
+                    } finally {
+                        lock.unlock();
+                    }
+                    written++;
+                }
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved {} velocity counters to {}", written, path);
+        } catch (IOException e) {
+            log.warn("Could not write velocity snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    private Optional<VelocityBreach> findBreach(String key, VelocityCounter counter,
+                                                Map<VelocityWindow, VelocityProperties.Limit> limits,
+                                                long amountPaise, long nowMillis) {
+        for (Map.Entry<VelocityWindow, VelocityProperties.Limit> entry : limits.entrySet()) {
+            VelocityWindow window = entry.getKey();
+            VelocityProperties.Limit limit = entry.getValue();
+            long count = counter.count(window, nowMillis) + 1;
+            long amount = counter.amount(window, nowMillis) + amountPaise;
+            if (count > limit.getMaxCount() || amount > limit.maxAmountPaise()) {
+                return Optional.of(new VelocityBreach(key, window, count, amount, limit));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Path snapshotPath() {
+        String configured = properties.getSnapshotPath();
+        return configured == null || configured.isBlank() ? null : Path.of(configured);
+    }
+
+    private ReentrantLock[] lockBoth(String firstKey, String secondKey) {
+        int first = stripeOf(firstKey);
+        int second = stripeOf(secondKey);
+        ReentrantLock low = stripes[Math.min(first, second)];
+        ReentrantLock high = stripes[Math.max(first, second)];
+        low.lock();
+        if (high != low) {
+            high.lock();
+        }
+        return new ReentrantLock[] {low, high};
+    }
+
+    private void unlockBoth(ReentrantLock[] locks) {
+        if (locks[1] != locks[0]) {
+            locks[1].unlock();
+        }
+        locks[0].unlock();
+    }
+
+    private int stripeOf(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (stripes.length - 1);
+    }
+}
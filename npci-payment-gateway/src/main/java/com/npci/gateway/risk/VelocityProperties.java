@@ -0,0 +1,40 @@
+package com.npci.gateway.risk;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.velocity")
+@Data
+public class VelocityProperties {
+
+    private boolean enabled = true;
+
+    /** Number of lock stripes; rounded up to a power of two. */
+    private int stripes = 64;
+
+    private long decayIntervalMs = 60_000;
+
+    /** Where counters are saved on shutdown and restored on startup. Empty disables snapshots. */
+    private String snapshotPath = "data/velocity.snapshot";
+
+    /** Limits per payer account number. */
+    private Map<VelocityWindow, Limit> payer = new EnumMap<>(VelocityWindow.class);
+
+    /** Limits per payer VPA. */
+    private Map<VelocityWindow, Limit> vpa = new EnumMap<>(VelocityWindow.class);
+
+    @Data
+    public static class Limit {
+        private long maxCount = Long.MAX_VALUE;
+        /** Maximum total value in rupees. */
+        private long maxAmount = Long.MAX_VALUE;
+
+        long maxAmountPaise() {
+            return maxAmount > Long.MAX_VALUE / 100 ? Long.MAX_VALUE : maxAmount * 100;
+        }
+    }
+}
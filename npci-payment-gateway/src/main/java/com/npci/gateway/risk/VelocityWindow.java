@@ -0,0 +1,22 @@
+package com.npci.gateway.risk;
+
+import lombok.Getter;
+
+@Getter
+public enum VelocityWindow {
+    MINUTE(1_000L, 60),
+    HOUR(60_000L, 60),
+    DAY(3_600_000L, 24);
+
+    private final long bucketMillis;
+    private final int buckets;
+
+    VelocityWindow(long bucketMillis, int buckets) {
+        this.bucketMillis = bucketMillis;
+        this.buckets = buckets;
+    }
+
+    public long spanMillis() {
+        return bucketMillis * buckets;
+    }
+}
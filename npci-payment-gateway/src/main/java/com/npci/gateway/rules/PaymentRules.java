@@ -0,0 +1,30 @@
+package com.npci.gateway.rules;
+
+import com.npci.gateway.exception.InsufficientBalanceException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Payment rules that do not depend on the web or persistence stack, shared by
+ * the servlet services and the reactive variant so both decide the same way.
+ */
+public final class PaymentRules {
+
+    public static final String PROCESSING = "PROCESSING";
+    public static final String SUCCESS = "SUCCESS";
+    public static final String FAILED = "FAILED";
+
+    private PaymentRules() {
+    }
+
+    public static void requireSufficientBalance(String accountNumber, BigDecimal balance, BigDecimal amount) {
+        if (balance.compareTo(amount) < 0) {
+            throw InsufficientBalanceException.forAccount(accountNumber);
+        }
+    }
+
+    /** Daily partition key (yyyyMMdd) for a transaction created at {@code createdAt}. */
+    public static int partitionDay(LocalDateTime createdAt) {
+        return createdAt.getYear() * 10_000 + createdAt.getMonthValue() * 100 + createdAt.getDayOfMonth();
+    }
+}
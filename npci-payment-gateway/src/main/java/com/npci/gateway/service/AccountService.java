@@ -1,9 +1,16 @@
 package com.npci.gateway.service;
 
 import com.npci.gateway.exception.AccountNotFoundException;
-import com.npci.gateway.exception.InsufficientBalanceException;
+import com.npci.gateway.exception.BusinessDeclineException;
 import com.npci.gateway.model.Account;
 import com.npci.gateway.repository.AccountRepository;
+import com.npci.gateway.rules.PaymentRules;
+import com.npci.gateway.telemetry.AccountCreditEvent;
+import com.npci.gateway.telemetry.AccountDebitEvent;
+import com.npci.gateway.telemetry.PaymentStages;
+import com.npci.gateway.telemetry.PaymentTrace;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,34 +23,55 @@ import java.math.BigDecimal;
 public class AccountService {
     
     private final AccountRepository accountRepository;
+    private final EntityManager entityManager;
     
     public Account getAccountByNumber(String accountNumber) {
         return accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountNotFoundException(
-                        "Account not found: " + accountNumber));
+                .orElseThrow(() -> AccountNotFoundException.forAccount(accountNumber));
     }
     
-    @Transactional
+    /*
+     * Debit and credit read-modify-write the balance, so they hold a write
+     * lock on the row until the caller's transaction ends; otherwise
+     * concurrent payments on one account overwrite each other's updates.
+     *
+     * Declines are thrown before anything is modified, so they must not mark
+     * the caller's transaction rollback-only: the caller still has to commit
+     * the FAILED transaction record.
+     */
+    @Transactional(noRollbackFor = BusinessDeclineException.class)
     public void debitAccount(String accountNumber, BigDecimal amount) {
-        Account account = getAccountByNumber(accountNumber);
-        
-        if (account.getBalance().compareTo(amount) < 0) {
-            throw new InsufficientBalanceException(
-                    "Insufficient balance in account: " + accountNumber);
-        }
-        
-        account.setBalance(account.getBalance().subtract(amount));
-        accountRepository.save(account);
+        PaymentStages.run(new AccountDebitEvent(), PaymentTrace.transactionId(), amount, () -> {
+            Account account = lockAccount(accountNumber);
+            
+            PaymentRules.requireSufficientBalance(accountNumber, account.getBalance(), amount);
+            
+            account.setBalance(account.getBalance().subtract(amount));
+            accountRepository.save(account);
+        });
         
         log.info("Debited {} from account {}", amount, accountNumber);
     }
     
-    @Transactional
+    @Transactional(noRollbackFor = BusinessDeclineException.class)
     public void creditAccount(String accountNumber, BigDecimal amount) {
-        Account account = getAccountByNumber(accountNumber);
-        account.setBalance(account.getBalance().add(amount));
-        accountRepository.save(account);
+        PaymentStages.run(new AccountCreditEvent(), PaymentTrace.transactionId(), amount, () -> {
+            Account account = lockAccount(accountNumber);
+            account.setBalance(account.getBalance().add(amount));
+            accountRepository.save(account);
+        });
         
         log.info("Credited {} to account {}", amount, accountNumber);
     }
+    
+    /*
+     * The caller has usually loaded this account already (e.g. through the
+     * payer's VPA), and a locking query would hand back that cached copy with
+     * its stale balance. Refreshing re-reads the row and locks it in one select.
+     */
+    private Account lockAccount(String accountNumber) {
+        Account account = getAccountByNumber(accountNumber);
+        entityManager.refresh(account, LockModeType.PESSIMISTIC_WRITE);
+        return account;
+    }
 }
@@ -1,17 +1,28 @@
 package com.npci.gateway.service;
 
+import com.npci.gateway.client.BankSwitchClient;
+import com.npci.gateway.client.BankSwitchException;
+import com.npci.gateway.client.SwitchRequest;
 import com.npci.gateway.dto.ImpsTransferRequest;
 import com.npci.gateway.dto.TransactionResponse;
+import com.npci.gateway.exception.BusinessDeclineException;
 import com.npci.gateway.model.Account;
 import com.npci.gateway.model.Transaction;
+import com.npci.gateway.outbox.OutboxWriter;
+import com.npci.gateway.partition.CrossNodePayments;
+import com.npci.gateway.partition.PartitionRouter;
 import com.npci.gateway.repository.TransactionRepository;
+import com.npci.gateway.rules.PaymentRules;
+import com.npci.gateway.telemetry.PaymentEvent;
+import com.npci.gateway.telemetry.PaymentStageEvent;
+import com.npci.gateway.telemetry.PaymentStages;
+import com.npci.gateway.telemetry.PaymentTrace;
+import com.npci.gateway.telemetry.TransactionSaveEvent;
 import com.npci.gateway.util.TransactionIdGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.util.Random;
 
 @Service
 @RequiredArgsConstructor
@@ -21,51 +32,98 @@ public class ImpsService {
     private final TransactionRepository transactionRepository;
     private final AccountService accountService;
     private final TransactionIdGenerator transactionIdGenerator;
-    
-    @Value("${app.simulation.delay.min:100}")
-    private int minDelay;
-    
-    @Value("${app.simulation.delay.max:500}")
-    private int maxDelay;
-    
-    private final Random random = new Random();
+    private final BankSwitchClient bankSwitchClient;
+    private final OutboxWriter outboxWriter;
+    private final PartitionRouter partitionRouter;
+    private final CrossNodePayments crossNodePayments;
     
     @Transactional
     public TransactionResponse initiateTransfer(ImpsTransferRequest request) {
-        simulateProcessingDelay();
-        
-        Account fromAccount = accountService.getAccountByNumber(request.getFromAccount());
-        Account toAccount = accountService.getAccountByNumber(request.getToAccount());
+        String transactionId = transactionIdGenerator.generateImpsTransactionId();
+        PaymentEvent paymentEvent = new PaymentEvent("IMPS");
+        paymentEvent.begin();
+        PaymentTrace.begin(transactionId);
+        String outcome = PaymentStageEvent.FAILED;
+        try {
+            TransactionResponse response = processTransfer(transactionId, request);
+            outcome = response.getStatus();
+            return response;
+        } catch (RuntimeException e) {
+            outcome = PaymentStages.outcomeOf(e);
+            throw e;
+        } finally {
+            PaymentTrace.end();
+            paymentEvent.finish(transactionId, request.getAmount(), outcome);
+        }
+    }
+    
+    private TransactionResponse processTransfer(String transactionId, ImpsTransferRequest request) {
+        Account fromAccount = partitionRouter.payerAccount(request.getFromAccount());
+        PartitionRouter.Payee payee = partitionRouter.payeeAccount(request.getToAccount(), request.getIfscCode());
         
         Transaction transaction = new Transaction();
-        transaction.setTransactionId(transactionIdGenerator.generateImpsTransactionId());
+        transaction.setTransactionId(transactionId);
         transaction.setTransactionType("IMPS");
         transaction.setFromAccount(fromAccount);
-        transaction.setToAccount(toAccount);
+        transaction.setToAccount(payee.getAccount());
+        transaction.setRemoteToAccount(payee.isRemote() ? payee.getAccountNumber() : null);
         transaction.setAmount(request.getAmount());
-        transaction.setStatus("PROCESSING");
+        transaction.setStatus(PaymentRules.PROCESSING);
         transaction.setRemarks(request.getRemarks());
         
-        transactionRepository.save(transaction);
+        saveTransaction(transaction);
         
         try {
+            authorizeWithBanks(transaction, payee.getIfscCode());
+            
             accountService.debitAccount(request.getFromAccount(), request.getAmount());
-            accountService.creditAccount(request.getToAccount(), request.getAmount());
+            if (payee.isRemote()) {
+                crossNodePayments.begin(transaction, payee.getRemote());
+                log.info("IMPS transfer {} debited, credit pending on node {}",
+                        transaction.getTransactionId(), payee.getRemote().getNode());
+            } else {
+                accountService.creditAccount(request.getToAccount(), request.getAmount());
+                
+                transaction.setStatus(PaymentRules.SUCCESS);
+                saveTransaction(transaction);
+                
+                log.info("IMPS transfer successful: {}", transaction.getTransactionId());
+            }
             
-            transaction.setStatus("SUCCESS");
-            transactionRepository.save(transaction);
+        } catch (BusinessDeclineException e) {
+            transaction.setStatus(PaymentRules.FAILED);
+            transaction.setFailureReason(e.getMessage());
+            saveTransaction(transaction);
+            
+            log.debug("IMPS transfer declined: {}", e.getMessage());
+            
+        } catch (BankSwitchException e) {
+            transaction.setStatus(PaymentRules.FAILED);
+            transaction.setFailureReason(e.getMessage());
+            saveTransaction(transaction);
             
-            log.info("IMPS transfer successful: {}", transaction.getTransactionId());
+            if (e.isDecline()) {
+                log.debug("IMPS transfer declined by bank {}: {}", e.getBankCode(), e.getMessage());
+            } else {
+                log.error("IMPS transfer failed at the bank switch ({}): {}", e.getReason(), e.getMessage());
+            }
             
         } catch (Exception e) {
-            transaction.setStatus("FAILED");
+            transaction.setStatus(PaymentRules.FAILED);
             transaction.setFailureReason(e.getMessage());
-            transactionRepository.save(transaction);
+            saveTransaction(transaction);
             
             log.error("IMPS transfer failed: {}", e.getMessage());
         }
         
-        return buildTransactionResponse(transaction);
+        TransactionResponse response = buildTransactionResponse(transaction);
+        outboxWriter.paymentCompleted(response);
+        return response;
+    }
+    
+    private void saveTransaction(Transaction transaction) {
+        PaymentStages.time(new TransactionSaveEvent(), transaction.getTransactionId(), transaction.getAmount(),
+                () -> transactionRepository.save(transaction));
     }
     
     private TransactionResponse buildTransactionResponse(Transaction transaction) {
@@ -75,19 +133,21 @@ public class ImpsService {
                 .amount(transaction.getAmount())
                 .status(transaction.getStatus())
                 .fromAccount(transaction.getFromAccount().getAccountNumber())
-                .toAccount(transaction.getToAccount().getAccountNumber())
+                .toAccount(transaction.toAccountNumber())
                 .remarks(transaction.getRemarks())
                 .failureReason(transaction.getFailureReason())
                 .timestamp(transaction.getCreatedAt())
                 .build();
     }
     
-    private void simulateProcessingDelay() {
-        try {
-            int delay = minDelay + random.nextInt(maxDelay - minDelay);
-            Thread.sleep(delay);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    private void authorizeWithBanks(Transaction transaction, String payeeIfscCode) {
+        bankSwitchClient.send(SwitchRequest.debit(
+                BankSwitchClient.bankCodeOf(transaction.getFromAccount().getIfscCode()),
+                transaction.getTransactionId(),
+                transaction.getAmount()));
+        bankSwitchClient.send(SwitchRequest.credit(
+                BankSwitchClient.bankCodeOf(payeeIfscCode),
+                transaction.getTransactionId(),
+                transaction.getAmount()));
     }
 }
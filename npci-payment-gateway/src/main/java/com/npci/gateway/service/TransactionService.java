@@ -1,5 +1,7 @@
 package com.npci.gateway.service;
 
+import com.npci.gateway.archive.ArchivedTransaction;
+import com.npci.gateway.archive.TransactionArchive;
 import com.npci.gateway.dto.TransactionResponse;
 import com.npci.gateway.exception.TransactionNotFoundException;
 import com.npci.gateway.model.Transaction;
@@ -12,19 +14,38 @@ import org.springframework.stereotype.Service;
 public class TransactionService {
     
     private final TransactionRepository transactionRepository;
+    private final TransactionArchive transactionArchive;
     
     public TransactionResponse getTransactionStatus(String transactionId) {
-        Transaction transaction = transactionRepository.findByTransactionId(transactionId)
+        return transactionRepository.findByTransactionId(transactionId)
+                .map(this::toResponse)
+                .or(() -> transactionArchive.find(transactionId).map(this::toResponse))
                 .orElseThrow(() -> new TransactionNotFoundException(
                         "Transaction not found: " + transactionId));
-        
+    }
+    
+    private TransactionResponse toResponse(Transaction transaction) {
         return TransactionResponse.builder()
                 .transactionId(transaction.getTransactionId())
                 .transactionType(transaction.getTransactionType())
                 .amount(transaction.getAmount())
                 .status(transaction.getStatus())
                 .fromAccount(transaction.getFromAccount().getAccountNumber())
-                .toAccount(transaction.getToAccount().getAccountNumber())
+                .toAccount(transaction.toAccountNumber())
+                .remarks(transaction.getRemarks())
+                .failureReason(transaction.getFailureReason())
+                .timestamp(transaction.getCreatedAt())
+                .build();
+    }
+    
+    private TransactionResponse toResponse(ArchivedTransaction transaction) {
+        return TransactionResponse.builder()
+                .transactionId(transaction.getTransactionId())
+                .transactionType(transaction.getTransactionType())
+                .amount(transaction.getAmount())
+                .status(transaction.getStatus())
+                .fromAccount(transaction.getFromAccount())
+                .toAccount(transaction.getToAccount())
                 .remarks(transaction.getRemarks())
                 .failureReason(transaction.getFailureReason())
                 .timestamp(transaction.getCreatedAt())
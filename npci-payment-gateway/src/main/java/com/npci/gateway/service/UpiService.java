@@ -1,19 +1,32 @@
 package com.npci.gateway.service;
 
+import com.npci.gateway.client.BankSwitchClient;
+import com.npci.gateway.client.BankSwitchException;
+import com.npci.gateway.client.SwitchRequest;
 import com.npci.gateway.dto.TransactionResponse;
 import com.npci.gateway.dto.UpiPaymentRequest;
-import com.npci.gateway.exception.InvalidUpiIdException;
+import com.npci.gateway.exception.BusinessDeclineException;
 import com.npci.gateway.model.Transaction;
 import com.npci.gateway.model.UpiId;
+import com.npci.gateway.outbox.OutboxWriter;
+import com.npci.gateway.partition.CrossNodePayments;
+import com.npci.gateway.partition.PartitionRouter;
 import com.npci.gateway.repository.TransactionRepository;
 import com.npci.gateway.repository.UpiIdRepository;
+import com.npci.gateway.risk.PaymentAttempt;
+import com.npci.gateway.risk.PreDebitChecks;
+import com.npci.gateway.rules.PaymentRules;
+import com.npci.gateway.telemetry.PaymentEvent;
+import com.npci.gateway.telemetry.PaymentStageEvent;
+import com.npci.gateway.telemetry.PaymentStages;
+import com.npci.gateway.telemetry.PaymentTrace;
+import com.npci.gateway.telemetry.TransactionSaveEvent;
+import com.npci.gateway.telemetry.VpaResolutionEvent;
 import com.npci.gateway.util.TransactionIdGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.util.Random;
 
 @Service
 @RequiredArgsConstructor
@@ -24,68 +37,136 @@ public class UpiService {
     private final TransactionRepository transactionRepository;
     private final AccountService accountService;
     private final TransactionIdGenerator transactionIdGenerator;
-    
-    @Value("${app.simulation.delay.min:100}")
-    private int minDelay;
-    
-    @Value("${app.simulation.delay.max:500}")
-    private int maxDelay;
-    
-    private final Random random = new Random();
+    private final BankSwitchClient bankSwitchClient;
+    private final OutboxWriter outboxWriter;
+    private final PartitionRouter partitionRouter;
+    private final CrossNodePayments crossNodePayments;
+    private final PreDebitChecks preDebitChecks;
     
     public boolean validateUpiId(String upiId) {
-        simulateProcessingDelay();
-        return upiIdRepository.existsByUpiId(upiId);
+        return upiIdRepository.findByUpiId(upiId)
+                .map(vpa -> {
+                    bankSwitchClient.send(SwitchRequest.validate(
+                            BankSwitchClient.bankCodeOf(vpa.getAccount().getIfscCode()), upiId));
+                    return true;
+                })
+                .orElse(false);
     }
     
     @Transactional
     public TransactionResponse initiatePayment(UpiPaymentRequest request) {
-        simulateProcessingDelay();
-        
-        UpiId fromUpi = upiIdRepository.findByUpiId(request.getFromUpiId())
-                .orElseThrow(() -> new InvalidUpiIdException(
-                        "Invalid sender UPI ID: " + request.getFromUpiId()));
+        String transactionId = transactionIdGenerator.generateUpiTransactionId();
+        PaymentEvent paymentEvent = new PaymentEvent("UPI");
+        paymentEvent.begin();
+        PaymentTrace.begin(transactionId);
+        String outcome = PaymentStageEvent.FAILED;
+        try {
+            TransactionResponse response = processPayment(transactionId, request);
+            outcome = response.getStatus();
+            return response;
+        } catch (RuntimeException e) {
+            outcome = PaymentStages.outcomeOf(e);
+            throw e;
+        } finally {
+            PaymentTrace.end();
+            paymentEvent.finish(transactionId, request.getAmount(), outcome);
+        }
+    }
+    
+    private TransactionResponse processPayment(String transactionId, UpiPaymentRequest request) {
+        UpiId fromUpi = PaymentStages.time(new VpaResolutionEvent("PAYER"), transactionId, request.getAmount(),
+                () -> partitionRouter.payerVpa(request.getFromUpiId()));
         
-        UpiId toUpi = upiIdRepository.findByUpiId(request.getToUpiId())
-                .orElseThrow(() -> new InvalidUpiIdException(
-                        "Invalid receiver UPI ID: " + request.getToUpiId()));
+        PartitionRouter.Payee payee = PaymentStages.time(new VpaResolutionEvent("PAYEE"), transactionId,
+                request.getAmount(), () -> partitionRouter.payeeVpa(request.getToUpiId()));
         
         Transaction transaction = new Transaction();
-        transaction.setTransactionId(transactionIdGenerator.generateUpiTransactionId());
+        transaction.setTransactionId(transactionId);
         transaction.setTransactionType("UPI");
         transaction.setFromAccount(fromUpi.getAccount());
-        transaction.setToAccount(toUpi.getAccount());
+        transaction.setToAccount(payee.getAccount());
+        transaction.setRemoteToAccount(payee.isRemote() ? payee.getAccountNumber() : null);
         transaction.setAmount(request.getAmount());
-        transaction.setStatus("PROCESSING");
+        transaction.setStatus(PaymentRules.PROCESSING);
         transaction.setRemarks(request.getRemarks());
         
-        transactionRepository.save(transaction);
+        saveTransaction(transaction);
         
+        PreDebitChecks.Hold hold = null;
         try {
+            PaymentAttempt attempt = new PaymentAttempt(
+                    transaction.getTransactionId(),
+                    transaction.getTransactionType(),
+                    fromUpi.getAccount().getAccountNumber(),
+                    fromUpi.getUpiId(),
+                    payee.getAccountNumber(),
+                    request.getAmount(),
+                    System.currentTimeMillis()
+            );
+            hold = preDebitChecks.run(attempt).releaseOnRollback();
+            
+            authorizeWithBanks(transaction, payee.getIfscCode());
+            
             accountService.debitAccount(
                     fromUpi.getAccount().getAccountNumber(), 
                     request.getAmount()
             );
             
-            accountService.creditAccount(
-                    toUpi.getAccount().getAccountNumber(), 
-                    request.getAmount()
-            );
+            if (payee.isRemote()) {
+                crossNodePayments.begin(transaction, payee.getRemote());
+                log.info("UPI payment {} debited, credit pending on node {}",
+                        transaction.getTransactionId(), payee.getRemote().getNode());
+            } else {
+                accountService.creditAccount(
+                        payee.getAccountNumber(), 
+                        request.getAmount()
+                );
+                
+                transaction.setStatus(PaymentRules.SUCCESS);
+                saveTransaction(transaction);
+                
+                log.info("UPI payment successful: {}", transaction.getTransactionId());
+            }
+            
+        } catch (BusinessDeclineException e) {
+            transaction.setStatus(PaymentRules.FAILED);
+            transaction.setFailureReason(e.getMessage());
+            saveTransaction(transaction);
             
-            transaction.setStatus("SUCCESS");
-            transactionRepository.save(transaction);
+            log.debug("UPI payment declined: {}", e.getMessage());
             
-            log.info("UPI payment successful: {}", transaction.getTransactionId());
+        } catch (BankSwitchException e) {
+            transaction.setStatus(PaymentRules.FAILED);
+            transaction.setFailureReason(e.getMessage());
+            saveTransaction(transaction);
+            
+            if (e.isDecline()) {
+                log.debug("UPI payment declined by bank {}: {}", e.getBankCode(), e.getMessage());
+            } else {
+                log.error("UPI payment failed at the bank switch ({}): {}", e.getReason(), e.getMessage());
+            }
             
         } catch (Exception e) {
-            transaction.setStatus("FAILED");
+            transaction.setStatus(PaymentRules.FAILED);
             transaction.setFailureReason(e.getMessage());
-            transactionRepository.save(transaction);
+            saveTransaction(transaction);
             
             log.error("UPI payment failed: {}", e.getMessage());
         }
         
-        return buildTransactionResponse(transaction);
+        if (hold != null && PaymentRules.FAILED.equals(transaction.getStatus())) {
+            // A failed payment must not use up the payer's velocity limits
+            hold.release();
+        }
+        
+        TransactionResponse response = buildTransactionResponse(transaction);
+        outboxWriter.paymentCompleted(response);
+        return response;
+    }
+    
+    private void saveTransaction(Transaction transaction) {
+        PaymentStages.time(new TransactionSaveEvent(), transaction.getTransactionId(), transaction.getAmount(),
+                () -> transactionRepository.save(transaction));
     }
     
     private TransactionResponse buildTransactionResponse(Transaction transaction) {
@@ -95,19 +176,21 @@ public class UpiService {
                 .amount(transaction.getAmount())
                 .status(transaction.getStatus())
                 .fromAccount(transaction.getFromAccount().getAccountNumber())
-                .toAccount(transaction.getToAccount().getAccountNumber())
+                .toAccount(transaction.toAccountNumber())
                 .remarks(transaction.getRemarks())
                 .failureReason(transaction.getFailureReason())
                 .timestamp(transaction.getCreatedAt())
                 .build();
     }
     
-    private void simulateProcessingDelay() {
-        try {
-            int delay = minDelay + random.nextInt(maxDelay - minDelay);
-            Thread.sleep(delay);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    private void authorizeWithBanks(Transaction transaction, String payeeIfscCode) {
+        bankSwitchClient.send(SwitchRequest.debit(
+                BankSwitchClient.bankCodeOf(transaction.getFromAccount().getIfscCode()),
+                transaction.getTransactionId(),
+                transaction.getAmount()));
+        bankSwitchClient.send(SwitchRequest.credit(
+                BankSwitchClient.bankCodeOf(payeeIfscCode),
+                transaction.getTransactionId(),
+                transaction.getAmount()));
     }
 }
@@ -0,0 +1,68 @@
+package com.npci.gateway.settlement;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps account ids to a small dense bank index so the transaction scan never
+ * touches a string. Banks are identified by the first four IFSC characters.
+ */
+final class BankDirectory {
+
+    private final List<String> codes = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> indexByCode = new HashMap<>();
+    private int[] bankOfAccount = new int[1024];
+
+    static BankDirectory load(JdbcTemplate jdbcTemplate) {
+        BankDirectory directory = new BankDirectory();
+        jdbcTemplate.query("SELECT id, ifsc_code, bank_name FROM accounts", rs -> {
+            directory.register(rs.getLong(1), rs.getString(2), rs.getString(3));
+        });
+        return directory;
+    }
+
+    int size() {
+        return codes.size();
+    }
+
+    List<String> codes() {
+        return codes;
+    }
+
+    String code(int bank) {
+        return codes.get(bank);
+    }
+
+    String name(int bank) {
+        return names.get(bank);
+    }
+
+    int indexOfCode(String code) {
+        return indexByCode.getOrDefault(code, -1);
+    }
+
+    int bankOf(long accountId) {
+        return accountId < bankOfAccount.length ? bankOfAccount[(int) accountId] - 1 : -1;
+    }
+
+    private void register(long accountId, String ifscCode, String bankName) {
+        String code = ifscCode.length() >= 4 ? ifscCode.substring(0, 4) : ifscCode;
+        Integer bank = indexByCode.get(code);
+        if (bank == null) {
+            bank = codes.size();
+            codes.add(code);
+            names.add(bankName);
+            indexByCode.put(code, bank);
+        }
+        if (accountId >= bankOfAccount.length) {
+            bankOfAccount = Arrays.copyOf(bankOfAccount, (int) Math.max(accountId + 1, bankOfAccount.length * 2L));
+        }
+        // stored +1 so that 0 means "unknown account"
+        bankOfAccount[(int) accountId] = bank + 1;
+    }
+}
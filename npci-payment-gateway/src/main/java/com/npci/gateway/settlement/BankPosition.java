@@ -0,0 +1,19 @@
+package com.npci.gateway.settlement;
+
+import lombok.Value;
+import java.math.BigDecimal;
+
+@Value
+public class BankPosition {
+    String bankCode;
+    String bankName;
+    long debitCount;
+    BigDecimal debitAmount;
+    long creditCount;
+    BigDecimal creditAmount;
+
+    /** Positive when the bank is owed money, negative when it must pay. */
+    public BigDecimal getNetPosition() {
+        return creditAmount.subtract(debitAmount);
+    }
+}
@@ -0,0 +1,106 @@
+package com.npci.gateway.settlement;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Per-bank running totals for one id-range partition, held in primitive
+ * arrays indexed by the bank's position in {@link BankDirectory}.
+ */
+final class PartitionTotals {
+
+    final long[] debitCount;
+    final long[] debitPaise;
+    final long[] creditCount;
+    final long[] creditPaise;
+    long transactions;
+    /** Payments whose payee is held by another node: only the payer's debit is settled here. */
+    long remoteDebits;
+    /** Rows left out because an account's bank is unknown. */
+    long excluded;
+    long excludedPaise;
+
+    PartitionTotals(int banks) {
+        debitCount = new long[banks];
+        debitPaise = new long[banks];
+        creditCount = new long[banks];
+        creditPaise = new long[banks];
+    }
+
+    void add(int payerBank, int payeeBank, long amountPaise) {
+        debitCount[payerBank]++;
+        debitPaise[payerBank] += amountPaise;
+        creditCount[payeeBank]++;
+        creditPaise[payeeBank] += amountPaise;
+        transactions++;
+    }
+
+    void addRemoteDebit(int payerBank, long amountPaise) {
+        debitCount[payerBank]++;
+        debitPaise[payerBank] += amountPaise;
+        remoteDebits++;
+        transactions++;
+    }
+
+    void addCredit(int payeeBank, long amountPaise) {
+        creditCount[payeeBank]++;
+        creditPaise[payeeBank] += amountPaise;
+    }
+
+    void exclude(long amountPaise) {
+        excluded++;
+        excludedPaise += amountPaise;
+    }
+
+    void merge(PartitionTotals other) {
+        for (int bank = 0; bank < debitCount.length; bank++) {
+            debitCount[bank] += other.debitCount[bank];
+            debitPaise[bank] += other.debitPaise[bank];
+            creditCount[bank] += other.creditCount[bank];
+            creditPaise[bank] += other.creditPaise[bank];
+        }
+        transactions += other.transactions;
+        remoteDebits += other.remoteDebits;
+        excluded += other.excluded;
+        excludedPaise += other.excludedPaise;
+    }
+
+    /** Checkpoints are keyed by bank code so they survive a change in bank ordering. */
+    void writeTo(DataOutputStream out, List<String> bankCodes) throws IOException {
+        out.writeLong(transactions);
+        out.writeInt(bankCodes.size());
+        for (int bank = 0; bank < bankCodes.size(); bank++) {
+            out.writeUTF(bankCodes.get(bank));
+            out.writeLong(debitCount[bank]);
+            out.writeLong(debitPaise[bank]);
+            out.writeLong(creditCount[bank]);
+            out.writeLong(creditPaise[bank]);
+        }
+        // appended last: a checkpoint from before these counters ends early and is rescanned
+        out.writeLong(remoteDebits);
+        out.writeLong(excluded);
+        out.writeLong(excludedPaise);
+    }
+
+    static PartitionTotals readFrom(DataInputStream in, BankDirectory banks) throws IOException {
+        PartitionTotals totals = new PartitionTotals(banks.size());
+        totals.transactions = in.readLong();
+        int entries = in.readInt();
+        for (int i = 0; i < entries; i++) {
+            int bank = banks.indexOfCode(in.readUTF());
+            if (bank < 0) {
+                throw new IOException("Checkpoint refers to an unknown bank");
+            }
+            totals.debitCount[bank] = in.readLong();
+            totals.debitPaise[bank] = in.readLong();
+            totals.creditCount[bank] = in.readLong();
+            totals.creditPaise[bank] = in.readLong();
+        }
+        totals.remoteDebits = in.readLong();
+        totals.excluded = in.readLong();
+        totals.excludedPaise = in.readLong();
+        return totals;
+    }
+}
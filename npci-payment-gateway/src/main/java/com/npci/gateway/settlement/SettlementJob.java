@@ -0,0 +1,301 @@
+package com.npci.gateway.settlement;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * End-of-day settlement: net position per bank over the day's SUCCESS UPI
+ * and IMPS transactions.
+ *
+ * In a partitioned deployment a cross-node payment is settled in halves: the
+ * payer's node settles the debit from its transaction row (the payee has no
+ * local account id, only {@code remote_to_account}), and the payee's node
+ * settles the credit from its APPLIED {@code remote_credits} row. Rows whose
+ * bank cannot be determined are counted in the report, never dropped silently.
+ *
+ * The day's id range is split into partitions that are scanned in parallel,
+ * each with a forward-only, read-only cursor. Rows are folded straight into
+ * {@link PartitionTotals}; no entity is ever materialised. Every finished
+ * partition is checkpointed, so a rerun after a crash only scans the
+ * partitions that had not completed.
+ */
+@Component
+@Slf4j
+public class SettlementJob {
+
+    private static final String BOUNDS_SQL =
+            "SELECT MIN(id), MAX(id) FROM transactions WHERE created_at >= ? AND created_at < ?";
+
+    private static final String SCAN_SQL =
+            "SELECT from_account_id, to_account_id, CAST(ROUND(amount * 100, 0) AS BIGINT), remote_to_account "
+            + "FROM transactions "
+            + "WHERE id BETWEEN ? AND ? AND created_at >= ? AND created_at < ? "
+            + "AND status = 'SUCCESS' AND transaction_type IN ('UPI', 'IMPS')";
+
+    private static final String REMOTE_CREDITS_SQL =
+            "SELECT a.id, CAST(ROUND(rc.amount * 100, 0) AS BIGINT) "
+            + "FROM remote_credits rc LEFT JOIN accounts a ON a.account_number = rc.account_number "
+            + "WHERE rc.status = 'APPLIED' AND rc.created_at >= ? AND rc.created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SettlementProperties properties;
+
+    public SettlementJob(DataSource dataSource, SettlementProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${app.settlement.cron:-}")
+    public void settlePreviousDay() {
+        run(LocalDate.now().minusDays(1));
+    }
+
+    public SettlementReport run(LocalDate businessDate) {
+        Timestamp from = Timestamp.valueOf(businessDate.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(businessDate.plusDays(1).atStartOfDay());
+
+        long[] bounds = jdbcTemplate.queryForObject(BOUNDS_SQL,
+                (rs, row) -> new long[] {rs.getLong(1), rs.getLong(2), rs.wasNull() ? 1 : 0}, from, to);
+        BankDirectory banks = BankDirectory.load(jdbcTemplate);
+        PartitionTotals total = new PartitionTotals(banks.size());
+
+        int partitions = 0;
+        int resumed = 0;
+        if (bounds[2] == 0) {
+            partitions = partitionCount(bounds[1] - bounds[0] + 1);
+            Path checkpoints = checkpointDir(businessDate);
+            prepareCheckpoints(checkpoints, bounds[0], bounds[1], partitions);
+
+            List<Future<PartitionTotals>> pending = new ArrayList<>();
+            ExecutorService executor = Executors.newFixedThreadPool(partitions);
+            try {
+                for (int p = 0; p < partitions; p++) {
+                    PartitionTotals done = readCheckpoint(checkpoints, p, banks);
+                    if (done != null) {
+                        total.merge(done);
+                        resumed++;
+                        continue;
+                    }
+                    long lo = bounds[0] + (bounds[1] - bounds[0] + 1) * p / partitions;
+                    long hi = bounds[0] + (bounds[1] - bounds[0] + 1) * (p + 1) / partitions - 1;
+                    int partition = p;
+                    pending.add(executor.submit(() -> scanPartition(partition, lo, hi, from, to, banks, checkpoints)));
+                }
+                for (Future<PartitionTotals> future : pending) {
+                    total.merge(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Settlement for " + businessDate + " interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Settlement for " + businessDate + " failed; rerun to resume", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        long remoteCredits = addRemoteCredits(total, from, to, banks);
+
+        List<BankPosition> positions = toPositions(total, banks);
+        Path file = writeSettlementFile(businessDate, positions);
+        deleteCheckpoints(checkpointDir(businessDate));
+
+        log.info("Settlement for {}: {} transactions ({} cross-node debits, {} cross-node credits), "
+                        + "{} banks, {} partitions ({} resumed) -> {}",
+                businessDate, total.transactions, total.remoteDebits, remoteCredits, positions.size(),
+                partitions, resumed, file);
+        if (total.excluded > 0) {
+            log.warn("Settlement for {} excluded {} rows ({}) whose bank is unknown",
+                    businessDate, total.excluded, BigDecimal.valueOf(total.excludedPaise, 2));
+        }
+        return new SettlementReport(businessDate, total.transactions, total.remoteDebits, remoteCredits,
+                total.excluded, BigDecimal.valueOf(total.excludedPaise, 2), partitions, resumed,
+                file.toString(), positions);
+    }
+
+    /**
+     * Payee side of cross-node payments. Few rows and not id-partitioned, so
+     * scanned in one pass rather than checkpointed.
+     */
+    private long addRemoteCredits(PartitionTotals total, Timestamp from, Timestamp to, BankDirectory banks) {
+        long[] applied = new long[1];
+        jdbcTemplate.query(REMOTE_CREDITS_SQL, rs -> {
+            int payeeBank = banks.bankOf(rs.getLong(1));
+            long paise = rs.getLong(2);
+            if (payeeBank >= 0) {
+                total.addCredit(payeeBank, paise);
+                applied[0]++;
+            } else {
+                total.exclude(paise);
+            }
+        }, from, to);
+        return applied[0];
+    }
+
+    private PartitionTotals scanPartition(int partition, long lo, long hi, Timestamp from, Timestamp to,
+                                          BankDirectory banks, Path checkpoints) throws IOException {
+        PartitionTotals totals = new PartitionTotals(banks.size());
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SCAN_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(properties.getFetchSize());
+            statement.setLong(1, lo);
+            statement.setLong(2, hi);
+            statement.setTimestamp(3, from);
+            statement.setTimestamp(4, to);
+            return statement;
+        }, rs -> {
+            int payerBank = banks.bankOf(rs.getLong(1));
+            long payeeId = rs.getLong(2);
+            boolean localPayee = !rs.wasNull();
+            long paise = rs.getLong(3);
+            boolean remotePayee = rs.getString(4) != null;
+            if (payerBank >= 0 && localPayee && banks.bankOf(payeeId) >= 0) {
+                totals.add(payerBank, banks.bankOf(payeeId), paise);
+            } else if (payerBank >= 0 && !localPayee && remotePayee) {
+                totals.addRemoteDebit(payerBank, paise);
+            } else {
+                totals.exclude(paise);
+            }
+        });
+        writeCheckpoint(checkpoints, partition, totals, banks);
+        return totals;
+    }
+
+    private int partitionCount(long idSpan) {
+        int configured = properties.getPartitions() > 0
+                ? properties.getPartitions()
+                : Runtime.getRuntime().availableProcessors();
+        return (int) Math.max(1, Math.min(configured, idSpan));
+    }
+
+    private List<BankPosition> toPositions(PartitionTotals total, BankDirectory banks) {
+        List<BankPosition> positions = new ArrayList<>();
+        for (int bank = 0; bank < banks.size(); bank++) {
+            if (total.debitCount[bank] == 0 && total.creditCount[bank] == 0) {
+                continue;
+            }
+            positions.add(new BankPosition(
+                    banks.code(bank),
+                    banks.name(bank),
+                    total.debitCount[bank],
+                    BigDecimal.valueOf(total.debitPaise[bank], 2),
+                    total.creditCount[bank],
+                    BigDecimal.valueOf(total.creditPaise[bank], 2)));
+        }
+        positions.sort(Comparator.comparing(BankPosition::getBankCode));
+        return positions;
+    }
+
+    private Path writeSettlementFile(LocalDate businessDate, List<BankPosition> positions) {
+        Path file = Path.of(properties.getOutputDir(), "settlement-" + businessDate + ".csv");
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp)) {
+                writer.write("bank_code,bank_name,debit_count,debit_amount,credit_count,credit_amount,net_position");
+                writer.newLine();
+                for (BankPosition position : positions) {
+                    writer.write(String.join(",",
+                            position.getBankCode(),
+                            '"' + position.getBankName().replace("\"", "\"\"") + '"',
+                            Long.toString(position.getDebitCount()),
+                            position.getDebitAmount().toPlainString(),
+                            Long.toString(position.getCreditCount()),
+                            position.getCreditAmount().toPlainString(),
+                            position.getNetPosition().toPlainString()));
+                    writer.newLine();
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write settlement file " + file, e);
+        }
+    }
+
+    // ---- checkpoints --------------------------------------------------------
+
+    private Path checkpointDir(LocalDate businessDate) {
+        return Path.of(properties.getOutputDir(), "checkpoints", businessDate.toString());
+    }
+
+    /** Discards checkpoints written for a different id range or partition count. */
+    private void prepareCheckpoints(Path dir, long minId, long maxId, int partitions) {
+        String manifest = minId + ":" + maxId + ":" + partitions;
+        Path manifestFile = dir.resolve("manifest");
+        try {
+            if (Files.exists(manifestFile) && !Files.readString(manifestFile).equals(manifest)) {
+                log.info("Settlement checkpoints in {} are for a different range; starting over", dir);
+                deleteCheckpoints(dir);
+            }
+            Files.createDirectories(dir);
+            Files.writeString(manifestFile, manifest);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare checkpoint directory " + dir, e);
+        }
+    }
+
+    private PartitionTotals readCheckpoint(Path dir, int partition, BankDirectory banks) {
+        Path file = dir.resolve("partition-" + partition + ".ckpt");
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return PartitionTotals.readFrom(in, banks);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable checkpoint {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeCheckpoint(Path dir, int partition, PartitionTotals totals, BankDirectory banks) throws IOException {
+        Path file = dir.resolve("partition-" + partition + ".ckpt");
+        Path tmp = dir.resolve("partition-" + partition + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            totals.writeTo(out, banks.codes());
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteCheckpoints(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            log.warn("Could not clean up checkpoints in {}: {}", dir, e.getMessage());
+        }
+    }
+}
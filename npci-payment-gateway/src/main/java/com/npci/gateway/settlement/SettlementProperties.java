@@ -0,0 +1,23 @@
+package com.npci.gateway.settlement;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.settlement")
+@Data
+public class SettlementProperties {
+
+    /** Directory for settlement files and in-progress checkpoints. */
+    private String outputDir = "data/settlement";
+
+    /** Rows fetched per round trip by the streaming cursor. */
+    private int fetchSize = 1000;
+
+    /** Id-range partitions processed in parallel; 0 means one per core. */
+    private int partitions = 0;
+
+    /** Cron for the automatic run over the previous day; "-" disables it. */
+    private String cron = "-";
+}
@@ -0,0 +1,23 @@
+package com.npci.gateway.settlement;
+
+import lombok.Value;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Value
+public class SettlementReport {
+    LocalDate businessDate;
+    long transactionCount;
+    /** Cross-node payments debited here; the payee's node settles their credit. */
+    long remoteDebitCount;
+    /** Credits this node applied for payments debited on another node. */
+    long remoteCreditCount;
+    /** Rows left out of the file because an account's bank could not be determined. */
+    long excludedCount;
+    BigDecimal excludedAmount;
+    int partitions;
+    int resumedPartitions;
+    String settlementFile;
+    List<BankPosition> positions;
+}
@@ -0,0 +1,11 @@
+package com.npci.gateway.telemetry;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.npci.gateway.AccountCredit")
+@Label("Account Credit")
+@Description("Credit of the payee account")
+public class AccountCreditEvent extends PaymentStageEvent {
+}
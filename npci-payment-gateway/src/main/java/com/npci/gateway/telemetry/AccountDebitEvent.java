@@ -0,0 +1,11 @@
+package com.npci.gateway.telemetry;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.npci.gateway.AccountDebit")
+@Label("Account Debit")
+@Description("Balance check and debit of the payer account")
+public class AccountDebitEvent extends PaymentStageEvent {
+}
@@ -0,0 +1,94 @@
+package com.npci.gateway.telemetry;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summarizes the payment events in a {@code .jfr} recording into per-stage
+ * latency percentiles and lists the slowest payments.
+ *
+ * <pre>
+ * java -cp target/classes com.npci.gateway.telemetry.JfrSummary recording.jfr [--by-outcome] [--top N]
+ * </pre>
+ */
+public final class JfrSummary {
+
+    private static final String EVENT_PREFIX = "com.npci.gateway.";
+
+    private JfrSummary() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: JfrSummary <recording.jfr> [--by-outcome] [--top N]");
+            System.exit(2);
+        }
+        boolean byOutcome = false;
+        int top = 10;
+        for (int i = 1; i < args.length; i++) {
+            if ("--by-outcome".equals(args[i])) {
+                byOutcome = true;
+            } else if ("--top".equals(args[i]) && i + 1 < args.length) {
+                top = Integer.parseInt(args[++i]);
+            }
+        }
+
+        Map<String, List<Long>> stages = new TreeMap<>();
+        List<RecordedEvent> payments = new ArrayList<>();
+        try (RecordingFile recording = new RecordingFile(Path.of(args[0]))) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                String name = event.getEventType().getName();
+                if (!name.startsWith(EVENT_PREFIX)) {
+                    continue;
+                }
+                String stage = name.substring(EVENT_PREFIX.length());
+                if (byOutcome) {
+                    stage += " [" + event.getString("outcome") + "]";
+                }
+                stages.computeIfAbsent(stage, k -> new ArrayList<>()).add(event.getDuration().toNanos());
+                if (event.getEventType().getName().equals(EVENT_PREFIX + "Payment")) {
+                    payments.add(event);
+                }
+            }
+        }
+
+        System.out.printf("%-34s %8s %10s %10s %10s %10s %10s%n",
+                "Stage", "Count", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms");
+        stages.forEach((stage, durations) -> {
+            long[] sorted = durations.stream().mapToLong(Long::longValue).sorted().toArray();
+            System.out.printf("%-34s %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n", stage, sorted.length,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.90)),
+                    millis(percentile(sorted, 0.99)), millis(percentile(sorted, 0.999)),
+                    millis(sorted[sorted.length - 1]));
+        });
+
+        if (!payments.isEmpty()) {
+            System.out.printf("%nSlowest %d payments%n", Math.min(top, payments.size()));
+            payments.stream()
+                    .sorted(Comparator.comparing(RecordedEvent::getDuration, Comparator.reverseOrder()))
+                    .limit(top)
+                    .forEach(event -> System.out.printf("  %-28s %-5s %-8s %-8s %10.2f ms%n",
+                            event.getString("transactionId"), event.getString("transactionType"),
+                            event.getString("amountBucket"), event.getString("outcome"),
+                            millis(event.getDuration().toNanos())));
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) Duration.ofMillis(1).toNanos();
+    }
+}
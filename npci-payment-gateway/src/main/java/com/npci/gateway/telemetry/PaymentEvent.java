@@ -0,0 +1,18 @@
+package com.npci.gateway.telemetry;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.npci.gateway.Payment")
+@Label("Payment")
+@Description("Whole payment, from request to response")
+public class PaymentEvent extends PaymentStageEvent {
+
+    @Label("Transaction Type")
+    String transactionType;
+
+    public PaymentEvent(String transactionType) {
+        this.transactionType = transactionType;
+    }
+}
@@ -0,0 +1,59 @@
+package com.npci.gateway.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import java.math.BigDecimal;
+
+/**
+ * Common fields of the payment lifecycle JFR events. Stack traces are off to
+ * keep the events cheap enough to leave enabled in production.
+ */
+@Category({"NPCI", "Payment"})
+@StackTrace(false)
+public abstract class PaymentStageEvent extends Event {
+
+    public static final String SUCCESS = "SUCCESS";
+    public static final String DECLINED = "DECLINED";
+    public static final String FAILED = "FAILED";
+
+    @Label("Transaction Id")
+    String transactionId;
+
+    @Label("Amount Bucket")
+    String amountBucket;
+
+    @Label("Outcome")
+    String outcome;
+
+    public void finish(String transactionId, BigDecimal amount, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.transactionId = transactionId;
+            this.amountBucket = amountBucket(amount);
+            this.outcome = outcome;
+            commit();
+        }
+    }
+
+    /** Coarse amount ranges, so the field stays low-cardinality and carries no exact amounts. */
+    static String amountBucket(BigDecimal amount) {
+        if (amount == null) {
+            return "n/a";
+        }
+        if (amount.compareTo(BigDecimal.valueOf(100)) < 0) {
+            return "<100";
+        }
+        if (amount.compareTo(BigDecimal.valueOf(1_000)) < 0) {
+            return "100-1K";
+        }
+        if (amount.compareTo(BigDecimal.valueOf(10_000)) < 0) {
+            return "1K-10K";
+        }
+        if (amount.compareTo(BigDecimal.valueOf(100_000)) < 0) {
+            return "10K-1L";
+        }
+        return ">=1L";
+    }
+}
@@ -0,0 +1,45 @@
+package com.npci.gateway.telemetry;
+
+import com.npci.gateway.client.BankSwitchException;
+import com.npci.gateway.exception.BusinessDeclineException;
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
+/** Runs one payment stage inside its JFR event, deriving the outcome from how the stage ends. */
+public final class PaymentStages {
+
+    private PaymentStages() {
+    }
+
+    public static <T> T time(PaymentStageEvent event, String transactionId, BigDecimal amount, Supplier<T> stage) {
+        event.begin();
+        String outcome = PaymentStageEvent.FAILED;
+        try {
+            T result = stage.get();
+            outcome = PaymentStageEvent.SUCCESS;
+            return result;
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            event.finish(transactionId, amount, outcome);
+        }
+    }
+
+    public static void run(PaymentStageEvent event, String transactionId, BigDecimal amount, Runnable stage) {
+        time(event, transactionId, amount, () -> {
+            stage.run();
+            return null;
+        });
+    }
+
+    public static String outcomeOf(Throwable failure) {
+        if (failure instanceof BusinessDeclineException) {
+            return PaymentStageEvent.DECLINED;
+        }
+        if (failure instanceof BankSwitchException switchException && switchException.isDecline()) {
+            return PaymentStageEvent.DECLINED;
+        }
+        return PaymentStageEvent.FAILED;
+    }
+}
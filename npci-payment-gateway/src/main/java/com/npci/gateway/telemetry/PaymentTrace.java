@@ -0,0 +1,25 @@
+package com.npci.gateway.telemetry;
+
+/**
+ * Transaction id of the payment running on the current thread, so stages that
+ * only see an account number can still be tied to their payment.
+ */
+public final class PaymentTrace {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private PaymentTrace() {
+    }
+
+    public static void begin(String transactionId) {
+        CURRENT.set(transactionId);
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static String transactionId() {
+        return CURRENT.get();
+    }
+}
@@ -0,0 +1,22 @@
+package com.npci.gateway.telemetry;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.npci.gateway.SwitchCall")
+@Label("Switch Call")
+@Description("One call to a bank through the switch, including simulated latency")
+public class SwitchCallEvent extends PaymentStageEvent {
+
+    @Label("Bank Code")
+    String bankCode;
+
+    @Label("Operation")
+    String operation;
+
+    public SwitchCallEvent(String bankCode, String operation) {
+        this.bankCode = bankCode;
+        this.operation = operation;
+    }
+}
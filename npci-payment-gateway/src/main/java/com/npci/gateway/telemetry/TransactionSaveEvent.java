@@ -0,0 +1,11 @@
+package com.npci.gateway.telemetry;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.npci.gateway.TransactionSave")
+@Label("Transaction Save")
+@Description("Insert or update of the transaction record")
+public class TransactionSaveEvent extends PaymentStageEvent {
+}
@@ -0,0 +1,18 @@
+package com.npci.gateway.telemetry;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.npci.gateway.VpaResolution")
+@Label("VPA Resolution")
+@Description("Lookup of a payer or payee VPA")
+public class VpaResolutionEvent extends PaymentStageEvent {
+
+    @Label("Role")
+    String role;
+
+    public VpaResolutionEvent(String role) {
+        this.role = role;
+    }
+}
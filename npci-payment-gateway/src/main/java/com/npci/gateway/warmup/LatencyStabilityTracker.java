@@ -0,0 +1,52 @@
+package com.npci.gateway.warmup;
+
+import java.util.Arrays;
+
+/**
+ * Decides when per-iteration latency has stopped improving: the medians of
+ * {@code stableWindows} consecutive windows must each be within
+ * {@code tolerance} of the previous one.
+ */
+class LatencyStabilityTracker {
+
+    private final long[] window;
+    private final int stableWindowsRequired;
+    private final double tolerance;
+    private int filled;
+    private long previousMedian = -1;
+    private int stableWindows;
+    private long lastMedian = -1;
+
+    LatencyStabilityTracker(int windowSize, int stableWindowsRequired, double tolerance) {
+        this.window = new long[windowSize];
+        this.stableWindowsRequired = stableWindowsRequired;
+        this.tolerance = tolerance;
+    }
+
+    void record(long nanos) {
+        window[filled++] = nanos;
+        if (filled < window.length) {
+            return;
+        }
+        long[] sorted = window.clone();
+        Arrays.sort(sorted);
+        lastMedian = sorted[sorted.length / 2];
+        filled = 0;
+
+        if (previousMedian > 0 && Math.abs(lastMedian - previousMedian) <= previousMedian * tolerance) {
+            stableWindows++;
+        } else {
+            stableWindows = 0;
+        }
+        previousMedian = lastMedian;
+    }
+
+    boolean isStable() {
+        return stableWindows >= stableWindowsRequired;
+    }
+
+    /** Median of the last complete window, or -1 before the first window fills. */
+    long lastMedianNanos() {
+        return lastMedian;
+    }
+}
@@ -0,0 +1,28 @@
+package com.npci.gateway.warmup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Part of the readiness group: OUT_OF_SERVICE until {@link WarmUpRunner} has
+ * finished, so the load balancer only routes to a warmed-up instance.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmUpHealthIndicator implements HealthIndicator {
+
+    private final WarmUpRunner warmUpRunner;
+
+    @Override
+    public Health health() {
+        WarmUpRunner.Progress progress = warmUpRunner.progress();
+        Health.Builder builder = progress.isComplete() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("iterations", progress.getIterations())
+                .withDetail("stabilized", progress.isStabilized())
+                .withDetail("medianIterationMicros", progress.getMedianIterationMicros())
+                .build();
+    }
+}
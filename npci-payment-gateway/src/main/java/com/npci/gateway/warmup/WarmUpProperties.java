@@ -0,0 +1,35 @@
+package com.npci.gateway.warmup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.warmup")
+@Data
+public class WarmUpProperties {
+
+    private boolean enabled = true;
+
+    /** IFSC of the throwaway accounts; its bank code should map to a zero-latency switch entry. */
+    private String ifscCode = "WARM0000001";
+
+    /** Distinct throwaway payers, so warm-up traffic stays under per-payer velocity limits. */
+    private int payers = 64;
+
+    /** Iterations per latency window. */
+    private int windowSize = 50;
+
+    /** Consecutive windows whose median must agree before latency counts as stable. */
+    private int stableWindows = 3;
+
+    /** Allowed relative change between consecutive window medians. */
+    private double tolerance = 0.10;
+
+    private int minIterations = 200;
+
+    private int maxIterations = 5000;
+
+    /** Readiness is reported regardless once this much time has passed. */
+    private long maxDurationMs = 60_000;
+}
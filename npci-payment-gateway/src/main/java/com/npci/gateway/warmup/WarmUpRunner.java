@@ -0,0 +1,191 @@
+package com.npci.gateway.warmup;
+
+import com.npci.gateway.dto.ImpsTransferRequest;
+import com.npci.gateway.dto.TransactionResponse;
+import com.npci.gateway.dto.UpiPaymentRequest;
+import com.npci.gateway.exception.InvalidUpiIdException;
+import com.npci.gateway.model.Account;
+import com.npci.gateway.model.UpiId;
+import com.npci.gateway.partition.PartitionMap;
+import com.npci.gateway.repository.AccountRepository;
+import com.npci.gateway.repository.UpiIdRepository;
+import com.npci.gateway.risk.VelocityCounterStore;
+import com.npci.gateway.service.ImpsService;
+import com.npci.gateway.service.TransactionService;
+import com.npci.gateway.service.UpiService;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives synthetic UPI, IMPS and status flows through the real services until
+ * per-iteration latency stabilizes, so the JIT has compiled the hot paths
+ * before the instance reports ready.
+ *
+ * <p>Every iteration runs in one transaction that is always rolled back, against
+ * throwaway accounts on a dedicated bank code, so nothing persists and no real
+ * bank channel sees the traffic. The payers' velocity history is dropped at the end.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WarmUpRunner {
+
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    private final WarmUpProperties properties;
+    private final AccountRepository accountRepository;
+    private final UpiIdRepository upiIdRepository;
+    private final UpiService upiService;
+    private final ImpsService impsService;
+    private final TransactionService transactionService;
+    private final VelocityCounterStore velocityCounterStore;
+    private final PartitionMap partitionMap;
+    private final PlatformTransactionManager transactionManager;
+
+    private volatile Progress progress = new Progress(false, false, 0, -1);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.isEnabled()) {
+            progress = new Progress(true, false, 0, -1);
+            return;
+        }
+        Thread warmUp = new Thread(this::warmUp, "warm-up");
+        warmUp.setDaemon(true);
+        warmUp.start();
+    }
+
+    public Progress progress() {
+        return progress;
+    }
+
+    void warmUp() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        LatencyStabilityTracker tracker = new LatencyStabilityTracker(
+                properties.getWindowSize(), properties.getStableWindows(), properties.getTolerance());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getMaxDurationMs());
+        int iterations = 0;
+
+        log.info("JIT warm-up started");
+        try {
+            while (iterations < properties.getMaxIterations()
+                    && System.nanoTime() < deadline
+                    && !(iterations >= properties.getMinIterations() && tracker.isStable())) {
+                int payer = iterations % properties.getPayers();
+                long start = System.nanoTime();
+                template.executeWithoutResult(status -> {
+                    runIteration(payer);
+                    status.setRollbackOnly();
+                });
+                tracker.record(System.nanoTime() - start);
+                iterations++;
+                if (iterations % properties.getWindowSize() == 0) {
+                    progress = new Progress(false, false, iterations, micros(tracker.lastMedianNanos()));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("JIT warm-up aborted after {} iterations: {}", iterations, e.getMessage());
+        } finally {
+            for (int payer = 0; payer < properties.getPayers(); payer++) {
+                velocityCounterStore.forget(VelocityCounterStore.accountKey(payerAccount(payer)));
+                velocityCounterStore.forget(VelocityCounterStore.vpaKey(payerVpa(payer)));
+            }
+        }
+
+        progress = new Progress(true, tracker.isStable(), iterations, micros(tracker.lastMedianNanos()));
+        log.info("JIT warm-up finished: {} iterations, stabilized={}, median iteration {}us",
+                iterations, tracker.isStable(), progress.getMedianIterationMicros());
+    }
+
+    private void runIteration(int payerIndex) {
+        Account payer = createAccount(payerAccount(payerIndex), payerVpa(payerIndex));
+        Account payee = createAccount("WARMUP-PAYEE", "warmup.payee@warm");
+
+        upiService.validateUpiId(payerVpa(payerIndex));
+
+        TransactionResponse payment = upiService.initiatePayment(
+                upiPayment(payerVpa(payerIndex), "warmup.payee@warm", BigDecimal.ONE));
+        transactionService.getTransactionStatus(payment.getTransactionId());
+
+        // a partitioned node would ask its peers about the unknown VPA on every iteration
+        if (!partitionMap.isEnabled()) {
+            try {
+                upiService.initiatePayment(upiPayment(payerVpa(payerIndex), "warmup.unknown@warm", BigDecimal.ONE));
+            } catch (InvalidUpiIdException expected) {
+                // decline path
+            }
+        }
+
+        // declined for insufficient balance after bank authorization
+        impsService.initiateTransfer(impsTransfer(payer, payee, OPENING_BALANCE.add(BigDecimal.ONE)));
+    }
+
+    private Account createAccount(String accountNumber, String vpa) {
+        Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        account.setAccountHolderName("Warm-up");
+        account.setBalance(OPENING_BALANCE);
+        account.setIfscCode(properties.getIfscCode());
+        account.setBankName("Warm-up");
+        account.setAccountType("SAVINGS");
+        account.setStatus("ACTIVE");
+        Account savedAccount = accountRepository.save(account);
+
+        UpiId upiId = new UpiId();
+        upiId.setUpiId(vpa);
+        upiId.setAccount(savedAccount);
+        upiId.setIsPrimary(true);
+        upiId.setStatus("ACTIVE");
+        upiId.setCreatedAt(LocalDateTime.now());
+        upiIdRepository.save(upiId);
+        return savedAccount;
+    }
+
+    private UpiPaymentRequest upiPayment(String from, String to, BigDecimal amount) {
+        UpiPaymentRequest request = new UpiPaymentRequest();
+        request.setFromUpiId(from);
+        request.setToUpiId(to);
+        request.setAmount(amount);
+        request.setRemarks("warm-up");
+        return request;
+    }
+
+    private ImpsTransferRequest impsTransfer(Account from, Account to, BigDecimal amount) {
+        ImpsTransferRequest request = new ImpsTransferRequest();
+        request.setFromAccount(from.getAccountNumber());
+        request.setToAccount(to.getAccountNumber());
+        request.setIfscCode(to.getIfscCode());
+        request.setAmount(amount);
+        request.setRemarks("warm-up");
+        return request;
+    }
+
+    private static String payerAccount(int index) {
+        return String.format("WARMUP%06d", index);
+    }
+
+    private static String payerVpa(int index) {
+        return "warmup" + index + "@warm";
+    }
+
+    private static long micros(long nanos) {
+        return nanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    @Value
+    public static class Progress {
+        boolean complete;
+        boolean stabilized;
+        int iterations;
+        long medianIterationMicros;
+    }
+}
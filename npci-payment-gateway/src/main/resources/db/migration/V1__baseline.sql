@@ -0,0 +1,86 @@
+-- Schema of the durable profile; the default in-memory mode still lets Hibernate create it.
+-- Column types follow what Hibernate generates for the entities, so ddl-auto=validate passes.
+
+CREATE TABLE accounts (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    account_number      VARCHAR(255)   NOT NULL,
+    account_holder_name VARCHAR(255)   NOT NULL,
+    balance             NUMERIC(38, 2) NOT NULL,
+    ifsc_code           VARCHAR(255)   NOT NULL,
+    bank_name           VARCHAR(255)   NOT NULL,
+    account_type        VARCHAR(255)   NOT NULL,
+    status              VARCHAR(255)   NOT NULL,
+    created_at          TIMESTAMP(6)   NOT NULL,
+    updated_at          TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT uk_accounts_account_number UNIQUE (account_number)
+);
+
+CREATE TABLE upi_ids (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    upi_id     VARCHAR(255) NOT NULL,
+    account_id BIGINT       NOT NULL,
+    is_primary BOOLEAN      NOT NULL,
+    status     VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_upi_ids_upi_id UNIQUE (upi_id),
+    CONSTRAINT fk_upi_ids_account FOREIGN KEY (account_id) REFERENCES accounts (id)
+);
+
+CREATE TABLE transactions (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    transaction_id    VARCHAR(255)   NOT NULL,
+    transaction_type  VARCHAR(255)   NOT NULL,
+    from_account_id   BIGINT         NOT NULL,
+    to_account_id     BIGINT,
+    remote_to_account VARCHAR(255),
+    amount            NUMERIC(38, 2) NOT NULL,
+    status            VARCHAR(255)   NOT NULL,
+    remarks           VARCHAR(255),
+    failure_reason    VARCHAR(255),
+    created_at        TIMESTAMP(6)   NOT NULL,
+    updated_at        TIMESTAMP(6)   NOT NULL,
+    partition_day     INTEGER        NOT NULL,
+    CONSTRAINT uk_transactions_transaction_id UNIQUE (transaction_id),
+    CONSTRAINT fk_transactions_from_account FOREIGN KEY (from_account_id) REFERENCES accounts (id),
+    CONSTRAINT fk_transactions_to_account FOREIGN KEY (to_account_id) REFERENCES accounts (id)
+);
+
+CREATE INDEX idx_transactions_created_at ON transactions (created_at);
+CREATE INDEX idx_transactions_partition_day ON transactions (partition_day);
+
+CREATE TABLE outbox_events (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_id VARCHAR(255)  NOT NULL,
+    event_type   VARCHAR(255)  NOT NULL,
+    payload      VARCHAR(4000) NOT NULL,
+    created_at   TIMESTAMP(6)  NOT NULL
+);
+
+CREATE TABLE payment_intents (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    transaction_id  VARCHAR(255)   NOT NULL,
+    from_account    VARCHAR(255)   NOT NULL,
+    to_account      VARCHAR(255)   NOT NULL,
+    to_node         VARCHAR(255)   NOT NULL,
+    amount          NUMERIC(38, 2) NOT NULL,
+    state           VARCHAR(255)   NOT NULL,
+    attempts        INTEGER        NOT NULL,
+    next_attempt_at TIMESTAMP(6)   NOT NULL,
+    last_error      VARCHAR(255),
+    created_at      TIMESTAMP(6)   NOT NULL,
+    updated_at      TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT uk_payment_intents_transaction_id UNIQUE (transaction_id)
+);
+
+CREATE INDEX idx_payment_intents_state_next_attempt ON payment_intents (state, next_attempt_at);
+
+CREATE TABLE remote_credits (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    transaction_id VARCHAR(255)   NOT NULL,
+    account_number VARCHAR(255),
+    amount         NUMERIC(38, 2),
+    status         VARCHAR(255)   NOT NULL,
+    reason         VARCHAR(255),
+    created_at     TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT uk_remote_credits_transaction_id UNIQUE (transaction_id)
+);
@@ -0,0 +1,41 @@
+package com.npci.gateway.reactive.client;
+
+import com.npci.gateway.client.BankSwitchException;
+import com.npci.gateway.client.BankSwitchProperties;
+import com.npci.gateway.client.SwitchRequest;
+import com.npci.gateway.client.SwitchResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Non-blocking counterpart of {@code SimulatedBankSwitchClient}: the same
+ * per-bank latency model, but the wait is a timer instead of a parked thread,
+ * and calls slower than {@code app.switch.timeout-ms} fail with a timeout.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReactiveBankSwitchClient {
+
+    private final BankSwitchProperties properties;
+
+    public Mono<SwitchResponse> send(SwitchRequest request) {
+        return Mono.defer(() -> {
+            BankSwitchProperties.Latency model = properties.latencyFor(request.getBankCode());
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long latency = model.sampleMillis(random);
+            boolean declined = random.nextDouble() < model.getFailureRate();
+
+            Mono<SwitchResponse> answer = declined
+                    ? Mono.error(new BankSwitchException(request.getBankCode(), BankSwitchException.Reason.DECLINED,
+                            "Bank " + request.getBankCode() + " declined " + request.getOperation()))
+                    : Mono.just(new SwitchResponse(request.getBankCode(), request.getOperation(),
+                            request.getReference(), latency, false));
+            return latency <= 0 ? answer : Mono.delay(Duration.ofMillis(latency)).then(answer);
+        }).timeout(Duration.ofMillis(properties.getTimeoutMs()),
+                Mono.error(() -> new BankSwitchException(request.getBankCode(), BankSwitchException.Reason.TIMEOUT,
+                        "Bank " + request.getBankCode() + " did not respond within " + properties.getTimeoutMs() + "ms")));
+    }
+}
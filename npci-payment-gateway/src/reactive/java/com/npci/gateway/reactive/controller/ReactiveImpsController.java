@@ -0,0 +1,33 @@
+package com.npci.gateway.reactive.controller;
+
+import com.npci.gateway.dto.ApiResponse;
+import com.npci.gateway.dto.ImpsTransferRequest;
+import com.npci.gateway.dto.TransactionResponse;
+import com.npci.gateway.reactive.service.ReactiveImpsService;
+import com.npci.gateway.rules.PaymentRules;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/imps")
+@RequiredArgsConstructor
+public class ReactiveImpsController {
+    
+    private final ReactiveImpsService impsService;
+    
+    @PostMapping("/transfer")
+    public Mono<ResponseEntity<ApiResponse<TransactionResponse>>> initiateTransfer(
+            @Valid @RequestBody ImpsTransferRequest request) {
+        return impsService.initiateTransfer(request)
+                .map(response -> PaymentRules.SUCCESS.equals(response.getStatus())
+                        ? ResponseEntity.status(HttpStatus.CREATED)
+                                .body(ApiResponse.success("Transfer initiated successfully", response))
+                        : ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .body(ApiResponse.<TransactionResponse>error(
+                                        "Transfer failed: " + response.getFailureReason())));
+    }
+}
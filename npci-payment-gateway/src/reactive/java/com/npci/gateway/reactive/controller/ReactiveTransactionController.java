@@ -0,0 +1,25 @@
+package com.npci.gateway.reactive.controller;
+
+import com.npci.gateway.dto.ApiResponse;
+import com.npci.gateway.dto.TransactionResponse;
+import com.npci.gateway.reactive.service.ReactiveTransactionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/transactions")
+@RequiredArgsConstructor
+public class ReactiveTransactionController {
+    
+    private final ReactiveTransactionService transactionService;
+    
+    @GetMapping("/{transactionId}")
+    public Mono<ResponseEntity<ApiResponse<TransactionResponse>>> getTransactionStatus(
+            @PathVariable String transactionId) {
+        return transactionService.getTransactionStatus(transactionId)
+                .map(response -> ResponseEntity.ok(
+                        ApiResponse.success("Transaction retrieved successfully", response)));
+    }
+}
@@ -0,0 +1,42 @@
+package com.npci.gateway.reactive.controller;
+
+import com.npci.gateway.dto.ApiResponse;
+import com.npci.gateway.dto.TransactionResponse;
+import com.npci.gateway.dto.UpiPaymentRequest;
+import com.npci.gateway.reactive.service.ReactiveUpiService;
+import com.npci.gateway.rules.PaymentRules;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/upi")
+@RequiredArgsConstructor
+public class ReactiveUpiController {
+    
+    private final ReactiveUpiService upiService;
+    
+    @PostMapping("/validate")
+    public Mono<ResponseEntity<ApiResponse<Boolean>>> validateUpiId(@RequestBody String upiId) {
+        return upiService.validateUpiId(upiId)
+                .map(isValid -> isValid
+                        ? ResponseEntity.ok(ApiResponse.success("UPI ID is valid", true))
+                        : ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                .body(ApiResponse.<Boolean>error("UPI ID not found")));
+    }
+    
+    @PostMapping("/payment")
+    public Mono<ResponseEntity<ApiResponse<TransactionResponse>>> initiatePayment(
+            @Valid @RequestBody UpiPaymentRequest request) {
+        return upiService.initiatePayment(request)
+                .map(response -> PaymentRules.SUCCESS.equals(response.getStatus())
+                        ? ResponseEntity.status(HttpStatus.CREATED)
+                                .body(ApiResponse.success("Payment initiated successfully", response))
+                        : ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .body(ApiResponse.<TransactionResponse>error(
+                                        "Payment failed: " + response.getFailureReason())));
+    }
+}
@@ -0,0 +1,37 @@
+package com.npci.gateway.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Table("accounts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Account {
+    
+    @Id
+    private Long id;
+    
+    private String accountNumber;
+    
+    private String accountHolderName;
+    
+    private BigDecimal balance;
+    
+    private String ifscCode;
+    
+    private String bankName;
+    
+    private String accountType;
+    
+    private String status;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
+}
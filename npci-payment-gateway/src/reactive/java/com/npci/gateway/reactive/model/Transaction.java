@@ -0,0 +1,68 @@
+package com.npci.gateway.reactive.model;
+
+import com.npci.gateway.rules.PaymentRules;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Same {@code transactions} row as the JPA entity. R2DBC has no lifecycle
+ * callbacks, so timestamps and the partition key are set by {@link #create}
+ * and {@link #touch}.
+ */
+@Table("transactions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Transaction {
+    
+    @Id
+    private Long id;
+    
+    private String transactionId;
+    
+    private String transactionType;
+    
+    private Long fromAccountId;
+    
+    private Long toAccountId;
+    
+    private BigDecimal amount;
+    
+    private String status;
+    
+    private String remarks;
+    
+    private String failureReason;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
+    
+    private Integer partitionDay;
+    
+    public static Transaction create(String transactionId, String transactionType,
+                                     Account from, Account to, BigDecimal amount, String remarks) {
+        LocalDateTime now = LocalDateTime.now();
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(transactionId);
+        transaction.setTransactionType(transactionType);
+        transaction.setFromAccountId(from.getId());
+        transaction.setToAccountId(to.getId());
+        transaction.setAmount(amount);
+        transaction.setStatus(PaymentRules.PROCESSING);
+        transaction.setRemarks(remarks);
+        transaction.setCreatedAt(now);
+        transaction.setUpdatedAt(now);
+        transaction.setPartitionDay(PaymentRules.partitionDay(now));
+        return transaction;
+    }
+    
+    public void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+}
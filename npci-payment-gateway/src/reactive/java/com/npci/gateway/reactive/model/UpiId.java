@@ -0,0 +1,28 @@
+package com.npci.gateway.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+import java.time.LocalDateTime;
+
+@Table("upi_ids")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpiId {
+    
+    @Id
+    private Long id;
+    
+    private String upiId;
+    
+    private Long accountId;
+    
+    private Boolean isPrimary;
+    
+    private String status;
+    
+    private LocalDateTime createdAt;
+}
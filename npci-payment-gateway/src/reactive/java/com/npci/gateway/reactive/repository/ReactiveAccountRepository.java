@@ -0,0 +1,26 @@
+package com.npci.gateway.reactive.repository;
+
+import com.npci.gateway.reactive.model.Account;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+import java.math.BigDecimal;
+
+@Repository
+public interface ReactiveAccountRepository extends ReactiveCrudRepository<Account, Long> {
+    
+    Mono<Account> findByAccountNumber(String accountNumber);
+    
+    /** Returns 0 when the balance no longer covers {@code amount}, e.g. after a concurrent debit. */
+    @Modifying
+    @Query("UPDATE accounts SET balance = balance - :amount, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE account_number = :accountNumber AND balance >= :amount")
+    Mono<Integer> debit(String accountNumber, BigDecimal amount);
+    
+    @Modifying
+    @Query("UPDATE accounts SET balance = balance + :amount, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE account_number = :accountNumber")
+    Mono<Integer> credit(String accountNumber, BigDecimal amount);
+}
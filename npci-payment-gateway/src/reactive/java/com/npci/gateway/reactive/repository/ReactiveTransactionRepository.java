@@ -0,0 +1,9 @@
+package com.npci.gateway.reactive.repository;
+
+import com.npci.gateway.reactive.model.Transaction;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveTransactionRepository extends ReactiveCrudRepository<Transaction, Long> {
+}
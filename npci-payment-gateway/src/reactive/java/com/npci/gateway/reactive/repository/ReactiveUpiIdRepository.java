@@ -0,0 +1,12 @@
+package com.npci.gateway.reactive.repository;
+
+import com.npci.gateway.reactive.model.UpiId;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveUpiIdRepository extends ReactiveCrudRepository<UpiId, Long> {
+    
+    Mono<UpiId> findByUpiId(String upiId);
+}
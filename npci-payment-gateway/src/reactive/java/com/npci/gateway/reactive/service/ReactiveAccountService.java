@@ -0,0 +1,47 @@
+package com.npci.gateway.reactive.service;
+
+import com.npci.gateway.exception.AccountNotFoundException;
+import com.npci.gateway.exception.InsufficientBalanceException;
+import com.npci.gateway.reactive.model.Account;
+import com.npci.gateway.reactive.repository.ReactiveAccountRepository;
+import com.npci.gateway.rules.PaymentRules;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import java.math.BigDecimal;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveAccountService {
+    
+    private final ReactiveAccountRepository accountRepository;
+    
+    public Mono<Account> getAccountByNumber(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber)
+                .switchIfEmpty(Mono.error(() -> AccountNotFoundException.forAccount(accountNumber)));
+    }
+    
+    /*
+     * The balance check runs on the loaded row for the usual decline message,
+     * and again inside the UPDATE, since nothing locks the row in between.
+     */
+    public Mono<Void> debitAccount(String accountNumber, BigDecimal amount) {
+        return getAccountByNumber(accountNumber)
+                .doOnNext(account -> PaymentRules.requireSufficientBalance(accountNumber, account.getBalance(), amount))
+                .flatMap(account -> accountRepository.debit(accountNumber, amount))
+                .flatMap(updated -> updated == 1
+                        ? Mono.<Void>empty()
+                        : Mono.<Void>error(InsufficientBalanceException.forAccount(accountNumber)))
+                .doOnSuccess(ignored -> log.info("Debited {} from account {}", amount, accountNumber));
+    }
+    
+    public Mono<Void> creditAccount(String accountNumber, BigDecimal amount) {
+        return accountRepository.credit(accountNumber, amount)
+                .flatMap(updated -> updated == 1
+                        ? Mono.<Void>empty()
+                        : Mono.<Void>error(AccountNotFoundException.forAccount(accountNumber)))
+                .doOnSuccess(ignored -> log.info("Credited {} to account {}", amount, accountNumber));
+    }
+}
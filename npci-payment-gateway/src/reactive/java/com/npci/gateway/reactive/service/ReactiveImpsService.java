@@ -0,0 +1,97 @@
+package com.npci.gateway.reactive.service;
+
+import com.npci.gateway.client.BankSwitchClient;
+import com.npci.gateway.client.BankSwitchException;
+import com.npci.gateway.client.SwitchRequest;
+import com.npci.gateway.dto.ImpsTransferRequest;
+import com.npci.gateway.dto.TransactionResponse;
+import com.npci.gateway.exception.BusinessDeclineException;
+import com.npci.gateway.reactive.client.ReactiveBankSwitchClient;
+import com.npci.gateway.reactive.model.Account;
+import com.npci.gateway.reactive.model.Transaction;
+import com.npci.gateway.reactive.repository.ReactiveTransactionRepository;
+import com.npci.gateway.rules.PaymentRules;
+import com.npci.gateway.util.TransactionIdGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveImpsService {
+    
+    private final ReactiveTransactionRepository transactionRepository;
+    private final ReactiveAccountService accountService;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final ReactiveBankSwitchClient bankSwitchClient;
+    
+    @Transactional
+    public Mono<TransactionResponse> initiateTransfer(ImpsTransferRequest request) {
+        String transactionId = transactionIdGenerator.generateImpsTransactionId();
+        return accountService.getAccountByNumber(request.getFromAccount())
+                .zipWith(accountService.getAccountByNumber(request.getToAccount()))
+                .flatMap(accounts -> processTransfer(transactionId, request, accounts.getT1(), accounts.getT2()));
+    }
+    
+    private Mono<TransactionResponse> processTransfer(String transactionId, ImpsTransferRequest request,
+                                                      Account fromAccount, Account toAccount) {
+        Transaction transaction = Transaction.create(transactionId, "IMPS",
+                fromAccount, toAccount, request.getAmount(), request.getRemarks());
+        
+        Mono<Void> debit = authorizeWithBanks(transaction, fromAccount, toAccount)
+                .then(accountService.debitAccount(request.getFromAccount(), request.getAmount()));
+        Mono<Void> credit = accountService.creditAccount(request.getToAccount(), request.getAmount());
+        
+        return transactionRepository.save(transaction)
+                // A decline before the debit leaves a FAILED row; any error after
+                // the debit propagates so the transaction rolls the debit back
+                .flatMap(saved -> debit
+                        .thenReturn(true)
+                        .onErrorResume(ReactiveImpsService::isDecline, e -> {
+                            saved.setStatus(PaymentRules.FAILED);
+                            saved.setFailureReason(e.getMessage());
+                            if (e instanceof BusinessDeclineException
+                                    || e instanceof BankSwitchException switchException && switchException.isDecline()) {
+                                log.debug("IMPS transfer declined: {}", e.getMessage());
+                            } else {
+                                log.error("IMPS transfer failed: {}", e.getMessage());
+                            }
+                            return Mono.just(false);
+                        })
+                        .flatMap(debited -> debited
+                                ? credit
+                                        .doOnError(e -> log.error("IMPS transfer {} failed after debit, rolling back: {}",
+                                                transactionId, e.getMessage()))
+                                        .then(Mono.fromCallable(() -> {
+                                            saved.setStatus(PaymentRules.SUCCESS);
+                                            log.info("IMPS transfer successful: {}", transactionId);
+                                            return saved;
+                                        }))
+                                : Mono.just(saved)))
+                .flatMap(completed -> {
+                    completed.touch();
+                    return transactionRepository.save(completed);
+                })
+                .map(saved -> ReactiveTransactionService.toResponse(saved, fromAccount, toAccount));
+    }
+    
+    /** Business declines and bank switch failures, raised before any money moved. */
+    private static boolean isDecline(Throwable e) {
+        return e instanceof BusinessDeclineException || e instanceof BankSwitchException;
+    }
+    
+    private Mono<Void> authorizeWithBanks(Transaction transaction, Account from, Account to) {
+        return bankSwitchClient.send(SwitchRequest.debit(
+                        BankSwitchClient.bankCodeOf(from.getIfscCode()),
+                        transaction.getTransactionId(),
+                        transaction.getAmount()))
+                .then(bankSwitchClient.send(SwitchRequest.credit(
+                        BankSwitchClient.bankCodeOf(to.getIfscCode()),
+                        transaction.getTransactionId(),
+                        transaction.getAmount())))
+                .then();
+    }
+}
@@ -0,0 +1,60 @@
+package com.npci.gateway.reactive.service;
+
+import com.npci.gateway.dto.TransactionResponse;
+import com.npci.gateway.exception.TransactionNotFoundException;
+import com.npci.gateway.reactive.model.Account;
+import com.npci.gateway.reactive.model.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class ReactiveTransactionService {
+    
+    private static final String STATUS_QUERY = "SELECT t.transaction_id, t.transaction_type, t.amount, t.status, "
+            + "t.remarks, t.failure_reason, t.created_at, "
+            + "f.account_number AS from_account, a.account_number AS to_account "
+            + "FROM transactions t "
+            + "JOIN accounts f ON f.id = t.from_account_id "
+            + "JOIN accounts a ON a.id = t.to_account_id "
+            + "WHERE t.transaction_id = :transactionId";
+    
+    private final DatabaseClient databaseClient;
+    
+    public Mono<TransactionResponse> getTransactionStatus(String transactionId) {
+        return databaseClient.sql(STATUS_QUERY)
+                .bind("transactionId", transactionId)
+                .map(row -> TransactionResponse.builder()
+                        .transactionId(row.get("transaction_id", String.class))
+                        .transactionType(row.get("transaction_type", String.class))
+                        .amount(row.get("amount", BigDecimal.class))
+                        .status(row.get("status", String.class))
+                        .fromAccount(row.get("from_account", String.class))
+                        .toAccount(row.get("to_account", String.class))
+                        .remarks(row.get("remarks", String.class))
+                        .failureReason(row.get("failure_reason", String.class))
+                        .timestamp(row.get("created_at", LocalDateTime.class))
+                        .build())
+                .one()
+                .switchIfEmpty(Mono.error(() -> new TransactionNotFoundException(
+                        "Transaction not found: " + transactionId)));
+    }
+    
+    static TransactionResponse toResponse(Transaction transaction, Account from, Account to) {
+        return TransactionResponse.builder()
+                .transactionId(transaction.getTransactionId())
+                .transactionType(transaction.getTransactionType())
+                .amount(transaction.getAmount())
+                .status(transaction.getStatus())
+                .fromAccount(from.getAccountNumber())
+                .toAccount(to.getAccountNumber())
+                .remarks(transaction.getRemarks())
+                .failureReason(transaction.getFailureReason())
+                .timestamp(transaction.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package com.npci.gateway.reactive.service;
+
+import com.npci.gateway.client.BankSwitchClient;
+import com.npci.gateway.client.BankSwitchException;
+import com.npci.gateway.client.SwitchRequest;
+import com.npci.gateway.dto.TransactionResponse;
+import com.npci.gateway.dto.UpiPaymentRequest;
+import com.npci.gateway.exception.BusinessDeclineException;
+import com.npci.gateway.exception.InvalidUpiIdException;
+import com.npci.gateway.reactive.client.ReactiveBankSwitchClient;
+import com.npci.gateway.reactive.model.Account;
+import com.npci.gateway.reactive.model.Transaction;
+import com.npci.gateway.reactive.model.UpiId;
+import com.npci.gateway.reactive.repository.ReactiveAccountRepository;
+import com.npci.gateway.reactive.repository.ReactiveTransactionRepository;
+import com.npci.gateway.reactive.repository.ReactiveUpiIdRepository;
+import com.npci.gateway.risk.PaymentAttempt;
+import com.npci.gateway.risk.PreDebitChecks;
+import com.npci.gateway.rules.PaymentRules;
+import com.npci.gateway.util.TransactionIdGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveUpiService {
+    
+    private final ReactiveUpiIdRepository upiIdRepository;
+    private final ReactiveAccountRepository accountRepository;
+    private final ReactiveTransactionRepository transactionRepository;
+    private final ReactiveAccountService accountService;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final ReactiveBankSwitchClient bankSwitchClient;
+    private final PreDebitChecks preDebitChecks;
+    
+    public Mono<Boolean> validateUpiId(String upiId) {
+        return upiIdRepository.findByUpiId(upiId)
+                .flatMap(vpa -> accountRepository.findById(vpa.getAccountId()))
+                .flatMap(account -> bankSwitchClient.send(SwitchRequest.validate(
+                        BankSwitchClient.bankCodeOf(account.getIfscCode()), upiId)))
+                .map(response -> true)
+                .defaultIfEmpty(false);
+    }
+    
+    @Transactional
+    public Mono<TransactionResponse> initiatePayment(UpiPaymentRequest request) {
+        String transactionId = transactionIdGenerator.generateUpiTransactionId();
+        Mono<Party> payer = resolve(request.getFromUpiId())
+                .switchIfEmpty(Mono.error(() -> InvalidUpiIdException.sender(request.getFromUpiId())));
+        Mono<Party> payee = resolve(request.getToUpiId())
+                .switchIfEmpty(Mono.error(() -> InvalidUpiIdException.receiver(request.getToUpiId())));
+        
+        return payer.zipWith(payee)
+                .flatMap(parties -> processPayment(transactionId, request, parties.getT1(), parties.getT2()));
+    }
+    
+    private Mono<TransactionResponse> processPayment(String transactionId, UpiPaymentRequest request,
+                                                     Party from, Party to) {
+        Transaction transaction = Transaction.create(transactionId, "UPI",
+                from.getAccount(), to.getAccount(), request.getAmount(), request.getRemarks());
+        PaymentAttempt attempt = new PaymentAttempt(
+                transactionId,
+                transaction.getTransactionType(),
+                from.getAccount().getAccountNumber(),
+                from.getVpa().getUpiId(),
+                to.getAccount().getAccountNumber(),
+                request.getAmount(),
+                System.currentTimeMillis()
+        );
+        
+        AtomicReference<PreDebitChecks.Hold> hold = new AtomicReference<>();
+        Mono<Void> debit = Mono.fromRunnable(() -> hold.set(preDebitChecks.run(attempt)))
+                .then(authorizeWithBanks(transaction, from.getAccount(), to.getAccount()))
+                .then(accountService.debitAccount(from.getAccount().getAccountNumber(), request.getAmount()));
+        Mono<Void> credit = accountService.creditAccount(to.getAccount().getAccountNumber(), request.getAmount());
+        
+        return transactionRepository.save(transaction)
+                // A decline before the debit leaves a FAILED row; any error after
+                // the debit propagates so the transaction rolls the debit back
+                .flatMap(saved -> debit
+                        .thenReturn(true)
+                        .onErrorResume(ReactiveUpiService::isDecline, e -> {
+                            release(hold);
+                            saved.setStatus(PaymentRules.FAILED);
+                            saved.setFailureReason(e.getMessage());
+                            if (e instanceof BusinessDeclineException
+                                    || e instanceof BankSwitchException switchException && switchException.isDecline()) {
+                                log.debug("UPI payment declined: {}", e.getMessage());
+                            } else {
+                                log.error("UPI payment failed: {}", e.getMessage());
+                            }
+                            return Mono.just(false);
+                        })
+                        .flatMap(debited -> debited
+                                ? credit
+                                        .doOnError(e -> log.error("UPI payment {} failed after debit, rolling back: {}",
+                                                transactionId, e.getMessage()))
+                                        .then(Mono.fromCallable(() -> {
+                                            saved.setStatus(PaymentRules.SUCCESS);
+                                            log.info("UPI payment successful: {}", transactionId);
+                                            return saved;
+                                        }))
+                                : Mono.just(saved)))
+                .flatMap(completed -> {
+                    completed.touch();
+                    return transactionRepository.save(completed);
+                })
+                .map(saved -> ReactiveTransactionService.toResponse(saved, from.getAccount(), to.getAccount()))
+                .doOnError(e -> release(hold));
+    }
+    
+    /** A payment that declined or rolled back must not use up the payer's velocity limits. */
+    private static void release(AtomicReference<PreDebitChecks.Hold> hold) {
+        PreDebitChecks.Hold held = hold.get();
+        if (held != null) {
+            held.release();
+        }
+    }
+    
+    private Mono<Party> resolve(String upiId) {
+        return upiIdRepository.findByUpiId(upiId)
+                .flatMap(vpa -> accountRepository.findById(vpa.getAccountId())
+                        .map(account -> new Party(vpa, account)));
+    }
+    
+    /** Business declines and bank switch failures, raised before any money moved. */
+    private static boolean isDecline(Throwable e) {
+        return e instanceof BusinessDeclineException || e instanceof BankSwitchException;
+    }
+    
+    private Mono<Void> authorizeWithBanks(Transaction transaction, Account from, Account to) {
+        return bankSwitchClient.send(SwitchRequest.debit(
+                        BankSwitchClient.bankCodeOf(from.getIfscCode()),
+                        transaction.getTransactionId(),
+                        transaction.getAmount()))
+                .then(bankSwitchClient.send(SwitchRequest.credit(
+                        BankSwitchClient.bankCodeOf(to.getIfscCode()),
+                        transaction.getTransactionId(),
+                        transaction.getAmount())))
+                .then();
+    }
+    
+    @Value
+    private static class Party {
+        UpiId vpa;
+        Account account;
+    }
+}
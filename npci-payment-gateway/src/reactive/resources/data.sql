@@ -0,0 +1,10 @@
+-- Same seed data as DataLoader: ACC000001..ACC000100 with user1@upi..user100@upi
+INSERT INTO accounts (account_number, account_holder_name, balance, ifsc_code, bank_name,
+                      account_type, status, created_at, updated_at)
+SELECT 'ACC' || LPAD(CAST(X AS VARCHAR), 6, '0'), 'Test User ' || X, 100000, 'SBIN0001234',
+       'State Bank of India', 'SAVINGS', 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM SYSTEM_RANGE(1, 100);
+
+INSERT INTO upi_ids (upi_id, account_id, is_primary, status, created_at)
+SELECT 'user' || CAST(SUBSTRING(account_number, 4) AS INT) || '@upi', id, TRUE, 'ACTIVE', CURRENT_TIMESTAMP
+FROM accounts;
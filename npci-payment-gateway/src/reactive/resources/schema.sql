@@ -0,0 +1,40 @@
+-- Same tables as the JPA entities create for the servlet stack
+CREATE TABLE IF NOT EXISTS accounts (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_number VARCHAR(255) NOT NULL UNIQUE,
+    account_holder_name VARCHAR(255) NOT NULL,
+    balance DECIMAL(38, 2) NOT NULL,
+    ifsc_code VARCHAR(255) NOT NULL,
+    bank_name VARCHAR(255) NOT NULL,
+    account_type VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS upi_ids (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    upi_id VARCHAR(255) NOT NULL UNIQUE,
+    account_id BIGINT NOT NULL REFERENCES accounts (id),
+    is_primary BOOLEAN NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    transaction_id VARCHAR(255) NOT NULL UNIQUE,
+    transaction_type VARCHAR(255) NOT NULL,
+    from_account_id BIGINT NOT NULL REFERENCES accounts (id),
+    to_account_id BIGINT NOT NULL REFERENCES accounts (id),
+    amount DECIMAL(38, 2) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    remarks VARCHAR(255),
+    failure_reason VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    partition_day INT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_created_at ON transactions (created_at);
+CREATE INDEX IF NOT EXISTS idx_transactions_partition_day ON transactions (partition_day);
@@ -0,0 +1,108 @@
+package com.npci.gateway.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * State transitions of the count-based {@link CircuitBreaker}: CLOSED until
+ * enough failures are in the window, OPEN for {@code openDurationMs}, then a
+ * single HALF_OPEN probe that closes or re-opens it.
+ */
+@DisplayName("Circuit Breaker")
+class CircuitBreakerTest {
+
+    private static final long LONG_OPEN_MS = 60_000;
+    private static final long SHORT_OPEN_MS = 50;
+
+    @Test
+    @DisplayName("Stays closed until minimumCalls outcomes are recorded")
+    void staysClosedBelowMinimumCalls() {
+        CircuitBreaker breaker = breaker(10, 4, LONG_OPEN_MS);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onFailure();
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Opens when the failure rate reaches the threshold, not below it")
+    void opensAtThreshold() {
+        CircuitBreaker breaker = breaker(4, 4, LONG_OPEN_MS);
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("Outcomes older than the window no longer count")
+    void oldOutcomesRollOut() {
+        CircuitBreaker breaker = breaker(4, 4, LONG_OPEN_MS);
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        // 4 failures in 8 calls overall, but 1 in the last 4
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("After openDurationMs a single probe is let through; its success closes the circuit")
+    void successfulProbeCloses() throws InterruptedException {
+        CircuitBreaker breaker = breaker(4, 1, SHORT_OPEN_MS);
+        breaker.onFailure();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        Thread.sleep(SHORT_OPEN_MS * 2);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).as("second call while the probe is in flight").isFalse();
+
+        breaker.onSuccess();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("A failed probe re-opens the circuit for another openDurationMs")
+    void failedProbeReopens() throws InterruptedException {
+        CircuitBreaker breaker = breaker(4, 1, SHORT_OPEN_MS);
+        breaker.onFailure();
+        Thread.sleep(SHORT_OPEN_MS * 2);
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    private static CircuitBreaker breaker(int windowSize, int minimumCalls, long openDurationMs) {
+        BankSwitchProperties.CircuitBreaker config = new BankSwitchProperties.CircuitBreaker();
+        config.setWindowSize(windowSize);
+        config.setMinimumCalls(minimumCalls);
+        config.setFailureRateThreshold(0.5);
+        config.setOpenDurationMs(openDurationMs);
+        return new CircuitBreaker(config);
+    }
+}
@@ -0,0 +1,235 @@
+package com.npci.gateway.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Breaker accounting, error reasons and bulkhead permits of
+ * {@link ResilientBankSwitchClient} against a scripted delegate: every path
+ * that gives up on a call (timeout, hedge won, hedge budget spent) must still
+ * hand its permit back.
+ */
+@DisplayName("Resilient Bank Switch Client")
+class ResilientBankSwitchClientTest {
+
+    private static final String BANK = "HDFC";
+    private static final int WARM_UP_CALLS = 20;
+    private static final long SLOW_CALL_MS = 300;
+
+    private final BankSwitchProperties properties = new BankSwitchProperties();
+    private ResilientBankSwitchClient client;
+
+    @BeforeEach
+    void setUp() {
+        properties.setTimeoutMs(2000);
+        properties.getBulkhead().setMaxConcurrentCalls(4);
+        properties.getBulkhead().setMaxWaitMs(0);
+        properties.getCircuitBreaker().setWindowSize(10);
+        properties.getCircuitBreaker().setMinimumCalls(5);
+        properties.getHedging().setMinSamples(WARM_UP_CALLS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Declines reach the caller as DECLINED and never open the circuit")
+    void declinesDoNotOpenCircuit() {
+        client = new ResilientBankSwitchClient(request -> {
+            throw new BankSwitchException(BANK, BankSwitchException.Reason.DECLINED, "declined");
+        }, properties);
+
+        for (int i = 0; i < 20; i++) {
+            BankSwitchException e = assertThrows(BankSwitchException.class, () -> client.send(validate()));
+            assertThat(e.getReason()).isEqualTo(BankSwitchException.Reason.DECLINED);
+        }
+
+        BankChannelStats stats = stats();
+        assertThat(stats.getDeclines()).isEqualTo(20);
+        assertThat(stats.getFailures()).isZero();
+        assertThat(stats.getCircuitState()).isEqualTo("CLOSED");
+    }
+
+    @Test
+    @DisplayName("Unexpected errors reach the caller as ERROR, not DECLINED, and open the circuit")
+    void unexpectedErrorsAreFaults() {
+        client = new ResilientBankSwitchClient(request -> {
+            throw new IllegalStateException("boom");
+        }, properties);
+
+        for (int i = 0; i < 5; i++) {
+            BankSwitchException e = assertThrows(BankSwitchException.class, () -> client.send(validate()));
+            assertThat(e.getReason()).isEqualTo(BankSwitchException.Reason.ERROR);
+        }
+        BankSwitchException rejected = assertThrows(BankSwitchException.class, () -> client.send(validate()));
+
+        assertThat(rejected.getReason()).isEqualTo(BankSwitchException.Reason.CIRCUIT_OPEN);
+        BankChannelStats stats = stats();
+        assertThat(stats.getFailures()).isEqualTo(5);
+        assertThat(stats.getDeclines()).isZero();
+        assertThat(stats.getCircuitState()).isEqualTo("OPEN");
+        assertThat(stats.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("A timed-out call is interrupted and gives its bulkhead permit back")
+    void timeoutReleasesPermit() throws InterruptedException {
+        properties.setTimeoutMs(100);
+        client = new ResilientBankSwitchClient(request -> {
+            sleep(10_000);
+            return approved(request);
+        }, properties);
+
+        BankSwitchException e = assertThrows(BankSwitchException.class, () -> client.send(debit()));
+
+        assertThat(e.getReason()).isEqualTo(BankSwitchException.Reason.TIMEOUT);
+        awaitInFlight(0);
+        assertThat(stats().getTimeouts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Calls beyond the bulkhead are rejected, and the permit returns when the call ends")
+    void bulkheadRejectsExcessCalls() throws InterruptedException {
+        properties.getBulkhead().setMaxConcurrentCalls(1);
+        CountDownLatch release = new CountDownLatch(1);
+        client = new ResilientBankSwitchClient(request -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return approved(request);
+        }, properties);
+
+        CompletableFuture<SwitchResponse> first = CompletableFuture.supplyAsync(() -> client.send(debit()));
+        awaitInFlight(1);
+        BankSwitchException e = assertThrows(BankSwitchException.class, () -> client.send(debit()));
+        release.countDown();
+        first.join();
+
+        assertThat(e.getReason()).isEqualTo(BankSwitchException.Reason.BULKHEAD_FULL);
+        awaitInFlight(0);
+        assertThat(stats().getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A slow VALIDATE is hedged, and the losing call still releases its permit")
+    void slowValidateIsHedged() throws InterruptedException {
+        client = new ResilientBankSwitchClient(slowAfterWarmUp(), properties);
+        warmUp(validate());
+
+        long start = System.nanoTime();
+        SwitchResponse response = client.send(validate());
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMs).isLessThan(SLOW_CALL_MS);
+        BankChannelStats stats = stats();
+        assertThat(stats.getHedges()).isEqualTo(1);
+        assertThat(stats.getHedgeWins()).isEqualTo(response.isHedged() ? 1 : 0);
+        awaitInFlight(0);
+    }
+
+    @Test
+    @DisplayName("With the hedge budget spent the call is not hedged and no permit is kept")
+    void exhaustedHedgeBudgetReleasesPermit() throws InterruptedException {
+        properties.getHedging().setMaxHedgesPerSecond(0);
+        client = new ResilientBankSwitchClient(slowAfterWarmUp(), properties);
+        warmUp(validate());
+
+        SwitchResponse response = client.send(validate());
+
+        assertThat(response.isHedged()).isFalse();
+        assertThat(stats().getHedges()).isZero();
+        awaitInFlight(0);
+    }
+
+    @Test
+    @DisplayName("A slow DEBIT is never hedged: a second debit would move money twice")
+    void debitIsNotHedged() throws InterruptedException {
+        client = new ResilientBankSwitchClient(slowAfterWarmUp(), properties);
+        warmUp(debit());
+
+        SwitchResponse response = client.send(debit());
+
+        assertThat(response.isHedged()).isFalse();
+        assertThat(stats().getHedges()).isZero();
+        awaitInFlight(0);
+    }
+
+    /** Answers at once, except the first call to start after the warm-up, which takes SLOW_CALL_MS. */
+    private static BankSwitchClient slowAfterWarmUp() {
+        AtomicInteger started = new AtomicInteger();
+        return request -> {
+            if (started.incrementAndGet() == WARM_UP_CALLS + 1) {
+                sleep(SLOW_CALL_MS);
+            }
+            return approved(request);
+        };
+    }
+
+    /** Enough fast calls for the channel to start hedging. */
+    private void warmUp(SwitchRequest request) {
+        for (int i = 0; i < WARM_UP_CALLS; i++) {
+            client.send(request);
+        }
+    }
+
+    private BankChannelStats stats() {
+        return client.stats().stream()
+                .filter(stats -> stats.getBankCode().equals(BANK))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void awaitInFlight(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (inFlight() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(inFlight()).as("calls holding a bulkhead permit").isEqualTo(expected);
+    }
+
+    /** Calls holding a permit; 0 before the first call has created the channel. */
+    private int inFlight() {
+        return client.stats().stream()
+                .filter(stats -> stats.getBankCode().equals(BANK))
+                .mapToInt(BankChannelStats::getInFlight)
+                .sum();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BankSwitchException(BANK, BankSwitchException.Reason.TIMEOUT, "interrupted");
+        }
+    }
+
+    private static SwitchRequest validate() {
+        return SwitchRequest.validate(BANK, "payer@upi");
+    }
+
+    private static SwitchRequest debit() {
+        return SwitchRequest.debit(BANK, "TXN1", BigDecimal.TEN);
+    }
+
+    private static SwitchResponse approved(SwitchRequest request) {
+        return new SwitchResponse(request.getBankCode(), request.getOperation(), request.getReference(), 0, false);
+    }
+}
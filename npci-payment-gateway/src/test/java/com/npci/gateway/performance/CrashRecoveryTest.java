@@ -0,0 +1,231 @@
+package com.npci.gateway.performance;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Runs the gateway in the durable profile as a separate process, kills it with
+ * SIGKILL in the middle of a UPI payment load, restarts it on the same files
+ * and checks that no money was created or lost and that every payment the
+ * gateway acknowledged is still there as SUCCESS. Repeats for a few cycles.
+ */
+@DisplayName("Durable Profile Crash Recovery")
+public class CrashRecoveryTest {
+
+    private static final String MAIN_CLASS = "com.npci.gateway.NpciPaymentGatewayApplication";
+    private static final int ACCOUNTS = 100;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal(100000);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private static final int CYCLES = Integer.parseInt(System.getProperty("crash.cycles", "3"));
+    private static final int CLIENTS = Integer.parseInt(System.getProperty("crash.clients", "32"));
+    private static final long LOAD_MILLIS = Long.parseLong(System.getProperty("crash.load-ms", "5000"));
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(500)).build();
+    private final ObjectMapper mapper = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    private final Path workDir = Path.of("target", "crash-recovery").toAbsolutePath();
+
+    @BeforeEach
+    public void setup() throws IOException {
+        assumeFalse(ClassUtils.isPresent("org.springframework.web.reactive.DispatcherHandler", null),
+                "the durable profile belongs to the servlet stack");
+        FileSystemUtils.deleteRecursively(workDir);
+        Files.createDirectories(workDir);
+    }
+
+    @Test
+    @DisplayName("Balances conserve and acknowledged payments survive SIGKILL")
+    public void testBalancesConserveAcrossCrashes() throws Exception {
+        Queue<String> acknowledged = new ConcurrentLinkedQueue<>();
+
+        for (int cycle = 1; cycle <= CYCLES; cycle++) {
+            int port = freePort();
+            Process gateway = start(port, "cycle-" + cycle);
+            try {
+                awaitReadiness(gateway, port);
+                int before = acknowledged.size();
+                long recovered = verify(port, acknowledged);
+                int sent = loadThenKill(gateway, port, acknowledged);
+                System.out.printf("cycle %d: %d acknowledged before the kill (%d requests sent), "
+                        + "recovery check of %d earlier payments passed%n",
+                        cycle, acknowledged.size() - before, sent, recovered);
+                assertThat(acknowledged.size()).as("payments acknowledged in cycle %d", cycle).isGreaterThan(before);
+            } finally {
+                gateway.destroyForcibly().waitFor();
+            }
+        }
+
+        int port = freePort();
+        Process gateway = start(port, "final");
+        try {
+            awaitReadiness(gateway, port);
+            verify(port, acknowledged);
+        } finally {
+            gateway.destroy();
+            gateway.waitFor();
+        }
+    }
+
+    /** Drives payments from {@link #CLIENTS} threads and kills the gateway while they are in flight. */
+    private int loadThenKill(Process gateway, int port, Queue<String> acknowledged) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            results.add(clients.submit(() -> {
+                int sent = 0;
+                while (running.get()) {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    int from = random.nextInt(1, ACCOUNTS + 1);
+                    int to = from % ACCOUNTS + 1;
+                    try {
+                        HttpResponse<String> response = http.send(payment(port, from, to, random.nextInt(1, 100)),
+                                HttpResponse.BodyHandlers.ofString());
+                        sent++;
+                        if (response.statusCode() == 201) {
+                            acknowledged.add(mapper.readTree(response.body()).path("data").path("transactionId").asText());
+                        }
+                    } catch (IOException connectionLost) {
+                        // the gateway is gone; an unanswered payment may or may not have committed
+                        return sent;
+                    }
+                }
+                return sent;
+            }));
+        }
+
+        Thread.sleep(LOAD_MILLIS);
+        gateway.destroyForcibly();
+        running.set(false);
+        gateway.waitFor();
+        clients.shutdown();
+        assertThat(clients.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        int sent = 0;
+        for (Future<Integer> result : results) {
+            sent += result.get();
+        }
+        return sent;
+    }
+
+    /** Returns how many acknowledged payments were checked. */
+    private long verify(int port, Queue<String> acknowledged) throws Exception {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 1; i <= ACCOUNTS; i++) {
+            JsonNode account = get(port, "/accounts/" + String.format("ACC%06d", i));
+            total = total.add(account.path("data").path("balance").decimalValue());
+        }
+        assertThat(total).as("sum of all balances").isEqualByComparingTo(OPENING_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)));
+
+        for (String transactionId : acknowledged) {
+            JsonNode transaction = get(port, "/transactions/" + transactionId);
+            assertThat(transaction.path("data").path("status").asText())
+                    .as("status of acknowledged payment %s", transactionId)
+                    .isEqualTo("SUCCESS");
+        }
+        return acknowledged.size();
+    }
+
+    private Process start(int port, String logName) throws IOException {
+        String classpath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+        List<String> command = List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", classpath,
+                MAIN_CLASS,
+                "--spring.profiles.active=durable",
+                "--server.port=" + port,
+                "--app.durable.dir=" + workDir.resolve("h2"),
+                "--app.event-log.dir=" + workDir.resolve("event-log"),
+                "--app.velocity.enabled=false",
+                "--app.velocity.snapshot-path=",
+                "--app.simulation.delay.min=0",
+                "--app.simulation.delay.max=0",
+                "--app.switch.hedging.enabled=false",
+                "--app.archive.enabled=false",
+                "--app.warmup.enabled=false",
+                "--logging.level.com.npci=WARN");
+        File log = workDir.resolve("gateway-" + logName + ".log").toFile();
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log))
+                .start();
+    }
+
+    private void awaitReadiness(Process gateway, int port) throws Exception {
+        HttpRequest readiness = HttpRequest.newBuilder(uri(port, "/actuator/health/readiness")).GET().build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!gateway.isAlive()) {
+                throw new IllegalStateException("Gateway exited with " + gateway.exitValue() + ", see " + workDir);
+            }
+            try {
+                if (http.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException notListeningYet) {
+                // server socket not bound yet
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("Gateway did not become ready within " + STARTUP_TIMEOUT);
+    }
+
+    private JsonNode get(int port, String path) throws Exception {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(uri(port, path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as("GET %s", path).isEqualTo(200);
+        return mapper.readTree(response.body());
+    }
+
+    private static HttpRequest payment(int port, int from, int to, int amount) {
+        String body = String.format("{\"fromUpiId\":\"user%d@upi\",\"toUpiId\":\"user%d@upi\",\"amount\":%d,"
+                + "\"remarks\":\"Crash recovery\"}", from, to, amount);
+        return HttpRequest.newBuilder(uri(port, "/upi/payment"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(10))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static URI uri(int port, String path) {
+        return URI.create("http://localhost:" + port + "/api" + path);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.npci.gateway.performance;
+
+import org.apache.http.entity.ContentType;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import us.abstracta.jmeter.javadsl.core.TestPlanStats;
+import us.abstracta.jmeter.javadsl.core.stats.StatsSummary;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.*;
+
+/**
+ * Open-model load test against an in-process gateway. Each workload runs at a
+ * fixed arrival rate and the build fails when any of them breaches the p95,
+ * p99 or error-rate threshold. Run with {@code mvn -Ploadtest test}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.npci=WARN",
+        "app.simulation.delay.min=${loadtest.delay.min:100}",
+        "app.simulation.delay.max=${loadtest.delay.max:500}",
+        "app.velocity.snapshot-path=",
+        "app.archive.enabled=false",
+        "app.event-log.dir=target/loadtest-event-log"
+})
+@DisplayName("Gateway Load Test")
+public class GatewayLoadTest {
+
+    private static final String UPI_PAYMENT = "upi-payment";
+    private static final String IMPS_TRANSFER = "imps-transfer";
+    private static final String STATUS_POLL = "status-poll";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private String baseUrl;
+    private String seededTransactionId;
+
+    @BeforeEach
+    public void setup() throws InterruptedException {
+        LoadTestConfig.printConfig();
+        baseUrl = "http://localhost:" + port + "/api";
+        awaitReadiness();
+        seededTransactionId = seedTransaction();
+    }
+
+    @Test
+    @DisplayName("UPI, IMPS and status polling should meet SLA at fixed arrival rates")
+    public void testPaymentWorkloadsMeetSla() throws Exception {
+        Duration rampUp = Duration.ofSeconds(LoadTestConfig.DEFAULT_RAMPUP);
+        Duration hold = Duration.ofSeconds(LoadTestConfig.DEFAULT_DURATION);
+
+        TestPlanStats stats = testPlan(
+                rpsThreadGroup(UPI_PAYMENT)
+                        .maxThreads(LoadTestConfig.DEFAULT_THREADS)
+                        .rampToAndHold(LoadTestConfig.UPI_RPS, rampUp, hold)
+                        .children(
+                                httpSampler(UPI_PAYMENT, baseUrl + "/upi/payment")
+                                        .post("{\n" +
+                                                "  \"fromUpiId\": \"user${__Random(1,50)}@upi\",\n" +
+                                                "  \"toUpiId\": \"user${__Random(51,100)}@upi\",\n" +
+                                                "  \"amount\": 10,\n" +
+                                                "  \"remarks\": \"Load test\"\n" +
+                                                "}", ContentType.APPLICATION_JSON)
+                        ),
+                rpsThreadGroup(IMPS_TRANSFER)
+                        .maxThreads(LoadTestConfig.DEFAULT_THREADS)
+                        .rampToAndHold(LoadTestConfig.IMPS_RPS, rampUp, hold)
+                        .children(
+                                httpSampler(IMPS_TRANSFER, baseUrl + "/imps/transfer")
+                                        .post("{\n" +
+                                                "  \"fromAccount\": \"ACC0000${__Random(10,54)}\",\n" +
+                                                "  \"toAccount\": \"ACC0000${__Random(55,99)}\",\n" +
+                                                "  \"ifscCode\": \"SBIN0001234\",\n" +
+                                                "  \"amount\": 10,\n" +
+                                                "  \"remarks\": \"Load test\"\n" +
+                                                "}", ContentType.APPLICATION_JSON)
+                        ),
+                rpsThreadGroup(STATUS_POLL)
+                        .maxThreads(LoadTestConfig.DEFAULT_THREADS)
+                        .rampToAndHold(LoadTestConfig.STATUS_RPS, rampUp, hold)
+                        .children(
+                                httpSampler(STATUS_POLL, baseUrl + "/transactions/" + seededTransactionId)
+                        ),
+                htmlReporter("target/loadtest-report")
+        ).run();
+
+        SoftAssertions softly = new SoftAssertions();
+        for (String label : new String[]{UPI_PAYMENT, IMPS_TRANSFER, STATUS_POLL}) {
+            StatsSummary summary = stats.byLabel(label);
+            long p95 = summary.sampleTime().perc95().toMillis();
+            long p99 = summary.sampleTime().perc99().toMillis();
+            double errorRate = summary.samplesCount() == 0
+                    ? 1.0 : (double) summary.errorsCount() / summary.samplesCount();
+
+            System.out.printf("%-14s samples=%d p95=%dms p99=%dms errors=%.2f%%%n",
+                    label, summary.samplesCount(), p95, p99, errorRate * 100);
+
+            softly.assertThat(p95).as("%s p95 (ms)", label)
+                    .isLessThanOrEqualTo(LoadTestConfig.MAX_95TH_PERCENTILE_MS);
+            softly.assertThat(p99).as("%s p99 (ms)", label)
+                    .isLessThanOrEqualTo(LoadTestConfig.MAX_RESPONSE_TIME_MS);
+            softly.assertThat(errorRate).as("%s error rate", label)
+                    .isLessThanOrEqualTo(LoadTestConfig.MAX_ERROR_RATE);
+        }
+        softly.assertAll();
+    }
+
+    /** Load starts only once the JIT warm-up has flipped readiness, as behind a real load balancer. */
+    private void awaitReadiness() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + Duration.ofMinutes(2).toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            if (restTemplate.getForEntity(baseUrl + "/actuator/health/readiness", String.class)
+                    .getStatusCode().is2xxSuccessful()) {
+                return;
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("Gateway did not become ready");
+    }
+
+    @SuppressWarnings("unchecked")
+    private String seedTransaction() {
+        Map<String, Object> payment = Map.of(
+                "fromUpiId", "user1@upi",
+                "toUpiId", "user2@upi",
+                "amount", 1,
+                "remarks", "Load test seed");
+        ResponseEntity<Map> response = restTemplate.postForEntity(baseUrl + "/upi/payment", payment, Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        Map<String, Object> data = (Map<String, Object>) response.getBody().get("data");
+        return (String) data.get("transactionId");
+    }
+}
@@ -0,0 +1,49 @@
+package com.npci.gateway.performance;
+
+/**
+ * Load profile and SLA thresholds for the in-build load suite.
+ * The thresholds mirror {@code com.npci.tests.utils.TestConfig} in play-with-jmeter.
+ */
+public class LoadTestConfig {
+
+    // Load Test Configuration
+    public static final int DEFAULT_THREADS =
+            Integer.parseInt(System.getProperty("threads", "50"));
+
+    public static final int DEFAULT_RAMPUP =
+            Integer.parseInt(System.getProperty("rampup", "10"));
+
+    public static final int DEFAULT_DURATION =
+            Integer.parseInt(System.getProperty("duration", "60"));
+
+    // Arrival rates (requests per second)
+    public static final double UPI_RPS =
+            Double.parseDouble(System.getProperty("loadtest.upi.rps", "20"));
+
+    public static final double IMPS_RPS =
+            Double.parseDouble(System.getProperty("loadtest.imps.rps", "10"));
+
+    public static final double STATUS_RPS =
+            Double.parseDouble(System.getProperty("loadtest.status.rps", "40"));
+
+    // Servlet vs reactive comparison: one UPI workload, high enough to exhaust the servlet thread pool
+    public static final double COMPARE_RPS =
+            Double.parseDouble(System.getProperty("loadtest.compare.rps", "400"));
+
+    public static final int COMPARE_THREADS =
+            Integer.parseInt(System.getProperty("loadtest.compare.threads", "1000"));
+
+    // Performance Thresholds
+    public static final long MAX_RESPONSE_TIME_MS = 2000;
+    public static final long MAX_95TH_PERCENTILE_MS = 1500;
+    public static final double MAX_ERROR_RATE = 0.01; // 1%
+
+    public static void printConfig() {
+        System.out.println("\n=== Load Test Configuration ===");
+        System.out.println("Max threads: " + DEFAULT_THREADS);
+        System.out.println("Ramp-up: " + DEFAULT_RAMPUP + "s");
+        System.out.println("Duration: " + DEFAULT_DURATION + "s");
+        System.out.println("UPI/IMPS/status rps: " + UPI_RPS + "/" + IMPS_RPS + "/" + STATUS_RPS);
+        System.out.println("===============================\n");
+    }
+}
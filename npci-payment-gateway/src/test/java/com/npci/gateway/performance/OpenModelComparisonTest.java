@@ -0,0 +1,116 @@
+package com.npci.gateway.performance;
+
+import org.apache.http.entity.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.util.ClassUtils;
+import us.abstracta.jmeter.javadsl.core.TestPlanStats;
+import us.abstracta.jmeter.javadsl.core.stats.StatsSummary;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.*;
+
+/**
+ * Runs the same open-model UPI workload against whichever stack this build was
+ * compiled for and writes the result to {@code target/stack-comparison/<stack>.json}.
+ * {@code compare-stacks.sh} runs it once per stack and prints both results.
+ *
+ * <p>Both stacks get the same switch latency, with hedging, the bulkhead and
+ * velocity limits out of the way, so the threading model is the only difference.
+ * No SLA gate here: saturating the servlet pool is the point of the comparison.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.npci=WARN",
+        "app.simulation.delay.min=${loadtest.delay.min:100}",
+        "app.simulation.delay.max=${loadtest.delay.max:500}",
+        "app.switch.hedging.enabled=false",
+        "app.switch.bulkhead.max-concurrent-calls=100000",
+        "app.velocity.enabled=false",
+        "app.velocity.snapshot-path=",
+        "app.archive.enabled=false",
+        "app.event-log.dir=target/loadtest-event-log"
+})
+@DisplayName("Servlet vs Reactive Comparison")
+public class OpenModelComparisonTest {
+
+    private static final String UPI_PAYMENT = "upi-payment";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private String baseUrl;
+
+    @BeforeEach
+    public void setup() throws InterruptedException {
+        LoadTestConfig.printConfig();
+        baseUrl = "http://localhost:" + port + "/api";
+        awaitReadiness();
+    }
+
+    @Test
+    @DisplayName("UPI payments at a fixed arrival rate")
+    public void testUpiPaymentsAtFixedArrivalRate() throws Exception {
+        String stack = ClassUtils.isPresent("org.springframework.web.reactive.DispatcherHandler", null)
+                ? "reactive" : "servlet";
+
+        TestPlanStats stats = testPlan(
+                rpsThreadGroup(UPI_PAYMENT)
+                        .maxThreads(LoadTestConfig.COMPARE_THREADS)
+                        .rampToAndHold(LoadTestConfig.COMPARE_RPS,
+                                Duration.ofSeconds(LoadTestConfig.DEFAULT_RAMPUP),
+                                Duration.ofSeconds(LoadTestConfig.DEFAULT_DURATION))
+                        .children(
+                                httpSampler(UPI_PAYMENT, baseUrl + "/upi/payment")
+                                        .post("{\n" +
+                                                "  \"fromUpiId\": \"user${__Random(1,50)}@upi\",\n" +
+                                                "  \"toUpiId\": \"user${__Random(51,100)}@upi\",\n" +
+                                                "  \"amount\": 10,\n" +
+                                                "  \"remarks\": \"Stack comparison\"\n" +
+                                                "}", ContentType.APPLICATION_JSON)
+                        )
+        ).run();
+
+        StatsSummary summary = stats.byLabel(UPI_PAYMENT);
+        double errorRate = summary.samplesCount() == 0
+                ? 1.0 : (double) summary.errorsCount() / summary.samplesCount();
+        String result = String.format(Locale.ROOT,
+                "{\"stack\":\"%s\",\"targetRps\":%.1f,\"achievedRps\":%.1f,\"samples\":%d,"
+                        + "\"p50Ms\":%d,\"p95Ms\":%d,\"p99Ms\":%d,\"maxMs\":%d,\"errorRate\":%.4f}",
+                stack, LoadTestConfig.COMPARE_RPS, summary.samples().perSecond(), summary.samplesCount(),
+                summary.sampleTime().median().toMillis(), summary.sampleTime().perc95().toMillis(),
+                summary.sampleTime().perc99().toMillis(), summary.sampleTime().max().toMillis(), errorRate);
+
+        System.out.println(result);
+        Path out = Path.of("target", "stack-comparison", stack + ".json");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, result + "\n");
+
+        assertThat(summary.samplesCount()).as("samples").isPositive();
+    }
+
+    private void awaitReadiness() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + Duration.ofMinutes(2).toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            if (restTemplate.getForEntity(baseUrl + "/actuator/health/readiness", String.class)
+                    .getStatusCode().is2xxSuccessful()) {
+                return;
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("Gateway did not become ready");
+    }
+}
@@ -0,0 +1,98 @@
+package com.npci.gateway.risk;
+
+import com.npci.gateway.exception.VelocityLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A payment that passes {@link VelocityCheck} only reserves its count and
+ * value; releasing it (decline, failure, rollback) gives them back.
+ */
+@DisplayName("Velocity Check")
+class VelocityCheckTest {
+
+    private static final String PAYER = "1234567890";
+    private static final String VPA = "payer@npci";
+
+    private VelocityCounterStore store;
+    private VelocityCheck check;
+
+    @BeforeEach
+    void setUp() {
+        VelocityProperties properties = new VelocityProperties();
+        properties.setSnapshotPath("");
+        VelocityProperties.Limit limit = new VelocityProperties.Limit();
+        limit.setMaxCount(2);
+        properties.getPayer().put(VelocityWindow.MINUTE, limit);
+        store = new VelocityCounterStore(properties);
+        check = new VelocityCheck(store, properties);
+    }
+
+    @Test
+    @DisplayName("Released payments stop counting towards the limit")
+    void releaseGivesBackTheReservation() {
+        long now = System.currentTimeMillis();
+        PaymentAttempt first = attempt("TXN1", now);
+        check.check(first);
+        check.check(attempt("TXN2", now));
+        assertThatThrownBy(() -> check.check(attempt("TXN3", now)))
+                .isInstanceOf(VelocityLimitExceededException.class);
+
+        check.release(first);
+
+        assertThat(count(now)).isEqualTo(1);
+        check.check(attempt("TXN4", now));
+        assertThat(count(now)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A release after the bucket was reused leaves newer payments alone")
+    void staleReleaseIsIgnored() {
+        long then = System.currentTimeMillis();
+        PaymentAttempt old = attempt("TXN1", then);
+        check.check(old);
+        long later = then + VelocityWindow.DAY.spanMillis();
+        check.check(attempt("TXN2", later));
+
+        check.release(old);
+
+        assertThat(count(later)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A hold releases once, and a failing check releases the checks before it")
+    void holdReleasesPassedChecksOnce() {
+        long now = System.currentTimeMillis();
+        PreDebitCheck reject = new PreDebitCheck() {
+            @Override
+            public void check(PaymentAttempt attempt) {
+                throw new IllegalStateException("rejected");
+            }
+        };
+
+        PreDebitChecks.Hold hold = new PreDebitChecks(List.of(check)).run(attempt("TXN1", now));
+        hold.release();
+        hold.release();
+        assertThat(count(now)).isZero();
+
+        check.check(attempt("TXN2", now));
+        assertThatThrownBy(() -> new PreDebitChecks(List.of(check, reject)).run(attempt("TXN3", now)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(count(now)).isEqualTo(1);
+    }
+
+    private long count(long nowMillis) {
+        return store.count(VelocityCounterStore.accountKey(PAYER), VelocityWindow.MINUTE, nowMillis);
+    }
+
+    private static PaymentAttempt attempt(String transactionId, long attemptedAtMillis) {
+        return new PaymentAttempt(transactionId, "UPI", PAYER, VPA, "9876543210",
+                new BigDecimal("100.00"), attemptedAtMillis);
+    }
+}